@@ -0,0 +1,77 @@
+package com.nacos.mcp.router.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nacos.mcp.router.model.McpJsonRpcRequest;
+import com.nacos.mcp.router.model.McpJsonRpcResponse;
+import com.nacos.mcp.router.model.McpTool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of {@link McpJsonRpcRequest} and {@link McpJsonRpcResponse}
+ * A tools/call request with small arguments, and a tools/list response carrying
+ * the whole synthetic catalog, the worst case of an unpaged listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRpcCodecBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int toolCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private McpJsonRpcRequest toolCall;
+    private byte[] toolCallJson;
+    private McpJsonRpcResponse toolsList;
+    private byte[] toolsListJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        toolCall = McpJsonRpcRequest.builder()
+                .jsonrpc("2.0")
+                .method("tools/call")
+                .id(42)
+                .params(Map.of(
+                        "name", "get_weather_forecast_7",
+                        "arguments", Map.of("query", "Hangzhou", "limit", 7),
+                        "_meta", Map.of("timeoutMs", 5000, "traceparent",
+                                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")))
+                .build();
+        toolCallJson = objectMapper.writeValueAsBytes(toolCall);
+
+        List<McpTool> tools = SyntheticCatalog.of(toolCount).getServers().stream()
+                .flatMap(server -> server.getTools().stream())
+                .toList();
+        toolsList = McpJsonRpcResponse.success(Map.of("tools", tools), 1);
+        toolsListJson = objectMapper.writeValueAsBytes(toolsList);
+    }
+
+    @Benchmark
+    public byte[] serializeToolCallRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(toolCall);
+    }
+
+    @Benchmark
+    public McpJsonRpcRequest deserializeToolCallRequest() throws Exception {
+        return objectMapper.readValue(toolCallJson, McpJsonRpcRequest.class);
+    }
+
+    @Benchmark
+    public byte[] serializeToolsListResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(toolsList);
+    }
+
+    @Benchmark
+    public McpJsonRpcResponse deserializeToolsListResponse() throws Exception {
+        return objectMapper.readValue(toolsListJson, McpJsonRpcResponse.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.nacos.mcp.router.benchmark;
+
+import com.nacos.mcp.router.model.McpJsonRpcRequest;
+import com.nacos.mcp.router.model.McpJsonRpcResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code McpJsonRpcController} dispatch, from a decoded request to the response entity
+ * tools/list goes through the registry listing, the snapshot paginator and, with a
+ * task hint, the tool ranking; tools/call uses a built-in tool, so no downstream
+ * latency is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRpcDispatchBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int toolCount;
+
+    private RouterFixture fixture;
+    private MockServerWebExchange exchange;
+    private McpJsonRpcRequest initialize;
+    private McpJsonRpcRequest toolsList;
+    private McpJsonRpcRequest rankedToolsList;
+    private McpJsonRpcRequest builtInToolCall;
+    private McpJsonRpcRequest unknownMethod;
+
+    @Setup
+    public void setUp() {
+        fixture = new RouterFixture(SyntheticCatalog.of(toolCount));
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/mcp/jsonrpc"));
+        initialize = request("initialize", Map.of("protocolVersion", "2024-11-05"));
+        toolsList = request("tools/list", Map.of());
+        rankedToolsList = request("tools/list",
+                Map.of("_meta", Map.of("task", SyntheticCatalog.sampleTask(3), "limit", 20)));
+        builtInToolCall = request("tools/call", Map.of("name", "get_system_info", "arguments", Map.of()));
+        unknownMethod = request("sampling/createMessage", Map.of());
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    private static McpJsonRpcRequest request(String method, Map<String, Object> params) {
+        return McpJsonRpcRequest.builder().jsonrpc("2.0").method(method).params(params).id(1).build();
+    }
+
+    private ResponseEntity<McpJsonRpcResponse> dispatch(McpJsonRpcRequest request) {
+        return fixture.jsonRpcController.handleJsonRpc(request, "bench", exchange).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<McpJsonRpcResponse> initialize() {
+        return dispatch(initialize);
+    }
+
+    @Benchmark
+    public ResponseEntity<McpJsonRpcResponse> toolsListFirstPage() {
+        return dispatch(toolsList);
+    }
+
+    @Benchmark
+    public ResponseEntity<McpJsonRpcResponse> toolsListRankedByTask() {
+        return dispatch(rankedToolsList);
+    }
+
+    @Benchmark
+    public ResponseEntity<McpJsonRpcResponse> builtInToolCall() {
+        return dispatch(builtInToolCall);
+    }
+
+    @Benchmark
+    public ResponseEntity<McpJsonRpcResponse> methodNotFound() {
+        return dispatch(unknownMethod);
+    }
+}
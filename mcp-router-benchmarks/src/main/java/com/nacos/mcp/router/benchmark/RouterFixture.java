@@ -0,0 +1,94 @@
+package com.nacos.mcp.router.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.controller.McpJsonRpcController;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.observability.AccessLog;
+import com.nacos.mcp.router.observability.RouterTracer;
+import com.nacos.mcp.router.observability.SloMonitor;
+import com.nacos.mcp.router.observability.SpanCollector;
+import com.nacos.mcp.router.service.impl.McpPromptServiceImpl;
+import com.nacos.mcp.router.service.impl.McpResourceServiceImpl;
+import com.nacos.mcp.router.service.impl.McpServerServiceImpl;
+import com.nacos.mcp.router.service.impl.SearchServiceImpl;
+import com.nacos.mcp.router.service.execution.InFlightRequestRegistry;
+import com.nacos.mcp.router.service.paging.SnapshotPaginator;
+import com.nacos.mcp.router.service.provider.NacosSearchProvider;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import com.nacos.mcp.router.service.search.McpServerSearchIndex;
+import com.nacos.mcp.router.service.search.SearchResponseCache;
+import com.nacos.mcp.router.service.search.ToolListPager;
+import com.nacos.mcp.router.service.search.ToolNameResolver;
+import com.nacos.mcp.router.service.search.ToolSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The router's catalog and request path wired by hand over a {@link SyntheticCatalog}
+ * The registry is filled directly, the way {@link NacosSearchProvider} fills it from
+ * Nacos, so nothing connects to a naming server. Search response caching and the
+ * access log are off, so benchmarks measure the work rather than a cache hit.
+ * Tool calls that leave the router are not wired: without an SSE client there is
+ * no downstream to measure.
+ */
+public final class RouterFixture implements AutoCloseable {
+
+    public final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    public final McpRouterProperties properties = new McpRouterProperties();
+    public final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    public final McpServerRegistry registry;
+    public final McpServerSearchIndex serverSearchIndex;
+    public final ToolSearchIndex toolSearchIndex;
+    public final NacosSearchProvider nacosSearchProvider;
+    public final McpServerServiceImpl mcpServerService;
+    public final SearchServiceImpl searchService;
+    public final McpJsonRpcController jsonRpcController;
+    private final AccessLog accessLog;
+
+    public RouterFixture(SyntheticCatalog catalog) {
+        properties.getDiscovery().setServiceNames(new ArrayList<>());
+        properties.getSearch().getCache().setEnabled(false);
+        properties.getAccessLog().setEnabled(false);
+
+        registry = new McpServerRegistry(properties);
+        serverSearchIndex = new McpServerSearchIndex(registry);
+        toolSearchIndex = new ToolSearchIndex(registry, objectMapper);
+        for (McpServer server : catalog.getServers()) {
+            registry.update(server.getName(), List.of(server));
+        }
+
+        accessLog = new AccessLog(properties, objectMapper, meterRegistry);
+        nacosSearchProvider = new NacosSearchProvider(null, objectMapper, registry, serverSearchIndex,
+                properties, accessLog);
+        mcpServerService = new McpServerServiceImpl(List.of(nacosSearchProvider),
+                new ToolNameResolver(registry, properties), registry,
+                new RouterTracer(properties, new SpanCollector(properties)), new SloMonitor(properties));
+        searchService = new SearchServiceImpl(List.of(nacosSearchProvider), properties,
+                new SearchResponseCache(properties, meterRegistry));
+
+        SnapshotPaginator paginator = new SnapshotPaginator(properties, objectMapper, meterRegistry);
+        jsonRpcController = new McpJsonRpcController(mcpServerService,
+                new McpResourceServiceImpl(mcpServerService),
+                new McpPromptServiceImpl(mcpServerService),
+                objectMapper,
+                null,
+                new InFlightRequestRegistry(meterRegistry),
+                toolSearchIndex,
+                new ToolListPager(toolSearchIndex, paginator, properties, meterRegistry),
+                paginator,
+                accessLog);
+        jsonRpcController.indexBuiltInTools();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        accessLog.stop();
+    }
+}
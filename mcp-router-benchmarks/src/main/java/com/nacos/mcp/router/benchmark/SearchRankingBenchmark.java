@@ -0,0 +1,62 @@
+package com.nacos.mcp.router.benchmark;
+
+import com.nacos.mcp.router.model.SearchRequest;
+import com.nacos.mcp.router.model.SearchResponse;
+import com.nacos.mcp.router.service.search.McpServerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code SearchServiceImpl} ranking over the Nacos provider's indexes
+ * The response cache is off, so each call tokenizes the task, ranks the catalog in the
+ * given mode and merges, filters and sorts the results. Tasks rotate, so one query's
+ * warm index entries do not flatter the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchRankingBenchmark {
+
+    private static final int TASKS = 64;
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int toolCount;
+
+    @Param({McpServerSearchIndex.MODE_KEYWORD, McpServerSearchIndex.MODE_SEMANTIC, McpServerSearchIndex.MODE_HYBRID})
+    public String mode;
+
+    private RouterFixture fixture;
+    private String[] tasks;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        fixture = new RouterFixture(SyntheticCatalog.of(toolCount));
+        tasks = new String[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            tasks[i] = SyntheticCatalog.sampleTask(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public SearchResponse rank() {
+        String task = tasks[next++ & (TASKS - 1)];
+        SearchRequest request = SearchRequest.builder()
+                .taskDescription(task)
+                .keywords(List.of(task.substring(0, task.indexOf(' '))))
+                .mode(mode)
+                .limit(10)
+                .build();
+        return fixture.searchService.searchMcpServers(request).block();
+    }
+}
@@ -0,0 +1,145 @@
+package com.nacos.mcp.router.benchmark;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic MCP server catalogs of any size
+ * Tools are spread over services of {@link #TOOLS_PER_SERVICE} tools each. Names and
+ * descriptions are drawn from a fixed vocabulary with a fixed seed, so every run and
+ * every benchmark sees the same catalog for the same size, with realistic term overlap
+ * for the search indexes.
+ */
+public final class SyntheticCatalog {
+
+    public static final int TOOLS_PER_SERVICE = 20;
+
+    private static final String[] VERBS = {
+            "get", "list", "search", "create", "update", "delete", "find", "send", "fetch", "convert",
+            "analyze", "translate", "summarize", "schedule", "validate", "export", "import", "resolve"};
+    private static final String[] NOUNS = {
+            "weather", "forecast", "repository", "issue", "pull request", "calendar", "event", "email",
+            "invoice", "order", "customer", "ticket", "document", "image", "database", "table", "metric",
+            "alert", "user", "account", "payment", "shipment", "flight", "hotel", "stock", "price",
+            "currency", "news", "article", "video", "map", "route", "file", "folder", "log", "trace"};
+    private static final String[] QUALIFIERS = {
+            "by city", "for a date range", "with filters", "in bulk", "by identifier", "from the archive",
+            "for the current user", "with pagination", "across regions", "in real time"};
+
+    private final List<McpServer> servers;
+    private final int toolCount;
+
+    private SyntheticCatalog(List<McpServer> servers, int toolCount) {
+        this.servers = servers;
+        this.toolCount = toolCount;
+    }
+
+    /**
+     * Catalog of {@code toolCount} tools
+     */
+    public static SyntheticCatalog of(int toolCount) {
+        Random random = new Random(42);
+        List<McpServer> servers = new ArrayList<>();
+        int serviceCount = (toolCount + TOOLS_PER_SERVICE - 1) / TOOLS_PER_SERVICE;
+        for (int s = 0; s < serviceCount; s++) {
+            List<McpTool> tools = new ArrayList<>();
+            for (int t = s * TOOLS_PER_SERVICE; t < Math.min(toolCount, (s + 1) * TOOLS_PER_SERVICE); t++) {
+                tools.add(tool(t, random));
+            }
+            String noun = NOUNS[s % NOUNS.length];
+            servers.add(McpServer.builder()
+                    .name("mcp-" + noun.replace(' ', '-') + "-" + s)
+                    .description("MCP server for " + noun + " operations")
+                    .version("1.0.0")
+                    .provider("Nacos")
+                    .transportType("sse")
+                    .ip("10.0." + (s / 250) + "." + (s % 250 + 1))
+                    .port(8060)
+                    .endpoint("http://10.0." + (s / 250) + "." + (s % 250 + 1) + ":8060")
+                    .status(McpServer.ServerStatus.CONNECTED)
+                    .tools(tools)
+                    .metadata(Map.of())
+                    .relevanceScore(1.0)
+                    .build());
+        }
+        return new SyntheticCatalog(servers, toolCount);
+    }
+
+    static McpTool tool(int index, Random random) {
+        String verb = VERBS[random.nextInt(VERBS.length)];
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        String qualifier = QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+
+        Map<String, McpTool.Property> properties = new LinkedHashMap<>();
+        properties.put("query", McpTool.Property.builder().type("string").description("Text to look for").build());
+        properties.put("limit", McpTool.Property.builder().type("integer").description("Maximum results").build());
+        return McpTool.builder()
+                .name(verb + "_" + noun.replace(' ', '_') + "_" + index)
+                .description(capitalize(verb) + " " + noun + " " + qualifier)
+                .inputSchema(McpTool.InputSchema.builder()
+                        .type("object")
+                        .properties(properties)
+                        .required(List.of("query"))
+                        .additionalProperties(false)
+                        .build())
+                .annotations(McpTool.ToolAnnotations.builder()
+                        .readOnlyHint(verb.equals("get") || verb.equals("list") || verb.equals("search"))
+                        .build())
+                .build();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    public List<McpServer> getServers() {
+        return servers;
+    }
+
+    public int getToolCount() {
+        return toolCount;
+    }
+
+    /**
+     * A task description that matches some services of every catalog
+     */
+    public static String sampleTask(int variant) {
+        return VERBS[variant % VERBS.length] + " " + NOUNS[(variant * 7) % NOUNS.length] + " "
+                + QUALIFIERS[variant % QUALIFIERS.length];
+    }
+
+    /**
+     * The server as a Nacos instance registers it: tools as JSON in the metadata
+     */
+    public static Instance toInstance(McpServer server, ObjectMapper objectMapper) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("description", server.getDescription());
+        metadata.put("version", server.getVersion());
+        metadata.put("transportType", server.getTransportType());
+        metadata.put("context-path", "");
+        try {
+            metadata.put("tools", objectMapper.writeValueAsString(server.getTools()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Instance instance = new Instance();
+        instance.setServiceName(server.getName());
+        instance.setIp(server.getIp());
+        instance.setPort(server.getPort());
+        instance.setHealthy(true);
+        instance.setEnabled(true);
+        instance.setMetadata(metadata);
+        return instance;
+    }
+}
@@ -0,0 +1,62 @@
+package com.nacos.mcp.router.benchmark;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.config.SpringAiConfig.ToolExecutionMonitor;
+import com.nacos.mcp.router.observability.SloMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording tool executions from many threads at once
+ * With one tool every thread contends on the same recorder; with many the contention
+ * spreads over recorders and the map lookup dominates. The rolling SLO windows are
+ * recorded on the same path, so they are measured next to the monitor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ToolExecutionMonitorBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int toolCount;
+
+    private ToolExecutionMonitor monitor;
+    private SloMonitor sloMonitor;
+    private String[] toolNames;
+
+    @Setup
+    public void setUp() {
+        McpRouterProperties properties = new McpRouterProperties();
+        properties.getSlo().setMaxSeries(toolCount);
+        monitor = new ToolExecutionMonitor(new SimpleMeterRegistry(), properties.getTools().getMetrics());
+        sloMonitor = new SloMonitor(properties);
+        toolNames = new String[toolCount];
+        for (int i = 0; i < toolCount; i++) {
+            toolNames[i] = "tool_" + i;
+            // create the recorders up front, so only steady-state recording is measured
+            monitor.recordExecution(toolNames[i], 1, true);
+            sloMonitor.recordTool(toolNames[i], 1, true);
+        }
+    }
+
+    @Benchmark
+    public void recordExecution() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        monitor.recordExecution(toolNames[random.nextInt(toolNames.length)], random.nextInt(1, 500),
+                random.nextInt(100) != 0);
+    }
+
+    @Benchmark
+    public void recordSloWindow() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        sloMonitor.recordTool(toolNames[random.nextInt(toolNames.length)], random.nextInt(1, 500),
+                random.nextInt(100) != 0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nacos.mcp.router.load;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bytes allocated by the process, split by thread group
+ * Samples the per-thread allocation counters of the HotSpot {@code ThreadMXBean}
+ * periodically, and keeps the last sample of a thread once it is gone, so what a
+ * thread allocates between its last sample and its death is missed. Threads are
+ * grouped by name, which lets the harness tell the router's allocations from those
+ * of the clients and fake servers running in the same JVM.
+ */
+final class AllocationSampler implements AutoCloseable {
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final Function<String, String> grouping;
+    private final Map<Long, Long> lastBytes = new HashMap<>();
+    private final Map<Long, String> groups = new HashMap<>();
+    private final Map<String, Long> retiredBytes = new HashMap<>();
+    private final ScheduledExecutorService sampler;
+
+    AllocationSampler(Function<String, String> grouping) {
+        this.grouping = grouping;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean hotSpot
+                && hotSpot.isThreadAllocatedMemorySupported() ? hotSpot : null;
+        if (threads == null) {
+            sampler = null;
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "allocation-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, 0, 200, TimeUnit.MILLISECONDS);
+    }
+
+    boolean isSupported() {
+        return threads != null;
+    }
+
+    /**
+     * Bytes allocated so far per group, as of a fresh sample
+     */
+    synchronized Map<String, Long> totals() {
+        sample();
+        Map<String, Long> totals = new LinkedHashMap<>(retiredBytes);
+        lastBytes.forEach((id, bytes) -> totals.merge(groups.get(id), bytes, Long::sum));
+        return totals;
+    }
+
+    private synchronized void sample() {
+        if (threads == null) {
+            return;
+        }
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> current = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] < 0) {
+                continue;
+            }
+            current.put(ids[i], bytes[i]);
+            if (!groups.containsKey(ids[i])) {
+                ThreadInfo info = threads.getThreadInfo(ids[i]);
+                groups.put(ids[i], grouping.apply(info != null ? info.getThreadName() : ""));
+            }
+        }
+        lastBytes.forEach((id, last) -> {
+            if (!current.containsKey(id)) {
+                retiredBytes.merge(groups.remove(id), last, Long::sum);
+            }
+        });
+        lastBytes.clear();
+        lastBytes.putAll(current);
+    }
+
+    @Override
+    public void close() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.nacos.mcp.router.load;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nacos.mcp.router.benchmark.SyntheticCatalog;
+import com.nacos.mcp.router.model.McpServer;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process MCP server on the SSE transport (protocol 2024-11-05)
+ * GET /sse opens a session and announces its message endpoint; requests POSTed there
+ * are accepted with 202 and answered on the session's stream after the configured
+ * latency plus a uniform jitter. The configured share of tools/call requests fails
+ * with a JSON-RPC internal error. Tools come from the synthetic catalog entry the
+ * server was created from.
+ */
+final class FakeMcpServer implements AutoCloseable {
+
+    static final String THREAD_PREFIX = "fake-mcp";
+
+    private final McpServer definition;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final ObjectMapper objectMapper;
+    private final Scheduler timer;
+    private final Map<String, Sinks.Many<String>> sessions = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder toolCalls = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final DisposableServer server;
+
+    FakeMcpServer(McpServer definition, long latencyMillis, long jitterMillis, double errorRate,
+                  ObjectMapper objectMapper, LoopResources loops, Scheduler timer) {
+        this.definition = definition;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.objectMapper = objectMapper;
+        this.timer = timer;
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(loops)
+                .route(routes -> routes
+                        .get("/sse", this::openSession)
+                        .post("/message", this::receiveMessage))
+                .bindNow();
+    }
+
+    /**
+     * The Nacos instance this server registers as, tools in the metadata
+     */
+    Instance toInstance() {
+        McpServer registered = definition.toBuilder().ip("127.0.0.1").port(server.port()).build();
+        return SyntheticCatalog.toInstance(registered, objectMapper);
+    }
+
+    String getName() {
+        return definition.getName();
+    }
+
+    long getRequests() {
+        return requests.sum();
+    }
+
+    long getToolCalls() {
+        return toolCalls.sum();
+    }
+
+    long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    private Publisher<Void> openSession(HttpServerRequest request, HttpServerResponse response) {
+        String sessionId = UUID.randomUUID().toString();
+        Sinks.Many<String> session = Sinks.many().unicast().onBackpressureBuffer();
+        sessions.put(sessionId, session);
+        emit(session, "endpoint", "/message?sessionId=" + sessionId);
+        return response.sse()
+                .sendString(session.asFlux().doFinally(signal -> sessions.remove(sessionId)));
+    }
+
+    private Publisher<Void> receiveMessage(HttpServerRequest request, HttpServerResponse response) {
+        List<String> sessionIds = new QueryStringDecoder(request.uri()).parameters().get("sessionId");
+        Sinks.Many<String> session = sessionIds != null ? sessions.get(sessionIds.get(0)) : null;
+        if (session == null) {
+            return response.status(HttpResponseStatus.NOT_FOUND).send();
+        }
+        return request.receive().aggregate().asString()
+                .doOnNext(body -> handle(session, body))
+                .then(Mono.defer(() -> response.status(HttpResponseStatus.ACCEPTED).send().then()));
+    }
+
+    private void handle(Sinks.Many<String> session, String body) {
+        requests.increment();
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            reply(session, error(null, -32700, "Parse error"));
+            return;
+        }
+        JsonNode id = request.get("id");
+        if (id == null || id.isNull()) {
+            // notifications/initialized and other notifications get no response
+            return;
+        }
+        String method = request.path("method").asText();
+        switch (method) {
+            case "initialize" -> reply(session, success(id, Map.of(
+                    "protocolVersion", "2024-11-05",
+                    "capabilities", Map.of("tools", Map.of()),
+                    "serverInfo", Map.of("name", definition.getName(), "version", definition.getVersion()))));
+            case "ping" -> reply(session, success(id, Map.of()));
+            case "tools/list" -> reply(session, success(id, Map.of("tools", definition.getTools())));
+            case "tools/call" -> {
+                toolCalls.increment();
+                if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                    injectedErrors.increment();
+                    reply(session, error(id, -32603, "Injected failure"));
+                } else {
+                    String tool = request.path("params").path("name").asText();
+                    reply(session, success(id, Map.of(
+                            "content", List.of(Map.of("type", "text", "text", tool + " done by " + definition.getName())),
+                            "isError", false)));
+                }
+            }
+            default -> reply(session, error(id, -32601, "Method not found: " + method));
+        }
+    }
+
+    private ObjectNode success(JsonNode id, Object result) {
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0");
+        response.set("id", id);
+        response.set("result", objectMapper.valueToTree(result));
+        return response;
+    }
+
+    private ObjectNode error(JsonNode id, int code, String message) {
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0");
+        response.set("id", id);
+        response.putObject("error").put("code", code).put("message", message);
+        return response;
+    }
+
+    private void reply(Sinks.Many<String> session, ObjectNode response) {
+        String data = response.toString();
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (delay <= 0) {
+            emit(session, "message", data);
+        } else {
+            timer.schedule(() -> emit(session, "message", data), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void emit(Sinks.Many<String> session, String event, String data) {
+        // replies are scheduled from several threads, a unicast sink takes one at a time
+        synchronized (session) {
+            session.tryEmitNext("event: " + event + "\ndata: " + data + "\n\n");
+        }
+    }
+
+    @Override
+    public void close() {
+        sessions.values().forEach(Sinks.Many::tryEmitComplete);
+        server.disposeNow(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,254 @@
+package com.nacos.mcp.router.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nacos.mcp.router.NacosMcpRouterApplication;
+import com.nacos.mcp.router.benchmark.SyntheticCatalog;
+import com.nacos.mcp.router.config.InMemoryNamingConfiguration;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.naming.InMemoryNamingService;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the router in one JVM, without Nacos or real MCP servers
+ * Starts {@code --load.servers} {@link FakeMcpServer}s and the router on a random port
+ * with the in-memory-naming profile, registers the servers in its
+ * {@link InMemoryNamingService} and drives it with {@code --load.clients} concurrent
+ * {@link SseLoadClient}s. After the ramp-up and warm-up it measures throughput and
+ * latency percentiles per method, the allocation rate of the router's threads and
+ * the heap growth after full GCs, and prints a report.
+ *
+ * <pre>
+ * java -cp mcp-router-benchmarks/target/benchmarks.jar com.nacos.mcp.router.load.LoadHarness \
+ *     --load.clients=5000 --load.servers=16 --load.server-latency=20,200 --load.server-error-rate=0.05
+ * </pre>
+ */
+public final class LoadHarness {
+
+    private static final String CLIENT_THREADS = "load-client";
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        LoopResources serverLoops = LoopResources.create(FakeMcpServer.THREAD_PREFIX, 2, true);
+        Scheduler serverTimer = Schedulers.newParallel(FakeMcpServer.THREAD_PREFIX + "-timer", 2, true);
+        LoopResources clientLoops = LoopResources.create(CLIENT_THREADS, Runtime.getRuntime().availableProcessors(), true);
+        Scheduler clientTimer = Schedulers.newParallel(CLIENT_THREADS + "-timer", 2, true);
+        ConnectionProvider connections = ConnectionProvider.builder(CLIENT_THREADS)
+                // one connection for each client's stream, one for its POSTs in flight
+                .maxConnections(options.clients() * 2)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(options.requestTimeout())
+                .build();
+        AllocationSampler allocations = new AllocationSampler(LoadHarness::threadGroup);
+
+        List<FakeMcpServer> servers = new ArrayList<>();
+        ConfigurableApplicationContext router = null;
+        try {
+            SyntheticCatalog catalog = SyntheticCatalog.of(options.servers() * SyntheticCatalog.TOOLS_PER_SERVICE);
+            List<String> toolNames = new ArrayList<>();
+            for (int i = 0; i < options.servers(); i++) {
+                McpServer definition = catalog.getServers().get(i);
+                FakeMcpServer server = new FakeMcpServer(definition, options.serverLatencyMillis(i),
+                        options.serverJitterMillis(i), options.serverErrorRate(i), objectMapper, serverLoops, serverTimer);
+                servers.add(server);
+                definition.getTools().stream().map(McpTool::getName).forEach(toolNames::add);
+            }
+
+            router = startRouter(options, servers.stream().map(FakeMcpServer::getName).toList());
+            registerServers(router, servers);
+            int port = ((ReactiveWebServerApplicationContext) router).getWebServer().getPort();
+            System.out.printf("Router on port %d, %d fake MCP servers with %d tools%n", port, servers.size(), toolNames.size());
+
+            WebClient webClient = WebClient.builder()
+                    .baseUrl("http://127.0.0.1:" + port)
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections).runOn(clientLoops)))
+                    .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                    .build();
+            LoadStats stats = new LoadStats();
+
+            long start = System.nanoTime();
+            long measureStart = start + options.rampUp().plus(options.warmup()).toNanos();
+            long measureEnd = measureStart + options.duration().toNanos();
+            Duration spacing = options.rampUp().dividedBy(options.clients());
+            Flux.range(0, options.clients())
+                    .delayElements(spacing.isZero() ? Duration.ofNanos(1) : spacing, clientTimer)
+                    .flatMap(i -> new SseLoadClient(CLIENT_THREADS + "-" + i, webClient, objectMapper, options,
+                            stats, toolNames, clientTimer).run(measureEnd), options.clients())
+                    .subscribe();
+
+            sleepUntil(measureStart);
+            Snapshot before = Snapshot.take(allocations);
+            stats.setMeasuring(true);
+            sleepUntil(measureEnd);
+            stats.setMeasuring(false);
+            Snapshot after = Snapshot.take(allocations);
+
+            report(System.out, options, stats, servers, before, after, allocations.isSupported());
+        } finally {
+            if (router != null) {
+                router.close();
+            }
+            servers.forEach(FakeMcpServer::close);
+            allocations.close();
+            connections.disposeLater().block(Duration.ofSeconds(10));
+            clientLoops.disposeLater().block(Duration.ofSeconds(10));
+            serverLoops.disposeLater().block(Duration.ofSeconds(10));
+            clientTimer.dispose();
+            serverTimer.dispose();
+        }
+    }
+
+    private static ConfigurableApplicationContext startRouter(LoadOptions options, Iterable<String> serviceNames) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.profiles.active", InMemoryNamingConfiguration.PROFILE);
+        properties.put("mcp.router.discovery.service-names", String.join(",", serviceNames));
+        // only the fake servers unless asked for, e.g. --mcp.router.in-memory-naming.services=10000
+        properties.put("mcp.router.in-memory-naming.services", "0");
+        for (String arg : options.routerArgs()) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith("--") && separator > 2) {
+                properties.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplication(NacosMcpRouterApplication.class).run(args);
+    }
+
+    /**
+     * Register the fake servers in the router's in-memory naming and wait for the change events to reach its registry
+     */
+    private static void registerServers(ConfigurableApplicationContext router, List<FakeMcpServer> servers)
+            throws InterruptedException {
+        InMemoryNamingService naming = router.getBean(InMemoryNamingService.class);
+        McpServerRegistry registry = router.getBean(McpServerRegistry.class);
+        for (FakeMcpServer server : servers) {
+            naming.register(null, server.getName(), List.of(server.toInstance()));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!servers.stream().allMatch(server -> !registry.getServers(server.getName()).isEmpty())) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The router did not discover the fake servers within 30 s");
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private static String threadGroup(String threadName) {
+        if (threadName.startsWith(CLIENT_THREADS)) {
+            return "clients";
+        }
+        if (threadName.startsWith(FakeMcpServer.THREAD_PREFIX)) {
+            return "fake servers";
+        }
+        return "router";
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    /**
+     * Allocation, GC and heap figures at one point of the run
+     */
+    private record Snapshot(long nanoTime, Map<String, Long> allocatedBytes, long heapUsedAfterGc,
+                            long gcCount, long gcMillis) {
+
+        static Snapshot take(AllocationSampler allocations) {
+            // collect first, so the heap figure is live data rather than garbage
+            System.gc();
+            long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(0, gc.getCollectionCount());
+                gcMillis += Math.max(0, gc.getCollectionTime());
+            }
+            return new Snapshot(System.nanoTime(), allocations.totals(), heapUsed, gcCount, gcMillis);
+        }
+    }
+
+    private static void report(PrintStream out, LoadOptions options, LoadStats stats, List<FakeMcpServer> servers,
+                               Snapshot before, Snapshot after, boolean allocationSupported) {
+        double seconds = (after.nanoTime() - before.nanoTime()) / 1e9;
+        out.println();
+        out.printf("== %d clients, %d fake servers, measured %.1f s after %d s ramp-up and %d s warm-up ==%n",
+                options.clients(), servers.size(), seconds, options.rampUp().toSeconds(), options.warmup().toSeconds());
+        out.printf("SSE streams: %d connected, %d failed to connect, %d dropped by the router%n",
+                stats.getConnected(), stats.getConnectFailures(), stats.getDropped());
+
+        out.printf("%n%-12s %10s %10s %10s %9s %9s %9s %9s %9s%n",
+                "method", "responses", "per sec", "rpc errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Timer> entry : stats.getLatencies().entrySet()) {
+            HistogramSnapshot snapshot = entry.getValue().takeSnapshot();
+            total += snapshot.count();
+            out.printf("%-12s %10d %10.1f %10d", entry.getKey(), snapshot.count(), snapshot.count() / seconds,
+                    stats.getRpcErrors(entry.getKey()));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                out.printf(" %9.2f", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            out.printf(" %9.2f%n", snapshot.max(TimeUnit.MILLISECONDS));
+        }
+        out.printf("%-12s %10d %10.1f%n", "all", total, total / seconds);
+        stats.getFailures().forEach((failure, count) -> out.printf("no response: %s x %d%n", failure, count));
+
+        long downstreamRequests = servers.stream().mapToLong(FakeMcpServer::getRequests).sum();
+        long downstreamCalls = servers.stream().mapToLong(FakeMcpServer::getToolCalls).sum();
+        long injected = servers.stream().mapToLong(FakeMcpServer::getInjectedErrors).sum();
+        out.printf("%nFake servers (whole run): %d requests, %d tool calls, %d injected errors%n",
+                downstreamRequests, downstreamCalls, injected);
+
+        if (allocationSupported) {
+            out.println("Allocation rate:");
+            after.allocatedBytes().forEach((group, bytes) -> {
+                long delta = bytes - before.allocatedBytes().getOrDefault(group, 0L);
+                out.printf("  %-13s %10.1f MB/s", group, delta / seconds / (1 << 20));
+                if (total > 0) {
+                    out.printf(" %10.1f KB per response", delta / (double) total / 1024);
+                }
+                out.println();
+            });
+        } else {
+            out.println("Allocation rate: not supported by this JVM");
+        }
+        out.printf("Heap after GC: %.1f MB -> %.1f MB (%+.1f MB)%n", before.heapUsedAfterGc() / 1048576.0,
+                after.heapUsedAfterGc() / 1048576.0, (after.heapUsedAfterGc() - before.heapUsedAfterGc()) / 1048576.0);
+        out.printf("GC: %d collections, %d ms (one forced full GC included)%n",
+                after.gcCount() - before.gcCount(), after.gcMillis() - before.gcMillis());
+    }
+}
@@ -0,0 +1,101 @@
+package com.nacos.mcp.router.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load harness settings, from {@code --load.name=value} arguments
+ * Every other argument is passed to the router as a Spring Boot command line property,
+ * so e.g. {@code --mcp.router.access-log.enabled=false} works as it does for the jar.
+ * The per-server settings take comma separated lists, assigned to the fake servers
+ * round robin.
+ *
+ * @param clients        concurrent SSE clients
+ * @param rampUp         time over which the clients connect
+ * @param warmup         time after the ramp-up that is run but not measured
+ * @param duration       measured time
+ * @param thinkTime      pause of each client between a response and its next request
+ * @param listRatio      share of requests that are tools/list, the rest are tools/call
+ * @param requestTimeout time a client waits for a response before counting a failure
+ * @param servers        fake MCP servers, each with {@code SyntheticCatalog.TOOLS_PER_SERVICE} tools
+ * @param serverLatencyMillis   response latency of each fake server
+ * @param serverJitterMillis    uniform random latency added on top
+ * @param serverErrorRates      share of tools/call requests a fake server fails
+ * @param routerArgs     remaining arguments, for the router
+ */
+record LoadOptions(int clients,
+                   Duration rampUp,
+                   Duration warmup,
+                   Duration duration,
+                   Duration thinkTime,
+                   double listRatio,
+                   Duration requestTimeout,
+                   int servers,
+                   long[] serverLatencyMillis,
+                   long[] serverJitterMillis,
+                   double[] serverErrorRates,
+                   List<String> routerArgs) {
+
+    static final String PREFIX = "--load.";
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> routerArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith(PREFIX)) {
+                routerArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected " + PREFIX + "name=value but got " + arg);
+            }
+            values.put(arg.substring(PREFIX.length(), separator), arg.substring(separator + 1));
+        }
+
+        LoadOptions options = new LoadOptions(
+                Integer.parseInt(take(values, "clients", "2000")),
+                Duration.ofSeconds(Long.parseLong(take(values, "ramp-up", "10"))),
+                Duration.ofSeconds(Long.parseLong(take(values, "warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(take(values, "duration", "60"))),
+                Duration.ofMillis(Long.parseLong(take(values, "think-time", "0"))),
+                Double.parseDouble(take(values, "list-ratio", "0.1")),
+                Duration.ofMillis(Long.parseLong(take(values, "request-timeout", "10000"))),
+                Integer.parseInt(take(values, "servers", "8")),
+                Arrays.stream(take(values, "server-latency", "20").split(",")).mapToLong(v -> Long.parseLong(v.trim())).toArray(),
+                Arrays.stream(take(values, "server-jitter", "10").split(",")).mapToLong(v -> Long.parseLong(v.trim())).toArray(),
+                Arrays.stream(take(values, "server-error-rate", "0.01").split(",")).mapToDouble(v -> Double.parseDouble(v.trim())).toArray(),
+                List.copyOf(routerArgs));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown load options: " + values.keySet());
+        }
+        if (options.clients < 1 || options.servers < 1) {
+            throw new IllegalArgumentException("Need at least one client and one server");
+        }
+        if (options.listRatio < 0 || options.listRatio > 1) {
+            throw new IllegalArgumentException("list-ratio must be between 0 and 1");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    long serverLatencyMillis(int server) {
+        return serverLatencyMillis[server % serverLatencyMillis.length];
+    }
+
+    long serverJitterMillis(int server) {
+        return serverJitterMillis[server % serverJitterMillis.length];
+    }
+
+    double serverErrorRate(int server) {
+        return serverErrorRates[server % serverErrorRates.length];
+    }
+}
@@ -0,0 +1,111 @@
+package com.nacos.mcp.router.load;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What the clients observed
+ * Calls and failures count only while {@link #setMeasuring measuring}, so ramp-up and
+ * warm-up stay out of the results; connection counts cover the whole run.
+ */
+final class LoadStats {
+
+    static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rpcErrors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final LongAdder connected = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean measuring;
+
+    void setMeasuring(boolean measuring) {
+        this.measuring = measuring;
+    }
+
+    /**
+     * A response arrived, {@code rpcError} if it carries a JSON-RPC error
+     */
+    void record(String method, long nanos, boolean rpcError) {
+        if (!measuring) {
+            return;
+        }
+        latencies.computeIfAbsent(method, this::timer).record(nanos, TimeUnit.NANOSECONDS);
+        if (rpcError) {
+            rpcErrors.computeIfAbsent(method, m -> registry.counter("load.rpc.errors", "method", m)).increment();
+        }
+    }
+
+    /**
+     * No response: the POST failed or the response did not arrive in time
+     */
+    void failure(String method, Throwable error) {
+        if (measuring) {
+            failures.computeIfAbsent(method + " " + error.getClass().getSimpleName(), k -> new LongAdder()).increment();
+        }
+    }
+
+    void connected() {
+        connected.increment();
+    }
+
+    void connectFailed() {
+        connectFailures.increment();
+    }
+
+    /**
+     * A stream the router closed before the client was done
+     */
+    void dropped() {
+        dropped.increment();
+    }
+
+    private Timer timer(String method) {
+        return Timer.builder("load.calls")
+                .tag("method", method)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2)
+                // one histogram for the whole run instead of a decaying window
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+    }
+
+    Map<String, Timer> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+
+    long getRpcErrors(String method) {
+        Counter counter = rpcErrors.get(method);
+        return counter != null ? (long) counter.count() : 0;
+    }
+
+    Map<String, Long> getFailures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    long getConnected() {
+        return connected.sum();
+    }
+
+    long getConnectFailures() {
+        return connectFailures.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,156 @@
+package com.nacos.mcp.router.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One MCP client of the router's SSE transport
+ * Opens {@code GET /mcp/jsonrpc/sse}, waits for the connection event and initializes,
+ * then runs a closed loop until the deadline: POST a tools/list or tools/call to
+ * {@code /mcp/jsonrpc/message} and wait for the response with the same id on the
+ * stream. Latency is taken from sending the POST to receiving that response.
+ */
+final class SseLoadClient {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENT = new ParameterizedTypeReference<>() {};
+
+    private final String clientId;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final LoadOptions options;
+    private final LoadStats stats;
+    private final List<String> toolNames;
+    private final Scheduler timer;
+    private final Map<Long, Sinks.One<Reply>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final Sinks.Empty<Void> connected = Sinks.empty();
+    private volatile boolean established;
+    private volatile boolean open = true;
+
+    private record Reply(JsonNode body, long receivedNanos) {
+    }
+
+    SseLoadClient(String clientId, WebClient webClient, ObjectMapper objectMapper, LoadOptions options,
+                  LoadStats stats, List<String> toolNames, Scheduler timer) {
+        this.clientId = clientId;
+        this.webClient = webClient;
+        this.objectMapper = objectMapper;
+        this.options = options;
+        this.stats = stats;
+        this.toolNames = toolNames;
+        this.timer = timer;
+    }
+
+    /**
+     * Connect and send requests until {@code deadlineNanos}, then disconnect
+     * Completes normally whatever the outcome; failures go to the stats.
+     */
+    Mono<Void> run(long deadlineNanos) {
+        return Mono.defer(() -> {
+            Disposable stream = webClient.get()
+                    .uri("/mcp/jsonrpc/sse?clientId={clientId}", clientId)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .retrieve()
+                    .bodyToFlux(SSE_EVENT)
+                    .subscribe(this::onEvent, error -> onClosed(), this::onClosed);
+            return connected.asMono()
+                    .timeout(options.requestTimeout(), timer)
+                    .doOnSuccess(ignored -> stats.connected())
+                    .then(call("initialize", Map.of(
+                            "protocolVersion", "2024-11-05",
+                            "capabilities", Map.of(),
+                            "clientInfo", Map.of("name", clientId, "version", "1.0.0"))))
+                    .then(Mono.defer(this::nextRequest)
+                            .repeat(() -> open && System.nanoTime() < deadlineNanos)
+                            .then())
+                    .doOnError(error -> stats.connectFailed())
+                    .onErrorResume(error -> Mono.empty())
+                    .doFinally(signal -> {
+                        open = false;
+                        stream.dispose();
+                    });
+        });
+    }
+
+    private Mono<Void> nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Mono<Void> request = random.nextDouble() < options.listRatio()
+                ? call("tools/list", Map.of())
+                : call("tools/call", Map.of(
+                        "name", toolNames.get(random.nextInt(toolNames.size())),
+                        "arguments", Map.of("query", "load test", "limit", 5)));
+        return options.thinkTime().isZero()
+                ? request
+                : request.then(Mono.delay(options.thinkTime(), timer).then());
+    }
+
+    private Mono<Void> call(String method, Map<String, Object> params) {
+        return Mono.defer(() -> {
+            long id = nextId.incrementAndGet();
+            Sinks.One<Reply> reply = Sinks.one();
+            pending.put(id, reply);
+            long start = System.nanoTime();
+            return webClient.post()
+                    .uri("/mcp/jsonrpc/message?clientId={clientId}", clientId)
+                    .bodyValue(Map.of("jsonrpc", "2.0", "id", id, "method", method, "params", params))
+                    .retrieve()
+                    .toBodilessEntity()
+                    .then(reply.asMono())
+                    .timeout(options.requestTimeout(), timer)
+                    .doOnNext(response -> stats.record(method, response.receivedNanos() - start,
+                            response.body().has("error")))
+                    .doOnError(error -> stats.failure(method, error))
+                    .onErrorResume(error -> Mono.empty())
+                    .doFinally(signal -> pending.remove(id))
+                    .then();
+        });
+    }
+
+    private void onEvent(ServerSentEvent<String> event) {
+        if ("connection".equals(event.event())) {
+            established = true;
+            connected.tryEmitEmpty();
+            return;
+        }
+        if (!"mcp-response".equals(event.event()) || event.data() == null) {
+            return;
+        }
+        long received = System.nanoTime();
+        try {
+            JsonNode body = objectMapper.readTree(event.data());
+            Sinks.One<Reply> reply = pending.get(body.path("id").asLong());
+            if (reply != null) {
+                reply.tryEmitValue(new Reply(body, received));
+            }
+        } catch (JsonProcessingException e) {
+            // not a response of ours; the waiting call times out
+        }
+    }
+
+    private void onClosed() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        if (established) {
+            stats.dropped();
+        } else {
+            connected.tryEmitError(new IllegalStateException("SSE stream closed before the connection event"));
+        }
+    }
+}
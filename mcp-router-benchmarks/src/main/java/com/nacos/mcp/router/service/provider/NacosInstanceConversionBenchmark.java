@@ -0,0 +1,60 @@
+package com.nacos.mcp.router.service.provider;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.nacos.mcp.router.benchmark.RouterFixture;
+import com.nacos.mcp.router.benchmark.SyntheticCatalog;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NacosSearchProvider#toMcpServer} and {@link NacosSearchProvider#parseTools}
+ * Every refresh and naming event converts each healthy instance of a service, and the
+ * tools JSON in its metadata dominates. The instance advertises up to
+ * {@code toolsPerInstance} tools of the synthetic catalog.
+ * In this package because both methods are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NacosInstanceConversionBenchmark {
+
+    @Param({"1", "20", "200"})
+    public int toolsPerInstance;
+
+    private RouterFixture fixture;
+    private Instance instance;
+    private String toolsJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new RouterFixture(SyntheticCatalog.of(0));
+        List<McpTool> tools = SyntheticCatalog.of(toolsPerInstance).getServers().stream()
+                .flatMap(server -> server.getTools().stream())
+                .toList();
+        McpServer server = SyntheticCatalog.of(1).getServers().get(0).toBuilder().tools(tools).build();
+        instance = SyntheticCatalog.toInstance(server, fixture.objectMapper);
+        toolsJson = instance.getMetadata().get("tools");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public McpServer toMcpServer() {
+        return fixture.nacosSearchProvider.toMcpServer("mcp-server-v2", instance);
+    }
+
+    @Benchmark
+    public List<McpTool> parseTools() {
+        return fixture.nacosSearchProvider.parseTools(toolsJson);
+    }
+}
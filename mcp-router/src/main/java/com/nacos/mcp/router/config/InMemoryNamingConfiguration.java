@@ -0,0 +1,52 @@
+package com.nacos.mcp.router.config;
+
+import com.alibaba.nacos.api.naming.NamingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.service.naming.InMemoryNamingClient;
+import com.nacos.mcp.router.service.naming.InMemoryNamingService;
+import com.nacos.mcp.router.service.naming.NamingSimulator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Simulated Nacos naming in place of {@link NacosConfiguration}, with the in-memory-naming profile
+ * The synthetic services of {@code mcp.router.in-memory-naming} are registered, and
+ * added to the discovered service names, before the Nacos provider subscribes, so
+ * discovery of thousands of services, churn and naming faults can be exercised
+ * without a Nacos server.
+ */
+@Configuration
+@Profile(InMemoryNamingConfiguration.PROFILE)
+public class InMemoryNamingConfiguration {
+
+    public static final String PROFILE = "in-memory-naming";
+
+    @Bean(destroyMethod = "shutDown")
+    public InMemoryNamingService inMemoryNamingService(McpRouterProperties properties) {
+        return new InMemoryNamingService(properties.getInMemoryNaming());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public NamingSimulator namingSimulator(InMemoryNamingService inMemoryNamingService,
+                                           McpRouterProperties properties,
+                                           ObjectMapper objectMapper) {
+        NamingSimulator simulator = new NamingSimulator(inMemoryNamingService, properties.getInMemoryNaming(), objectMapper);
+        Set<String> serviceNames = new LinkedHashSet<>(properties.getDiscovery().getServiceNames());
+        serviceNames.addAll(simulator.getServiceNames());
+        properties.getDiscovery().setServiceNames(new ArrayList<>(serviceNames));
+        return simulator;
+    }
+
+    /**
+     * Depends on the simulator, so the Nacos provider sees the synthetic services from its first subscription
+     */
+    @Bean
+    public NamingService namingService(InMemoryNamingService inMemoryNamingService, NamingSimulator namingSimulator) {
+        return new InMemoryNamingClient(inMemoryNamingService);
+    }
+}
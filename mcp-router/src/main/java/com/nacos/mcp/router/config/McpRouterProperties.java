@@ -9,6 +9,11 @@ import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * MCP Router Configuration Properties
  */
@@ -42,12 +47,74 @@ public class McpRouterProperties {
      */
     private Search search = new Search();
 
+    /**
+     * Tool execution configuration
+     */
+    private Tools tools = new Tools();
+
+    /**
+     * Service discovery configuration
+     */
+    private Discovery discovery = new Discovery();
+
+    /**
+     * Cursor pagination of list responses
+     */
+    private Pagination pagination = new Pagination();
+
+    /**
+     * HTTP caching of catalog reads
+     */
+    private Http http = new Http();
+
+    /**
+     * W3C trace context propagation and span collection
+     */
+    private Tracing tracing = new Tracing();
+
+    /**
+     * Structured access log of API and JSON-RPC calls
+     */
+    private AccessLogging accessLog = new AccessLogging();
+
+    /**
+     * Rolling service-level windows per tool and downstream instance
+     */
+    private Slo slo = new Slo();
+
+    /**
+     * Simulated Nacos of the in-memory-naming profile
+     */
+    private InMemoryNaming inMemoryNaming = new InMemoryNaming();
+
     @Data
     public static class Compass {
         /**
          * Compass API base URL
          */
         private String apiBase = "https://registry.mcphub.io";
+
+        /**
+         * Whether the Compass registry is mirrored and searched
+         */
+        private boolean enabled = false;
+
+        /**
+         * Path of the server listing endpoint under the API base
+         */
+        private String serversPath = "/api/v1/servers";
+
+        /**
+         * Interval between background syncs in milliseconds
+         */
+        @Min(value = 1000, message = "Compass sync interval must be >= 1000")
+        private long syncInterval = 300000;
+
+        /**
+         * Timeout of a single sync request in milliseconds
+         */
+        @Min(value = 1, message = "Compass request timeout must be >= 1")
+        private long requestTimeout = 10000;
     }
 
     @Data
@@ -64,5 +131,462 @@ public class McpRouterProperties {
          */
         @Min(value = 1, message = "Result limit must be >= 1")
         private Integer resultLimit = 10;
+
+        /**
+         * Default search mode: keyword, semantic or hybrid
+         */
+        private String mode = "keyword";
+
+        /**
+         * Search response cache
+         */
+        private SearchCache cache = new SearchCache();
+
+        /**
+         * Default deadline of a single search provider in milliseconds; a provider
+         * that misses it contributes no results instead of failing the search
+         */
+        @Min(value = 1, message = "Provider timeout must be >= 1")
+        private long providerTimeout = 3000;
+
+        /**
+         * Per-provider deadlines in milliseconds, keyed by provider name
+         */
+        private Map<String, Long> providerTimeouts = new HashMap<>();
+
+        /**
+         * Window in milliseconds within which streamed results are merged in score order
+         */
+        @Min(value = 1, message = "Stream window must be >= 1")
+        private long streamWindow = 200;
+    }
+
+    @Data
+    public static class SearchCache {
+        /**
+         * Whether search responses are cached until the provider catalogs change
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached responses
+         */
+        @Min(value = 1, message = "Search cache size must be >= 1")
+        private long maxSize = 1000;
+
+        /**
+         * Upper bound on the age of a cached response in milliseconds, for providers
+         * whose catalog version lags behind changes
+         */
+        @Min(value = 1, message = "Search cache TTL must be >= 1")
+        private long ttl = 600000;
+    }
+
+    @Data
+    public static class Discovery {
+        /**
+         * Interval in milliseconds of the full re-query of Nacos, a safety net for missed change events
+         */
+        @Min(value = 1000, message = "Refresh interval must be >= 1000")
+        private long refreshInterval = 30000;
+
+        /**
+         * Nacos services that host MCP servers
+         */
+        private List<String> serviceNames = new ArrayList<>(List.of("mcp-server-v1", "mcp-server-v2", "mcp-server-v3"));
+
+        /**
+         * Number of registry changes kept for delta queries; older versions get a full snapshot
+         */
+        @Min(value = 1, message = "Change journal size must be >= 1")
+        private int changeJournalSize = 1024;
+    }
+
+    @Data
+    public static class Tools {
+        /**
+         * Default execution budget for a tool call in milliseconds
+         */
+        @Min(value = 1, message = "Max execution time must be >= 1")
+        private long maxExecutionTime = 60000;
+
+        /**
+         * Per-tool execution budgets in milliseconds, keyed by tool name
+         */
+        private Map<String, Long> timeouts = new HashMap<>();
+
+        /**
+         * Per-server execution budgets in milliseconds, keyed by server name; a call by tool
+         * name gets the budget of the discovered service that provides the tool
+         */
+        private Map<String, Long> serverTimeouts = new HashMap<>();
+
+        /**
+         * Result cache for read-only tools
+         */
+        private Caching caching = new Caching();
+
+        /**
+         * Sharing of one downstream execution between identical concurrent calls
+         */
+        private Coalescing coalescing = new Coalescing();
+
+        /**
+         * Fair scheduling of tool calls across clients
+         */
+        private Scheduling scheduling = new Scheduling();
+
+        /**
+         * Fuzzy matching of unknown tool names against the known tools
+         */
+        private NameResolution nameResolution = new NameResolution();
+
+        /**
+         * Task-ranked, paged tools/list
+         */
+        private Listing listing = new Listing();
+
+        /**
+         * Latency statistics of tool executions
+         */
+        private ExecutionMetrics metrics = new ExecutionMetrics();
+    }
+
+    @Data
+    public static class Caching {
+        /**
+         * Whether results of read-only tools may be cached
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time to live of a cached result in milliseconds
+         */
+        @Min(value = 1, message = "Cache TTL must be >= 1")
+        private long ttl = 300000;
+
+        /**
+         * Maximum number of cached results, used when max-bytes is not set
+         */
+        @Min(value = 1, message = "Cache size must be >= 1")
+        private long maxSize = 1000;
+
+        /**
+         * Maximum total size of cached results in bytes (0 to bound by entry count only)
+         */
+        private long maxBytes = 0;
+
+        /**
+         * Tools cached in addition to those whose server declares them read-only
+         */
+        private List<String> tools = new ArrayList<>();
+    }
+
+    @Data
+    public static class Coalescing {
+        /**
+         * Whether identical concurrent calls of read-only tools share one execution
+         */
+        private boolean enabled = true;
+
+        /**
+         * Tools coalesced in addition to those whose server declares them read-only
+         */
+        private List<String> tools = new ArrayList<>();
+
+        /**
+         * Tools never coalesced, even if declared read-only
+         */
+        private List<String> excludedTools = new ArrayList<>();
+    }
+
+    @Data
+    public static class Scheduling {
+        /**
+         * Whether tool calls are queued per client and dispatched by weighted fair queuing
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of tool calls executing downstream at the same time
+         */
+        @Min(value = 1, message = "Max concurrent calls must be >= 1")
+        private int maxConcurrent = 64;
+
+        /**
+         * Upper bound of the {@code _meta.priority} hint; calls without a hint have priority 1
+         */
+        @Min(value = 1, message = "Max priority must be >= 1")
+        private int maxPriority = 10;
+    }
+
+    @Data
+    public static class NameResolution {
+        /**
+         * Whether an unknown tool name is answered with the most similar known names
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether a call is routed to the most similar tool when the match is unambiguous
+         */
+        private boolean autoResolve = false;
+
+        /**
+         * Minimum similarity (0..1) for a call to be routed to another tool name
+         */
+        @DecimalMin(value = "0.0", message = "Auto-resolve threshold must be >= 0")
+        @DecimalMax(value = "1.0", message = "Auto-resolve threshold must be <= 1")
+        private double threshold = 0.85;
+
+        /**
+         * Minimum lead of the best match over the runner-up for a call to be routed
+         */
+        private double margin = 0.1;
+
+        /**
+         * Minimum similarity (0..1) of a suggested name
+         */
+        private double minSimilarity = 0.4;
+
+        /**
+         * Maximum number of suggested names
+         */
+        @Min(value = 1, message = "Max suggestions must be >= 1")
+        private int maxSuggestions = 3;
+    }
+
+    @Data
+    public static class Listing {
+        /**
+         * Page size of a tools/list with a task hint when the client sets no limit
+         */
+        @Min(value = 1, message = "Default limit must be >= 1")
+        private int defaultLimit = 20;
+
+        /**
+         * Upper bound of the page size a client may request
+         */
+        @Min(value = 1, message = "Max limit must be >= 1")
+        private int maxLimit = 100;
+    }
+
+    @Data
+    public static class Pagination {
+        /**
+         * Whether tools/list, resources/list and prompts/list return pages with a nextCursor
+         */
+        private boolean enabled = true;
+
+        /**
+         * Items per page when the request sets no limit
+         */
+        @Min(value = 1, message = "Page size must be >= 1")
+        private int pageSize = 100;
+
+        /**
+         * Upper bound of the page size a request may ask for
+         */
+        @Min(value = 1, message = "Max page size must be >= 1")
+        private int maxPageSize = 1000;
+
+        /**
+         * Time in milliseconds a listing snapshot stays readable after its last page was read
+         */
+        @Min(value = 1000, message = "Snapshot TTL must be >= 1000")
+        private long snapshotTtl = 300000;
+
+        /**
+         * Maximum number of listing snapshots kept for open cursors
+         */
+        @Min(value = 1, message = "Max snapshots must be >= 1")
+        private long maxSnapshots = 256;
+    }
+
+    @Data
+    public static class Http {
+        /**
+         * Whether catalog reads carry an ETag of the catalog version and answer If-None-Match with 304
+         */
+        private boolean etagEnabled = true;
+
+        /**
+         * Cache-Control max-age in seconds for catalog reads; 0 sends no-cache, so caches revalidate every time
+         */
+        @Min(value = 0, message = "Cache max-age must be >= 0")
+        private long cacheMaxAge = 0;
+
+        /**
+         * Whether request and response body sizes are counted and exported per endpoint, method and tool
+         */
+        private boolean payloadMetrics = true;
+
+        /**
+         * Maximum number of size series; further tool names are recorded as "other"
+         */
+        @Min(value = 1, message = "Max size series must be >= 1")
+        private int maxSizeSeries = 2000;
+    }
+
+    @Data
+    public static class Tracing {
+        /**
+         * Whether requests are traced; when off no span is created and nothing is propagated
+         */
+        private boolean enabled = false;
+
+        /**
+         * Fraction (0..1) of requests without an incoming traceparent that start a trace;
+         * requests with one follow its sampled flag
+         */
+        @DecimalMin(value = "0.0", message = "Sample ratio must be >= 0")
+        @DecimalMax(value = "1.0", message = "Sample ratio must be <= 1")
+        private double sampleRatio = 1.0;
+
+        /**
+         * Number of finished spans kept by the local collector
+         */
+        @Min(value = 1, message = "Max spans must be >= 1")
+        private int maxSpans = 10000;
+    }
+
+    @Data
+    public static class AccessLogging {
+        /**
+         * Whether calls are written to the mcp.access logger
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction (0..1) of calls that are logged
+         */
+        @DecimalMin(value = "0.0", message = "Sample ratio must be >= 0")
+        @DecimalMax(value = "1.0", message = "Sample ratio must be <= 1")
+        private double sampleRatio = 1.0;
+
+        /**
+         * Maximum characters of a logged value, such as tool arguments; longer values are truncated
+         */
+        @Min(value = 16, message = "Max value length must be >= 16")
+        private int maxValueLength = 512;
+
+        /**
+         * Entries waiting for the writer thread; further entries are dropped
+         */
+        @Min(value = 1, message = "Queue capacity must be >= 1")
+        private int queueCapacity = 8192;
+    }
+
+    @Data
+    public static class Slo {
+        /**
+         * Target fraction (0..1) of good calls; 1 - objective is the error budget the burn rate is relative to
+         */
+        @DecimalMin(value = "0.0", message = "SLO objective must be >= 0")
+        @DecimalMax(value = "1.0", inclusive = false, message = "SLO objective must be < 1")
+        private double objective = 0.99;
+
+        /**
+         * Latency objective in milliseconds; successful calls slower than this also spend the budget, 0 disables
+         */
+        @Min(value = 0, message = "Latency threshold must be >= 0")
+        private long latencyThreshold = 0;
+
+        /**
+         * Maximum number of tools, and of instances, with their own windows; further ones are reported as "other"
+         */
+        @Min(value = 1, message = "Max series must be >= 1")
+        private int maxSeries = 1000;
+    }
+
+    @Data
+    public static class InMemoryNaming {
+        /**
+         * Synthetic services registered at startup; their names are added to the discovered service names
+         */
+        @Min(value = 0, message = "Services must be >= 0")
+        private int services = 100;
+
+        /**
+         * Prefix of the synthetic service names, followed by a zero-padded index
+         */
+        @NotBlank(message = "Service prefix must not be blank")
+        private String servicePrefix = "sim-mcp";
+
+        /**
+         * Instances registered per synthetic service
+         */
+        @Min(value = 1, message = "Instances per service must be >= 1")
+        private int instancesPerService = 1;
+
+        /**
+         * Tools advertised in the metadata of each synthetic instance
+         */
+        @Min(value = 0, message = "Tools per service must be >= 0")
+        private int toolsPerService = 5;
+
+        /**
+         * Interval in milliseconds between churn rounds, 0 disables churn
+         */
+        @Min(value = 0, message = "Churn interval must be >= 0")
+        private long churnInterval = 1000;
+
+        /**
+         * Instance changes per churn round: registrations, deregistrations, health flips and tool updates
+         */
+        @Min(value = 0, message = "Churn per round must be >= 0")
+        private int churnPerRound = 10;
+
+        /**
+         * Latency in milliseconds added to every naming call, as a round trip to Nacos would
+         */
+        @Min(value = 0, message = "Latency must be >= 0")
+        private long latency = 0;
+
+        /**
+         * Upper bound in milliseconds of a uniform random latency added on top
+         */
+        @Min(value = 0, message = "Latency jitter must be >= 0")
+        private long latencyJitter = 0;
+
+        /**
+         * Fraction (0..1) of naming calls failing with a NacosException
+         */
+        @DecimalMin(value = "0.0", message = "Failure rate must be >= 0")
+        @DecimalMax(value = "1.0", message = "Failure rate must be <= 1")
+        private double failureRate = 0.0;
+
+        /**
+         * Fraction (0..1) of subscription events never delivered, left to the periodic refresh
+         */
+        @DecimalMin(value = "0.0", message = "Event drop rate must be >= 0")
+        @DecimalMax(value = "1.0", message = "Event drop rate must be <= 1")
+        private double eventDropRate = 0.0;
+
+        /**
+         * Random seed of the synthetic catalog and the churn
+         */
+        private long seed = 42;
+    }
+
+    @Data
+    public static class ExecutionMetrics {
+        /**
+         * Sliding window in milliseconds over which latency percentiles are computed
+         */
+        @Min(value = 1000, message = "Percentile window must be >= 1000")
+        private long window = 60000;
+
+        /**
+         * Number of rotating histograms the window is split into
+         */
+        @Min(value = 1, message = "Window buffers must be >= 1")
+        private int windowBuffers = 3;
+
+        /**
+         * Maximum number of tools with their own latency series; further ones are reported as "other"
+         */
+        @Min(value = 1, message = "Max series must be >= 1")
+        private int maxSeries = 1000;
     }
-} 
\ No newline at end of file
+}
@@ -7,10 +7,16 @@ import com.alibaba.nacos.api.naming.NamingService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 import java.util.Properties;
 
+/**
+ * Nacos clients for {@code nacos.discovery.server-addr}; replaced by
+ * {@link InMemoryNamingConfiguration} with the in-memory-naming profile
+ */
 @Configuration
+@Profile("!" + InMemoryNamingConfiguration.PROFILE)
 public class NacosConfiguration {
 
     @Value("${nacos.discovery.server-addr}")
@@ -1,12 +1,19 @@
 package com.nacos.mcp.router.config;
 
+import com.nacos.mcp.router.observability.PayloadSizeFilter;
+import com.nacos.mcp.router.observability.RouterTracer;
+import com.nacos.mcp.router.observability.TraceContextFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.Data;
 import lombok.Builder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.stereotype.Component;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
@@ -17,8 +24,13 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 
 /**
@@ -41,7 +53,7 @@ public class SpringAiConfig {
         corsConfig.addAllowedOrigin("*");
         corsConfig.addAllowedHeader("*");
         corsConfig.addAllowedMethod("*");
-        corsConfig.setExposedHeaders(List.of("X-Request-ID", "X-Response-Time", "X-Error-Code"));
+        corsConfig.setExposedHeaders(List.of("X-Request-ID", "X-Response-Time", "X-Error-Code", "traceparent"));
         corsConfig.setMaxAge(3600L);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -195,15 +207,36 @@ public class SpringAiConfig {
      * Enhanced performance monitor for tool executions
      */
     @Bean
-    public ToolExecutionMonitor toolExecutionMonitor() {
-        return new ToolExecutionMonitor();
+    public ToolExecutionMonitor toolExecutionMonitor(MeterRegistry meterRegistry, McpRouterProperties mcpRouterProperties) {
+        return new ToolExecutionMonitor(meterRegistry, mcpRouterProperties.getTools().getMetrics());
     }
 
-    @Component
+    /**
+     * Per-tool execution statistics
+     * Each tool has a recorder created on its first execution; recording only adds to
+     * {@link LongAdder}s and accumulators and records into the tool's pre-registered
+     * Micrometer timer, so concurrent calls of the same tool do not contend on a map entry and
+     * the record path allocates nothing. The timers keep HdrHistogram-based percentiles
+     * (p50, p90, p99, p999) over a sliding window, exported as-is through the Prometheus
+     * endpoint; they publish no histogram buckets, which would coarsen the percentiles to
+     * the bucket bounds.
+     */
     public static class ToolExecutionMonitor {
-        private final Map<String, ToolMetrics> toolMetrics = new ConcurrentHashMap<>();
-        private final AtomicLong totalExecutions = new AtomicLong(0);
-        private final AtomicLong totalErrors = new AtomicLong(0);
+        private static final String TIMER_NAME = "mcp.router.tool.executions";
+        private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+        private static final String OTHER = "other";
+
+        private final MeterRegistry meterRegistry;
+        private final McpRouterProperties.ExecutionMetrics settings;
+        private final Map<String, ToolRecorder> recorders = new ConcurrentHashMap<>();
+        private final LongAdder totalExecutions = new LongAdder();
+        private final LongAdder totalErrors = new LongAdder();
+        private final LongAdder totalTimeouts = new LongAdder();
+
+        public ToolExecutionMonitor(MeterRegistry meterRegistry, McpRouterProperties.ExecutionMetrics settings) {
+            this.meterRegistry = meterRegistry;
+            this.settings = settings;
+        }
 
         @Data
         @Builder
@@ -217,110 +250,173 @@ public class SpringAiConfig {
             private long maxDuration;
             private LocalDateTime lastExecution;
             private double errorRate;
+            private long timeoutCount;
+            private double timeoutRate;
+            private double p50Duration;
+            private double p90Duration;
+            private double p99Duration;
+            private double p999Duration;
         }
 
-        public void recordExecution(String toolName, long duration, boolean success) {
-            totalExecutions.incrementAndGet();
-            if (!success) {
-                totalErrors.incrementAndGet();
+        /**
+         * Counters and timer of one tool, created once
+         */
+        private final class ToolRecorder {
+            private final String toolName;
+            private final LongAdder executions = new LongAdder();
+            private final LongAdder errors = new LongAdder();
+            private final LongAdder timeouts = new LongAdder();
+            private final LongAdder totalDuration = new LongAdder();
+            private final LongAccumulator minDuration = new LongAccumulator(Math::min, Long.MAX_VALUE);
+            private final LongAccumulator maxDuration = new LongAccumulator(Math::max, Long.MIN_VALUE);
+            private volatile long lastExecutionMillis;
+            private final Timer timer;
+
+            private ToolRecorder(String toolName) {
+                this.toolName = toolName;
+                this.timer = Timer.builder(TIMER_NAME)
+                        .description("Tool execution latency")
+                        .tag("tool", toolName)
+                        .publishPercentiles(PERCENTILES)
+                        .percentilePrecision(2)
+                        .distributionStatisticExpiry(Duration.ofMillis(settings.getWindow()))
+                        .distributionStatisticBufferLength(settings.getWindowBuffers())
+                        .register(meterRegistry);
+                FunctionCounter.builder(TIMER_NAME + ".errors", errors, LongAdder::sum)
+                        .description("Failed tool executions, including timeouts")
+                        .tag("tool", toolName)
+                        .register(meterRegistry);
+                FunctionCounter.builder(TIMER_NAME + ".timeouts", timeouts, LongAdder::sum)
+                        .description("Tool executions that exceeded their budget")
+                        .tag("tool", toolName)
+                        .register(meterRegistry);
             }
 
-            toolMetrics.compute(toolName, (key, existing) -> {
-                if (existing == null) {
-                    return ToolMetrics.builder()
-                        .toolName(toolName)
-                        .executionCount(1)
-                        .errorCount(success ? 0 : 1)
-                        .totalDuration(duration)
-                        .averageDuration(duration)
-                        .minDuration(duration)
-                        .maxDuration(duration)
-                        .lastExecution(LocalDateTime.now())
-                        .errorRate(success ? 0.0 : 1.0)
-                        .build();
-                } else {
-                    long newExecutionCount = existing.getExecutionCount() + 1;
-                    long newErrorCount = existing.getErrorCount() + (success ? 0 : 1);
-                    long newTotalDuration = existing.getTotalDuration() + duration;
-                    long newAverageDuration = newTotalDuration / newExecutionCount;
-                    
-                    return ToolMetrics.builder()
+            private void record(long duration, boolean succeeded, boolean timedOut) {
+                executions.increment();
+                totalDuration.add(duration);
+                minDuration.accumulate(duration);
+                maxDuration.accumulate(duration);
+                lastExecutionMillis = System.currentTimeMillis();
+                timer.record(duration, TimeUnit.MILLISECONDS);
+                if (!succeeded || timedOut) {
+                    errors.increment();
+                }
+                if (timedOut) {
+                    timeouts.increment();
+                }
+            }
+
+            private ToolMetrics snapshot() {
+                long count = executions.sum();
+                long errorCount = errors.sum();
+                long timeoutCount = timeouts.sum();
+                long total = totalDuration.sum();
+                double[] percentiles = new double[PERCENTILES.length];
+                for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                    for (int i = 0; i < PERCENTILES.length; i++) {
+                        if (percentile.percentile() == PERCENTILES[i]) {
+                            percentiles[i] = percentile.value(TimeUnit.MILLISECONDS);
+                        }
+                    }
+                }
+                return ToolMetrics.builder()
                         .toolName(toolName)
-                        .executionCount(newExecutionCount)
-                        .errorCount(newErrorCount)
-                        .totalDuration(newTotalDuration)
-                        .averageDuration(newAverageDuration)
-                        .minDuration(Math.min(existing.getMinDuration(), duration))
-                        .maxDuration(Math.max(existing.getMaxDuration(), duration))
-                        .lastExecution(LocalDateTime.now())
-                        .errorRate((double) newErrorCount / newExecutionCount)
+                        .executionCount(count)
+                        .errorCount(errorCount)
+                        .totalDuration(total)
+                        .averageDuration(count > 0 ? total / count : 0)
+                        .minDuration(count > 0 ? minDuration.get() : 0)
+                        .maxDuration(count > 0 ? maxDuration.get() : 0)
+                        .lastExecution(LocalDateTime.ofInstant(Instant.ofEpochMilli(lastExecutionMillis), ZoneId.systemDefault()))
+                        .errorRate(count > 0 ? (double) errorCount / count : 0.0)
+                        .timeoutCount(timeoutCount)
+                        .timeoutRate(count > 0 ? (double) timeoutCount / count : 0.0)
+                        .p50Duration(percentiles[0])
+                        .p90Duration(percentiles[1])
+                        .p99Duration(percentiles[2])
+                        .p999Duration(percentiles[3])
                         .build();
-                }
-            });
+            }
+        }
+
+        public void recordExecution(String toolName, long duration, boolean success) {
+            recordExecution(toolName, duration, success, false);
+        }
+
+        /**
+         * Record a tool execution; a timed out execution also counts as an error
+         */
+        public void recordExecution(String toolName, long duration, boolean success, boolean timedOut) {
+            totalExecutions.increment();
+            if (!success || timedOut) {
+                totalErrors.increment();
+            }
+            if (timedOut) {
+                totalTimeouts.increment();
+            }
+
+            recorderFor(toolName).record(duration, success, timedOut);
+        }
+
+        /**
+         * Recorder of a tool; once the series limit is reached, new tools share the "other" recorder
+         */
+        private ToolRecorder recorderFor(String toolName) {
+            // lock-free lookup on the hot path; the map is only locked to create a recorder
+            ToolRecorder recorder = recorders.get(toolName);
+            if (recorder != null) {
+                return recorder;
+            }
+            String series = recorders.size() < settings.getMaxSeries() ? toolName : OTHER;
+            return recorders.computeIfAbsent(series, ToolRecorder::new);
         }
 
         public Map<String, ToolMetrics> getAllMetrics() {
-            return new HashMap<>(toolMetrics);
+            Map<String, ToolMetrics> metrics = new HashMap<>();
+            recorders.forEach((toolName, recorder) -> metrics.put(toolName, recorder.snapshot()));
+            return metrics;
         }
 
         public ToolMetrics getMetrics(String toolName) {
-            return toolMetrics.get(toolName);
+            ToolRecorder recorder = recorders.get(toolName);
+            return recorder != null ? recorder.snapshot() : null;
         }
 
         public Map<String, Object> getOverallStats() {
-            long total = totalExecutions.get();
-            long errors = totalErrors.get();
+            long total = totalExecutions.sum();
+            long errors = totalErrors.sum();
+            long timeouts = totalTimeouts.sum();
             
             Map<String, Object> stats = new HashMap<>();
             stats.put("totalExecutions", total);
             stats.put("totalErrors", errors);
             stats.put("overallErrorRate", total > 0 ? (double) errors / total : 0.0);
-            stats.put("uniqueTools", toolMetrics.size());
+            stats.put("totalTimeouts", timeouts);
+            stats.put("overallTimeoutRate", total > 0 ? (double) timeouts / total : 0.0);
+            stats.put("uniqueTools", recorders.size());
             stats.put("timestamp", LocalDateTime.now());
             return stats;
         }
     }
 
     /**
-     * Request/Response tracking for better observability
+     * Wire-level request/response size accounting, exported next to the tool latency timers
      */
     @Bean
-    public RequestTracker requestTracker() {
-        return new RequestTracker();
+    @ConditionalOnProperty(prefix = "mcp.router.http", name = "payload-metrics", havingValue = "true", matchIfMissing = true)
+    public PayloadSizeFilter payloadSizeFilter(MeterRegistry meterRegistry, McpRouterProperties mcpRouterProperties) {
+        return new PayloadSizeFilter(meterRegistry, mcpRouterProperties.getTools().getMetrics(),
+                mcpRouterProperties.getHttp().getMaxSizeSeries());
     }
 
-    public static class RequestTracker {
-        private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(RequestTracker.class);
-
-        /**
-         * Track request with unique ID and structured logging
-         */
-        public String trackRequest(String operation, Object request) {
-            String requestId = UUID.randomUUID().toString().substring(0, 8);
-            
-            log.info("Request started [requestId={}]: operation={}, request_size={}", 
-                    requestId, operation, getRequestSize(request));
-            
-            return requestId;
-        }
-
-        /**
-         * Track response with performance and size metrics
-         */
-        public void trackResponse(String requestId, String operation, Object response, long duration) {
-            log.info("Request completed [requestId={}]: operation={}, duration={}ms, response_size={}", 
-                    requestId, operation, duration, getResponseSize(response));
-        }
-
-        private int getRequestSize(Object request) {
-            if (request == null) return 0;
-            return request.toString().length();
-        }
-
-        private int getResponseSize(Object response) {
-            if (response == null) return 0;
-            return response.toString().length();
-        }
+    /**
+     * Continues the traceparent header of incoming requests
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mcp.router.tracing", name = "enabled", havingValue = "true")
+    public TraceContextFilter traceContextFilter(RouterTracer routerTracer) {
+        return new TraceContextFilter(routerTracer);
     }
 
     // Enhanced type-safe request/response classes with validation
@@ -1,14 +1,27 @@
 package com.nacos.mcp.router.controller;
 
 import com.nacos.mcp.router.model.*;
+import com.nacos.mcp.router.observability.AccessLog;
+import com.nacos.mcp.router.observability.PayloadSizeFilter;
 import com.nacos.mcp.router.service.*;
+import com.nacos.mcp.router.service.execution.InFlightRequestRegistry;
+import com.nacos.mcp.router.service.execution.ToolCallContext;
+import com.nacos.mcp.router.service.execution.ToolCallExecutor;
+import com.nacos.mcp.router.service.execution.ToolCallTimeoutException;
+import com.nacos.mcp.router.service.execution.ToolNotFoundException;
+import com.nacos.mcp.router.service.paging.SnapshotPaginator;
+import com.nacos.mcp.router.service.search.ToolListPager;
+import com.nacos.mcp.router.service.search.ToolSearchIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.net.InetSocketAddress;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
@@ -32,16 +45,40 @@ public class McpJsonRpcController {
     private final McpResourceService mcpResourceService;
     private final McpPromptService mcpPromptService;
     private final ObjectMapper objectMapper;
+    private final ToolCallExecutor toolCallExecutor;
+    private final InFlightRequestRegistry inFlightRequests;
+    private final ToolSearchIndex toolSearchIndex;
+    private final ToolListPager toolListPager;
+    private final SnapshotPaginator snapshotPaginator;
+    private final AccessLog accessLog;
+
+    /**
+     * Make the built-in tools rankable for task-hinted tools/list
+     */
+    @PostConstruct
+    public void indexBuiltInTools() {
+        toolSearchIndex.put("nacos-mcp-router", createBuiltInTools());
+    }
 
     /**
      * Main JSON-RPC 2.0 endpoint
-     * This endpoint handles all MCP protocol communications
+     * This endpoint handles all MCP protocol communications.
+     * The optional Mcp-Session-Id header scopes request ids for cancellation; without
+     * it a tool call can only be cancelled by closing the connection.
      */
     @PostMapping
-    public Mono<ResponseEntity<McpJsonRpcResponse>> handleJsonRpc(@RequestBody McpJsonRpcRequest request) {
-        log.info("Received JSON-RPC request: method={}, id={}", request.getMethod(), request.getId());
-
-        return processRequest(request)
+    public Mono<ResponseEntity<McpJsonRpcResponse>> handleJsonRpc(
+            @RequestBody McpJsonRpcRequest request,
+            @RequestHeader(value = "Mcp-Session-Id", required = false) String sessionId,
+            ServerWebExchange exchange) {
+        PayloadSizeFilter.tagRpcCall(exchange, request);
+        AccessLog.Entry access = accessLog.start("jsonrpc")
+                .field("method", request.getMethod())
+                .field("id", request.getId())
+                .field("session", sessionId)
+                .field("params", request.getParams());
+
+        return processRequest(request, sessionId, clientAddress(exchange))
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
                     log.error("JSON-RPC error: {}", throwable.getMessage(), throwable);
@@ -51,10 +88,24 @@ public class McpJsonRpcController {
                             request.getId()
                     );
                     return Mono.just(ResponseEntity.ok(errorResponse));
-                });
+                })
+                .doOnNext(response -> access.field("error", response.getBody().getError() != null
+                        ? response.getBody().getError().getCode() : null))
+                .doFinally(signal -> access.field("outcome", signal.toString()).submit());
+    }
+
+    /**
+     * Host address of the client, which schedules calls without a session apart from other clients'
+     */
+    static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange != null ? exchange.getRequest().getRemoteAddress() : null;
+        if (remote == null) {
+            return null;
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
     }
 
-    private Mono<McpJsonRpcResponse> processRequest(McpJsonRpcRequest request) {
+    private Mono<McpJsonRpcResponse> processRequest(McpJsonRpcRequest request, String sessionId, String clientAddress) {
         try {
             switch (request.getMethod()) {
                 // Core MCP methods - required for MCP compliance
@@ -62,12 +113,14 @@ public class McpJsonRpcController {
                     return handleInitialize(request);
                 case "notifications/initialized":
                     return handleInitialized(request);
+                case "notifications/cancelled":
+                    return handleCancelled(request, sessionId);
                     
                 // Tools methods - for function calling
                 case "tools/list":
                     return handleToolsList(request);
                 case "tools/call":
-                    return handleToolsCall(request);
+                    return handleToolsCall(request, sessionId, clientAddress);
                     
                 // Resources methods - for data access
                 case "resources/list":
@@ -101,7 +154,7 @@ public class McpJsonRpcController {
     // ==================== CORE METHODS ====================
 
     private Mono<McpJsonRpcResponse> handleInitialize(McpJsonRpcRequest request) {
-        log.info("Handling initialize request - establishing MCP session");
+        log.debug("Handling initialize request - establishing MCP session");
         
         Map<String, Object> result = new HashMap<>();
         
@@ -123,12 +176,12 @@ public class McpJsonRpcController {
         serverInfo.put("description", "Nacos MCP Router - Bridge between MCP clients and microservices");
         result.put("serverInfo", serverInfo);
         
-        log.info("MCP session initialized successfully");
+        log.debug("MCP session initialized successfully");
         return Mono.just(McpJsonRpcResponse.success(result, request.getId()));
     }
 
     private Mono<McpJsonRpcResponse> handleInitialized(McpJsonRpcRequest request) {
-        log.info("Handling initialized notification - MCP session ready");
+        log.debug("Handling initialized notification - MCP session ready");
         // This is a notification, no response needed
         if (request.isNotification()) {
             return Mono.empty();
@@ -136,11 +189,29 @@ public class McpJsonRpcController {
         return Mono.just(McpJsonRpcResponse.success(null, request.getId()));
     }
 
+    @SuppressWarnings("unchecked")
+    private Mono<McpJsonRpcResponse> handleCancelled(McpJsonRpcRequest request, String sessionId) {
+        Map<String, Object> params = request.getParams() instanceof Map
+                ? (Map<String, Object>) request.getParams() : Map.of();
+        Object requestId = params.get("requestId");
+        Object reason = params.get("reason");
+        log.debug("Handling cancelled notification for request {} in session {}: {}", requestId, sessionId, reason);
+
+        inFlightRequests.cancel(sessionId, requestId, reason != null ? reason.toString() : "cancelled by client");
+        // Notifications never get a response
+        return Mono.empty();
+    }
+
     // ==================== TOOLS METHODS ====================
 
+    @SuppressWarnings("unchecked")
     private Mono<McpJsonRpcResponse> handleToolsList(McpJsonRpcRequest request) {
-        log.info("Handling tools/list request - returning available tools");
-        
+        log.debug("Handling tools/list request - returning available tools");
+        Map<String, Object> params = request.getParams() instanceof Map
+                ? (Map<String, Object>) request.getParams() : null;
+        // read before listing, so a snapshot is never labelled with a newer version than its content
+        long catalogVersion = mcpServerService.getCatalogVersion();
+
         return mcpServerService.listAllMcpServers()
                 .map(servers -> {
                     List<McpTool> allTools = servers.stream()
@@ -153,26 +224,31 @@ public class McpJsonRpcController {
                     allTools = new java.util.ArrayList<>(allTools);
                     allTools.addAll(builtInTools);
                     
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("tools", allTools);
+                    // With a task hint only the most relevant tools are returned, the rest via nextCursor
+                    Map<String, Object> result = toolListPager.page("jsonrpc", allTools, catalogVersion, params);
                     
-                    log.info("Returning {} tools to client", allTools.size());
+                    log.debug("Returning {} of {} tools to client", ((List<?>) result.get("tools")).size(), allTools.size());
                     return McpJsonRpcResponse.success(result, request.getId());
                 })
-                .onErrorReturn(McpJsonRpcResponse.error(
-                        McpJsonRpcResponse.ErrorCodes.INTERNAL_ERROR,
-                        "Failed to list tools",
-                        request.getId()
-                ));
+                .onErrorResume(e -> Mono.just(e instanceof IllegalArgumentException
+                        ? McpJsonRpcResponse.error(
+                                McpJsonRpcResponse.ErrorCodes.INVALID_PARAMS,
+                                e.getMessage(),
+                                request.getId())
+                        : McpJsonRpcResponse.error(
+                                McpJsonRpcResponse.ErrorCodes.INTERNAL_ERROR,
+                                "Failed to list tools",
+                                request.getId())));
     }
 
-    private Mono<McpJsonRpcResponse> handleToolsCall(McpJsonRpcRequest request) {
-        log.info("Handling tools/call request - executing tool via intelligent routing");
+    private Mono<McpJsonRpcResponse> handleToolsCall(McpJsonRpcRequest request, String sessionId, String clientAddress) {
+        log.debug("Handling tools/call request - executing tool via intelligent routing");
 
         try {
             Map<String, Object> params = (Map<String, Object>) request.getParams();
             String toolName = (String) params.get("name");
             Map<String, Object> arguments = (Map<String, Object>) params.get("arguments");
+            Map<String, Object> meta = (Map<String, Object>) params.get("_meta");
 
             if (toolName == null || toolName.isEmpty()) {
                 return Mono.just(McpJsonRpcResponse.error(
@@ -181,15 +257,23 @@ public class McpJsonRpcController {
                         request.getId()));
             }
 
-            log.info("Intelligently routing tool call: {} with arguments: {}", toolName, arguments);
+            log.debug("Intelligently routing tool call: {}", toolName);
 
             // Handle built-in demonstration tools first
             if (isBuiltInTool(toolName)) {
                 return handleBuiltInToolCall(toolName, arguments, request.getId());
             }
 
-            // Delegate to the service layer to find the server and execute the tool
-            return mcpServerService.useTool(toolName, arguments)
+            // Delegate to the executor, which resolves the server by tool name and tracks the call for cancellation
+            ToolCallContext context = ToolCallContext.builder()
+                    .sessionId(sessionId)
+                    .clientAddress(clientAddress)
+                    .requestId(request.getId())
+                    .toolName(toolName)
+                    .arguments(arguments)
+                    .meta(meta)
+                    .build();
+            return toolCallExecutor.execute(context)
                     .map(result -> {
                         Map<String, Object> response = new HashMap<>();
                         // Ensure the result is formatted in a way the client expects.
@@ -200,11 +284,25 @@ public class McpJsonRpcController {
                         )));
                         response.put("isError", false);
 
-                        log.info("Tool execution for '{}' completed successfully via intelligent routing.", toolName);
+                        log.debug("Tool execution for '{}' completed successfully via intelligent routing.", toolName);
                         return McpJsonRpcResponse.success(response, request.getId());
                     })
                     .onErrorResume(e -> {
                         log.error("Failed to execute tool '{}' via intelligent routing: {}", toolName, e.getMessage());
+                        if (e instanceof ToolCallTimeoutException timeout) {
+                            return Mono.just(McpJsonRpcResponse.error(
+                                    McpJsonRpcResponse.ErrorCodes.MCP_TIMEOUT_ERROR,
+                                    timeout.getMessage(),
+                                    timeout.getDetails(),
+                                    request.getId()));
+                        }
+                        if (e instanceof ToolNotFoundException notFound) {
+                            return Mono.just(McpJsonRpcResponse.error(
+                                    McpJsonRpcResponse.ErrorCodes.TOOL_NOT_FOUND,
+                                    notFound.getMessage(),
+                                    notFound.getDetails(),
+                                    request.getId()));
+                        }
                         // Check if the error is because the tool was not found
                         if (e.getMessage() != null && e.getMessage().contains("No server found providing tool")) {
                             return Mono.just(McpJsonRpcResponse.error(
@@ -347,26 +445,29 @@ public class McpJsonRpcController {
 
     // ==================== RESOURCES METHODS ====================
 
+    @SuppressWarnings("unchecked")
     private Mono<McpJsonRpcResponse> handleResourcesList(McpJsonRpcRequest request) {
-        log.info("Handling resources/list request");
+        log.debug("Handling resources/list request");
+        Map<String, Object> params = request.getParams() instanceof Map
+                ? (Map<String, Object>) request.getParams() : null;
         
         return mcpResourceService.listAllResources()
-                .map(resources -> {
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("resources", resources);
-                    
-                    return McpJsonRpcResponse.success(result, request.getId());
-                })
-                .onErrorReturn(McpJsonRpcResponse.error(
-                        McpJsonRpcResponse.ErrorCodes.INTERNAL_ERROR,
-                        "Failed to list resources",
-                        request.getId()
-                ));
+                .map(resources -> McpJsonRpcResponse.success(
+                        snapshotPaginator.list("resources", -1, resources, params), request.getId()))
+                .onErrorResume(e -> Mono.just(e instanceof IllegalArgumentException
+                        ? McpJsonRpcResponse.error(
+                                McpJsonRpcResponse.ErrorCodes.INVALID_PARAMS,
+                                e.getMessage(),
+                                request.getId())
+                        : McpJsonRpcResponse.error(
+                                McpJsonRpcResponse.ErrorCodes.INTERNAL_ERROR,
+                                "Failed to list resources",
+                                request.getId())));
     }
 
     @SuppressWarnings("unchecked")
     private Mono<McpJsonRpcResponse> handleResourcesRead(McpJsonRpcRequest request) {
-        log.info("Handling resources/read request");
+        log.debug("Handling resources/read request");
         
         try {
             Map<String, Object> params = (Map<String, Object>) request.getParams();
@@ -403,26 +504,29 @@ public class McpJsonRpcController {
 
     // ==================== PROMPTS METHODS ====================
 
+    @SuppressWarnings("unchecked")
     private Mono<McpJsonRpcResponse> handlePromptsList(McpJsonRpcRequest request) {
-        log.info("Handling prompts/list request");
+        log.debug("Handling prompts/list request");
+        Map<String, Object> params = request.getParams() instanceof Map
+                ? (Map<String, Object>) request.getParams() : null;
         
         return mcpPromptService.listAllPrompts()
-                .map(prompts -> {
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("prompts", prompts);
-                    
-                    return McpJsonRpcResponse.success(result, request.getId());
-                })
-                .onErrorReturn(McpJsonRpcResponse.error(
-                        McpJsonRpcResponse.ErrorCodes.INTERNAL_ERROR,
-                        "Failed to list prompts",
-                        request.getId()
-                ));
+                .map(prompts -> McpJsonRpcResponse.success(
+                        snapshotPaginator.list("prompts", -1, prompts, params), request.getId()))
+                .onErrorResume(e -> Mono.just(e instanceof IllegalArgumentException
+                        ? McpJsonRpcResponse.error(
+                                McpJsonRpcResponse.ErrorCodes.INVALID_PARAMS,
+                                e.getMessage(),
+                                request.getId())
+                        : McpJsonRpcResponse.error(
+                                McpJsonRpcResponse.ErrorCodes.INTERNAL_ERROR,
+                                "Failed to list prompts",
+                                request.getId())));
     }
 
     @SuppressWarnings("unchecked")
     private Mono<McpJsonRpcResponse> handlePromptsGet(McpJsonRpcRequest request) {
-        log.info("Handling prompts/get request");
+        log.debug("Handling prompts/get request");
         
         try {
             Map<String, Object> params = (Map<String, Object>) request.getParams();
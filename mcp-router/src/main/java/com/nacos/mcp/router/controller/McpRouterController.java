@@ -1,26 +1,38 @@
 package com.nacos.mcp.router.controller;
 
+import com.nacos.mcp.router.config.McpRouterProperties;
 import com.nacos.mcp.router.model.SearchRequest;
 import com.nacos.mcp.router.model.SearchResponse;
 import com.nacos.mcp.router.model.McpServer;
 import com.nacos.mcp.router.model.McpServerRegistrationRequest;
 import com.nacos.mcp.router.model.McpResource;
 import com.nacos.mcp.router.model.McpPrompt;
+import com.nacos.mcp.router.model.RegistryDelta;
+import com.nacos.mcp.router.observability.AccessLog;
 import com.nacos.mcp.router.service.SearchService;
 import com.nacos.mcp.router.service.McpServerService;
 import com.nacos.mcp.router.service.McpResourceService;
 import com.nacos.mcp.router.service.McpPromptService;
+import com.nacos.mcp.router.service.paging.SnapshotPaginator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * MCP Router REST API Controller
@@ -30,20 +42,26 @@ import java.util.List;
 @Validated
 @Slf4j
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.DELETE, RequestMethod.PUT, RequestMethod.OPTIONS})
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = {"ETag", "X-Next-Cursor", "X-Total-Count"}, methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.DELETE, RequestMethod.PUT, RequestMethod.OPTIONS})
 public class McpRouterController {
 
     private final SearchService searchService;
     private final McpServerService mcpServerService;
     private final McpResourceService mcpResourceService;
     private final McpPromptService mcpPromptService;
+    private final SnapshotPaginator snapshotPaginator;
+    private final McpRouterProperties mcpRouterProperties;
+    private final AccessLog accessLog;
+
+    private static final String SERVERS = "servers";
 
     /**
      * Search MCP servers
      */
     @PostMapping("/search")
     public Mono<ResponseEntity<SearchResponse>> searchMcpServers(@Valid @RequestBody SearchRequest request) {
-        log.info("Searching MCP servers with request: {}", request);
+        accessLog.log("api.search", "taskDescription", request.getTaskDescription(), "keywords", request.getKeywords(),
+                "limit", request.getLimit(), "minSimilarity", request.getMinSimilarity(), "mode", request.getMode());
         return searchService.searchMcpServers(request)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
@@ -61,7 +79,7 @@ public class McpRouterController {
             @RequestParam(value = "keywords", required = false) String keywords) {
         
         String[] keywordArray = keywords != null ? keywords.split(",") : new String[0];
-        log.info("Searching MCP servers with task: {}, keywords: {}", taskDescription, keywords);
+        accessLog.log("api.search", "taskDescription", taskDescription, "keywords", keywords);
         
         return searchService.searchMcpServers(taskDescription, keywordArray)
                 .map(ResponseEntity::ok)
@@ -71,12 +89,37 @@ public class McpRouterController {
                 });
     }
 
+    /**
+     * Stream search results as server-sent events while the providers answer
+     */
+    @PostMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<McpServer> streamMcpServers(@Valid @RequestBody SearchRequest request) {
+        accessLog.log("api.search.stream", "taskDescription", request.getTaskDescription(), "keywords", request.getKeywords(),
+                "limit", request.getLimit(), "minSimilarity", request.getMinSimilarity(), "mode", request.getMode());
+        return searchService.streamMcpServers(request)
+                .doOnError(throwable -> log.error("Streaming search failed: {}", throwable.getMessage()));
+    }
+
+    /**
+     * Stream search results by task description and keywords
+     */
+    @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<McpServer> streamMcpServers(
+            @RequestParam("taskDescription") String taskDescription,
+            @RequestParam(value = "keywords", required = false) String keywords) {
+        SearchRequest request = SearchRequest.builder()
+                .taskDescription(taskDescription)
+                .keywords(keywords != null ? Arrays.asList(keywords.split(",")) : null)
+                .build();
+        return streamMcpServers(request);
+    }
+
     /**
      * Add a MCP server
      */
     @PostMapping("/servers/{serverName}")
     public Mono<ResponseEntity<McpServer>> addMcpServer(@PathVariable("serverName") String serverName) {
-        log.info("Adding MCP server: {}", serverName);
+        accessLog.log("api.servers.add", "server", serverName);
         return mcpServerService.addMcpServer(serverName)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
@@ -89,14 +132,16 @@ public class McpRouterController {
      * Get MCP server information
      */
     @GetMapping("/servers/{serverName}")
-    public Mono<ResponseEntity<McpServer>> getMcpServer(@PathVariable("serverName") String serverName) {
-        log.info("Getting MCP server: {}", serverName);
-        return mcpServerService.getMcpServer(serverName)
+    public Mono<ResponseEntity<McpServer>> getMcpServer(@PathVariable("serverName") String serverName,
+                                                        ServerWebExchange exchange) {
+        accessLog.log("api.servers.get", "server", serverName);
+        return conditionalGet(exchange, () -> serverExists(serverName), () -> mcpServerService.getMcpServer(serverName)
                 .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
                 .onErrorResume(throwable -> {
                     log.error("Failed to get MCP server {}: {}", serverName, throwable.getMessage());
                     return Mono.just(ResponseEntity.notFound().build());
-                });
+                }));
     }
 
     /**
@@ -104,7 +149,7 @@ public class McpRouterController {
      */
     @DeleteMapping("/servers/{serverName}")
     public Mono<ResponseEntity<Map<String, Object>>> removeMcpServer(@PathVariable("serverName") String serverName) {
-        log.info("Removing MCP server: {}", serverName);
+        accessLog.log("api.servers.remove", "server", serverName);
         return mcpServerService.removeMcpServer(serverName)
                 .map(success -> ResponseEntity.ok(Map.<String, Object>of("success", success)))
                 .onErrorResume(throwable -> {
@@ -123,7 +168,7 @@ public class McpRouterController {
             @PathVariable("toolName") String toolName,
             @RequestBody Map<String, Object> params) {
         
-        log.info("Using tool {} on server {} with params: {}", toolName, serverName, params);
+        accessLog.log("api.tools.use", "server", serverName, "tool", toolName, "params", params);
         return mcpServerService.useTool(serverName, toolName, params)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
@@ -138,7 +183,7 @@ public class McpRouterController {
      */
     @PostMapping("/register")
     public ResponseEntity<String> register(@RequestBody McpServerRegistrationRequest registrationRequest) {
-        log.info("Received registration request: {}", registrationRequest);
+        accessLog.log("api.register", "request", registrationRequest);
         mcpServerService.registerServer(registrationRequest);
         return ResponseEntity.ok("Server registered successfully");
     }
@@ -148,7 +193,7 @@ public class McpRouterController {
      */
     @DeleteMapping("/unregister/{serverName}")
     public Mono<ResponseEntity<Map<String, Object>>> unregisterMcpServer(@PathVariable("serverName") String serverName) {
-        log.info("Unregistering MCP server: {}", serverName);
+        accessLog.log("api.unregister", "server", serverName);
         return mcpServerService.unregisterMcpServer(serverName)
                 .map(success -> ResponseEntity.ok(Map.<String, Object>of("success", success, "message", "Server unregistered successfully")))
                 .onErrorResume(throwable -> {
@@ -160,16 +205,131 @@ public class McpRouterController {
 
     /**
      * List all available MCP servers
+     * Without parameters the whole list is returned. With {@code limit} or {@code cursor}
+     * one page of a catalog snapshot is returned; the cursor of the next page is in the
+     * {@code X-Next-Cursor} header and the snapshot size in {@code X-Total-Count}.
      */
     @GetMapping("/servers")
-    public Mono<ResponseEntity<List<McpServer>>> listAllMcpServers() {
-        log.info("Listing all available MCP servers");
-        return mcpServerService.listAllMcpServers()
+    public Mono<ResponseEntity<List<McpServer>>> listAllMcpServers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Long limit,
+            ServerWebExchange exchange) {
+        accessLog.log("api.servers.list", "cursor", cursor, "limit", limit);
+        if (cursor != null) {
+            // a cursor page is immutable, so the catalog version still identifies the response
+            return conditionalGet(exchange, () -> cursorExists(cursor), () -> Mono.fromCallable(
+                            () -> toResponse(snapshotPaginator.<McpServer>next(SERVERS, cursor)))
+                    .onErrorResume(IllegalArgumentException.class, e -> {
+                        log.debug("Rejected server listing cursor: {}", e.getMessage());
+                        return Mono.just(ResponseEntity.badRequest().build());
+                    }));
+        }
+        return conditionalGet(exchange, () -> {
+            long catalogVersion = mcpServerService.getCatalogVersion();
+            return mcpServerService.listAllMcpServers()
+                    .map(servers -> limit == null
+                            ? ResponseEntity.ok(servers)
+                            : toResponse(snapshotPaginator.first(SERVERS, null, catalogVersion,
+                                    attributes -> servers, snapshotPaginator.pageSize(limit))))
+                    .onErrorResume(throwable -> {
+                        log.error("Failed to list MCP servers: {}", throwable.getMessage());
+                        return Mono.just(ResponseEntity.internalServerError().build());
+                    });
+        });
+    }
+
+
+    /**
+     * Changes of the discovered servers since a registry version
+     * Returns the servers added or changed and the services removed since {@code sinceVersion},
+     * or a full snapshot if that version is no longer in the change journal. Pass the
+     * returned version as {@code sinceVersion} on the next poll.
+     */
+    @GetMapping(value = "/servers", params = "sinceVersion")
+    public Mono<ResponseEntity<RegistryDelta>> listMcpServerChanges(@RequestParam("sinceVersion") long sinceVersion,
+                                                                    ServerWebExchange exchange) {
+        accessLog.log("api.servers.changes", "sinceVersion", sinceVersion);
+        return conditionalGet(exchange, () -> mcpServerService.getServerChanges(sinceVersion)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
-                    log.error("Failed to list MCP servers: {}", throwable.getMessage());
+                    log.error("Failed to list MCP server changes: {}", throwable.getMessage());
                     return Mono.just(ResponseEntity.internalServerError().build());
-                });
+                }));
+    }
+
+    /**
+     * Conditional GET of a listing of the whole server catalog, which always exists
+     */
+    private <T> Mono<ResponseEntity<T>> conditionalGet(ServerWebExchange exchange,
+                                                       Supplier<Mono<ResponseEntity<T>>> body) {
+        return conditionalGet(exchange, () -> Mono.just(true), body);
+    }
+
+    /**
+     * Conditional GET of data derived from the server catalog
+     * The strong ETag is the catalog tag, read before the body is computed, so a
+     * tag never claims a newer catalog than the body reflects. A matching
+     * {@code If-None-Match} is answered with 304 without computing the body, provided
+     * the requested resource exists; otherwise the body is computed and answers with
+     * its own status. Successful responses carry the ETag and the configured Cache-Control.
+     *
+     * @param exists whether the requested resource exists, only asked when the tag matches
+     */
+    private <T> Mono<ResponseEntity<T>> conditionalGet(ServerWebExchange exchange,
+                                                       Supplier<Mono<Boolean>> exists,
+                                                       Supplier<Mono<ResponseEntity<T>>> body) {
+        McpRouterProperties.Http http = mcpRouterProperties.getHttp();
+        String catalogTag = mcpServerService.getCatalogTag();
+        if (!http.isEtagEnabled() || catalogTag == null) {
+            return body.get();
+        }
+        String etag = "\"" + catalogTag + "\"";
+        CacheControl cacheControl = http.getCacheMaxAge() > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(http.getCacheMaxAge())).mustRevalidate()
+                : CacheControl.noCache();
+
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        Mono<ResponseEntity<T>> result;
+        if (ifNoneMatch.contains("*") || ifNoneMatch.contains(etag) || ifNoneMatch.contains("W/" + etag)) {
+            ResponseEntity<T> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+            result = exists.get().flatMap(found -> {
+                if (!found) {
+                    return body.get();
+                }
+                log.debug("Catalog unchanged at {}, answering {} with 304", catalogTag,
+                        exchange.getRequest().getPath());
+                return Mono.just(notModified);
+            });
+        } else {
+            result = body.get();
+        }
+        return result.map(response -> response.getStatusCode().is2xxSuccessful()
+                ? ResponseEntity.status(response.getStatusCode())
+                        .headers(response.getHeaders())
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .body(response.getBody())
+                : response);
+    }
+
+    private Mono<Boolean> serverExists(String serverName) {
+        return mcpServerService.getMcpServer(serverName).hasElement().onErrorReturn(false);
+    }
+
+    private Mono<Boolean> cursorExists(String cursor) {
+        return Mono.fromCallable(() -> snapshotPaginator.next(SERVERS, cursor) != null).onErrorReturn(false);
+    }
+
+    private static ResponseEntity<List<McpServer>> toResponse(SnapshotPaginator.Page<McpServer> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(page.total()));
+        if (page.nextCursor() != null) {
+            response.header("X-Next-Cursor", page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
     // ==================== RESOURCES API ====================
@@ -178,28 +338,30 @@ public class McpRouterController {
      * List all resources from a specific MCP server
      */
     @GetMapping("/servers/{serverName}/resources")
-    public Mono<ResponseEntity<List<McpResource>>> listServerResources(@PathVariable("serverName") String serverName) {
-        log.info("Listing resources for MCP server: {}", serverName);
-        return mcpResourceService.listResources(serverName)
+    public Mono<ResponseEntity<List<McpResource>>> listServerResources(@PathVariable("serverName") String serverName,
+                                                                       ServerWebExchange exchange) {
+        accessLog.log("api.resources.list", "server", serverName);
+        return conditionalGet(exchange, () -> serverExists(serverName), () -> mcpResourceService.listResources(serverName)
                 .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
                 .onErrorResume(throwable -> {
                     log.error("Failed to list resources for server {}: {}", serverName, throwable.getMessage());
                     return Mono.just(ResponseEntity.badRequest().build());
-                });
+                }));
     }
 
     /**
      * List all resources from all MCP servers
      */
     @GetMapping("/resources")
-    public Mono<ResponseEntity<List<McpResource>>> listAllResources() {
-        log.info("Listing all available resources");
-        return mcpResourceService.listAllResources()
+    public Mono<ResponseEntity<List<McpResource>>> listAllResources(ServerWebExchange exchange) {
+        accessLog.log("api.resources.list");
+        return conditionalGet(exchange, () -> mcpResourceService.listAllResources()
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
                     log.error("Failed to list all resources: {}", throwable.getMessage());
                     return Mono.just(ResponseEntity.internalServerError().build());
-                });
+                }));
     }
 
     /**
@@ -209,7 +371,7 @@ public class McpRouterController {
     public Mono<ResponseEntity<McpResource>> readResource(
             @PathVariable("serverName") String serverName,
             @PathVariable("resourceUri") String resourceUri) {
-        log.info("Reading resource {} from server {}", resourceUri, serverName);
+        accessLog.log("api.resources.read", "server", serverName, "uri", resourceUri);
         return mcpResourceService.readResource(serverName, resourceUri)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
@@ -225,7 +387,7 @@ public class McpRouterController {
     public Mono<ResponseEntity<List<McpResource>>> searchResources(
             @RequestParam("pattern") String pattern,
             @RequestParam(value = "serverName", required = false) String serverName) {
-        log.info("Searching resources with pattern '{}' in server '{}'", pattern, serverName);
+        accessLog.log("api.resources.search", "pattern", pattern, "server", serverName);
         return mcpResourceService.searchResources(pattern, serverName)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
@@ -240,28 +402,30 @@ public class McpRouterController {
      * List all prompts from a specific MCP server
      */
     @GetMapping("/servers/{serverName}/prompts")
-    public Mono<ResponseEntity<List<McpPrompt>>> listServerPrompts(@PathVariable("serverName") String serverName) {
-        log.info("Listing prompts for MCP server: {}", serverName);
-        return mcpPromptService.listPrompts(serverName)
+    public Mono<ResponseEntity<List<McpPrompt>>> listServerPrompts(@PathVariable("serverName") String serverName,
+                                                                   ServerWebExchange exchange) {
+        accessLog.log("api.prompts.list", "server", serverName);
+        return conditionalGet(exchange, () -> serverExists(serverName), () -> mcpPromptService.listPrompts(serverName)
                 .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
                 .onErrorResume(throwable -> {
                     log.error("Failed to list prompts for server {}: {}", serverName, throwable.getMessage());
                     return Mono.just(ResponseEntity.badRequest().build());
-                });
+                }));
     }
 
     /**
      * List all prompts from all MCP servers
      */
     @GetMapping("/prompts")
-    public Mono<ResponseEntity<List<McpPrompt>>> listAllPrompts() {
-        log.info("Listing all available prompts");
-        return mcpPromptService.listAllPrompts()
+    public Mono<ResponseEntity<List<McpPrompt>>> listAllPrompts(ServerWebExchange exchange) {
+        accessLog.log("api.prompts.list");
+        return conditionalGet(exchange, () -> mcpPromptService.listAllPrompts()
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
                     log.error("Failed to list all prompts: {}", throwable.getMessage());
                     return Mono.just(ResponseEntity.internalServerError().build());
-                });
+                }));
     }
 
     /**
@@ -272,7 +436,7 @@ public class McpRouterController {
             @PathVariable("serverName") String serverName,
             @PathVariable("promptName") String promptName,
             @RequestParam(required = false) Map<String, Object> arguments) {
-        log.info("Getting prompt {} from server {} with arguments: {}", promptName, serverName, arguments);
+        accessLog.log("api.prompts.get", "server", serverName, "prompt", promptName, "arguments", arguments);
         return mcpPromptService.getPrompt(serverName, promptName, arguments)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
@@ -289,7 +453,7 @@ public class McpRouterController {
             @PathVariable("serverName") String serverName,
             @PathVariable("promptName") String promptName,
             @RequestBody(required = false) Map<String, Object> arguments) {
-        log.info("Executing prompt {} from server {} with arguments: {}", promptName, serverName, arguments);
+        accessLog.log("api.prompts.execute", "server", serverName, "prompt", promptName, "arguments", arguments);
         return mcpPromptService.executePrompt(serverName, promptName, arguments)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
@@ -305,7 +469,7 @@ public class McpRouterController {
     public Mono<ResponseEntity<List<McpPrompt>>> searchPrompts(
             @RequestParam("pattern") String pattern,
             @RequestParam(value = "serverName", required = false) String serverName) {
-        log.info("Searching prompts with pattern '{}' in server '{}'", pattern, serverName);
+        accessLog.log("api.prompts.search", "pattern", pattern, "server", serverName);
         return mcpPromptService.searchPrompts(pattern, serverName)
                 .map(ResponseEntity::ok)
                 .onErrorResume(throwable -> {
@@ -318,7 +482,7 @@ public class McpRouterController {
     public Mono<ResponseEntity<McpServer>> registerMcpServerWithTools(
             @PathVariable String serverName,
             @Valid @RequestBody McpServerRegistrationRequest request) {
-        log.info("Received atomic registration request for server: {}", serverName);
+        accessLog.log("api.servers.register", "server", serverName, "request", request);
         return mcpServerService.registerMcpServer(request)
                 .map(server -> ResponseEntity.status(201).body(server))
                 .onErrorResume(throwable -> {
@@ -333,7 +497,7 @@ public class McpRouterController {
 
     @PostMapping("/servers/{serverName}/heartbeat")
     public Mono<ResponseEntity<Void>> receiveHeartbeat(@PathVariable String serverName) {
-        log.info("Received heartbeat from server: {}", serverName);
+        accessLog.log("api.servers.heartbeat", "server", serverName);
         return mcpServerService.recordHeartbeat("mcp-" + serverName)
                 .then(Mono.just(ResponseEntity.ok().<Void>build()))
                 .onErrorResume(e -> {
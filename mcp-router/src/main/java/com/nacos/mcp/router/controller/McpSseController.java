@@ -3,14 +3,29 @@ package com.nacos.mcp.router.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nacos.mcp.router.model.*;
+import com.nacos.mcp.router.observability.ConnectionTelemetry;
+import com.nacos.mcp.router.observability.PayloadSizeFilter;
+import com.nacos.mcp.router.observability.RouterTracer;
+import com.nacos.mcp.router.observability.Span;
+import com.nacos.mcp.router.observability.jfr.SseEmitEvent;
 import com.nacos.mcp.router.service.*;
+import com.nacos.mcp.router.service.execution.InFlightRequestRegistry;
+import com.nacos.mcp.router.service.execution.ToolCallContext;
+import com.nacos.mcp.router.service.execution.ToolCallExecutor;
+import com.nacos.mcp.router.service.execution.ToolCallTimeoutException;
+import com.nacos.mcp.router.service.execution.ToolNotFoundException;
+import com.nacos.mcp.router.service.search.ToolListPager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.Data;
 import lombok.Builder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
@@ -21,6 +36,7 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * MCP SSE (Server-Sent Events) Controller
@@ -42,6 +58,15 @@ public class McpSseController {
     private final McpResourceService mcpResourceService;
     private final McpPromptService mcpPromptService;
     private final ObjectMapper objectMapper;
+    private final ToolCallExecutor toolCallExecutor;
+    private final InFlightRequestRegistry inFlightRequests;
+    private final ToolListPager toolListPager;
+    private final RouterTracer tracer;
+    private final ConnectionTelemetry connectionTelemetry;
+    private final ObjectProvider<PayloadSizeFilter> payloadSizeFilter;
+
+    // connection id of messages posted without a clientId; not a session, since any client may post as it
+    private static final String ANONYMOUS = "unknown";
 
     // 管理活跃的SSE连接
     private final Map<String, Sinks.Many<ServerSentEvent<String>>> activeConnections = new ConcurrentHashMap<>();
@@ -98,6 +123,7 @@ public class McpSseController {
             
         activeSessions.put(sessionId, session);
         activeConnections.put(connectionId, sink); // Keep backward compatibility
+        connectionTelemetry.open(connectionId);
 
         // 发送连接确认消息
         try {
@@ -113,7 +139,7 @@ public class McpSseController {
                 .data(objectMapper.writeValueAsString(connectMessage))
                 .build();
                 
-            sink.tryEmitNext(connectEvent);
+            emit(connectionId, sink, connectEvent);
         } catch (JsonProcessingException e) {
             log.error("Failed to send connection message", e);
         }
@@ -141,14 +167,20 @@ public class McpSseController {
             });
 
         // 合并消息流和心跳流
-        return Flux.merge(sink.asFlux(), heartbeat)
+        return Flux.merge(sink.asFlux().doOnNext(event -> connectionTelemetry.onDequeued(connectionId)), heartbeat)
+            .doOnNext(event -> connectionTelemetry.onSent(connectionId, event))
             .doOnCancel(() -> {
                 log.info("SSE connection cancelled for client: {}", connectionId);
                 activeConnections.remove(connectionId);
+                connectionTelemetry.close(connectionId);
+                // 客户端断开后取消该连接上仍在执行的工具调用
+                inFlightRequests.cancelSession(connectionId);
             })
             .doOnError(error -> {
                 log.error("SSE connection error for client {}: {}", connectionId, error.getMessage());
                 activeConnections.remove(connectionId);
+                connectionTelemetry.close(connectionId);
+                inFlightRequests.cancelSession(connectionId);
             });
     }
 
@@ -159,15 +191,21 @@ public class McpSseController {
     @PostMapping("/jsonrpc/message")
     public Mono<Map<String, Object>> handleMcpMessage(
             @RequestBody McpJsonRpcRequest request,
-            @RequestParam(required = false) String clientId) {
+            @RequestParam(required = false) String clientId,
+            ServerWebExchange exchange) {
         
-        String connectionId = clientId != null ? clientId : "unknown";
-        log.info("Received MCP message from client {}: method={}, id={}", connectionId, request.getMethod(), request.getId());
+        String connectionId = clientId != null ? clientId : ANONYMOUS;
+        log.debug("Received MCP message from client {}: method={}, id={}", connectionId, request.getMethod(), request.getId());
+        PayloadSizeFilter.tagStreamedRpcCall(exchange, request);
+        long startNanos = System.nanoTime();
+        AtomicBoolean responded = new AtomicBoolean();
+        connectionTelemetry.onRequest(connectionId);
 
-        return processJsonRpcRequest(request)
-            .flatMap(response -> {
+        return processJsonRpcRequest(request, connectionId, McpJsonRpcController.clientAddress(exchange))
+            .flatMap(response -> Mono.deferContextual(subscriberContext -> {
+                responded.set(true);
                 // 通过SSE发送响应
-                sendResponseViaSSE(connectionId, response);
+                sendResponseViaSSE(connectionId, response, tracer.startSpan("serialize", subscriberContext), exchange);
                 
                 // 返回简单的确认
                 Map<String, Object> ack = new HashMap<>();
@@ -175,7 +213,7 @@ public class McpSseController {
                 ack.put("messageId", request.getId());
                 ack.put("timestamp", System.currentTimeMillis());
                 return Mono.just(ack);
-            })
+            }))
             .onErrorResume(error -> {
                 log.error("Error processing MCP message from client {}: {}", connectionId, error.getMessage(), error);
                 
@@ -185,20 +223,36 @@ public class McpSseController {
                     error.getMessage(),
                     request.getId()
                 );
-                sendResponseViaSSE(connectionId, errorResponse);
+                responded.set(true);
+                sendResponseViaSSE(connectionId, errorResponse, Span.NOOP, exchange);
                 
                 Map<String, Object> errorAck = new HashMap<>();
                 errorAck.put("status", "error");
                 errorAck.put("messageId", request.getId());
                 errorAck.put("error", error.getMessage());
                 return Mono.just(errorAck);
-            });
+            })
+            .doFinally(signal -> connectionTelemetry.onRequestDone(connectionId, startNanos, responded.get()));
     }
 
     /**
-     * 通过SSE连接发送响应
+     * 将事件放入连接的发送队列并计数
      */
-    private void sendResponseViaSSE(String clientId, McpJsonRpcResponse response) {
+    private boolean emit(String connectionId, Sinks.Many<ServerSentEvent<String>> sink, ServerSentEvent<String> event) {
+        SseEmitEvent emitEvent = SseEmitEvent.begin(connectionId);
+        boolean accepted = sink.tryEmitNext(event).isSuccess();
+        if (accepted) {
+            connectionTelemetry.onEnqueued(connectionId);
+        }
+        SseEmitEvent.commit(emitEvent, event.event(), emitEvent != null ? ConnectionTelemetry.encodedLength(event) : 0, accepted);
+        return accepted;
+    }
+
+    /**
+     * 通过SSE连接发送响应，序列化计入span，大小计入消息所在的调用
+     */
+    private void sendResponseViaSSE(String clientId, McpJsonRpcResponse response, Span span,
+                                    ServerWebExchange exchange) {
         Sinks.Many<ServerSentEvent<String>> connection = activeConnections.get(clientId);
         if (connection != null) {
             try {
@@ -207,30 +261,38 @@ public class McpSseController {
                     .data(objectMapper.writeValueAsString(response))
                     .build();
                     
-                connection.tryEmitNext(event);
+                PayloadSizeFilter sizes = payloadSizeFilter.getIfAvailable();
+                if (emit(clientId, connection, event) && sizes != null) {
+                    sizes.recordStreamedResponse(exchange, ConnectionTelemetry.encodedLength(event));
+                }
                 log.debug("Sent response via SSE to client {}: {}", clientId, response.getId());
             } catch (JsonProcessingException e) {
+                span.error(e);
                 log.error("Failed to serialize response for SSE: {}", e.getMessage());
             }
         } else {
             log.warn("No active SSE connection found for client: {}", clientId);
         }
+        span.end();
     }
 
     /**
      * 处理JSON-RPC请求 - 复用现有的JSON-RPC处理逻辑
      */
-    private Mono<McpJsonRpcResponse> processJsonRpcRequest(McpJsonRpcRequest request) {
+    private Mono<McpJsonRpcResponse> processJsonRpcRequest(McpJsonRpcRequest request, String connectionId,
+                                                           String clientAddress) {
         try {
             switch (request.getMethod()) {
                 case "initialize":
                     return handleInitialize(request);
                 case "notifications/initialized":
                     return handleInitialized(request);
+                case "notifications/cancelled":
+                    return handleCancelled(request, connectionId);
                 case "tools/list":
                     return handleToolsList(request);
                 case "tools/call":
-                    return handleToolsCall(request);
+                    return handleToolsCall(request, connectionId, clientAddress);
                 case "resources/list":
                     return handleResourcesList(request);
                 case "resources/read":
@@ -260,7 +322,7 @@ public class McpSseController {
     // 以下方法复用McpJsonRpcController中的逻辑
 
     private Mono<McpJsonRpcResponse> handleInitialize(McpJsonRpcRequest request) {
-        log.info("Handling initialize request via SSE");
+        log.debug("Handling initialize request via SSE");
         
         Map<String, Object> result = new HashMap<>();
         result.put("protocolVersion", "2024-11-05");
@@ -282,15 +344,39 @@ public class McpSseController {
     }
 
     private Mono<McpJsonRpcResponse> handleInitialized(McpJsonRpcRequest request) {
-        log.info("Handling initialized notification via SSE");
+        log.debug("Handling initialized notification via SSE");
         if (request.isNotification()) {
             return Mono.empty();
         }
         return Mono.just(McpJsonRpcResponse.success(null, request.getId()));
     }
 
+    @SuppressWarnings("unchecked")
+    private Mono<McpJsonRpcResponse> handleCancelled(McpJsonRpcRequest request, String connectionId) {
+        Map<String, Object> params = request.getParams() instanceof Map
+            ? (Map<String, Object>) request.getParams() : Map.of();
+        Object requestId = params.get("requestId");
+        Object reason = params.get("reason");
+        log.debug("Handling cancelled notification via SSE for request {} from client {}: {}", requestId, connectionId, reason);
+
+        // anonymous calls are not addressable, or one client could cancel another's call with the same id
+        inFlightRequests.cancel(sessionOf(connectionId), requestId, reason != null ? reason.toString() : "cancelled by client");
+        return Mono.empty();
+    }
+
+    /**
+     * Session of a connection for cancellation and scheduling, none for messages posted without a clientId
+     */
+    private static String sessionOf(String connectionId) {
+        return ANONYMOUS.equals(connectionId) ? null : connectionId;
+    }
+
+    @SuppressWarnings("unchecked")
     private Mono<McpJsonRpcResponse> handleToolsList(McpJsonRpcRequest request) {
-        log.info("Handling tools/list request via SSE");
+        log.debug("Handling tools/list request via SSE");
+        Map<String, Object> params = request.getParams() instanceof Map
+            ? (Map<String, Object>) request.getParams() : null;
+        long catalogVersion = mcpServerService.getCatalogVersion();
         
         return mcpServerService.listAllMcpServers()
             .map(servers -> {
@@ -299,52 +385,66 @@ public class McpSseController {
                     .flatMap(server -> server.getTools().stream())
                     .toList();
                 
-                Map<String, Object> result = new HashMap<>();
-                result.put("tools", allTools);
+                Map<String, Object> result = toolListPager.page("sse", allTools, catalogVersion, params);
                 
-                log.info("Returning {} tools via SSE", allTools.size());
+                log.debug("Returning {} of {} tools via SSE", ((List<?>) result.get("tools")).size(), allTools.size());
                 return McpJsonRpcResponse.success(result, request.getId());
             })
-            .onErrorReturn(McpJsonRpcResponse.error(
-                McpJsonRpcResponse.ErrorCodes.INTERNAL_ERROR,
-                "Failed to list tools",
-                request.getId()
-            ));
+            .onErrorResume(e -> Mono.just(e instanceof IllegalArgumentException
+                ? McpJsonRpcResponse.error(
+                    McpJsonRpcResponse.ErrorCodes.INVALID_PARAMS,
+                    e.getMessage(),
+                    request.getId())
+                : McpJsonRpcResponse.error(
+                    McpJsonRpcResponse.ErrorCodes.INTERNAL_ERROR,
+                    "Failed to list tools",
+                    request.getId())));
     }
 
     @SuppressWarnings("unchecked")
-    private Mono<McpJsonRpcResponse> handleToolsCall(McpJsonRpcRequest request) {
-        log.info("Handling tools/call request via SSE");
+    private Mono<McpJsonRpcResponse> handleToolsCall(McpJsonRpcRequest request, String connectionId,
+                                                     String clientAddress) {
+        log.debug("Handling tools/call request via SSE");
         
         try {
             Map<String, Object> params = (Map<String, Object>) request.getParams();
             String toolName = (String) params.get("name");
             Map<String, Object> arguments = (Map<String, Object>) params.get("arguments");
+            Map<String, Object> meta = (Map<String, Object>) params.get("_meta");
             
-            return mcpServerService.listAllMcpServers()
-                .flatMap(servers -> {
-                    for (McpServer server : servers) {
-                        if (server.getTools().stream().anyMatch(tool -> tool.getName().equals(toolName))) {
-                            return mcpServerService.useTool(server.getName(), toolName, arguments)
-                                .map(result -> {
-                                    Map<String, Object> response = new HashMap<>();
-                                    response.put("content", List.of(Map.of(
-                                        "type", "text",
-                                        "text", result.toString()
-                                    )));
-                                    response.put("isError", false);
-                                    
-                                    return McpJsonRpcResponse.success(response, request.getId());
-                                });
-                        }
-                    }
-                    
-                    return Mono.just(McpJsonRpcResponse.error(
-                        McpJsonRpcResponse.ErrorCodes.TOOL_NOT_FOUND,
-                        "Tool not found: " + toolName,
-                        request.getId()
-                    ));
-                });
+            // the executor routes the call to the service providing the tool; an unknown name is
+            // resolved or answered with similar tools by the tool lookup
+            ToolCallContext context = ToolCallContext.builder()
+                .sessionId(sessionOf(connectionId))
+                .clientAddress(clientAddress)
+                .requestId(request.getId())
+                .toolName(toolName)
+                .arguments(arguments)
+                .meta(meta)
+                .build();
+            return toolCallExecutor.execute(context)
+                .map(result -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("content", List.of(Map.of(
+                        "type", "text",
+                        "text", result.toString()
+                    )));
+                    response.put("isError", false);
+
+                    return McpJsonRpcResponse.success(response, request.getId());
+                })
+                .onErrorResume(ToolCallTimeoutException.class, timeout -> Mono.just(McpJsonRpcResponse.error(
+                    McpJsonRpcResponse.ErrorCodes.MCP_TIMEOUT_ERROR,
+                    timeout.getMessage(),
+                    timeout.getDetails(),
+                    request.getId()
+                )))
+                .onErrorResume(ToolNotFoundException.class, notFound -> Mono.just(McpJsonRpcResponse.error(
+                    McpJsonRpcResponse.ErrorCodes.TOOL_NOT_FOUND,
+                    notFound.getMessage(),
+                    notFound.getDetails(),
+                    request.getId()
+                )));
         } catch (Exception e) {
             return Mono.just(McpJsonRpcResponse.error(
                 McpJsonRpcResponse.ErrorCodes.INVALID_PARAMS,
@@ -385,12 +485,28 @@ public class McpSseController {
 
     /**
      * 获取活跃连接状态的端点
+     * 返回按 sort 排序的前 limit 个连接的统计（发送字节数/事件数、队列深度、在途请求、最近活动、平均响应延迟）
+     * 以及全部连接的汇总和连接时长分布；connectionIds 为本次返回的连接
      */
     @GetMapping("/connections/status")
-    public Mono<Map<String, Object>> getConnectionStatus() {
+    public Mono<Map<String, Object>> getConnectionStatus(
+            @RequestParam(value = "sort", defaultValue = "lastActivity") String sort,
+            @RequestParam(value = "order", defaultValue = "desc") String order,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        ConnectionTelemetry.SortKey sortKey;
+        try {
+            sortKey = ConnectionTelemetry.SortKey.parse(sort);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        List<ConnectionTelemetry.ConnectionSnapshot> connections =
+            connectionTelemetry.list(sortKey, !"asc".equalsIgnoreCase(order), Math.max(1, Math.min(limit, 10000)));
+
         Map<String, Object> status = new HashMap<>();
         status.put("activeConnections", activeConnections.size());
-        status.put("connectionIds", activeConnections.keySet());
+        status.put("connectionIds", connections.stream().map(ConnectionTelemetry.ConnectionSnapshot::connectionId).toList());
+        status.put("connections", connections);
+        status.put("aggregate", connectionTelemetry.aggregate());
         status.put("timestamp", System.currentTimeMillis());
         
         return Mono.just(status);
@@ -420,7 +536,7 @@ public class McpSseController {
                     .data(objectMapper.writeValueAsString(notification))
                     .build();
                     
-                connection.tryEmitNext(event);
+                emit(clientId, connection, event);
                 
                 return Mono.just(Map.of(
                     "status", "sent",
@@ -0,0 +1,45 @@
+package com.nacos.mcp.router.controller;
+
+import com.nacos.mcp.router.observability.SloMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * SLO Controller
+ * Rolling 1m, 5m and 15m throughput, error rate, latency percentiles and burn rate
+ */
+@RestController
+@RequestMapping("/api/mcp/slo")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class SloController {
+
+    private final SloMonitor sloMonitor;
+
+    /**
+     * Every tool and downstream instance called within the last fifteen minutes
+     */
+    @GetMapping
+    public Mono<Map<String, Object>> getReport() {
+        return Mono.just(sloMonitor.getReport());
+    }
+
+    @GetMapping("/tools/{toolName}")
+    public Mono<ResponseEntity<Map<String, Object>>> getToolReport(@PathVariable String toolName) {
+        Map<String, Object> report = sloMonitor.getToolReport(toolName);
+        return Mono.just(report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build());
+    }
+
+    /**
+     * One instance, named {@code service@ip:port}
+     */
+    @GetMapping("/instances/{instance}")
+    public Mono<ResponseEntity<Map<String, Object>>> getInstanceReport(@PathVariable String instance) {
+        Map<String, Object> report = sloMonitor.getInstanceReport(instance);
+        return Mono.just(report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build());
+    }
+}
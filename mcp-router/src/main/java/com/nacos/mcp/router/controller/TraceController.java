@@ -0,0 +1,48 @@
+package com.nacos.mcp.router.controller;
+
+import com.nacos.mcp.router.observability.RouterTracer;
+import com.nacos.mcp.router.observability.Span;
+import com.nacos.mcp.router.observability.SpanCollector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trace Controller
+ * Reads the spans kept by the local collector
+ */
+@RestController
+@RequestMapping("/api/mcp/traces")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class TraceController {
+
+    private final RouterTracer routerTracer;
+    private final SpanCollector spanCollector;
+
+    /**
+     * Most recently finished spans, newest first
+     */
+    @GetMapping
+    public Mono<Map<String, Object>> getRecentSpans(@RequestParam(value = "limit", defaultValue = "100") int limit) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("enabled", routerTracer.isEnabled());
+        result.put("totalSpans", spanCollector.getSpanCount());
+        result.put("spans", spanCollector.getRecent(Math.max(1, limit)));
+        return Mono.just(result);
+    }
+
+    /**
+     * All kept spans of one trace in start order
+     */
+    @GetMapping("/{traceId}")
+    public Mono<ResponseEntity<List<Span.SpanData>>> getTrace(@PathVariable String traceId) {
+        List<Span.SpanData> spans = spanCollector.getTrace(traceId);
+        return Mono.just(spans.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(spans));
+    }
+}
@@ -84,6 +84,20 @@ public class McpJsonRpcResponse {
                 .build();
     }
 
+    /**
+     * Create error response with additional error data
+     */
+    public static McpJsonRpcResponse error(Integer code, String message, Object data, Object id) {
+        return McpJsonRpcResponse.builder()
+                .error(JsonRpcError.builder()
+                        .code(code)
+                        .message(message)
+                        .data(data)
+                        .build())
+                .id(id)
+                .build();
+    }
+
     /**
      * Standard JSON-RPC error codes
      */
@@ -99,6 +113,7 @@ public class McpJsonRpcResponse {
         public static final int MCP_RESOURCE_ERROR = -32002;
         public static final int MCP_PROMPT_ERROR = -32003;
         public static final int MCP_SERVER_ERROR = -32004;
+        public static final int MCP_TIMEOUT_ERROR = -32005;
         
         // Legacy compatibility
         public static final int TOOL_NOT_FOUND = -32001;
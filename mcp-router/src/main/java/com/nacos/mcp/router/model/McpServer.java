@@ -18,7 +18,7 @@ import java.util.Map;
  * MCP Server Model
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class McpServer {
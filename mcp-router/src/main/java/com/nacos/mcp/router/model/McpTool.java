@@ -1,5 +1,7 @@
 package com.nacos.mcp.router.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
@@ -43,6 +45,49 @@ public class McpTool {
     @JsonProperty("inputSchema")
     private InputSchema inputSchema;
 
+    /**
+     * Tool annotations (optional)
+     * Behavioural hints declared by the server, e.g. that the tool is read-only
+     */
+    @JsonProperty("annotations")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ToolAnnotations annotations;
+
+    /**
+     * Whether the server declared this tool as free of side effects
+     */
+    @JsonIgnore
+    public boolean isReadOnly() {
+        return annotations != null && Boolean.TRUE.equals(annotations.getReadOnlyHint());
+    }
+
+    /**
+     * Tool annotations following the MCP specification
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ToolAnnotations {
+
+        @JsonProperty("title")
+        private String title;
+
+        @JsonProperty("readOnlyHint")
+        private Boolean readOnlyHint;
+
+        @JsonProperty("destructiveHint")
+        private Boolean destructiveHint;
+
+        @JsonProperty("idempotentHint")
+        private Boolean idempotentHint;
+
+        @JsonProperty("openWorldHint")
+        private Boolean openWorldHint;
+    }
+
     /**
      * Input Schema definition following JSON Schema specification
      */
@@ -0,0 +1,46 @@
+package com.nacos.mcp.router.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Registry Delta Model
+ * Changes of the server registry between two versions
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistryDelta {
+
+    /**
+     * Version the client already has
+     */
+    private Long sinceVersion;
+
+    /**
+     * Registry version this delta brings the client to; pass it as sinceVersion next time
+     */
+    private Long version;
+
+    /**
+     * Whether this is a full snapshot rather than a delta, because sinceVersion is
+     * older than the retained change journal or newer than the registry
+     */
+    private Boolean full;
+
+    /**
+     * Current instances of every service added or changed since sinceVersion
+     * (all servers for a full snapshot)
+     */
+    private List<McpServer> servers;
+
+    /**
+     * Names of the services removed since sinceVersion
+     */
+    private List<String> removed;
+}
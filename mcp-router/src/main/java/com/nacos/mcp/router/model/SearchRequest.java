@@ -37,4 +37,9 @@ public class SearchRequest {
      * Maximum number of results
      */
     private Integer limit;
+
+    /**
+     * Search mode: keyword (BM25), semantic (local embeddings) or hybrid (best of both)
+     */
+    private String mode;
 } 
\ No newline at end of file
@@ -11,7 +11,7 @@ import java.util.List;
  * Search Response Model
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SearchResponse {
@@ -37,7 +37,7 @@ public class SearchResponse {
     private SearchMetadata metadata;
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class SearchMetadata {
@@ -55,5 +55,10 @@ public class SearchResponse {
          * Providers used in search
          */
         private List<String> providers;
+
+        /**
+         * Whether the response was served from the search cache
+         */
+        private Boolean cached;
     }
 } 
\ No newline at end of file
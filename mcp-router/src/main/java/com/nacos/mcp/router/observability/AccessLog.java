@@ -0,0 +1,238 @@
+package com.nacos.mcp.router.observability;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Structured access log
+ * Request threads only decide sampling and hand the raw field values to a bounded
+ * queue; a single writer thread renders each entry as one JSON line, truncates long
+ * values and writes it to the {@value #LOGGER_NAME} logger. Entries are dropped, and
+ * counted, when the queue is full, so a slow appender never blocks an event loop.
+ * <p>
+ * Values are rendered after the call returns, so only pass values that are no longer
+ * modified, such as request parameters.
+ */
+@Slf4j
+@Component
+public class AccessLog {
+
+    public static final String LOGGER_NAME = "mcp.access";
+
+    private static final int BATCH_SIZE = 256;
+
+    private final McpRouterProperties.AccessLogging settings;
+    private final ObjectMapper objectMapper;
+    private final Consumer<String> sink;
+    private final BlockingQueue<Entry> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AccessLog(McpRouterProperties mcpRouterProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(mcpRouterProperties, objectMapper, meterRegistry, LoggerFactory.getLogger(LOGGER_NAME)::info);
+    }
+
+    AccessLog(McpRouterProperties mcpRouterProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+              Consumer<String> sink) {
+        this.settings = mcpRouterProperties.getAccessLog();
+        this.objectMapper = objectMapper;
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        FunctionCounter.builder("mcp.router.access.log.dropped", dropped, LongAdder::sum)
+                .description("Access log entries dropped because the writer queue was full")
+                .register(meterRegistry);
+        Gauge.builder("mcp.router.access.log.queued", queue, BlockingQueue::size)
+                .description("Access log entries waiting for the writer")
+                .register(meterRegistry);
+        this.writer = new Thread(this::drain, "mcp-access-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Start a timed entry; {@link Entry#submit()} adds its duration and queues it
+     *
+     * @return the entry, or {@link Entry#NOOP} when logging is off or the call is not sampled
+     */
+    public Entry start(String event) {
+        return sampled() ? new Entry(this, event, System.nanoTime()) : Entry.NOOP;
+    }
+
+    /**
+     * Queue an untimed entry of alternating field names and values, if sampled
+     */
+    public void log(String event, Object... fields) {
+        if (!sampled()) {
+            return;
+        }
+        Entry entry = new Entry(this, event, 0);
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            entry.field((String) fields[i], fields[i + 1]);
+        }
+        entry.submit();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private boolean sampled() {
+        if (!settings.isEnabled()) {
+            return false;
+        }
+        double ratio = settings.getSampleRatio();
+        return ratio >= 1.0 || (ratio > 0 && ThreadLocalRandom.current().nextDouble() < ratio);
+    }
+
+    private void enqueue(Entry entry) {
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (Entry entry : batch) {
+                    write(entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        try {
+            sink.accept(format(entry));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.debug("Failed to write access log entry {}: {}", entry.event, e.getMessage());
+        }
+    }
+
+    /**
+     * One JSON line: timestamp, event, duration of timed entries, then the fields in order
+     */
+    String format(Entry entry) throws JsonProcessingException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("ts", Instant.ofEpochMilli(entry.timestamp).toString());
+        line.put("event", entry.event);
+        if (entry.startNanos != 0) {
+            line.put("durationMs", Math.round(entry.durationNanos / 1_000.0) / 1_000.0);
+        }
+        entry.fields.forEach((key, value) -> line.put(key, render(value)));
+        return objectMapper.writeValueAsString(line);
+    }
+
+    private Object render(Object value) {
+        if (value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof CharSequence || value instanceof Enum<?>) {
+            return truncate(value.toString());
+        }
+        try {
+            return truncate(objectMapper.writeValueAsString(value));
+        } catch (JsonProcessingException e) {
+            return truncate(String.valueOf(value));
+        }
+    }
+
+    private String truncate(String text) {
+        int max = settings.getMaxValueLength();
+        if (text.length() <= max) {
+            return text;
+        }
+        int end = Character.isHighSurrogate(text.charAt(max - 1)) ? max - 1 : max;
+        return text.substring(0, end) + "...[" + text.length() + " chars]";
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    /**
+     * An access log line being assembled
+     * Fields with null values are left out. Not thread-safe; a reactive chain hands it
+     * from operator to operator, which is enough.
+     */
+    public static final class Entry {
+
+        /**
+         * Entry of an unsampled call; every method does nothing
+         */
+        public static final Entry NOOP = new Entry(null, null, 0);
+
+        private final AccessLog owner;
+        private final String event;
+        private final long timestamp;
+        private final long startNanos;
+        private final Map<String, Object> fields;
+        private long durationNanos;
+        private boolean submitted;
+
+        private Entry(AccessLog owner, String event, long startNanos) {
+            this.owner = owner;
+            this.event = event;
+            this.startNanos = startNanos;
+            this.timestamp = owner != null ? System.currentTimeMillis() : 0;
+            this.fields = owner != null ? new LinkedHashMap<>() : null;
+        }
+
+        public Entry field(String key, Object value) {
+            if (owner != null && value != null) {
+                fields.put(key, value);
+            }
+            return this;
+        }
+
+        /**
+         * Queue the entry for writing; only the first call has an effect
+         */
+        public void submit() {
+            if (owner == null || submitted) {
+                return;
+            }
+            submitted = true;
+            if (startNanos != 0) {
+                durationNanos = System.nanoTime() - startNanos;
+            }
+            owner.enqueue(this);
+        }
+    }
+}
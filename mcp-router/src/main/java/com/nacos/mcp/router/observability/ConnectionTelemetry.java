@@ -0,0 +1,260 @@
+package com.nacos.mcp.router.observability;
+
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-connection statistics of the SSE transport
+ * Every counter is a {@link LongAdder} or atomic of the connection's own record, so
+ * recording an event, request or response is a map lookup plus a few lock-free adds.
+ * Snapshots, sorting and the aggregates are computed only when the status is read.
+ */
+@Component
+public class ConnectionTelemetry {
+
+    /**
+     * Upper bounds in milliseconds of the connection-age histogram buckets
+     */
+    private static final long[] AGE_BUCKETS = {60_000L, 300_000L, 900_000L, 3_600_000L, 21_600_000L, 86_400_000L};
+    private static final String[] AGE_LABELS = {"<=1m", "<=5m", "<=15m", "<=1h", "<=6h", "<=24h", ">24h"};
+
+    private final Map<String, ConnectionStats> connections = new ConcurrentHashMap<>();
+
+    /**
+     * Ways a status listing can be ordered
+     */
+    public enum SortKey {
+        AGE(Comparator.comparingLong(ConnectionSnapshot::ageMillis)),
+        LAST_ACTIVITY(Comparator.comparingLong(ConnectionSnapshot::lastActivity)),
+        BYTES_SENT(Comparator.comparingLong(ConnectionSnapshot::bytesSent)),
+        EVENTS_SENT(Comparator.comparingLong(ConnectionSnapshot::eventsSent)),
+        QUEUE_DEPTH(Comparator.comparingLong(ConnectionSnapshot::queueDepth)),
+        IN_FLIGHT(Comparator.comparingLong(ConnectionSnapshot::inFlightRequests)),
+        AVG_LATENCY(Comparator.comparingDouble(ConnectionSnapshot::averageResponseLatencyMs));
+
+        private final Comparator<ConnectionSnapshot> comparator;
+
+        SortKey(Comparator<ConnectionSnapshot> comparator) {
+            this.comparator = comparator;
+        }
+
+        /**
+         * Parse a sort parameter such as {@code lastActivity} or {@code bytes_sent}
+         */
+        public static SortKey parse(String value) {
+            String normalized = value.replaceAll("([a-z])([A-Z])", "$1_$2").replace('-', '_').toUpperCase();
+            for (SortKey key : values()) {
+                if (key.name().equals(normalized)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unknown sort key: " + value);
+        }
+    }
+
+    /**
+     * Counters of one connection
+     */
+    public static final class ConnectionStats {
+        private final String connectionId;
+        private final long connectedAt = System.currentTimeMillis();
+        private final LongAdder eventsSent = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder enqueued = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+        private final AtomicLong inFlight = new AtomicLong();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder responseNanos = new LongAdder();
+        private volatile long lastActivity = connectedAt;
+
+        private ConnectionStats(String connectionId) {
+            this.connectionId = connectionId;
+        }
+
+        private ConnectionSnapshot snapshot(long now) {
+            long responseCount = responses.sum();
+            return new ConnectionSnapshot(connectionId, connectedAt, now - connectedAt, lastActivity,
+                    eventsSent.sum(), bytesSent.sum(), Math.max(0, enqueued.sum() - delivered.sum()),
+                    inFlight.get(), requests.sum(), responseCount,
+                    responseCount > 0 ? responseNanos.sum() / 1_000_000.0 / responseCount : 0.0);
+        }
+    }
+
+    /**
+     * Point-in-time view of one connection
+     */
+    public record ConnectionSnapshot(String connectionId, long connectedAt, long ageMillis, long lastActivity,
+                                     long eventsSent, long bytesSent, long queueDepth, long inFlightRequests,
+                                     long requestsReceived, long responsesSent, double averageResponseLatencyMs) {
+    }
+
+    public void open(String connectionId) {
+        connections.put(connectionId, new ConnectionStats(connectionId));
+    }
+
+    public void close(String connectionId) {
+        connections.remove(connectionId);
+    }
+
+    /**
+     * An event was accepted into the connection's outbound queue
+     */
+    public void onEnqueued(String connectionId) {
+        ConnectionStats stats = connections.get(connectionId);
+        if (stats != null) {
+            stats.enqueued.increment();
+        }
+    }
+
+    /**
+     * A queued event was taken from the connection's outbound queue
+     */
+    public void onDequeued(String connectionId) {
+        ConnectionStats stats = connections.get(connectionId);
+        if (stats != null) {
+            stats.delivered.increment();
+        }
+    }
+
+    /**
+     * An event, queued or generated (heartbeats), was handed to the transport
+     */
+    public void onSent(String connectionId, ServerSentEvent<String> event) {
+        ConnectionStats stats = connections.get(connectionId);
+        if (stats != null) {
+            stats.eventsSent.increment();
+            stats.bytesSent.add(encodedLength(event));
+            stats.lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * A JSON-RPC message arrived for the connection
+     */
+    public void onRequest(String connectionId) {
+        ConnectionStats stats = connections.get(connectionId);
+        if (stats != null) {
+            stats.requests.increment();
+            stats.inFlight.incrementAndGet();
+            stats.lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Processing of a JSON-RPC message ended; a response was sent if {@code responded}
+     */
+    public void onRequestDone(String connectionId, long startNanos, boolean responded) {
+        ConnectionStats stats = connections.get(connectionId);
+        if (stats != null) {
+            stats.inFlight.decrementAndGet();
+            if (responded) {
+                stats.responses.increment();
+                stats.responseNanos.add(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Snapshots of up to {@code limit} connections ordered by {@code sortKey}
+     */
+    public List<ConnectionSnapshot> list(SortKey sortKey, boolean descending, int limit) {
+        long now = System.currentTimeMillis();
+        Comparator<ConnectionSnapshot> order = descending ? sortKey.comparator.reversed() : sortKey.comparator;
+        return connections.values().stream()
+                .map(stats -> stats.snapshot(now))
+                .sorted(order.thenComparing(ConnectionSnapshot::connectionId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Totals over all connections and the connection-age histogram
+     */
+    public Map<String, Object> aggregate() {
+        long now = System.currentTimeMillis();
+        long[] ageCounts = new long[AGE_LABELS.length];
+        long events = 0;
+        long bytes = 0;
+        long queued = 0;
+        long maxQueueDepth = 0;
+        long inFlight = 0;
+        long responses = 0;
+        long responseNanos = 0;
+        for (ConnectionStats stats : connections.values()) {
+            long age = now - stats.connectedAt;
+            int bucket = 0;
+            while (bucket < AGE_BUCKETS.length && age > AGE_BUCKETS[bucket]) {
+                bucket++;
+            }
+            ageCounts[bucket]++;
+            events += stats.eventsSent.sum();
+            bytes += stats.bytesSent.sum();
+            long depth = Math.max(0, stats.enqueued.sum() - stats.delivered.sum());
+            queued += depth;
+            maxQueueDepth = Math.max(maxQueueDepth, depth);
+            inFlight += stats.inFlight.get();
+            responses += stats.responses.sum();
+            responseNanos += stats.responseNanos.sum();
+        }
+
+        Map<String, Long> ageHistogram = new LinkedHashMap<>();
+        for (int i = 0; i < AGE_LABELS.length; i++) {
+            ageHistogram.put(AGE_LABELS[i], ageCounts[i]);
+        }
+        Map<String, Object> aggregate = new LinkedHashMap<>();
+        aggregate.put("connections", connections.size());
+        aggregate.put("eventsSent", events);
+        aggregate.put("bytesSent", bytes);
+        aggregate.put("queuedEvents", queued);
+        aggregate.put("maxQueueDepth", maxQueueDepth);
+        aggregate.put("inFlightRequests", inFlight);
+        aggregate.put("averageResponseLatencyMs", responses > 0 ? responseNanos / 1_000_000.0 / responses : 0.0);
+        aggregate.put("connectionAgeHistogram", ageHistogram);
+        return aggregate;
+    }
+
+    /**
+     * Bytes of the event as framed on the stream: event and data lines in UTF-8
+     */
+    public static long encodedLength(ServerSentEvent<String> event) {
+        long length = 1; // blank line ending the event
+        if (event.event() != null) {
+            length += "event:".length() + utf8Length(event.event()) + 1;
+        }
+        if (event.data() != null) {
+            length += "data:".length() + utf8Length(event.data()) + 1;
+        }
+        return length;
+    }
+
+    private static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
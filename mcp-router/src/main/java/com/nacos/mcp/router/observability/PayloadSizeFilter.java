@@ -0,0 +1,193 @@
+package com.nacos.mcp.router.observability;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpJsonRpcRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes that cross the wire per request and response
+ * The request body and the response writes are observed as the {@link DataBuffer}s pass
+ * through, so nothing is copied, decoded or turned into a string; only
+ * {@link DataBuffer#readableByteCount()} is added up. When the exchange ends the totals are
+ * recorded into size summaries tagged by endpoint pattern, HTTP method, JSON-RPC method and
+ * tool, published with the same percentiles and window as the tool latency timers.
+ * Controllers name the JSON-RPC method and tool of an exchange with {@link #tagRpcCall}; a
+ * call answered on an SSE stream is tagged with {@link #tagStreamedRpcCall} and its response
+ * recorded under the call, not the stream, when it is sent.
+ */
+public class PayloadSizeFilter implements WebFilter, Ordered {
+
+    public static final String REQUEST_SIZE = "mcp.router.http.request.size";
+    public static final String RESPONSE_SIZE = "mcp.router.http.response.size";
+
+    private static final String RPC_METHOD_ATTRIBUTE = PayloadSizeFilter.class.getName() + ".rpcMethod";
+    private static final String TOOL_ATTRIBUTE = PayloadSizeFilter.class.getName() + ".tool";
+    private static final String STREAMED_ATTRIBUTE = PayloadSizeFilter.class.getName() + ".streamed";
+    private static final String NONE = "none";
+    private static final String OTHER = "other";
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final MeterRegistry meterRegistry;
+    private final McpRouterProperties.ExecutionMetrics window;
+    private final int maxSeries;
+    private final Map<SeriesKey, Series> series = new ConcurrentHashMap<>();
+
+    public PayloadSizeFilter(MeterRegistry meterRegistry, McpRouterProperties.ExecutionMetrics window, int maxSeries) {
+        this.meterRegistry = meterRegistry;
+        this.window = window;
+        this.maxSeries = maxSeries;
+    }
+
+    /**
+     * Name the JSON-RPC method, and for tools/call the tool, the exchange's sizes are recorded under
+     */
+    @SuppressWarnings("unchecked")
+    public static void tagRpcCall(ServerWebExchange exchange, McpJsonRpcRequest request) {
+        if (exchange == null || request == null || request.getMethod() == null) {
+            return;
+        }
+        exchange.getAttributes().put(RPC_METHOD_ATTRIBUTE, request.getMethod());
+        if ("tools/call".equals(request.getMethod()) && request.getParams() instanceof Map<?, ?> params
+                && ((Map<String, Object>) params).get("name") instanceof String toolName) {
+            exchange.getAttributes().put(TOOL_ATTRIBUTE, toolName);
+        }
+    }
+
+    /**
+     * As {@link #tagRpcCall}, for a call answered on another exchange, such as an SSE stream
+     * This exchange only writes an acknowledgement, so its response size is left out; the
+     * bytes of the real response are added with {@link #recordStreamedResponse}.
+     */
+    public static void tagStreamedRpcCall(ServerWebExchange exchange, McpJsonRpcRequest request) {
+        tagRpcCall(exchange, request);
+        if (exchange != null) {
+            exchange.getAttributes().put(STREAMED_ATTRIBUTE, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Record the response of a call tagged with {@link #tagStreamedRpcCall}, as it is sent
+     */
+    public void recordStreamedResponse(ServerWebExchange exchange, long bytes) {
+        seriesFor(keyOf(exchange)).responseSize.record(bytes);
+    }
+
+    @Override
+    public int getOrder() {
+        // outermost, so the bytes of every other filter's response are counted too
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        LongAdder inbound = new LongAdder();
+        LongAdder outbound = new LongAdder();
+
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody().doOnNext(buffer -> inbound.add(buffer.readableByteCount()));
+            }
+        };
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(buffer -> outbound.add(buffer.readableByteCount())));
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                // SSE streams are written chunk by chunk, counted as each event is flushed
+                return super.writeAndFlushWith(Flux.from(body).map(chunk ->
+                        Flux.from(chunk).doOnNext(buffer -> outbound.add(buffer.readableByteCount()))));
+            }
+        };
+
+        ServerWebExchange decorated = exchange.mutate().request(request).response(response).build();
+        // doFinally also records streams that end by client disconnect
+        return chain.filter(decorated)
+                .doFinally(signal -> record(decorated, inbound.sum(), outbound.sum()));
+    }
+
+    private void record(ServerWebExchange exchange, long inboundBytes, long outboundBytes) {
+        Series target = seriesFor(keyOf(exchange));
+        target.requestSize.record(inboundBytes);
+        if (!exchange.getAttributes().containsKey(STREAMED_ATTRIBUTE)) {
+            target.responseSize.record(outboundBytes);
+        }
+    }
+
+    private static SeriesKey keyOf(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern instanceof PathPattern pathPattern ? pathPattern.getPatternString()
+                : pattern != null ? pattern.toString() : UNKNOWN;
+        String method = exchange.getRequest().getMethod().name();
+        String rpcMethod = exchange.getAttributeOrDefault(RPC_METHOD_ATTRIBUTE, NONE);
+        String tool = exchange.getAttributeOrDefault(TOOL_ATTRIBUTE, NONE);
+        return new SeriesKey(uri, method, rpcMethod, tool);
+    }
+
+    private Series seriesFor(SeriesKey key) {
+        Series existing = series.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        // unbounded tool names (typos, probes) fold into one series instead of growing the registry
+        if (series.size() >= maxSeries && !NONE.equals(key.tool())) {
+            key = new SeriesKey(key.uri(), key.method(), key.rpcMethod(), OTHER);
+        }
+        return series.computeIfAbsent(key, Series::new);
+    }
+
+    private record SeriesKey(String uri, String method, String rpcMethod, String tool) {
+    }
+
+    /**
+     * Request and response summaries of one tag combination, created once
+     */
+    private final class Series {
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+
+        private Series(SeriesKey key) {
+            this.requestSize = summary(REQUEST_SIZE, "Bytes received in HTTP request bodies", key);
+            this.responseSize = summary(RESPONSE_SIZE, "Bytes written in HTTP response bodies", key);
+        }
+
+        private DistributionSummary summary(String name, String description, SeriesKey key) {
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .baseUnit("bytes")
+                    .tag("uri", key.uri())
+                    .tag("method", key.method())
+                    .tag("rpc.method", key.rpcMethod())
+                    .tag("tool", key.tool())
+                    .publishPercentiles(PERCENTILES)
+                    .percentilePrecision(2)
+                    .distributionStatisticExpiry(Duration.ofMillis(window.getWindow()))
+                    .distributionStatisticBufferLength(window.getWindowBuffers())
+                    .register(meterRegistry);
+        }
+    }
+}
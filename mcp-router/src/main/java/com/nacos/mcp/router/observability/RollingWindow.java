@@ -0,0 +1,175 @@
+package com.nacos.mcp.router.observability;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Call counts, failures and latencies of the last fifteen minutes
+ * Calls are recorded into a ring of {@value #BUCKET_MILLIS} ms buckets. A bucket
+ * belongs to one time slot; the first writer of a new slot swaps in a fresh bucket
+ * with a compare-and-set, so recording takes no lock and contends only on the
+ * bucket's adders and histogram counters. Any window up to {@link #MAX_WINDOW_MILLIS}
+ * is merged from the buckets on read; the newest bucket is still filling, so a
+ * window covers between one bucket less than its length and its full length.
+ * <p>
+ * Latencies go into a histogram whose bins grow by 25%, so percentiles are
+ * reported as the upper bound of their bin, at most a quarter above the true value.
+ */
+public final class RollingWindow {
+
+    public static final long BUCKET_MILLIS = 10_000;
+    public static final long MAX_WINDOW_MILLIS = 15 * 60_000;
+
+    private static final int BUCKETS = (int) (MAX_WINDOW_MILLIS / BUCKET_MILLIS) + 1;
+    private static final double GROWTH = 1.25;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    // bin 0 holds calls under 1 ms, bin i up to 1.25^i ms; the last bin is open ended (from about 7 minutes)
+    private static final int BINS = 60;
+
+    private final LongSupplier clock;
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(BUCKETS);
+
+    public RollingWindow() {
+        this(System::currentTimeMillis);
+    }
+
+    public RollingWindow(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    private static final class Bucket {
+        private final long slot;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLongArray bins = new AtomicLongArray(BINS);
+
+        private Bucket(long slot) {
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Window statistics; latencies in milliseconds, throughput in calls per second
+     */
+    public record Stats(long windowMillis, long calls, long failures, long slowCalls, double throughput,
+                        double errorRate, double averageMillis, double p50Millis, double p90Millis,
+                        double p99Millis) {
+    }
+
+    /**
+     * Record one call
+     *
+     * @param slow whether the call succeeded but exceeded the latency objective
+     */
+    public void record(long durationMillis, boolean failed, boolean slow) {
+        long slot = clock.getAsLong() / BUCKET_MILLIS;
+        Bucket bucket = bucketFor(slot);
+        if (bucket == null) {
+            return;
+        }
+        bucket.calls.increment();
+        bucket.totalMillis.add(Math.max(0, durationMillis));
+        bucket.bins.incrementAndGet(binOf(durationMillis));
+        if (failed) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slow.increment();
+        }
+    }
+
+    private Bucket bucketFor(long slot) {
+        int index = (int) (slot % BUCKETS);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.slot == slot) {
+                return bucket;
+            }
+            if (bucket != null && bucket.slot > slot) {
+                // a writer stalled for a whole ring; its slot is gone
+                return null;
+            }
+            Bucket fresh = new Bucket(slot);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * Statistics of the last {@code windowMillis}, at most {@link #MAX_WINDOW_MILLIS}
+     */
+    public Stats snapshot(long windowMillis) {
+        long now = clock.getAsLong();
+        long currentSlot = now / BUCKET_MILLIS;
+        long slots = Math.max(1, Math.min(BUCKETS - 1, windowMillis / BUCKET_MILLIS));
+        long oldestSlot = currentSlot - slots + 1;
+
+        long calls = 0;
+        long failures = 0;
+        long slow = 0;
+        long totalMillis = 0;
+        long[] bins = new long[BINS];
+        for (int i = 0; i < BUCKETS; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket == null || bucket.slot < oldestSlot || bucket.slot > currentSlot) {
+                continue;
+            }
+            calls += bucket.calls.sum();
+            failures += bucket.failures.sum();
+            slow += bucket.slow.sum();
+            totalMillis += bucket.totalMillis.sum();
+            for (int bin = 0; bin < BINS; bin++) {
+                bins[bin] += bucket.bins.get(bin);
+            }
+        }
+
+        // the newest bucket has only been filling since the start of its slot
+        long coveredMillis = (slots - 1) * BUCKET_MILLIS + (now - currentSlot * BUCKET_MILLIS);
+        double seconds = Math.max(1, coveredMillis) / 1000.0;
+        return new Stats(slots * BUCKET_MILLIS, calls, failures, slow, calls / seconds,
+                calls > 0 ? (double) failures / calls : 0.0,
+                calls > 0 ? (double) totalMillis / calls : 0.0,
+                percentile(bins, calls, 0.5), percentile(bins, calls, 0.9), percentile(bins, calls, 0.99));
+    }
+
+    /**
+     * Whether nothing was recorded within the longest window
+     */
+    public boolean isIdle() {
+        long oldestSlot = clock.getAsLong() / BUCKET_MILLIS - (BUCKETS - 2);
+        for (int i = 0; i < BUCKETS; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.slot >= oldestSlot) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int binOf(long durationMillis) {
+        if (durationMillis < 1) {
+            return 0;
+        }
+        return Math.min(BINS - 1, 1 + (int) (Math.log(durationMillis) / LOG_GROWTH));
+    }
+
+    private static double percentile(long[] bins, long calls, double quantile) {
+        if (calls == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(quantile * calls);
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            seen += bins[bin];
+            if (seen >= rank) {
+                return bin == 0 ? 1.0 : Math.round(Math.pow(GROWTH, bin) * 100) / 100.0;
+            }
+        }
+        return Math.round(Math.pow(GROWTH, BINS - 1) * 100) / 100.0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.nacos.mcp.router.observability;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import org.springframework.stereotype.Component;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts the spans of routed MCP requests
+ * An incoming {@code traceparent} (HTTP header or {@code _meta}) is continued and its
+ * sampled flag respected; requests without one start a trace with probability
+ * {@code mcp.router.tracing.sample-ratio}. The current span travels in the Reactor
+ * context under {@link #CONTEXT_KEY}, so stages downstream of the controller find their
+ * parent without extra parameters.
+ */
+@Component
+public class RouterTracer {
+
+    public static final String CONTEXT_KEY = RouterTracer.class.getName() + ".span";
+
+    private final McpRouterProperties.Tracing tracing;
+    private final SpanCollector collector;
+
+    public RouterTracer(McpRouterProperties mcpRouterProperties, SpanCollector collector) {
+        this.tracing = mcpRouterProperties.getTracing();
+        this.collector = collector;
+    }
+
+    public boolean isEnabled() {
+        return tracing.isEnabled();
+    }
+
+    /**
+     * Start the span of a request that may carry a remote parent
+     *
+     * @param traceparent the caller's {@code traceparent}, or null
+     */
+    public Span startServerSpan(String name, String traceparent) {
+        if (!tracing.isEnabled()) {
+            return Span.NOOP;
+        }
+        TraceContext remote = TraceContext.parse(traceparent);
+        if (remote != null) {
+            return remote.isSampled()
+                    ? Span.recording(name, remote.newChild(), remote.getSpanId(), collector)
+                    : Span.propagating(remote);
+        }
+        double ratio = tracing.getSampleRatio();
+        if (ratio <= 0 || (ratio < 1 && ThreadLocalRandom.current().nextDouble() >= ratio)) {
+            return Span.NOOP;
+        }
+        return Span.recording(name, TraceContext.newRoot(true), null, collector);
+    }
+
+    /**
+     * Start a child span; the child of an unsampled span is that span itself
+     */
+    public Span startSpan(String name, Span parent) {
+        if (parent == null || !parent.isRecording()) {
+            return parent != null ? parent : Span.NOOP;
+        }
+        return Span.recording(name, parent.getContext().newChild(), parent.getContext().getSpanId(), collector);
+    }
+
+    /**
+     * Continue a {@code traceparent} received in a JSON-RPC {@code _meta} field if it is valid,
+     * otherwise start a child of the span in the subscriber context
+     */
+    public Span startSpan(String name, Object traceparent, ContextView context) {
+        if (traceparent instanceof String value && TraceContext.parse(value) != null) {
+            return startServerSpan(name, value);
+        }
+        return startSpan(name, context);
+    }
+
+    /**
+     * Start a child of the span in the subscriber context
+     */
+    public Span startSpan(String name, ContextView context) {
+        return startSpan(name, current(context));
+    }
+
+    /**
+     * Span in the subscriber context, or {@link Span#NOOP}
+     */
+    public static Span current(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, Span.NOOP);
+    }
+
+    /**
+     * Make a span the parent of everything upstream of a {@code contextWrite}
+     */
+    public static Context with(Context context, Span span) {
+        return span == Span.NOOP ? context : context.put(CONTEXT_KEY, span);
+    }
+}
@@ -0,0 +1,138 @@
+package com.nacos.mcp.router.observability;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Rolling 1m, 5m and 15m service levels per tool and per downstream instance
+ * Unlike the lifetime totals of {@code ToolExecutionMonitor}, these windows show a
+ * regression within minutes. A call is bad if it failed or, with a latency objective
+ * configured, took longer than it; the burn rate is the bad-call ratio divided by
+ * the error budget {@code 1 - objective}, so 1 spends the budget exactly at the
+ * sustainable pace and 14.4 exhausts a 30-day budget in two days.
+ */
+@Component
+public class SloMonitor {
+
+    /**
+     * Reported windows by label
+     */
+    private static final Map<String, Long> WINDOWS = windows();
+
+    private static final String OTHER = "other";
+
+    private final McpRouterProperties.Slo settings;
+    private final LongSupplier clock;
+    private final Map<String, RollingWindow> tools = new ConcurrentHashMap<>();
+    private final Map<String, RollingWindow> instances = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SloMonitor(McpRouterProperties mcpRouterProperties) {
+        this(mcpRouterProperties, System::currentTimeMillis);
+    }
+
+    SloMonitor(McpRouterProperties mcpRouterProperties, LongSupplier clock) {
+        this.settings = mcpRouterProperties.getSlo();
+        this.clock = clock;
+    }
+
+    private static Map<String, Long> windows() {
+        Map<String, Long> windows = new LinkedHashMap<>();
+        windows.put("1m", 60_000L);
+        windows.put("5m", 300_000L);
+        windows.put("15m", RollingWindow.MAX_WINDOW_MILLIS);
+        return Collections.unmodifiableMap(windows);
+    }
+
+    /**
+     * Record a routed tool call, measured from dispatch to outcome
+     */
+    public void recordTool(String toolName, long durationMillis, boolean success) {
+        record(tools, toolName, durationMillis, success);
+    }
+
+    /**
+     * Record a call to one downstream instance, such as {@code mcp-server-v2@10.0.0.5:8062}
+     */
+    public void recordInstance(String instance, long durationMillis, boolean success) {
+        record(instances, instance, durationMillis, success);
+    }
+
+    private void record(Map<String, RollingWindow> windows, String key, long durationMillis, boolean success) {
+        RollingWindow window = windows.get(key);
+        if (window == null) {
+            // names come from clients and the registry, so fold them once there are too many
+            String series = key != null && windows.size() < settings.getMaxSeries() ? key : OTHER;
+            window = windows.computeIfAbsent(series, name -> new RollingWindow(clock));
+        }
+        long threshold = settings.getLatencyThreshold();
+        window.record(durationMillis, !success, success && threshold > 0 && durationMillis > threshold);
+    }
+
+    public Map<String, Object> getToolReport(String toolName) {
+        RollingWindow window = tools.get(toolName);
+        return window != null ? report(window) : null;
+    }
+
+    public Map<String, Object> getInstanceReport(String instance) {
+        RollingWindow window = instances.get(instance);
+        return window != null ? report(window) : null;
+    }
+
+    /**
+     * Reports of the tools and instances called within the last fifteen minutes
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("objective", settings.getObjective());
+        report.put("latencyThresholdMs", settings.getLatencyThreshold());
+        report.put("tools", reports(tools));
+        report.put("instances", reports(instances));
+        return report;
+    }
+
+    private Map<String, Object> reports(Map<String, RollingWindow> windows) {
+        Map<String, Object> reports = new TreeMap<>();
+        windows.forEach((name, window) -> {
+            if (!window.isIdle()) {
+                reports.put(name, report(window));
+            }
+        });
+        return reports;
+    }
+
+    private Map<String, Object> report(RollingWindow window) {
+        double budget = 1.0 - settings.getObjective();
+        Map<String, Object> report = new LinkedHashMap<>();
+        WINDOWS.forEach((label, windowMillis) -> {
+            RollingWindow.Stats stats = window.snapshot(windowMillis);
+            long bad = stats.failures() + stats.slowCalls();
+            double badRatio = stats.calls() > 0 ? (double) bad / stats.calls() : 0.0;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("calls", stats.calls());
+            entry.put("throughput", round(stats.throughput()));
+            entry.put("errorRate", round(stats.errorRate()));
+            entry.put("slowCalls", stats.slowCalls());
+            entry.put("averageMs", round(stats.averageMillis()));
+            entry.put("p50Ms", stats.p50Millis());
+            entry.put("p90Ms", stats.p90Millis());
+            entry.put("p99Ms", stats.p99Millis());
+            entry.put("badRatio", round(badRatio));
+            entry.put("burnRate", budget > 0 ? round(badRatio / budget) : 0.0);
+            report.put(label, entry);
+        });
+        return report;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+}
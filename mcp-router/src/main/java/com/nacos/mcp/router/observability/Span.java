@@ -0,0 +1,114 @@
+package com.nacos.mcp.router.observability;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed operation of a trace
+ * Only sampled spans record anything. An unsampled span only carries the context it
+ * propagates downstream, and {@link #NOOP} carries none, so with sampling off the hot
+ * paths call empty methods on a shared instance.
+ */
+public class Span {
+
+    // wall clock anchored once, so start times have microsecond resolution
+    private static final long EPOCH_MICROS_ANCHOR = System.currentTimeMillis() * 1000;
+    private static final long NANO_ANCHOR = System.nanoTime();
+
+    /**
+     * Span of an untraced operation
+     */
+    public static final Span NOOP = new Span(null, null, null, null);
+
+    private final String name;
+    private final TraceContext context;
+    private final String parentSpanId;
+    private final SpanCollector collector;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private final Map<String, String> attributes;
+    private final AtomicBoolean ended;
+    private volatile String error;
+
+    private Span(String name, TraceContext context, String parentSpanId, SpanCollector collector) {
+        this.name = name;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.collector = collector;
+        boolean recording = collector != null;
+        this.startNanos = recording ? System.nanoTime() : 0;
+        this.startEpochMicros = recording ? EPOCH_MICROS_ANCHOR + (startNanos - NANO_ANCHOR) / 1000 : 0;
+        this.attributes = recording ? new LinkedHashMap<>() : null;
+        this.ended = recording ? new AtomicBoolean() : null;
+    }
+
+    static Span recording(String name, TraceContext context, String parentSpanId, SpanCollector collector) {
+        return new Span(name, context, parentSpanId, collector);
+    }
+
+    /**
+     * Span that records nothing but propagates the given context
+     */
+    static Span propagating(TraceContext context) {
+        return new Span(null, context, null, null);
+    }
+
+    public boolean isRecording() {
+        return collector != null;
+    }
+
+    /**
+     * Context of this span, or null if it carries none
+     */
+    public TraceContext getContext() {
+        return context;
+    }
+
+    /**
+     * {@code traceparent} to send downstream, or null if the operation is not traced
+     */
+    public String traceparent() {
+        return context != null ? context.toTraceparent() : null;
+    }
+
+    public Span tag(String key, Object value) {
+        if (collector != null && value != null) {
+            synchronized (attributes) {
+                attributes.put(key, value.toString());
+            }
+        }
+        return this;
+    }
+
+    public Span error(Throwable throwable) {
+        if (collector != null && throwable != null) {
+            error = throwable.getClass().getSimpleName()
+                    + (throwable.getMessage() != null ? ": " + throwable.getMessage() : "");
+        }
+        return this;
+    }
+
+    /**
+     * Finish the span; only the first call has an effect
+     */
+    public void end() {
+        if (collector == null || !ended.compareAndSet(false, true)) {
+            return;
+        }
+        Map<String, String> tags;
+        synchronized (attributes) {
+            tags = Map.copyOf(attributes);
+        }
+        collector.add(new SpanData(context.getTraceId(), context.getSpanId(), parentSpanId, name,
+                startEpochMicros, (System.nanoTime() - startNanos) / 1000, tags, error));
+    }
+
+    /**
+     * A finished span as exported to the collector
+     */
+    public record SpanData(String traceId, String spanId, String parentSpanId, String name,
+                           long startEpochMicros, long durationMicros, Map<String, String> attributes,
+                           String error) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.nacos.mcp.router.observability;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Local stand-in for a trace collector
+ * Keeps the most recent finished spans in a fixed ring; adding a span is one atomic
+ * increment and one array store, and the oldest spans are overwritten.
+ * Read through {@code GET /api/mcp/traces}.
+ */
+@Component
+public class SpanCollector {
+
+    private final AtomicReferenceArray<Span.SpanData> ring;
+    private final AtomicLong written = new AtomicLong();
+
+    public SpanCollector(McpRouterProperties mcpRouterProperties) {
+        this.ring = new AtomicReferenceArray<>(mcpRouterProperties.getTracing().getMaxSpans());
+    }
+
+    void add(Span.SpanData span) {
+        ring.set((int) (written.getAndIncrement() % ring.length()), span);
+    }
+
+    /**
+     * Spans of one trace in start order
+     */
+    public List<Span.SpanData> getTrace(String traceId) {
+        List<Span.SpanData> spans = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Span.SpanData span = ring.get(i);
+            if (span != null && span.traceId().equals(traceId)) {
+                spans.add(span);
+            }
+        }
+        spans.sort(Comparator.comparingLong(Span.SpanData::startEpochMicros));
+        return spans;
+    }
+
+    /**
+     * Most recently finished spans, newest first
+     */
+    public List<Span.SpanData> getRecent(int limit) {
+        long end = written.get();
+        long start = Math.max(0, end - Math.min(limit, ring.length()));
+        List<Span.SpanData> spans = new ArrayList<>();
+        for (long i = end - 1; i >= start; i--) {
+            Span.SpanData span = ring.get((int) (i % ring.length()));
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    public long getSpanCount() {
+        return written.get();
+    }
+}
@@ -0,0 +1,112 @@
+package com.nacos.mcp.router.observability;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C trace context of one span: {@code 00-<trace-id>-<span-id>-<flags>}
+ * Carried in the {@code traceparent} HTTP header and in the JSON-RPC {@code _meta.traceparent} field.
+ */
+public final class TraceContext {
+
+    /**
+     * HTTP header and {@code _meta} key of the trace context
+     */
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final String VERSION = "00";
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+
+    TraceContext(String traceId, String spanId, boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * Parse a {@code traceparent} value
+     *
+     * @return the context, or null if the value is absent or malformed
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55) {
+            return null;
+        }
+        String value = traceparent.trim();
+        if (value.length() < 55 || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+                || "ff".equals(value.substring(0, 2))) {
+            return null;
+        }
+        String traceId = value.substring(3, 35);
+        String spanId = value.substring(36, 52);
+        String flags = value.substring(53, 55);
+        if (!isHex(value.substring(0, 2)) || !isHex(traceId) || !isHex(spanId) || !isHex(flags)
+                || INVALID_TRACE_ID.equals(traceId) || INVALID_SPAN_ID.equals(spanId)) {
+            return null;
+        }
+        return new TraceContext(traceId, spanId, (Character.digit(flags.charAt(1), 16) & 1) == 1);
+    }
+
+    /**
+     * Start a new trace
+     */
+    static TraceContext newRoot(boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(hex(random.nextLong()) + hex(random.nextLong()), newSpanId(), sampled);
+    }
+
+    /**
+     * Context of a child span in the same trace
+     */
+    TraceContext newChild() {
+        return new TraceContext(traceId, newSpanId(), sampled);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String toTraceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return hex(id);
+    }
+
+    private static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return digits.length() == 16 ? digits : "0".repeat(16 - digits.length()) + digits;
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
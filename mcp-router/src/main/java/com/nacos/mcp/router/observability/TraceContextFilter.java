@@ -0,0 +1,59 @@
+package com.nacos.mcp.router.observability;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Continues the caller's {@code traceparent} header for each HTTP request
+ * The request span is put into the Reactor context for the handlers and, when the request
+ * is traced, echoed back in the {@code traceparent} response header. Writing the response
+ * body, which is when the codecs serialize it, gets a {@code serialize} child span.
+ */
+public class TraceContextFilter implements WebFilter, Ordered {
+
+    private final RouterTracer tracer;
+
+    public TraceContextFilter(RouterTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public int getOrder() {
+        // inside the size accounting, outside everything else
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Span span = tracer.startServerSpan("HTTP " + exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getHeaders().getFirst(TraceContext.TRACEPARENT));
+        if (span == Span.NOOP) {
+            return chain.filter(exchange);
+        }
+        span.tag("http.target", exchange.getRequest().getPath().value());
+        if (span.getContext() != null) {
+            exchange.getResponse().getHeaders().set(TraceContext.TRACEPARENT, span.traceparent());
+        }
+
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                Span serialize = tracer.startSpan("serialize", span);
+                return super.writeWith(body)
+                        .doOnError(serialize::error)
+                        .doFinally(signal -> serialize.end());
+            }
+        };
+        return chain.filter(exchange.mutate().response(response).build())
+                .doOnError(span::error)
+                .doFinally(signal -> span.tag("http.status", exchange.getResponse().getStatusCode()).end())
+                .contextWrite(context -> RouterTracer.with(context, span));
+    }
+}
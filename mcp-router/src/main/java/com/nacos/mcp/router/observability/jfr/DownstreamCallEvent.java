@@ -0,0 +1,63 @@
+package com.nacos.mcp.router.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The call of a tool on an MCP server, from dispatch by the scheduler to its result
+ */
+@Name("com.nacos.mcp.router.DownstreamCall")
+@Label("Downstream Call")
+@Category({"MCP Router", "Tools"})
+@Description("A tool call on an MCP server from dispatch to result")
+@Enabled(false)
+@StackTrace(false)
+public class DownstreamCallEvent extends Event {
+
+    private static final DownstreamCallEvent PROBE = new DownstreamCallEvent();
+
+    @Label("Tool")
+    String tool;
+
+    @Label("Server")
+    String server;
+
+    @Label("Remaining Budget")
+    @Timespan(Timespan.MILLISECONDS)
+    long budget;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * @return the event, or null when the event type is not recorded
+     */
+    public static DownstreamCallEvent begin(String tool, String server, long budgetMillis) {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        DownstreamCallEvent event = new DownstreamCallEvent();
+        event.tool = tool;
+        event.server = server;
+        event.budget = budgetMillis;
+        event.begin();
+        return event;
+    }
+
+    public static void commit(DownstreamCallEvent event, String outcome) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.nacos.mcp.router.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Applying the instances of a service from a discovery source to the registry
+ */
+@Name("com.nacos.mcp.router.RegistryRefresh")
+@Label("Registry Refresh")
+@Category({"MCP Router", "Discovery"})
+@Description("Applying discovered instances to a registry")
+@Enabled(false)
+@StackTrace(false)
+public class RegistryRefreshEvent extends Event {
+
+    private static final RegistryRefreshEvent PROBE = new RegistryRefreshEvent();
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Service")
+    String service;
+
+    @Label("Instances")
+    int instances;
+
+    @Label("Changed")
+    boolean changed;
+
+    @Label("Registry Version")
+    long version;
+
+    /**
+     * @param service service name, or null for a refresh of the whole provider
+     * @return the event, or null when the event type is not recorded
+     */
+    public static RegistryRefreshEvent begin(String provider, String service) {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        RegistryRefreshEvent event = new RegistryRefreshEvent();
+        event.provider = provider;
+        event.service = service;
+        event.begin();
+        return event;
+    }
+
+    public static void commit(RegistryRefreshEvent event, int instances, boolean changed, long version) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.instances = instances;
+            event.changed = changed;
+            event.version = version;
+            event.commit();
+        }
+    }
+}
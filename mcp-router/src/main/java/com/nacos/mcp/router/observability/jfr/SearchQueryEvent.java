@@ -0,0 +1,65 @@
+package com.nacos.mcp.router.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A search for MCP servers across the search providers
+ */
+@Name("com.nacos.mcp.router.SearchQuery")
+@Label("Search Query")
+@Category({"MCP Router", "Search"})
+@Description("A search for MCP servers across the providers")
+@Enabled(false)
+@StackTrace(false)
+public class SearchQueryEvent extends Event {
+
+    private static final SearchQueryEvent PROBE = new SearchQueryEvent();
+
+    @Label("Query")
+    String query;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Results")
+    int results;
+
+    @Label("Cached")
+    boolean cached;
+
+    @Label("Partial")
+    boolean partial;
+
+    /**
+     * @return the event, or null when the event type is not recorded
+     */
+    public static SearchQueryEvent begin(String query, String mode) {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        SearchQueryEvent event = new SearchQueryEvent();
+        event.query = query;
+        event.mode = mode;
+        event.begin();
+        return event;
+    }
+
+    public static void commit(SearchQueryEvent event, int results, boolean cached, boolean partial) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.results = results;
+            event.cached = cached;
+            event.partial = partial;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nacos.mcp.router.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Putting an event into an SSE connection's outbound queue
+ */
+@Name("com.nacos.mcp.router.SseEmit")
+@Label("SSE Emit")
+@Category({"MCP Router", "Transport"})
+@Description("Queueing an event on an SSE connection")
+@Enabled(false)
+@StackTrace(false)
+public class SseEmitEvent extends Event {
+
+    private static final SseEmitEvent PROBE = new SseEmitEvent();
+
+    @Label("Connection")
+    String connection;
+
+    @Label("Event")
+    String eventName;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadSize;
+
+    @Label("Accepted")
+    boolean accepted;
+
+    /**
+     * @return the event, or null when the event type is not recorded
+     */
+    public static SseEmitEvent begin(String connection) {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        SseEmitEvent event = new SseEmitEvent();
+        event.connection = connection;
+        event.begin();
+        return event;
+    }
+
+    public static void commit(SseEmitEvent event, String eventName, long payloadSize, boolean accepted) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.eventName = eventName;
+            event.payloadSize = payloadSize;
+            event.accepted = accepted;
+            event.commit();
+        }
+    }
+}
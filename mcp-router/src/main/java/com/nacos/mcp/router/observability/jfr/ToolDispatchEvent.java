@@ -0,0 +1,76 @@
+package com.nacos.mcp.router.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A routed tools/call, from its arrival at the executor to its outcome, including queueing
+ */
+@Name("com.nacos.mcp.router.ToolDispatch")
+@Label("Tool Dispatch")
+@Category({"MCP Router", "Tools"})
+@Description("A routed tools/call from arrival at the executor to its outcome")
+@Enabled(false)
+@StackTrace(false)
+public class ToolDispatchEvent extends Event {
+
+    private static final ToolDispatchEvent PROBE = new ToolDispatchEvent();
+
+    @Label("Tool")
+    String tool;
+
+    @Label("Server")
+    String server;
+
+    @Label("Session")
+    String session;
+
+    @Label("Arguments Size")
+    @DataAmount
+    long argumentsSize;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Start timing a dispatch
+     *
+     * @return the event, or null when the event type is not recorded
+     */
+    public static ToolDispatchEvent begin(String tool, String server, String session) {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        ToolDispatchEvent event = new ToolDispatchEvent();
+        event.tool = tool;
+        event.server = server;
+        event.session = session;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Whether the event would be recorded; guards computing expensive fields
+     */
+    public static boolean isRecorded(ToolDispatchEvent event) {
+        return event != null && event.isEnabled();
+    }
+
+    public static void commit(ToolDispatchEvent event, long argumentsSize, String outcome) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.argumentsSize = argumentsSize;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.nacos.mcp.router.service;
 
 import com.nacos.mcp.router.model.McpServer;
 import com.nacos.mcp.router.model.McpServerRegistrationRequest;
+import com.nacos.mcp.router.model.RegistryDelta;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -40,6 +41,27 @@ public interface McpServerService {
      */
     Mono<Object> useTool(String toolName, Map<String, Object> params);
 
+    /**
+     * Use a tool from a MCP server, forwarding router metadata such as the remaining deadline
+     *
+     * @param serverName MCP server name
+     * @param toolName tool name
+     * @param params tool parameters
+     * @param meta JSON-RPC _meta to send with the downstream request
+     * @return tool execution result
+     */
+    Mono<Object> useTool(String serverName, String toolName, Map<String, Object> params, Map<String, Object> meta);
+
+    /**
+     * Use a tool without a specific server, forwarding router metadata such as the remaining deadline
+     *
+     * @param toolName tool name
+     * @param params tool parameters
+     * @param meta JSON-RPC _meta to send with the downstream request
+     * @return tool execution result
+     */
+    Mono<Object> useTool(String toolName, Map<String, Object> params, Map<String, Object> meta);
+
     /**
      * Get MCP server information
      *
@@ -87,6 +109,34 @@ public interface McpServerService {
      */
     Mono<List<McpServer>> listAllMcpServers();
 
+    /**
+     * Version of the combined server catalog of all providers
+     *
+     * @return a value that changes whenever any catalog changes, or -1 if a catalog is not versioned
+     */
+    default long getCatalogVersion() {
+        return -1;
+    }
+
+    /**
+     * Identity of the combined server catalog, for use as an HTTP entity tag
+     * Unlike {@link #getCatalogVersion()} it cannot collide: it holds the version of
+     * every provider verbatim, after an epoch that differs between process runs.
+     *
+     * @return a value that is equal only for the same catalog, or null if a catalog is not versioned
+     */
+    default String getCatalogTag() {
+        return null;
+    }
+
+    /**
+     * Changes of the discovered servers since a registry version
+     *
+     * @param sinceVersion registry version the caller has seen
+     * @return servers added or changed and services removed since then, or a full snapshot
+     */
+    Mono<RegistryDelta> getServerChanges(long sinceVersion);
+
     /**
      * Ping a MCP server to check if it's online
      *
@@ -2,6 +2,8 @@ package com.nacos.mcp.router.service;
 
 import com.nacos.mcp.router.model.SearchRequest;
 import com.nacos.mcp.router.model.SearchResponse;
+import com.nacos.mcp.router.model.McpServer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -25,4 +27,13 @@ public interface SearchService {
      * @return search response
      */
     Mono<SearchResponse> searchMcpServers(String taskDescription, String... keywords);
-} 
\ No newline at end of file
+
+    /**
+     * Stream matching MCP servers as the search providers answer, without waiting
+     * for the slowest one
+     *
+     * @param request search request
+     * @return matching servers, best first within each merge window, at most {@code limit}
+     */
+    Flux<McpServer> streamMcpServers(SearchRequest request);
+}
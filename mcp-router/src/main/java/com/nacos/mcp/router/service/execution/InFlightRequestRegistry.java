@@ -0,0 +1,179 @@
+package com.nacos.mcp.router.service.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-flight Request Registry
+ * Tracks running tool calls by session and JSON-RPC id so that a client
+ * cancellation or disconnect can stop the reactive chain. Stopping the chain
+ * disposes the downstream call; the router has no downstream MCP session yet
+ * to send notifications/cancelled on.
+ * <p>
+ * Only calls with a session id can be cancelled by id: JSON-RPC ids are chosen
+ * by clients, so without a session they would collide across clients.
+ */
+@Slf4j
+@Component
+public class InFlightRequestRegistry {
+
+    public static final String REASON_CLIENT_CANCELLED = "client_cancelled";
+    public static final String REASON_CLIENT_DISCONNECTED = "client_disconnected";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> cancelledCounters = new ConcurrentHashMap<>();
+
+    public InFlightRequestRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * A tool call that has been dispatched but not yet completed
+     */
+    @Getter
+    public static class InFlightRequest {
+        private final String sessionId;
+        private final Object requestId;
+        private final String serverName;
+        private final String toolName;
+        private final long startTime = System.currentTimeMillis();
+        private final Sinks.Empty<Void> cancelSignal = Sinks.empty();
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+        private volatile boolean cancelled;
+
+        InFlightRequest(ToolCallContext context) {
+            this.sessionId = context.getSessionId();
+            this.requestId = context.getRequestId();
+            this.serverName = context.getServerName();
+            this.toolName = context.getToolName();
+        }
+
+        /**
+         * Completes when the call has been cancelled; used with takeUntilOther
+         */
+        public Mono<Void> cancellation() {
+            return cancelSignal.asMono();
+        }
+    }
+
+    /**
+     * Register a call before it is dispatched downstream; it is cancellable by id
+     * only if it has both a session and a request id
+     */
+    public InFlightRequest register(ToolCallContext context) {
+        InFlightRequest request = new InFlightRequest(context);
+        if (isAddressable(request)) {
+            InFlightRequest previous = inFlight.put(key(context.getSessionId(), context.getRequestId()), request);
+            if (previous != null) {
+                log.warn("Duplicate in-flight request id {} in session {}", context.getRequestId(), context.getSessionId());
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Mark a call as finished without cancelling it
+     */
+    public void complete(InFlightRequest request) {
+        if (request.finished.compareAndSet(false, true)) {
+            unregister(request);
+        }
+    }
+
+    /**
+     * Cancel a call by session and JSON-RPC id, as requested by notifications/cancelled
+     *
+     * @return true if a running call was cancelled
+     */
+    public boolean cancel(String sessionId, Object requestId, String reason) {
+        if (sessionId == null || requestId == null) {
+            return false;
+        }
+        InFlightRequest request = inFlight.get(key(sessionId, requestId));
+        if (request == null) {
+            log.debug("Cancellation for unknown or completed request {} in session {}", requestId, sessionId);
+            return false;
+        }
+        return cancel(request, REASON_CLIENT_CANCELLED, reason);
+    }
+
+    /**
+     * Cancel a call whose subscriber went away (e.g. the HTTP client disconnected)
+     */
+    public boolean cancel(InFlightRequest request, String reason) {
+        return cancel(request, reason, reason);
+    }
+
+    /**
+     * Cancel every call of a session, used when its SSE connection drops
+     *
+     * @return number of cancelled calls
+     */
+    public int cancelSession(String sessionId) {
+        int cancelled = 0;
+        for (InFlightRequest request : inFlight.values()) {
+            if (request.getSessionId() != null && request.getSessionId().equals(sessionId)
+                    && cancel(request, REASON_CLIENT_DISCONNECTED, "Client connection closed")) {
+                cancelled++;
+            }
+        }
+        if (cancelled > 0) {
+            log.info("Cancelled {} in-flight tool calls for closed session {}", cancelled, sessionId);
+        }
+        return cancelled;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("inFlight", inFlight.size());
+        cancelledCounters.forEach((reason, counter) -> stats.put("cancelled." + reason, (long) counter.count()));
+        return stats;
+    }
+
+    private boolean cancel(InFlightRequest request, String cause, String reason) {
+        if (!request.finished.compareAndSet(false, true)) {
+            return false;
+        }
+        request.cancelled = true;
+        unregister(request);
+        request.cancelSignal.tryEmitEmpty();
+        cancelledCounters.computeIfAbsent(cause, key -> Counter.builder("mcp.router.tool.calls.cancelled")
+                        .description("Tool calls cancelled before completion")
+                        .tag("reason", key)
+                        .register(meterRegistry))
+                .increment();
+
+        log.info("Cancelled tool call '{}' [session={}, id={}]: {}",
+                request.getToolName(), request.getSessionId(), request.getRequestId(), reason);
+        return true;
+    }
+
+    private void unregister(InFlightRequest request) {
+        if (isAddressable(request)) {
+            inFlight.remove(key(request.getSessionId(), request.getRequestId()), request);
+        }
+    }
+
+    private static boolean isAddressable(InFlightRequest request) {
+        return request.getSessionId() != null && request.getRequestId() != null;
+    }
+
+    private static String key(String sessionId, Object requestId) {
+        return sessionId + "#" + requestId;
+    }
+}
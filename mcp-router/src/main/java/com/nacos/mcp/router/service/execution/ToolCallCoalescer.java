@@ -0,0 +1,193 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Tool Call Coalescer
+ * Single-flight execution of identical concurrent tool calls: callers with the
+ * same tool and canonical arguments subscribe to one shared downstream execution
+ * and each receives its result under its own JSON-RPC id.
+ * <p>
+ * The shared execution is reference counted. A waiter that cancels or times out
+ * only leaves the group; the downstream call is abandoned once the last waiter
+ * has gone. Finished executions are forgotten immediately, so later calls go
+ * downstream again (reuse over time is the job of {@link ToolResultCache}).
+ * <p>
+ * The group's deadline is the latest deadline of its waiters, so a caller with a
+ * short budget does not cut the downstream budget of those that joined it.
+ */
+@Slf4j
+@Component
+public class ToolCallCoalescer {
+
+    private final McpRouterProperties.Coalescing coalescing;
+    private final McpServerRegistry mcpServerRegistry;
+    private final Map<String, SharedCall> calls = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    private final Counter abandonedCounter;
+
+    public ToolCallCoalescer(McpRouterProperties mcpRouterProperties,
+                             McpServerRegistry mcpServerRegistry,
+                             MeterRegistry meterRegistry) {
+        this.coalescing = mcpRouterProperties.getTools().getCoalescing();
+        this.mcpServerRegistry = mcpServerRegistry;
+        this.coalescedCounter = Counter.builder("mcp.router.tool.calls.coalesced")
+                .description("Tool calls served by joining an identical execution already in flight")
+                .register(meterRegistry);
+        this.abandonedCounter = Counter.builder("mcp.router.tool.calls.coalesced.abandoned")
+                .description("Shared tool executions abandoned after all waiters cancelled")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether identical concurrent calls of the given tool may share an execution
+     */
+    public boolean isCoalescable(String toolName) {
+        if (!coalescing.isEnabled() || toolName == null || coalescing.getExcludedTools().contains(toolName)) {
+            return false;
+        }
+        if (coalescing.getTools().contains(toolName)) {
+            return true;
+        }
+        McpTool tool = mcpServerRegistry.findTool(toolName);
+        return tool != null && tool.isReadOnly();
+    }
+
+    /**
+     * Join the execution running under {@code key}, or start it
+     *
+     * @param key call identity, see {@link ToolCallKeys}
+     * @param deadline this caller's deadline in epoch milliseconds
+     * @param source downstream execution, subscribed at most once per group; it is
+     *               given the group's deadline, to be read when the call is dispatched
+     * @return shared result
+     */
+    public Mono<Object> execute(String key, long deadline, Function<LongSupplier, Mono<Object>> source) {
+        return Mono.defer(() -> {
+            while (true) {
+                SharedCall call = calls.computeIfAbsent(key, SharedCall::new);
+                if (call.join(deadline)) {
+                    Mono<Object> result = call.result.asMono()
+                            .doFinally(signal -> {
+                                if (signal == SignalType.CANCEL) {
+                                    call.leave();
+                                }
+                            });
+                    if (!call.start(source)) {
+                        coalescedCounter.increment();
+                        log.debug("Joined in-flight execution of {}", key);
+                    }
+                    return result;
+                }
+                // abandoned concurrently by its last waiter; start a fresh group
+                calls.remove(key, call);
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", coalescing.isEnabled());
+        stats.put("sharedInFlight", calls.size());
+        stats.put("coalesced", (long) coalescedCounter.count());
+        stats.put("abandoned", (long) abandonedCounter.count());
+        return stats;
+    }
+
+    /**
+     * One shared downstream execution and its waiters
+     */
+    private final class SharedCall {
+        private final String key;
+        private final Sinks.One<Object> result = Sinks.one();
+        private Disposable upstream;
+        private int waiters;
+        private long deadline;
+        private boolean started;
+        private boolean closed;
+
+        SharedCall(String key) {
+            this.key = key;
+        }
+
+        synchronized boolean join(long waiterDeadline) {
+            if (closed) {
+                return false;
+            }
+            waiters++;
+            deadline = Math.max(deadline, waiterDeadline);
+            return true;
+        }
+
+        synchronized long deadline() {
+            return deadline;
+        }
+
+        /**
+         * @return true if this caller started the execution
+         */
+        boolean start(Function<LongSupplier, Mono<Object>> source) {
+            synchronized (this) {
+                if (started) {
+                    return false;
+                }
+                started = true;
+            }
+            Disposable subscription = Mono.defer(() -> source.apply(this::deadline)).subscribe(
+                    value -> finish(() -> result.tryEmitValue(value)),
+                    error -> finish(() -> result.tryEmitError(error)),
+                    () -> finish(result::tryEmitEmpty));
+            synchronized (this) {
+                if (closed) {
+                    subscription.dispose();
+                } else {
+                    upstream = subscription;
+                }
+            }
+            return true;
+        }
+
+        void leave() {
+            Disposable toDispose;
+            synchronized (this) {
+                waiters--;
+                if (waiters > 0 || closed) {
+                    return;
+                }
+                closed = true;
+                toDispose = upstream;
+            }
+            calls.remove(key, this);
+            if (toDispose != null) {
+                toDispose.dispose();
+            }
+            abandonedCounter.increment();
+            log.debug("All waiters cancelled, abandoning shared execution of {}", key);
+        }
+
+        private void finish(Runnable emit) {
+            synchronized (this) {
+                closed = true;
+            }
+            // forget the group before publishing so late arrivals start a new execution
+            calls.remove(key, this);
+            emit.run();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.nacos.mcp.router.service.execution;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Tool Call Context
+ * Carries everything the router knows about a single tools/call request
+ * while it travels through the execution pipeline
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToolCallContext {
+
+    /**
+     * Client session the call belongs to (SSE connection id or Mcp-Session-Id header), may be null
+     */
+    private String sessionId;
+
+    /**
+     * Address of the client, the fair-share flow of a call without a session (may be null)
+     */
+    private String clientAddress;
+
+    /**
+     * JSON-RPC id of the originating request
+     */
+    private Object requestId;
+
+    /**
+     * Target server name, or null to resolve the server by tool name
+     */
+    private String serverName;
+
+    /**
+     * Tool name
+     */
+    private String toolName;
+
+    /**
+     * Tool arguments
+     */
+    private Map<String, Object> arguments;
+
+    /**
+     * Client supplied {@code _meta} of the request (may be null)
+     */
+    private Map<String, Object> meta;
+}
@@ -0,0 +1,238 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.config.SpringAiConfig.McpErrorHandler;
+import com.nacos.mcp.router.config.SpringAiConfig.ToolExecutionMonitor;
+import com.nacos.mcp.router.observability.RouterTracer;
+import com.nacos.mcp.router.observability.SloMonitor;
+import com.nacos.mcp.router.observability.Span;
+import com.nacos.mcp.router.observability.jfr.DownstreamCallEvent;
+import com.nacos.mcp.router.observability.jfr.ToolDispatchEvent;
+import com.nacos.mcp.router.service.McpServerService;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Tool Call Executor
+ * Single entry point for routed tools/call requests from both the JSON-RPC
+ * and the SSE transports. Each call is tracked as in-flight so that it can be
+ * cancelled by the client; a cancelled call completes empty and no response
+ * is sent, as required by the MCP cancellation notification semantics.
+ * <p>
+ * A call addressed by tool name only is first routed to the service that provides
+ * the tool in {@link McpServerRegistry}, so the budget and the dispatch agree on the
+ * server; names the registry does not know are left to {@link McpServerService} to
+ * resolve. Every call runs under a deadline: the configured budget for the tool
+ * (falling back to the server and then to {@code mcp.router.tools.max-execution-time}),
+ * shortened by a {@code _meta.timeoutMs} hint from the client. The remaining
+ * budget is forwarded downstream in {@code _meta} so servers can give up early.
+ * <p>
+ * Results of read-only tools are served from {@link ToolResultCache} when present,
+ * and identical concurrent calls share one execution through {@link ToolCallCoalescer};
+ * timeouts and cancellation still apply to each caller separately. Downstream
+ * dispatch goes through {@link ToolCallScheduler}, and time spent queued there
+ * counts against the deadline.
+ * <p>
+ * A traced call gets a {@code tools/call} span with {@code queue} and {@code downstream}
+ * children; the downstream span's {@code traceparent} is forwarded in {@code _meta}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ToolCallExecutor {
+
+    private final McpServerService mcpServerService;
+    private final McpServerRegistry mcpServerRegistry;
+    private final InFlightRequestRegistry inFlightRequests;
+    private final McpRouterProperties mcpRouterProperties;
+    private final ToolExecutionMonitor toolExecutionMonitor;
+    private final McpErrorHandler mcpErrorHandler;
+    private final ToolResultCache toolResultCache;
+    private final ToolCallKeys toolCallKeys;
+    private final ToolCallCoalescer toolCallCoalescer;
+    private final ToolCallScheduler toolCallScheduler;
+    private final RouterTracer tracer;
+    private final SloMonitor sloMonitor;
+
+    /**
+     * Execute a tool call
+     *
+     * @param call tool call context
+     * @return tool result, or empty if the call was cancelled
+     */
+    public Mono<Object> execute(ToolCallContext call) {
+        ToolCallContext context = route(call);
+        if (!toolResultCache.isCacheable(context.getToolName())) {
+            return executeRouted(context);
+        }
+        return Mono.defer(() -> {
+            String key = toolCallKeys.keyOf(context.getToolName(), context.getArguments());
+            Object cached = toolResultCache.get(key);
+            if (cached != null) {
+                log.debug("Serving tool '{}' from result cache", context.getToolName());
+                return Mono.just(cached);
+            }
+            return executeRouted(context).doOnNext(result -> toolResultCache.put(key, result));
+        });
+    }
+
+    private Mono<Object> executeRouted(ToolCallContext context) {
+        return Mono.deferContextual(subscriberContext -> {
+            Span span = tracer.startSpan("tools/call",
+                    context.getMeta() != null ? context.getMeta().get(ToolCallMeta.TRACEPARENT) : null,
+                    subscriberContext)
+                    .tag("tool", context.getToolName())
+                    .tag("server", context.getServerName())
+                    .tag("session", context.getSessionId());
+            ToolDispatchEvent event = ToolDispatchEvent.begin(context.getToolName(), context.getServerName(),
+                    context.getSessionId());
+            // sizing serializes the arguments, so only when a recording wants the event
+            long argumentsSize = ToolDispatchEvent.isRecorded(event) ? toolCallKeys.sizeOf(context.getArguments()) : 0;
+            InFlightRequestRegistry.InFlightRequest inFlight = inFlightRequests.register(context);
+            long timeoutMillis = resolveTimeout(context);
+            long startTime = System.currentTimeMillis();
+            long deadline = startTime + timeoutMillis;
+            // execution time is measured from dispatch, queue wait is reported by the scheduler
+            AtomicLong dispatchedAt = new AtomicLong(startTime);
+
+            return invoke(context, deadline, dispatchedAt, span)
+                    .timeout(Duration.ofMillis(timeoutMillis))
+                    .onErrorMap(TimeoutException.class, e -> toTimeoutException(context, timeoutMillis, startTime, e))
+                    .takeUntilOther(inFlight.cancellation())
+                    .doOnSuccess(result -> {
+                        if (!inFlight.isCancelled()) {
+                            long duration = System.currentTimeMillis() - dispatchedAt.get();
+                            toolExecutionMonitor.recordExecution(context.getToolName(), duration, true);
+                            sloMonitor.recordTool(context.getToolName(), duration, true);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (error instanceof ToolNotFoundException) {
+                            // no such tool: nothing ran, and its name must not become a series
+                            return;
+                        }
+                        long duration = System.currentTimeMillis() - dispatchedAt.get();
+                        toolExecutionMonitor.recordExecution(context.getToolName(), duration, false,
+                                error instanceof ToolCallTimeoutException);
+                        sloMonitor.recordTool(context.getToolName(), duration, false);
+                    })
+                    .doOnCancel(() -> inFlightRequests.cancel(inFlight, InFlightRequestRegistry.REASON_CLIENT_DISCONNECTED))
+                    .doOnError(span::error)
+                    // released before the outcome reaches the caller; doFinally only runs after it
+                    .doOnTerminate(() -> inFlightRequests.complete(inFlight))
+                    .doFinally(signal -> {
+                        inFlightRequests.complete(inFlight);
+                        span.tag("signal", signal).end();
+                        ToolDispatchEvent.commit(event, argumentsSize,
+                                inFlight.isCancelled() ? "cancelled" : outcomeOf(signal));
+                    });
+        });
+    }
+
+    /**
+     * Address a call by tool name only to the service providing the tool, if the registry knows one
+     */
+    ToolCallContext route(ToolCallContext context) {
+        if (context.getServerName() != null) {
+            return context;
+        }
+        String serverName = mcpServerRegistry.findServiceName(context.getToolName());
+        return serverName != null ? context.toBuilder().serverName(serverName).build() : context;
+    }
+
+    /**
+     * Resolve the execution budget of a call in milliseconds
+     */
+    long resolveTimeout(ToolCallContext context) {
+        McpRouterProperties.Tools tools = mcpRouterProperties.getTools();
+        Long configured = tools.getTimeouts().get(context.getToolName());
+        if (configured == null && context.getServerName() != null) {
+            configured = tools.getServerTimeouts().get(context.getServerName());
+        }
+        long budget = configured != null ? configured : tools.getMaxExecutionTime();
+
+        Long clientHint = ToolCallMeta.getLong(context.getMeta(), ToolCallMeta.TIMEOUT_MS);
+        return clientHint != null ? Math.min(budget, clientHint) : budget;
+    }
+
+    private Mono<Object> invoke(ToolCallContext context, long deadline, AtomicLong dispatchedAt, Span span) {
+        if (!toolCallCoalescer.isCoalescable(context.getToolName())) {
+            return schedule(context, () -> deadline, dispatchedAt, span);
+        }
+        return toolCallCoalescer.execute(
+                toolCallKeys.keyOf(context.getToolName(), context.getArguments()),
+                deadline,
+                groupDeadline -> schedule(context, groupDeadline, dispatchedAt, span));
+    }
+
+    private Mono<Object> schedule(ToolCallContext context, LongSupplier deadline, AtomicLong dispatchedAt, Span span) {
+        Long priority = ToolCallMeta.getLong(context.getMeta(), ToolCallMeta.PRIORITY);
+        Span queue = tracer.startSpan("queue", span);
+        return toolCallScheduler.schedule(flowOf(context), priority, () -> {
+            queue.end();
+            dispatchedAt.set(System.currentTimeMillis());
+            return invokeDownstream(context, deadline, span);
+        }).doFinally(signal -> queue.end());
+    }
+
+    /**
+     * Fair-share flow of a call: its session, else its client's address, so that clients
+     * without a session do not all share one flow
+     */
+    static String flowOf(ToolCallContext context) {
+        if (context.getSessionId() != null) {
+            return context.getSessionId();
+        }
+        return context.getClientAddress() != null ? "address:" + context.getClientAddress() : null;
+    }
+
+    private Mono<Object> invokeDownstream(ToolCallContext context, LongSupplier deadline, Span span) {
+        Span downstream = tracer.startSpan("downstream", span).tag("server", context.getServerName());
+        long budget = Math.max(1, deadline.getAsLong() - System.currentTimeMillis());
+        DownstreamCallEvent event = DownstreamCallEvent.begin(context.getToolName(), context.getServerName(), budget);
+        Map<String, Object> downstreamMeta = new HashMap<>();
+        downstreamMeta.put(ToolCallMeta.TIMEOUT_MS, budget);
+        String traceparent = downstream.traceparent();
+        if (traceparent != null) {
+            downstreamMeta.put(ToolCallMeta.TRACEPARENT, traceparent);
+        }
+
+        Mono<Object> call = context.getServerName() != null
+                ? mcpServerService.useTool(context.getServerName(), context.getToolName(),
+                        context.getArguments(), downstreamMeta)
+                : mcpServerService.useTool(context.getToolName(), context.getArguments(), downstreamMeta);
+        return call
+                .doOnError(downstream::error)
+                .doFinally(signal -> {
+                    downstream.end();
+                    DownstreamCallEvent.commit(event, outcomeOf(signal));
+                })
+                .contextWrite(subscriberContext -> RouterTracer.with(subscriberContext, downstream));
+    }
+
+    private static String outcomeOf(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            default -> "cancelled";
+        };
+    }
+
+    private ToolCallTimeoutException toTimeoutException(ToolCallContext context, long timeoutMillis,
+                                                        long startTime, TimeoutException error) {
+        Map<String, Object> details = mcpErrorHandler.handleTimeoutError(
+                "tools/call:" + context.getToolName(), System.currentTimeMillis() - startTime, error);
+        return new ToolCallTimeoutException(context.getToolName(), timeoutMillis, details, error);
+    }
+}
@@ -0,0 +1,61 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Builds stable identity keys for tool calls: the tool name plus a SHA-256 hash
+ * of the canonical JSON form of the arguments (map keys sorted at every level),
+ * so that {"a":1,"b":2} and {"b":2,"a":1} share a key
+ */
+@Component
+public class ToolCallKeys {
+
+    private final ObjectMapper canonicalMapper;
+
+    public ToolCallKeys(ObjectMapper objectMapper) {
+        this.canonicalMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * Key of a tool call
+     *
+     * @param toolName tool name
+     * @param arguments tool arguments (may be null)
+     * @return key of the form {@code toolName#sha256hex}
+     */
+    public String keyOf(String toolName, Map<String, Object> arguments) {
+        return toolName + "#" + hash(arguments != null ? arguments : Map.of());
+    }
+
+    /**
+     * Size in bytes of the canonical JSON form of the arguments
+     */
+    public long sizeOf(Map<String, Object> arguments) {
+        try {
+            return canonicalMapper.writeValueAsBytes(arguments != null ? arguments : Map.of()).length;
+        } catch (JsonProcessingException e) {
+            return 0;
+        }
+    }
+
+    private String hash(Map<String, Object> arguments) {
+        try {
+            byte[] canonical = canonicalMapper.writeValueAsString(arguments).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Tool arguments are not serializable: " + e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
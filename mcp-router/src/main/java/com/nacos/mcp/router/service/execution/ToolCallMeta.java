@@ -0,0 +1,53 @@
+package com.nacos.mcp.router.service.execution;
+
+import java.util.Map;
+
+/**
+ * Keys understood by the router in the JSON-RPC {@code _meta} field of tools/call,
+ * both when received from clients and when forwarded to MCP servers
+ */
+public final class ToolCallMeta {
+
+    /**
+     * Remaining execution budget in milliseconds
+     */
+    public static final String TIMEOUT_MS = "timeoutMs";
+
+    /**
+     * Scheduling priority of a call from the client, higher gets a larger share
+     */
+    public static final String PRIORITY = "priority";
+
+    /**
+     * W3C trace context of the call, continued by the router and replaced by its downstream span
+     */
+    public static final String TRACEPARENT = "traceparent";
+
+    private ToolCallMeta() {
+    }
+
+    /**
+     * Read a positive numeric hint from the meta map
+     *
+     * @return the value, or null if absent or not a positive number
+     */
+    public static Long getLong(Map<String, Object> meta, String key) {
+        if (meta == null) {
+            return null;
+        }
+        Object value = meta.get(key);
+        long parsed;
+        if (value instanceof Number number) {
+            parsed = number.longValue();
+        } else if (value instanceof String text) {
+            try {
+                parsed = Long.parseLong(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return parsed > 0 ? parsed : null;
+    }
+}
@@ -0,0 +1,223 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Tool Call Scheduler
+ * Limits the number of tool calls executing downstream and, once the limit is
+ * reached, dispatches waiting calls by weighted fair queuing across clients.
+ * <p>
+ * Each client (session) is a flow. A queued call gets a virtual finish tag
+ * {@code max(V, lastFinish(client)) + 1 / weight}, where the weight is the
+ * {@code _meta.priority} hint, and the call with the smallest tag runs next.
+ * A burst from one client therefore only queues behind itself, while a client
+ * sending priority 4 gets four times the share of a priority 1 client.
+ * Calls cancelled while waiting leave the queue without taking a slot.
+ */
+@Slf4j
+@Component
+public class ToolCallScheduler {
+
+    private static final Comparator<Ticket> BY_FINISH_TAG =
+            Comparator.comparingDouble((Ticket ticket) -> ticket.finishTag).thenComparingLong(ticket -> ticket.sequence);
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private final McpRouterProperties.Scheduling scheduling;
+    private final Timer queueWaitTimer;
+
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>(BY_FINISH_TAG);
+    private final Map<String, ClientFlow> flows = new HashMap<>();
+    private double virtualTime;
+    private long sequence;
+    private int running;
+    private int queued;
+
+    public ToolCallScheduler(McpRouterProperties mcpRouterProperties, MeterRegistry meterRegistry) {
+        this.scheduling = mcpRouterProperties.getTools().getScheduling();
+        this.queueWaitTimer = Timer.builder("mcp.router.tool.calls.queue.wait")
+                .description("Time tool calls spend queued before being dispatched downstream")
+                .register(meterRegistry);
+        Gauge.builder("mcp.router.tool.calls.queued", this, ToolCallScheduler::getQueuedCount)
+                .description("Tool calls waiting for an execution slot")
+                .register(meterRegistry);
+        Gauge.builder("mcp.router.tool.calls.running", this, ToolCallScheduler::getRunningCount)
+                .description("Tool calls executing downstream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Per-client scheduling state
+     */
+    private static final class ClientFlow {
+        private double lastFinish;
+        private int queued;
+    }
+
+    /**
+     * A call waiting for, or holding, an execution slot
+     */
+    private static final class Ticket {
+        private final String clientId;
+        private final long sequence;
+        private final double startTag;
+        private final double finishTag;
+        private final long enqueuedAt = System.nanoTime();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private final Consumer<Ticket> dispatch;
+
+        Ticket(String clientId, long sequence, double startTag, double finishTag, Consumer<Ticket> dispatch) {
+            this.clientId = clientId;
+            this.sequence = sequence;
+            this.startTag = startTag;
+            this.finishTag = finishTag;
+            this.dispatch = dispatch;
+        }
+    }
+
+    /**
+     * Run a task once an execution slot is granted to it
+     *
+     * @param clientId flow the call is accounted to, usually the session id
+     * @param priority {@code _meta.priority} hint, or null
+     * @param task the downstream execution
+     * @return result of the task
+     */
+    public <T> Mono<T> schedule(String clientId, Long priority, Supplier<Mono<T>> task) {
+        if (!scheduling.isEnabled()) {
+            return Mono.defer(task);
+        }
+        double weight = priority != null ? Math.min(priority, scheduling.getMaxPriority()) : 1;
+        String flowId = clientId != null ? clientId : "";
+
+        return Mono.create((MonoSink<T> sink) -> {
+            Disposable.Swap execution = Disposables.swap();
+            Ticket ticket = enqueue(flowId, weight, granted -> {
+                queueWaitTimer.record(System.nanoTime() - granted.enqueuedAt, TimeUnit.NANOSECONDS);
+                execution.update(Mono.defer(task)
+                        .doFinally(signal -> release())
+                        .subscribe(sink::success, sink::error, sink::success));
+            });
+            sink.onCancel(() -> {
+                if (!cancelQueued(ticket)) {
+                    execution.dispose();
+                }
+            });
+            drain();
+        });
+    }
+
+    public int getQueuedCount() {
+        synchronized (this) {
+            return queued;
+        }
+    }
+
+    public int getRunningCount() {
+        synchronized (this) {
+            return running;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("enabled", scheduling.isEnabled());
+            stats.put("maxConcurrent", scheduling.getMaxConcurrent());
+            stats.put("running", running);
+            stats.put("queued", queued);
+            stats.put("queuedClients", flows.size());
+        }
+        stats.put("queueWaitMeanMs", queueWaitTimer.mean(TimeUnit.MILLISECONDS));
+        stats.put("queueWaitMaxMs", queueWaitTimer.max(TimeUnit.MILLISECONDS));
+        return stats;
+    }
+
+    private synchronized Ticket enqueue(String clientId, double weight, Consumer<Ticket> dispatch) {
+        ClientFlow flow = flows.computeIfAbsent(clientId, id -> new ClientFlow());
+        double startTag = Math.max(virtualTime, flow.lastFinish);
+        double finishTag = startTag + 1.0 / weight;
+        flow.lastFinish = finishTag;
+        flow.queued++;
+        queued++;
+
+        Ticket ticket = new Ticket(clientId, sequence++, startTag, finishTag, dispatch);
+        queue.add(ticket);
+        return ticket;
+    }
+
+    /**
+     * Remove a call that is still waiting
+     *
+     * @return false if the call already holds a slot
+     */
+    private boolean cancelQueued(Ticket ticket) {
+        if (!ticket.state.compareAndSet(QUEUED, CANCELLED)) {
+            return false;
+        }
+        synchronized (this) {
+            queue.remove(ticket);
+            dequeued(ticket);
+        }
+        log.debug("Tool call of client {} cancelled while queued", ticket.clientId);
+        return true;
+    }
+
+    private void release() {
+        synchronized (this) {
+            running--;
+        }
+        drain();
+    }
+
+    /**
+     * Grant free slots to the queued calls with the smallest finish tags
+     */
+    private void drain() {
+        List<Ticket> granted = new ArrayList<>();
+        synchronized (this) {
+            while (running < scheduling.getMaxConcurrent() && !queue.isEmpty()) {
+                Ticket ticket = queue.poll();
+                if (!ticket.state.compareAndSet(QUEUED, RUNNING)) {
+                    continue;
+                }
+                dequeued(ticket);
+                virtualTime = Math.max(virtualTime, ticket.startTag);
+                running++;
+                granted.add(ticket);
+            }
+        }
+        granted.forEach(ticket -> ticket.dispatch.accept(ticket));
+    }
+
+    private void dequeued(Ticket ticket) {
+        queued--;
+        ClientFlow flow = flows.get(ticket.clientId);
+        if (flow != null && --flow.queued == 0) {
+            // idle flows carry no state; a returning client starts at the current virtual time
+            flows.remove(ticket.clientId);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.nacos.mcp.router.service.execution;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Raised when a tool call exceeds its execution budget
+ */
+@Getter
+public class ToolCallTimeoutException extends RuntimeException {
+
+    private final String toolName;
+    private final long timeoutMillis;
+    private final Map<String, Object> details;
+
+    public ToolCallTimeoutException(String toolName, long timeoutMillis, Map<String, Object> details, Throwable cause) {
+        super("Tool '" + toolName + "' timed out after " + timeoutMillis + "ms", cause);
+        this.toolName = toolName;
+        this.timeoutMillis = timeoutMillis;
+        this.details = details;
+    }
+}
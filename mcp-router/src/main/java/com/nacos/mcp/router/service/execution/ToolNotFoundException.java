@@ -0,0 +1,38 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.nacos.mcp.router.service.search.TrigramIndex;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Raised when no server provides the requested tool
+ */
+@Getter
+public class ToolNotFoundException extends RuntimeException {
+
+    private final String toolName;
+    private final List<TrigramIndex.Match> suggestions;
+
+    public ToolNotFoundException(String toolName, List<TrigramIndex.Match> suggestions) {
+        super("No server found providing tool: " + toolName + (suggestions.isEmpty() ? ""
+                : ". Did you mean: " + suggestions.stream().map(TrigramIndex.Match::name).collect(Collectors.joining(", ")) + "?"));
+        this.toolName = toolName;
+        this.suggestions = suggestions;
+    }
+
+    /**
+     * JSON-RPC error data: the requested name and the suggested names with their similarity
+     */
+    public Map<String, Object> getDetails() {
+        Map<String, Object> details = new HashMap<>();
+        details.put("toolName", toolName);
+        details.put("suggestions", suggestions.stream()
+                .map(match -> Map.of("name", match.name(), "score", Math.round(match.score() * 1000) / 1000.0))
+                .toList());
+        return details;
+    }
+}
@@ -0,0 +1,118 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tool Result Cache
+ * Caches results of tools that are free of side effects, keyed by tool name and
+ * canonical argument hash. A tool is cacheable when its server declares it with
+ * {@code readOnlyHint} or when it is listed in {@code mcp.router.tools.caching.tools}.
+ * <p>
+ * Backed by Caffeine, whose W-TinyLFU policy admits a new entry only if it is
+ * used more often than the eviction victim, so one-off calls do not flush hot
+ * results. Entries expire after the TTL and are bounded by serialized size.
+ */
+@Slf4j
+@Component
+public class ToolResultCache {
+
+    private final McpRouterProperties.Caching caching;
+    private final McpServerRegistry mcpServerRegistry;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResult> cache;
+
+    private record CachedResult(Object value, int weight) {
+    }
+
+    public ToolResultCache(McpRouterProperties mcpRouterProperties,
+                           McpServerRegistry mcpServerRegistry,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.caching = mcpRouterProperties.getTools().getCaching();
+        this.mcpServerRegistry = mcpServerRegistry;
+        this.objectMapper = objectMapper;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(caching.getTtl()))
+                .recordStats();
+        if (caching.getMaxBytes() > 0) {
+            builder.maximumWeight(caching.getMaxBytes())
+                    .weigher((String key, CachedResult result) -> result.weight());
+        } else {
+            builder.maximumSize(caching.getMaxSize());
+        }
+        this.cache = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "mcp.router.tool.results");
+    }
+
+    /**
+     * Whether results of the given tool may be cached
+     */
+    public boolean isCacheable(String toolName) {
+        if (!caching.isEnabled() || toolName == null) {
+            return false;
+        }
+        if (caching.getTools().contains(toolName)) {
+            return true;
+        }
+        McpTool tool = mcpServerRegistry.findTool(toolName);
+        return tool != null && tool.isReadOnly();
+    }
+
+    /**
+     * Cached result for a key, or null on a miss
+     */
+    public Object get(String key) {
+        CachedResult cached = cache.getIfPresent(key);
+        return cached != null ? cached.value() : null;
+    }
+
+    /**
+     * Store a result
+     */
+    public void put(String key, Object result) {
+        if (result == null) {
+            return;
+        }
+        cache.put(key, new CachedResult(result, weigh(key, result)));
+    }
+
+    /**
+     * Cache statistics including the hit ratio
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("enabled", caching.isEnabled());
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRatio", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private int weigh(String key, Object result) {
+        try {
+            long bytes = (long) key.length() + objectMapper.writeValueAsBytes(result).length;
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        } catch (Exception e) {
+            log.debug("Could not weigh cached result for {}: {}", key, e.getMessage());
+            return key.length() + result.toString().length();
+        }
+    }
+}
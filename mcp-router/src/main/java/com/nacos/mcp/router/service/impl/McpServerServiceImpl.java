@@ -2,8 +2,16 @@ package com.nacos.mcp.router.service.impl;
 
 import com.nacos.mcp.router.model.McpServer;
 import com.nacos.mcp.router.model.McpServerRegistrationRequest;
+import com.nacos.mcp.router.model.RegistryDelta;
+import com.nacos.mcp.router.observability.RouterTracer;
+import com.nacos.mcp.router.observability.SloMonitor;
+import com.nacos.mcp.router.observability.Span;
 import com.nacos.mcp.router.service.McpServerService;
+import com.nacos.mcp.router.service.execution.ToolNotFoundException;
 import com.nacos.mcp.router.service.provider.SearchProvider;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import com.nacos.mcp.router.service.search.ToolNameResolver;
+import com.nacos.mcp.router.service.search.TrigramIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,6 +19,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,18 +30,35 @@ import java.util.stream.Collectors;
 public class McpServerServiceImpl implements McpServerService {
 
     private final List<SearchProvider> searchProviders;
+    private final ToolNameResolver toolNameResolver;
+    private final McpServerRegistry mcpServerRegistry;
+    private final RouterTracer tracer;
+    private final SloMonitor sloMonitor;
     private final ConcurrentHashMap<String, McpServer> registeredServers = new ConcurrentHashMap<>();
+    // provider versions restart with the process, so tags of an earlier run must not match
+    private final String catalogEpoch = Long.toHexString(System.currentTimeMillis());
     // TODO: Add MCP client manager for SSE connections
     // private final McpClientManager mcpClientManager;
 
     @Autowired
-    public McpServerServiceImpl(List<SearchProvider> searchProviders) {
+    public McpServerServiceImpl(List<SearchProvider> searchProviders, ToolNameResolver toolNameResolver,
+                                McpServerRegistry mcpServerRegistry, RouterTracer tracer, SloMonitor sloMonitor) {
         this.searchProviders = searchProviders;
+        this.toolNameResolver = toolNameResolver;
+        this.mcpServerRegistry = mcpServerRegistry;
+        this.tracer = tracer;
+        this.sloMonitor = sloMonitor;
     }
 
     @Override
     public Mono<Object> useTool(String serverName, String toolName, Map<String, Object> params) {
-        log.info("Attempting to use tool '{}' on server '{}'", toolName, serverName);
+        return useTool(serverName, toolName, params, Map.of());
+    }
+
+    @Override
+    public Mono<Object> useTool(String serverName, String toolName, Map<String, Object> params, Map<String, Object> meta) {
+        log.debug("Attempting to use tool '{}' on server '{}'", toolName, serverName);
+        log.debug("Downstream _meta for tool '{}': {}", toolName, meta);
 
         return getServerByName(serverName)
                 .switchIfEmpty(Mono.error(new RuntimeException("Server not found in any provider: " + serverName)))
@@ -41,27 +67,89 @@ public class McpServerServiceImpl implements McpServerService {
                         return Mono.error(new RuntimeException("Server endpoint is not defined for: " + serverName));
                     }
 
-                    log.info("Found server '{}' at endpoint: {}", server.getName(), server.getEndpoint());
+                    log.debug("Found server '{}' at endpoint: {}", server.getName(), server.getEndpoint());
 
                     // TODO: Replace HTTP call with MCP SSE client connection per TODO10.md requirements
                     // This violates MCP protocol - should use SSE not HTTP
+                    // The SSE tools/call request must carry `meta` as params._meta so the server sees its deadline,
+                    // and meta's traceparent also as the traceparent header of the message POST
                     log.error("❌ PROTOCOL VIOLATION: Using HTTP instead of MCP SSE protocol for tool call to server '{}' tool '{}'", 
                             serverName, toolName);
                     log.error("❌ TODO10.md requirement: mcp-router连接 mcp-server拒绝使用http，改成sse");
                     
-                    return Mono.error(new RuntimeException(
+                    Mono<Object> call = Mono.error(new RuntimeException(
                             "Protocol violation: HTTP calls to MCP servers are forbidden. " +
                             "Must use MCP SSE protocol per TODO10.md requirements. " +
                             "Tool: " + toolName + ", Server: " + serverName));
+                    return recordInstance(server, call);
                 });
     }
 
+    /**
+     * Feed the outcome and latency of a call to one instance into its rolling SLO window
+     */
+    private Mono<Object> recordInstance(McpServer server, Mono<Object> call) {
+        String instance = server.getName() + "@" + hostAndPort(server);
+        return Mono.defer(() -> {
+            long start = System.currentTimeMillis();
+            return call
+                    .doOnSuccess(result -> sloMonitor.recordInstance(instance, System.currentTimeMillis() - start, true))
+                    .doOnError(error -> sloMonitor.recordInstance(instance, System.currentTimeMillis() - start, false));
+        });
+    }
+
+    /**
+     * {@code host:port} of an instance, taken from its endpoint if the provider did not set the address;
+     * instance keys end up in a URL path, so they must not contain slashes
+     */
+    static String hostAndPort(McpServer server) {
+        if (server.getIp() != null) {
+            return server.getIp() + ":" + server.getPort();
+        }
+        try {
+            URI endpoint = URI.create(server.getEndpoint());
+            if (endpoint.getHost() != null) {
+                return endpoint.getPort() >= 0 ? endpoint.getHost() + ":" + endpoint.getPort() : endpoint.getHost();
+            }
+        } catch (RuntimeException e) {
+            log.debug("Cannot parse endpoint '{}' of server '{}'", server.getEndpoint(), server.getName());
+        }
+        return "unknown";
+    }
+
     @Override
     public Mono<Object> useTool(String toolName, Map<String, Object> params) {
-        log.info("Attempting to use tool '{}' without a specific server", toolName);
-        return findServerByToolName(toolName)
-                .switchIfEmpty(Mono.error(new RuntimeException("No server found providing tool: " + toolName)))
-                .flatMap(server -> useTool(server.getName(), toolName, params));
+        return useTool(toolName, params, Map.of());
+    }
+
+    @Override
+    public Mono<Object> useTool(String toolName, Map<String, Object> params, Map<String, Object> meta) {
+        log.debug("Attempting to use tool '{}' without a specific server", toolName);
+        return Mono.deferContextual(subscriberContext -> {
+            Span route = tracer.startSpan("route", subscriberContext).tag("tool", toolName);
+            return findServerByToolName(toolName)
+                    .doOnSuccess(server -> route.tag("server", server != null ? server.getName() : null).end())
+                    .doOnError(error -> route.error(error).end())
+                    .doOnCancel(route::end)
+                    .map(server -> useTool(server.getName(), toolName, params, meta))
+                    .switchIfEmpty(Mono.fromSupplier(() -> useSimilarTool(toolName, params, meta)))
+                    .flatMap(call -> call);
+        });
+    }
+
+    /**
+     * Route a call for an unknown tool to the most similar known tool if the match is
+     * unambiguous and auto-resolve is enabled, otherwise fail with suggestions
+     */
+    private Mono<Object> useSimilarTool(String toolName, Map<String, Object> params, Map<String, Object> meta) {
+        List<TrigramIndex.Match> suggestions = toolNameResolver.suggest(toolName);
+        return Mono.justOrEmpty(toolNameResolver.resolve(suggestions))
+                .flatMap(resolvedName -> findServerByToolName(resolvedName)
+                        .flatMap(server -> {
+                            log.info("Resolved unknown tool '{}' to '{}' on server '{}'", toolName, resolvedName, server.getName());
+                            return useTool(server.getName(), resolvedName, params, meta);
+                        }))
+                .switchIfEmpty(Mono.error(() -> new ToolNotFoundException(toolName, suggestions)));
     }
 
     private Mono<McpServer> findServerByToolName(String toolName) {
@@ -135,6 +223,37 @@ public class McpServerServiceImpl implements McpServerService {
                 .collectList();
     }
 
+    @Override
+    public long getCatalogVersion() {
+        long combined = 17;
+        for (SearchProvider provider : searchProviders) {
+            long version = provider.getCatalogVersion();
+            if (version < 0) {
+                return -1;
+            }
+            combined = 31 * combined + version;
+        }
+        return combined & Long.MAX_VALUE;
+    }
+
+    @Override
+    public String getCatalogTag() {
+        StringBuilder tag = new StringBuilder(catalogEpoch);
+        for (SearchProvider provider : searchProviders) {
+            long version = provider.getCatalogVersion();
+            if (version < 0) {
+                return null;
+            }
+            tag.append('-').append(version);
+        }
+        return tag.toString();
+    }
+
+    @Override
+    public Mono<RegistryDelta> getServerChanges(long sinceVersion) {
+        return Mono.fromCallable(() -> mcpServerRegistry.changesSince(sinceVersion));
+    }
+
     @Override
     public Mono<Boolean> pingServer(String serverName) {
         log.warn("pingServer is not fully implemented.");
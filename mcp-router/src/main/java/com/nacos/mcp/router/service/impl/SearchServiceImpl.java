@@ -4,8 +4,10 @@ import com.nacos.mcp.router.config.McpRouterProperties;
 import com.nacos.mcp.router.model.SearchRequest;
 import com.nacos.mcp.router.model.SearchResponse;
 import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.observability.jfr.SearchQueryEvent;
 import com.nacos.mcp.router.service.SearchService;
 import com.nacos.mcp.router.service.provider.SearchProvider;
+import com.nacos.mcp.router.service.search.SearchResponseCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 // import org.springframework.ai.chat.client.ChatClient; // Temporarily disabled
@@ -18,8 +20,16 @@ import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.Collections;
 import java.util.stream.Stream;
@@ -31,14 +41,19 @@ import java.util.stream.Stream;
 @Service
 public class SearchServiceImpl implements SearchService {
 
+    private static final Comparator<McpServer> BY_RELEVANCE = Comparator.comparingDouble(McpServer::getRelevanceScore);
+
     private final List<SearchProvider> searchProviders;
     private final McpRouterProperties mcpRouterProperties;
+    private final SearchResponseCache searchResponseCache;
     // private final ChatClient chatClient; // Temporarily disabled
 
     public SearchServiceImpl(List<SearchProvider> searchProviders,
-                           McpRouterProperties mcpRouterProperties) {
+                           McpRouterProperties mcpRouterProperties,
+                           SearchResponseCache searchResponseCache) {
         this.searchProviders = searchProviders;
         this.mcpRouterProperties = mcpRouterProperties;
+        this.searchResponseCache = searchResponseCache;
         // this.chatClient = chatClient; // Temporarily disabled
     }
 
@@ -48,30 +63,28 @@ public class SearchServiceImpl implements SearchService {
                 request.getTaskDescription(), request.getKeywords());
 
         Instant startTime = Instant.now();
+        applyDefaults(request);
+        SearchQueryEvent event = SearchQueryEvent.begin(request.getTaskDescription(), request.getMode());
 
-        // Apply default values if not provided
-        if (request.getMinSimilarity() == null) {
-            request.setMinSimilarity(mcpRouterProperties.getSearch().getMinSimilarity());
-        }
-        if (request.getLimit() == null) {
-            request.setLimit(mcpRouterProperties.getSearch().getResultLimit());
+        // Versions are read before searching, so a response is never stored under a newer catalog
+        SearchResponseCache.Key cacheKey = searchResponseCache.keyOf(request, searchProviders.stream()
+                .map(SearchProvider::getCatalogVersion)
+                .collect(Collectors.toList()));
+        if (cacheKey != null) {
+            SearchResponse cached = searchResponseCache.get(cacheKey);
+            if (cached != null) {
+                log.debug("Serving search for '{}' from cache", request.getTaskDescription());
+                SearchQueryEvent.commit(event, cached.getResults().size(), true, false);
+                return Mono.just(cached);
+            }
         }
 
-        // Search using all providers, ensuring blocking operations are on a dedicated scheduler
-        return Flux.fromIterable(searchProviders)
-                .flatMap(provider -> provider.search(request)
-                        // This is the key fix: If a provider (like Nacos) might block,
-                        // it must be subscribed on a scheduler that can handle it.
-                        .subscribeOn(Schedulers.boundedElastic())
-                        .onErrorResume(throwable -> {
-                            log.warn("Search provider {} failed: {}",
-                                    provider.getClass().getSimpleName(), throwable.getMessage());
-                            return Mono.empty();
-                        }))
+        AtomicBoolean partial = new AtomicBoolean(false);
+        return queryProviders(request, partial)
                 .collectList()
                 .map(results -> {
                     // Flatten and deduplicate results
-                    List<McpServer> allResults = results.stream()
+                    Collection<McpServer> candidates = results.stream()
                             .flatMap(List::stream)
                             .collect(Collectors.toMap(
                                     McpServer::getName,
@@ -79,16 +92,8 @@ public class SearchServiceImpl implements SearchService {
                                     (existing, replacement) ->
                                             (existing.getRelevanceScore() != null && replacement.getRelevanceScore() != null && existing.getRelevanceScore() >= replacement.getRelevanceScore())
                                                     ? existing : replacement))
-                            .values()
-                            .stream()
-                            .filter(server -> server.getRelevanceScore() != null && server.getRelevanceScore() >= request.getMinSimilarity())
-                            .sorted((a, b) -> {
-                                Double scoreA = a.getRelevanceScore() != null ? a.getRelevanceScore() : 0.0;
-                                Double scoreB = b.getRelevanceScore() != null ? b.getRelevanceScore() : 0.0;
-                                return Double.compare(scoreB, scoreA);
-                            })
-                            .limit(request.getLimit())
-                            .collect(Collectors.toList());
+                            .values();
+                    List<McpServer> allResults = topK(candidates, request.getMinSimilarity(), request.getLimit());
 
                     // Generate instructions using AI
                     String instructions = generateInstructions(request, allResults);
@@ -107,9 +112,79 @@ public class SearchServiceImpl implements SearchService {
                                             .collect(Collectors.toList()))
                                     .build())
                             .build();
+                })
+                .doOnNext(response -> {
+                    SearchQueryEvent.commit(event, response.getResults().size(), false, partial.get());
+                    // partial responses (a provider failed or timed out) are not worth keeping
+                    if (cacheKey != null && !partial.get()) {
+                        searchResponseCache.put(cacheKey, response);
+                    }
                 });
     }
 
+    @Override
+    public Flux<McpServer> streamMcpServers(SearchRequest request) {
+        applyDefaults(request);
+        Duration window = Duration.ofMillis(mcpRouterProperties.getSearch().getStreamWindow());
+        int limit = request.getLimit();
+
+        return Flux.defer(() -> {
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            return queryProviders(request, new AtomicBoolean(false))
+                    .flatMapIterable(servers -> servers)
+                    .filter(server -> server.getRelevanceScore() != null
+                            && server.getRelevanceScore() >= request.getMinSimilarity())
+                    // results arriving within one window are emitted best first
+                    .bufferTimeout(limit, window)
+                    .flatMapIterable(batch -> {
+                        List<McpServer> sorted = new ArrayList<>(batch);
+                        sorted.sort(BY_RELEVANCE.reversed());
+                        return sorted;
+                    })
+                    .filter(server -> seen.add(server.getName()))
+                    .take(limit);
+        });
+    }
+
+    /**
+     * Query every provider in parallel, each under its own deadline. A provider that
+     * fails or times out contributes nothing and marks the result as partial.
+     */
+    private Flux<List<McpServer>> queryProviders(SearchRequest request, AtomicBoolean partial) {
+        // Search using all providers, ensuring blocking operations are on a dedicated scheduler
+        return Flux.fromIterable(searchProviders)
+                .flatMap(provider -> provider.search(request)
+                        // This is the key fix: If a provider (like Nacos) might block,
+                        // it must be subscribed on a scheduler that can handle it.
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .timeout(providerTimeout(provider))
+                        .onErrorResume(throwable -> {
+                            partial.set(true);
+                            log.warn("Search provider {} failed: {}",
+                                    provider.getClass().getSimpleName(),
+                                    throwable instanceof TimeoutException ? "timed out" : throwable.getMessage());
+                            return Mono.empty();
+                        }));
+    }
+
+    private Duration providerTimeout(SearchProvider provider) {
+        McpRouterProperties.Search search = mcpRouterProperties.getSearch();
+        Long timeout = search.getProviderTimeouts().get(provider.getProviderName());
+        return Duration.ofMillis(timeout != null ? timeout : search.getProviderTimeout());
+    }
+
+    private void applyDefaults(SearchRequest request) {
+        if (request.getMinSimilarity() == null) {
+            request.setMinSimilarity(mcpRouterProperties.getSearch().getMinSimilarity());
+        }
+        if (request.getLimit() == null) {
+            request.setLimit(mcpRouterProperties.getSearch().getResultLimit());
+        }
+        if (request.getMode() == null) {
+            request.setMode(mcpRouterProperties.getSearch().getMode());
+        }
+    }
+
     @Override
     public Mono<SearchResponse> searchMcpServers(String taskDescription, String... keywords) {
         SearchRequest request = SearchRequest.builder()
@@ -119,6 +194,29 @@ public class SearchServiceImpl implements SearchService {
         return searchMcpServers(request);
     }
 
+    /**
+     * Select the best {@code limit} servers at or above the minimum score with a
+     * bounded min-heap, best first
+     */
+    private static List<McpServer> topK(Collection<McpServer> servers, double minSimilarity, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<McpServer> heap = new PriorityQueue<>(limit + 1, BY_RELEVANCE);
+        for (McpServer server : servers) {
+            if (server.getRelevanceScore() == null || server.getRelevanceScore() < minSimilarity) {
+                continue;
+            }
+            heap.offer(server);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<McpServer> top = new ArrayList<>(heap);
+        top.sort(BY_RELEVANCE.reversed());
+        return top;
+    }
+
     private String generateInstructions(SearchRequest request, List<McpServer> results) {
         if (results.isEmpty()) {
             return "No MCP servers found for the given task. Please try with different keywords or check if the required servers are registered.";
@@ -0,0 +1,348 @@
+package com.nacos.mcp.router.service.naming;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ListView;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.selector.AbstractSelector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Nacos client of an {@link InMemoryNamingService}
+ * Every call first waits the configured latency and then fails with the configured
+ * probability, as a call to a Nacos server might. The overloads are resolved here
+ * as the Nacos client resolves them: no group means {@link Constants#DEFAULT_GROUP},
+ * no cluster {@link Constants#DEFAULT_CLUSTER_NAME} when registering and all clusters
+ * when querying. The subscribe flags are ignored, the registry being local anyway.
+ * Selectors have no counterpart in the registry and are rejected with an
+ * {@link UnsupportedOperationException}.
+ */
+public class InMemoryNamingClient implements NamingService {
+
+    private final InMemoryNamingService registry;
+
+    public InMemoryNamingClient(InMemoryNamingService registry) {
+        this.registry = registry;
+    }
+
+    private static Instance instance(String ip, int port, String clusterName) {
+        Instance instance = new Instance();
+        instance.setIp(ip);
+        instance.setPort(port);
+        instance.setWeight(1.0);
+        instance.setHealthy(true);
+        instance.setEnabled(true);
+        instance.setClusterName(clusterName);
+        return instance;
+    }
+
+    private static UnsupportedOperationException unsupported(String method, Class<?> argumentType) {
+        return new UnsupportedOperationException("NamingService." + method + " with "
+                + argumentType.getSimpleName() + " is not simulated");
+    }
+
+    @Override
+    public void registerInstance(String serviceName, String ip, int port) throws NacosException {
+        registerInstance(serviceName, Constants.DEFAULT_GROUP, ip, port, Constants.DEFAULT_CLUSTER_NAME);
+    }
+
+    @Override
+    public void registerInstance(String serviceName, String groupName, String ip, int port) throws NacosException {
+        registerInstance(serviceName, groupName, ip, port, Constants.DEFAULT_CLUSTER_NAME);
+    }
+
+    @Override
+    public void registerInstance(String serviceName, String ip, int port, String clusterName) throws NacosException {
+        registerInstance(serviceName, Constants.DEFAULT_GROUP, ip, port, clusterName);
+    }
+
+    @Override
+    public void registerInstance(String serviceName, String groupName, String ip, int port, String clusterName)
+            throws NacosException {
+        registerInstance(serviceName, groupName, instance(ip, port, clusterName));
+    }
+
+    @Override
+    public void registerInstance(String serviceName, Instance instance) throws NacosException {
+        registerInstance(serviceName, Constants.DEFAULT_GROUP, instance);
+    }
+
+    @Override
+    public void registerInstance(String serviceName, String groupName, Instance instance) throws NacosException {
+        batchRegisterInstance(serviceName, groupName, List.of(instance));
+    }
+
+    @Override
+    public void batchRegisterInstance(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        registry.beforeCall("registerInstance");
+        registry.register(groupName, serviceName, instances);
+    }
+
+    @Override
+    public void batchDeregisterInstance(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        registry.beforeCall("deregisterInstance");
+        registry.deregister(groupName, serviceName, instances);
+    }
+
+    @Override
+    public void deregisterInstance(String serviceName, String ip, int port) throws NacosException {
+        deregisterInstance(serviceName, Constants.DEFAULT_GROUP, ip, port, Constants.DEFAULT_CLUSTER_NAME);
+    }
+
+    @Override
+    public void deregisterInstance(String serviceName, String groupName, String ip, int port) throws NacosException {
+        deregisterInstance(serviceName, groupName, ip, port, Constants.DEFAULT_CLUSTER_NAME);
+    }
+
+    @Override
+    public void deregisterInstance(String serviceName, String ip, int port, String clusterName) throws NacosException {
+        deregisterInstance(serviceName, Constants.DEFAULT_GROUP, ip, port, clusterName);
+    }
+
+    @Override
+    public void deregisterInstance(String serviceName, String groupName, String ip, int port, String clusterName)
+            throws NacosException {
+        deregisterInstance(serviceName, groupName, instance(ip, port, clusterName));
+    }
+
+    @Override
+    public void deregisterInstance(String serviceName, Instance instance) throws NacosException {
+        deregisterInstance(serviceName, Constants.DEFAULT_GROUP, instance);
+    }
+
+    @Override
+    public void deregisterInstance(String serviceName, String groupName, Instance instance) throws NacosException {
+        batchDeregisterInstance(serviceName, groupName, List.of(instance));
+    }
+
+    @Override
+    public List<Instance> getAllInstances(String serviceName) throws NacosException {
+        return getAllInstances(serviceName, Constants.DEFAULT_GROUP, List.of(), true);
+    }
+
+    @Override
+    public List<Instance> getAllInstances(String serviceName, String groupName) throws NacosException {
+        return getAllInstances(serviceName, groupName, List.of(), true);
+    }
+
+    @Override
+    public List<Instance> getAllInstances(String serviceName, boolean subscribe) throws NacosException {
+        return getAllInstances(serviceName, Constants.DEFAULT_GROUP, List.of(), subscribe);
+    }
+
+    @Override
+    public List<Instance> getAllInstances(String serviceName, String groupName, boolean subscribe)
+            throws NacosException {
+        return getAllInstances(serviceName, groupName, List.of(), subscribe);
+    }
+
+    @Override
+    public List<Instance> getAllInstances(String serviceName, List<String> clusters) throws NacosException {
+        return getAllInstances(serviceName, Constants.DEFAULT_GROUP, clusters, true);
+    }
+
+    @Override
+    public List<Instance> getAllInstances(String serviceName, String groupName, List<String> clusters)
+            throws NacosException {
+        return getAllInstances(serviceName, groupName, clusters, true);
+    }
+
+    @Override
+    public List<Instance> getAllInstances(String serviceName, List<String> clusters, boolean subscribe)
+            throws NacosException {
+        return getAllInstances(serviceName, Constants.DEFAULT_GROUP, clusters, subscribe);
+    }
+
+    @Override
+    public List<Instance> getAllInstances(String serviceName, String groupName, List<String> clusters,
+                                          boolean subscribe) throws NacosException {
+        registry.beforeCall("getAllInstances");
+        return registry.getInstances(groupName, serviceName, clusters);
+    }
+
+    @Override
+    public List<Instance> selectInstances(String serviceName, boolean healthy) throws NacosException {
+        return selectInstances(serviceName, Constants.DEFAULT_GROUP, List.of(), healthy, true);
+    }
+
+    @Override
+    public List<Instance> selectInstances(String serviceName, String groupName, boolean healthy)
+            throws NacosException {
+        return selectInstances(serviceName, groupName, List.of(), healthy, true);
+    }
+
+    @Override
+    public List<Instance> selectInstances(String serviceName, boolean healthy, boolean subscribe)
+            throws NacosException {
+        return selectInstances(serviceName, Constants.DEFAULT_GROUP, List.of(), healthy, subscribe);
+    }
+
+    @Override
+    public List<Instance> selectInstances(String serviceName, String groupName, boolean healthy, boolean subscribe)
+            throws NacosException {
+        return selectInstances(serviceName, groupName, List.of(), healthy, subscribe);
+    }
+
+    @Override
+    public List<Instance> selectInstances(String serviceName, List<String> clusters, boolean healthy)
+            throws NacosException {
+        return selectInstances(serviceName, Constants.DEFAULT_GROUP, clusters, healthy, true);
+    }
+
+    @Override
+    public List<Instance> selectInstances(String serviceName, String groupName, List<String> clusters,
+                                          boolean healthy) throws NacosException {
+        return selectInstances(serviceName, groupName, clusters, healthy, true);
+    }
+
+    @Override
+    public List<Instance> selectInstances(String serviceName, List<String> clusters, boolean healthy,
+                                          boolean subscribe) throws NacosException {
+        return selectInstances(serviceName, Constants.DEFAULT_GROUP, clusters, healthy, subscribe);
+    }
+
+    @Override
+    public List<Instance> selectInstances(String serviceName, String groupName, List<String> clusters,
+                                          boolean healthy, boolean subscribe) throws NacosException {
+        registry.beforeCall("selectInstances");
+        return registry.selectInstances(groupName, serviceName, clusters, healthy);
+    }
+
+    @Override
+    public Instance selectOneHealthyInstance(String serviceName) throws NacosException {
+        return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP, List.of(), true);
+    }
+
+    @Override
+    public Instance selectOneHealthyInstance(String serviceName, String groupName) throws NacosException {
+        return selectOneHealthyInstance(serviceName, groupName, List.of(), true);
+    }
+
+    @Override
+    public Instance selectOneHealthyInstance(String serviceName, boolean subscribe) throws NacosException {
+        return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP, List.of(), subscribe);
+    }
+
+    @Override
+    public Instance selectOneHealthyInstance(String serviceName, String groupName, boolean subscribe)
+            throws NacosException {
+        return selectOneHealthyInstance(serviceName, groupName, List.of(), subscribe);
+    }
+
+    @Override
+    public Instance selectOneHealthyInstance(String serviceName, List<String> clusters) throws NacosException {
+        return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP, clusters, true);
+    }
+
+    @Override
+    public Instance selectOneHealthyInstance(String serviceName, String groupName, List<String> clusters)
+            throws NacosException {
+        return selectOneHealthyInstance(serviceName, groupName, clusters, true);
+    }
+
+    @Override
+    public Instance selectOneHealthyInstance(String serviceName, List<String> clusters, boolean subscribe)
+            throws NacosException {
+        return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP, clusters, subscribe);
+    }
+
+    @Override
+    public Instance selectOneHealthyInstance(String serviceName, String groupName, List<String> clusters,
+                                             boolean subscribe) throws NacosException {
+        registry.beforeCall("selectOneHealthyInstance");
+        List<Instance> healthy = registry.selectInstances(groupName, serviceName, clusters, true);
+        if (healthy.isEmpty()) {
+            throw new IllegalStateException("no host to srv for service: " + serviceName);
+        }
+        return healthy.get(ThreadLocalRandom.current().nextInt(healthy.size()));
+    }
+
+    @Override
+    public void subscribe(String serviceName, EventListener listener) throws NacosException {
+        subscribe(serviceName, Constants.DEFAULT_GROUP, List.of(), listener);
+    }
+
+    @Override
+    public void subscribe(String serviceName, String groupName, EventListener listener) throws NacosException {
+        subscribe(serviceName, groupName, List.of(), listener);
+    }
+
+    @Override
+    public void subscribe(String serviceName, List<String> clusters, EventListener listener) throws NacosException {
+        subscribe(serviceName, Constants.DEFAULT_GROUP, clusters, listener);
+    }
+
+    @Override
+    public void subscribe(String serviceName, String groupName, List<String> clusters, EventListener listener)
+            throws NacosException {
+        registry.beforeCall("subscribe");
+        registry.subscribe(groupName, serviceName, clusters, listener);
+    }
+
+    @Override
+    public void unsubscribe(String serviceName, EventListener listener) throws NacosException {
+        unsubscribe(serviceName, Constants.DEFAULT_GROUP, List.of(), listener);
+    }
+
+    @Override
+    public void unsubscribe(String serviceName, String groupName, EventListener listener) throws NacosException {
+        unsubscribe(serviceName, groupName, List.of(), listener);
+    }
+
+    @Override
+    public void unsubscribe(String serviceName, List<String> clusters, EventListener listener) throws NacosException {
+        unsubscribe(serviceName, Constants.DEFAULT_GROUP, clusters, listener);
+    }
+
+    @Override
+    public void unsubscribe(String serviceName, String groupName, List<String> clusters, EventListener listener)
+            throws NacosException {
+        registry.beforeCall("unsubscribe");
+        registry.unsubscribe(groupName, serviceName, clusters, listener);
+    }
+
+    @Override
+    public ListView<String> getServicesOfServer(int pageNo, int pageSize) throws NacosException {
+        return getServicesOfServer(pageNo, pageSize, Constants.DEFAULT_GROUP);
+    }
+
+    @Override
+    public ListView<String> getServicesOfServer(int pageNo, int pageSize, String groupName) throws NacosException {
+        registry.beforeCall("getServicesOfServer");
+        return registry.getServicesOfServer(pageNo, pageSize, groupName);
+    }
+
+    @Override
+    public ListView<String> getServicesOfServer(int pageNo, int pageSize, AbstractSelector selector) {
+        throw unsupported("getServicesOfServer", AbstractSelector.class);
+    }
+
+    @Override
+    public ListView<String> getServicesOfServer(int pageNo, int pageSize, String groupName,
+                                                AbstractSelector selector) {
+        throw unsupported("getServicesOfServer", AbstractSelector.class);
+    }
+
+    @Override
+    public List<ServiceInfo> getSubscribeServices() throws NacosException {
+        registry.beforeCall("getSubscribeServices");
+        return registry.getSubscribeServices();
+    }
+
+    @Override
+    public String getServerStatus() {
+        return registry.isShutDown() ? "DOWN" : "UP";
+    }
+
+    @Override
+    public void shutDown() {
+        registry.shutDown();
+    }
+}
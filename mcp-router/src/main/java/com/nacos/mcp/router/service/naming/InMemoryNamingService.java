@@ -0,0 +1,278 @@
+package com.nacos.mcp.router.service.naming;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.api.naming.listener.NamingEvent;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ListView;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nacos naming held in memory, for scale and chaos testing of discovery without a server
+ * Services are keyed by group and name as in Nacos, and a registration replaces the
+ * instance with the same ip, port and cluster. Every change hands the subscribers of
+ * the service a {@link NamingEvent} with its instances, on one notifier thread as the
+ * Nacos client does.
+ * <p>
+ * The methods here act on the registry directly, as the Nacos server would. Clients
+ * go through an {@link InMemoryNamingClient}, whose calls wait the configured latency
+ * and fail with the configured probability; events are dropped with theirs.
+ */
+@Slf4j
+public class InMemoryNamingService {
+
+    private final McpRouterProperties.InMemoryNaming settings;
+    private final Map<String, ServiceEntry> services = new ConcurrentHashMap<>();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-naming-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder injectedFailures = new LongAdder();
+    private final LongAdder eventsDelivered = new LongAdder();
+    private final LongAdder eventsDropped = new LongAdder();
+    private volatile boolean shutDown;
+
+    public InMemoryNamingService(McpRouterProperties.InMemoryNaming settings) {
+        this.settings = settings;
+    }
+
+    private static final class ServiceEntry {
+        private final String groupName;
+        private final String serviceName;
+        // replaced as a whole under the entry's lock, so readers and events see a consistent list
+        private volatile List<Instance> instances = List.of();
+        private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+        private ServiceEntry(String groupName, String serviceName) {
+            this.groupName = groupName;
+            this.serviceName = serviceName;
+        }
+    }
+
+    private record Subscription(List<String> clusters, EventListener listener) {
+    }
+
+    private static String group(String groupName) {
+        return groupName != null ? groupName : Constants.DEFAULT_GROUP;
+    }
+
+    private ServiceEntry entry(String groupName, String serviceName) {
+        String group = group(groupName);
+        return services.computeIfAbsent(group + Constants.SERVICE_INFO_SPLITER + serviceName,
+                key -> new ServiceEntry(group, serviceName));
+    }
+
+    private static boolean sameInstance(Instance a, Instance b) {
+        return a.getPort() == b.getPort() && Objects.equals(a.getIp(), b.getIp())
+                && Objects.equals(a.getClusterName(), b.getClusterName());
+    }
+
+    /**
+     * Add the instances, replacing those with the same ip, port and cluster
+     */
+    public void register(String groupName, String serviceName, List<Instance> registered) {
+        ServiceEntry entry = entry(groupName, serviceName);
+        synchronized (entry) {
+            List<Instance> instances = new ArrayList<>(entry.instances);
+            for (Instance instance : registered) {
+                if (instance.getServiceName() == null) {
+                    instance.setServiceName(entry.groupName + Constants.SERVICE_INFO_SPLITER + serviceName);
+                }
+                if (instance.getInstanceId() == null) {
+                    instance.setInstanceId(instance.getIp() + "#" + instance.getPort() + "#"
+                            + instance.getClusterName() + "#" + instance.getServiceName());
+                }
+                instances.removeIf(existing -> sameInstance(existing, instance));
+                instances.add(instance);
+            }
+            entry.instances = List.copyOf(instances);
+            publish(entry);
+        }
+    }
+
+    /**
+     * Remove the instances with the same ip, port and cluster as the given ones
+     */
+    public void deregister(String groupName, String serviceName, List<Instance> deregistered) {
+        ServiceEntry entry = entry(groupName, serviceName);
+        synchronized (entry) {
+            List<Instance> instances = new ArrayList<>(entry.instances);
+            boolean removed = instances.removeIf(existing -> deregistered.stream()
+                    .anyMatch(instance -> sameInstance(existing, instance)));
+            if (removed) {
+                entry.instances = List.copyOf(instances);
+                publish(entry);
+            }
+        }
+    }
+
+    /**
+     * All instances of the service in the given clusters, all clusters if empty
+     */
+    public List<Instance> getInstances(String groupName, String serviceName, List<String> clusters) {
+        ServiceEntry entry = services.get(group(groupName) + Constants.SERVICE_INFO_SPLITER + serviceName);
+        List<Instance> instances = entry != null ? entry.instances : List.of();
+        return clusters == null || clusters.isEmpty() ? instances : instances.stream()
+                .filter(instance -> clusters.contains(instance.getClusterName()))
+                .toList();
+    }
+
+    /**
+     * Instances by health, leaving out disabled and zero-weight ones as Nacos does
+     */
+    public List<Instance> selectInstances(String groupName, String serviceName, List<String> clusters, boolean healthy) {
+        return getInstances(groupName, serviceName, clusters).stream()
+                .filter(instance -> instance.isHealthy() == healthy && instance.isEnabled() && instance.getWeight() > 0)
+                .toList();
+    }
+
+    public void subscribe(String groupName, String serviceName, List<String> clusters, EventListener listener) {
+        ServiceEntry entry = entry(groupName, serviceName);
+        Subscription subscription = new Subscription(clusters != null ? List.copyOf(clusters) : List.of(), listener);
+        synchronized (entry) {
+            entry.subscriptions.add(subscription);
+            // the Nacos client hands a new subscriber the instances it already knows
+            if (!entry.instances.isEmpty()) {
+                deliver(entry, subscription, entry.instances);
+            }
+        }
+    }
+
+    public void unsubscribe(String groupName, String serviceName, List<String> clusters, EventListener listener) {
+        List<String> subscribed = clusters != null ? clusters : List.of();
+        entry(groupName, serviceName).subscriptions.removeIf(subscription -> subscription.listener() == listener
+                && subscription.clusters().equals(subscribed));
+    }
+
+    /**
+     * Names of the group's services that have instances, sorted, one page of them
+     */
+    public ListView<String> getServicesOfServer(int pageNo, int pageSize, String groupName) {
+        String group = group(groupName);
+        List<String> names = services.values().stream()
+                .filter(entry -> entry.groupName.equals(group) && !entry.instances.isEmpty())
+                .map(entry -> entry.serviceName)
+                .sorted()
+                .toList();
+        ListView<String> view = new ListView<>();
+        view.setCount(names.size());
+        int from = Math.min(names.size(), Math.max(0, pageNo - 1) * pageSize);
+        view.setData(names.subList(from, Math.min(names.size(), from + pageSize)));
+        return view;
+    }
+
+    public List<ServiceInfo> getSubscribeServices() {
+        return services.values().stream()
+                .filter(entry -> !entry.subscriptions.isEmpty())
+                .map(entry -> {
+                    ServiceInfo info = new ServiceInfo();
+                    info.setName(entry.serviceName);
+                    info.setGroupName(entry.groupName);
+                    info.setClusters("");
+                    return info;
+                })
+                .toList();
+    }
+
+    public int getServiceCount() {
+        return (int) services.values().stream().filter(entry -> !entry.instances.isEmpty()).count();
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getInjectedFailures() {
+        return injectedFailures.sum();
+    }
+
+    public long getEventsDelivered() {
+        return eventsDelivered.sum();
+    }
+
+    public long getEventsDropped() {
+        return eventsDropped.sum();
+    }
+
+    public boolean isShutDown() {
+        return shutDown;
+    }
+
+    public void shutDown() {
+        if (shutDown) {
+            return;
+        }
+        shutDown = true;
+        notifier.shutdownNow();
+        log.info("In-memory naming shut down: {} services, {} calls, {} injected failures, {} events delivered, {} dropped",
+                getServiceCount(), getCalls(), getInjectedFailures(), getEventsDelivered(), getEventsDropped());
+    }
+
+    private void publish(ServiceEntry entry) {
+        for (Subscription subscription : entry.subscriptions) {
+            deliver(entry, subscription, entry.instances);
+        }
+    }
+
+    private void deliver(ServiceEntry entry, Subscription subscription, List<Instance> instances) {
+        if (shutDown) {
+            return;
+        }
+        if (settings.getEventDropRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getEventDropRate()) {
+            eventsDropped.increment();
+            return;
+        }
+        List<Instance> visible = subscription.clusters().isEmpty() ? instances : instances.stream()
+                .filter(instance -> subscription.clusters().contains(instance.getClusterName()))
+                .toList();
+        NamingEvent event = new NamingEvent(entry.serviceName, entry.groupName,
+                String.join(",", subscription.clusters()), visible);
+        notifier.execute(() -> {
+            try {
+                subscription.listener().onEvent(event);
+                eventsDelivered.increment();
+            } catch (RuntimeException e) {
+                log.warn("Naming listener of service '{}' failed: {}", entry.serviceName, e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Latency and failure of a client call
+     */
+    void beforeCall(String method) throws NacosException {
+        calls.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = settings.getLatency() + (settings.getLatencyJitter() > 0 ? random.nextLong(settings.getLatencyJitter() + 1) : 0);
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NacosException(NacosException.SERVER_ERROR, "Interrupted in " + method);
+            }
+        }
+        if (settings.getFailureRate() > 0 && random.nextDouble() < settings.getFailureRate()) {
+            injectedFailures.increment();
+            throw new NacosException(NacosException.SERVER_ERROR, "Injected failure of " + method);
+        }
+    }
+}
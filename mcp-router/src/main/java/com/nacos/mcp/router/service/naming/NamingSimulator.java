@@ -0,0 +1,197 @@
+package com.nacos.mcp.router.service.naming;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpTool;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic MCP services in an {@link InMemoryNamingService}, with instance churn
+ * At start every service gets its instances, advertising tools in their metadata as
+ * MCP servers register them in Nacos. Each churn round then makes random changes: an
+ * instance registers or deregisters, flips its health, or re-registers with a new
+ * tool list, and each change reaches the subscribers of its service as an event.
+ * Names, tools and churn derive from the configured seed, so runs are repeatable.
+ */
+@Slf4j
+public class NamingSimulator {
+
+    private static final String[] VERBS = {"get", "list", "search", "create", "update", "delete", "send", "convert"};
+    private static final String[] NOUNS = {"weather", "issue", "calendar", "email", "invoice", "order", "ticket",
+            "document", "image", "metric", "payment", "flight", "stock", "news", "route", "file"};
+
+    private final InMemoryNamingService naming;
+    private final McpRouterProperties.InMemoryNaming settings;
+    private final ObjectMapper objectMapper;
+    private final Random random;
+    private final List<String> serviceNames;
+    private Disposable churnTask;
+
+    public NamingSimulator(InMemoryNamingService naming, McpRouterProperties.InMemoryNaming settings,
+                           ObjectMapper objectMapper) {
+        this.naming = naming;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.random = new Random(settings.getSeed());
+
+        int width = Math.max(5, String.valueOf(settings.getServices()).length());
+        List<String> names = new ArrayList<>(settings.getServices());
+        for (int i = 0; i < settings.getServices(); i++) {
+            names.add(settings.getServicePrefix() + "-" + String.format("%0" + width + "d", i));
+        }
+        this.serviceNames = List.copyOf(names);
+    }
+
+    /**
+     * Names of the synthetic services, in index order
+     */
+    public List<String> getServiceNames() {
+        return serviceNames;
+    }
+
+    public void start() {
+        for (int i = 0; i < serviceNames.size(); i++) {
+            List<Instance> instances = new ArrayList<>();
+            for (int n = 0; n < settings.getInstancesPerService(); n++) {
+                instances.add(instance(i, n, 0));
+            }
+            naming.register(Constants.DEFAULT_GROUP, serviceNames.get(i), instances);
+        }
+        log.info("Simulating {} services with {} instances each in memory", serviceNames.size(),
+                settings.getInstancesPerService());
+
+        if (settings.getChurnInterval() > 0 && settings.getChurnPerRound() > 0 && !serviceNames.isEmpty()) {
+            Duration interval = Duration.ofMillis(settings.getChurnInterval());
+            churnTask = Flux.interval(interval, interval, Schedulers.boundedElastic())
+                    .subscribe(tick -> churn(settings.getChurnPerRound()), e -> log.error("Naming churn stopped", e));
+        }
+    }
+
+    public void stop() {
+        if (churnTask != null) {
+            churnTask.dispose();
+        }
+    }
+
+    /**
+     * Apply {@code changes} random instance changes
+     */
+    synchronized void churn(int changes) {
+        for (int c = 0; c < changes; c++) {
+            int service = random.nextInt(serviceNames.size());
+            String serviceName = serviceNames.get(service);
+            List<Instance> instances = naming.getInstances(Constants.DEFAULT_GROUP, serviceName, List.of());
+            int action = random.nextInt(4);
+            if (instances.isEmpty() || (action == 0 && instances.size() < 2 * settings.getInstancesPerService())) {
+                // scale out, or come back after the last instance left
+                naming.register(Constants.DEFAULT_GROUP, serviceName,
+                        List.of(instance(service, freeSlot(instances), 0)));
+                continue;
+            }
+            Instance target = instances.get(random.nextInt(instances.size()));
+            switch (action) {
+                case 1 -> naming.deregister(Constants.DEFAULT_GROUP, serviceName, List.of(target));
+                case 2 -> {
+                    Instance flipped = copy(target);
+                    flipped.setHealthy(!target.isHealthy());
+                    naming.register(Constants.DEFAULT_GROUP, serviceName, List.of(flipped));
+                }
+                default -> {
+                    int revision = Integer.parseInt(target.getMetadata().getOrDefault("revision", "0")) + 1;
+                    Instance updated = instance(service, target.getPort() - 8000, revision);
+                    updated.setHealthy(target.isHealthy());
+                    naming.register(Constants.DEFAULT_GROUP, serviceName, List.of(updated));
+                }
+            }
+        }
+    }
+
+    private static int freeSlot(List<Instance> instances) {
+        int n = 0;
+        while (true) {
+            int port = 8000 + n;
+            if (instances.stream().noneMatch(instance -> instance.getPort() == port)) {
+                return n;
+            }
+            n++;
+        }
+    }
+
+    /**
+     * Instance {@code n} of service {@code service}; the revision varies the tool list
+     */
+    private Instance instance(int service, int n, int revision) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("description", "Simulated MCP server for " + NOUNS[service % NOUNS.length] + " operations");
+        metadata.put("version", "1.0." + revision);
+        metadata.put("revision", String.valueOf(revision));
+        metadata.put("transportType", "sse");
+        metadata.put("context-path", "");
+        try {
+            metadata.put("tools", objectMapper.writeValueAsString(tools(service, revision)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize simulated tools", e);
+        }
+
+        Instance instance = new Instance();
+        instance.setIp("10." + (service >> 16 & 0xff) + "." + (service >> 8 & 0xff) + "." + (service & 0xff));
+        instance.setPort(8000 + n);
+        instance.setWeight(1.0);
+        instance.setHealthy(true);
+        instance.setEnabled(true);
+        instance.setEphemeral(true);
+        instance.setClusterName(Constants.DEFAULT_CLUSTER_NAME);
+        instance.setMetadata(metadata);
+        return instance;
+    }
+
+    private List<McpTool> tools(int service, int revision) {
+        Random toolRandom = new Random(settings.getSeed() * 31 + service * 17L + revision);
+        List<McpTool> tools = new ArrayList<>();
+        for (int t = 0; t < settings.getToolsPerService(); t++) {
+            String verb = VERBS[toolRandom.nextInt(VERBS.length)];
+            String noun = NOUNS[toolRandom.nextInt(NOUNS.length)];
+            tools.add(McpTool.builder()
+                    .name(verb + "_" + noun + "_" + service + "_" + t)
+                    .description(verb + " " + noun + " records of simulated service " + service)
+                    .inputSchema(McpTool.InputSchema.builder()
+                            .type("object")
+                            .properties(Map.of("query", McpTool.Property.builder()
+                                    .type("string")
+                                    .description("Text to look for")
+                                    .build()))
+                            .required(List.of("query"))
+                            .build())
+                    .build());
+        }
+        return tools;
+    }
+
+    private static Instance copy(Instance source) {
+        Instance copy = new Instance();
+        copy.setInstanceId(source.getInstanceId());
+        copy.setIp(source.getIp());
+        copy.setPort(source.getPort());
+        copy.setWeight(source.getWeight());
+        copy.setHealthy(source.isHealthy());
+        copy.setEnabled(source.isEnabled());
+        copy.setEphemeral(source.isEphemeral());
+        copy.setClusterName(source.getClusterName());
+        copy.setServiceName(source.getServiceName());
+        copy.setMetadata(new HashMap<>(source.getMetadata()));
+        return copy;
+    }
+}
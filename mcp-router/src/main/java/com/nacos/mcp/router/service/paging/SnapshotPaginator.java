@@ -0,0 +1,229 @@
+package com.nacos.mcp.router.service.paging;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Snapshot Paginator
+ * Pages through list responses with opaque cursors. The first page of a listing
+ * takes an immutable snapshot of the items, keyed by the kind of listing, a variant
+ * (e.g. the task of a ranked tool listing) and the catalog version, so concurrent
+ * clients of the same catalog version share one snapshot. Cursors point into a
+ * snapshot, so paging stays consistent while the catalog changes underneath; a new
+ * first page reflects the new version.
+ * <p>
+ * Unversioned listings are built on every first page, since nothing tells whether
+ * they changed, but a first page whose items equal an existing snapshot's reuses
+ * that snapshot, so listing an unchanged catalog over and over adds no snapshots.
+ * <p>
+ * Snapshots expire some time after their last read; a cursor into an expired
+ * snapshot is rejected and the client starts over.
+ */
+@Slf4j
+@Component
+public class SnapshotPaginator {
+
+    private final McpRouterProperties.Pagination settings;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Snapshot> snapshots;
+    // tells apart unversioned snapshots whose contents differ but hash alike
+    private final AtomicLong hashCollisions = new AtomicLong();
+
+    /**
+     * Immutable items of a listing plus attributes computed with them
+     */
+    public record Snapshot(String kind, long version, List<?> items, Map<String, Object> attributes) {
+    }
+
+    /**
+     * One page of a snapshot
+     *
+     * @param items items of this page
+     * @param nextCursor cursor of the next page, null on the last page
+     * @param offset position of the first item in the snapshot
+     * @param total number of items in the snapshot
+     * @param version catalog version of the snapshot, -1 if unversioned
+     * @param attributes attributes stored with the snapshot
+     */
+    public record Page<T>(List<T> items, String nextCursor, int offset, int total, long version,
+                          Map<String, Object> attributes) {
+    }
+
+    /**
+     * Position in a snapshot
+     */
+    record Cursor(String snapshot, int offset, int limit) {
+    }
+
+    public SnapshotPaginator(McpRouterProperties mcpRouterProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.settings = mcpRouterProperties.getPagination();
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSnapshots())
+                .expireAfterAccess(Duration.ofMillis(settings.getSnapshotTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "mcp.router.list.snapshots");
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Page size for a requested limit
+     *
+     * @param requested limit from the request, may be null
+     * @return the configured default if unset, otherwise the limit capped at the maximum
+     */
+    public int pageSize(Long requested) {
+        return requested != null ? (int) Math.min(requested, settings.getMaxPageSize()) : settings.getPageSize();
+    }
+
+    /**
+     * First page of a listing
+     *
+     * @param kind kind of listing, e.g. {@code tools}; cursors are only valid for the same kind
+     * @param variant distinguishes listings of the same kind and version, may be null
+     * @param version catalog version the items come from, -1 if unversioned
+     * @param items builds the items of a new snapshot and may add attributes to the given map;
+     *              only called if no snapshot of this kind, variant and version exists, and
+     *              on every call for unversioned listings
+     * @param limit page size
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> first(String kind, String variant, long version,
+                             Function<Map<String, Object>, List<T>> items, int limit) {
+        String suffix = variant != null ? "?" + variant : "";
+        if (version < 0) {
+            return (Page<T>) firstUnversioned(kind, suffix, take(kind, version, items), limit);
+        }
+        String id = kind + "@" + version + suffix;
+        Snapshot snapshot = snapshots.get(id, key -> {
+            Snapshot taken = take(kind, version, items);
+            log.debug("Took listing snapshot '{}' with {} items", key, taken.items().size());
+            return taken;
+        });
+        return (Page<T>) slice(id, snapshot, 0, limit);
+    }
+
+    /**
+     * First page of an unversioned listing, sharing the snapshot of an earlier first
+     * page with the same items and attributes
+     */
+    private Page<Object> firstUnversioned(String kind, String suffix, Snapshot taken, int limit) {
+        String id = kind + "@u" + Integer.toHexString(Objects.hash(taken.items(), taken.attributes())) + suffix;
+        Snapshot snapshot = snapshots.asMap().putIfAbsent(id, taken);
+        if (snapshot == null) {
+            log.debug("Took listing snapshot '{}' with {} items", id, taken.items().size());
+            snapshot = taken;
+        } else if (!snapshot.equals(taken)) {
+            id = id + "-" + hashCollisions.incrementAndGet();
+            snapshots.put(id, taken);
+            snapshot = taken;
+        }
+        return slice(id, snapshot, 0, limit);
+    }
+
+    private static <T> Snapshot take(String kind, long version, Function<Map<String, Object>, List<T>> items) {
+        Map<String, Object> attributes = new HashMap<>();
+        List<T> snapshotItems = List.copyOf(items.apply(attributes));
+        return new Snapshot(kind, version, snapshotItems, Map.copyOf(attributes));
+    }
+
+    /**
+     * Page at a cursor
+     *
+     * @param kind kind of listing the cursor must belong to
+     * @param cursor cursor from a previous page
+     * @throws IllegalArgumentException if the cursor is malformed, of another kind, or its snapshot expired
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> next(String kind, String cursor) {
+        Cursor position = decode(cursor);
+        Snapshot snapshot = snapshots.getIfPresent(position.snapshot());
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Cursor expired, list again from the start: " + cursor);
+        }
+        if (!snapshot.kind().equals(kind)) {
+            throw new IllegalArgumentException("Cursor belongs to another listing: " + cursor);
+        }
+        return (Page<T>) slice(position.snapshot(), snapshot, position.offset(), position.limit());
+    }
+
+    /**
+     * Result of an MCP list method, paged if pagination is enabled
+     *
+     * @param kind kind of listing, also the result field holding the items, e.g. {@code resources}
+     * @param version catalog version of the items, -1 if unversioned
+     * @param items all items, in listing order
+     * @param params list method params, may be null; {@code cursor} selects a later page
+     * @return the result object with the items and, unless on the last page, {@code nextCursor}
+     */
+    public <T> Map<String, Object> list(String kind, long version, List<T> items, Map<String, Object> params) {
+        Object cursor = params != null ? params.get("cursor") : null;
+        Map<String, Object> result = new HashMap<>();
+        if (!settings.isEnabled() && cursor == null) {
+            result.put(kind, items);
+            return result;
+        }
+        Page<T> page = cursor instanceof String encoded && !encoded.isBlank()
+                ? next(kind, encoded)
+                : first(kind, null, version, attributes -> items, settings.getPageSize());
+        result.put(kind, page.items());
+        if (page.nextCursor() != null) {
+            result.put("nextCursor", page.nextCursor());
+        }
+        return result;
+    }
+
+    private Page<Object> slice(String id, Snapshot snapshot, int offset, int limit) {
+        List<?> items = snapshot.items();
+        int from = Math.min(offset, items.size());
+        int to = Math.min(from + Math.max(1, Math.min(limit, settings.getMaxPageSize())), items.size());
+        String nextCursor = to < items.size() ? encode(new Cursor(id, to, limit)) : null;
+        return new Page<>(List.copyOf(items.subList(from, to)), nextCursor, from, items.size(),
+                snapshot.version(), snapshot.attributes());
+    }
+
+    String encode(Cursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    Cursor decode(String encoded) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(encoded);
+            Map<String, Object> fields = objectMapper.readValue(new String(json, StandardCharsets.UTF_8),
+                    new TypeReference<Map<String, Object>>() { });
+            if (!(fields.get("snapshot") instanceof String snapshot)
+                    || !(fields.get("offset") instanceof Number offset) || offset.intValue() < 0
+                    || !(fields.get("limit") instanceof Number limit) || limit.intValue() < 1) {
+                throw new IllegalArgumentException("missing or invalid fields");
+            }
+            return new Cursor(snapshot, offset.intValue(), limit.intValue());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor: " + encoded, e);
+        }
+    }
+}
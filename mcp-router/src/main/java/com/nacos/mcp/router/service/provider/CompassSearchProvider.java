@@ -1,29 +1,102 @@
 package com.nacos.mcp.router.service.provider;
 
+import com.nacos.mcp.router.config.McpRouterProperties;
 import com.nacos.mcp.router.model.McpServer;
 import com.nacos.mcp.router.model.SearchRequest;
+import com.nacos.mcp.router.observability.jfr.RegistryRefreshEvent;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import com.nacos.mcp.router.service.search.McpServerSearchIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Compass Search Provider
- * Integrates with Alibaba Cloud Compass service for MCP server discovery
+ * Mirrors the remote Compass registry ({@code mcp.router.compass.api-base}) into a
+ * local registry with its own search index, and answers queries from the mirror.
+ * <p>
+ * A background task syncs the mirror. Every request carries the last ETag as
+ * {@code If-None-Match}, so an unchanged registry costs a 304, and the last cursor
+ * as {@code since}, so the registry can answer with only the servers changed or
+ * deleted since then. A response without a cursor, or marked {@code full}, replaces
+ * the mirror.
  */
 @Slf4j
 @Component
 public class CompassSearchProvider implements SearchProvider {
 
-    @Value("${mcp.router.search.compass.enabled:false}")
-    private boolean compassEnabled;
+    private final McpRouterProperties.Compass compass;
+    private final WebClient webClient;
+    private final McpServerRegistry mirror = new McpServerRegistry();
+    private final McpServerSearchIndex mirrorIndex = new McpServerSearchIndex(mirror);
 
-    @Value("${mcp.router.search.compass.endpoint:}")
-    private String compassEndpoint;
+    private volatile String etag;
+    private volatile String cursor;
+    private Disposable syncTask;
+
+    /**
+     * Body of the Compass server listing
+     */
+    @Data
+    public static class SyncResponse {
+        /**
+         * Servers added or changed (all servers for a full response)
+         */
+        private List<McpServer> servers = new ArrayList<>();
+
+        /**
+         * Names of servers deleted since the requested cursor
+         */
+        private List<String> deleted = new ArrayList<>();
+
+        /**
+         * Cursor to send as {@code since} on the next sync
+         */
+        private String cursor;
+
+        /**
+         * Whether this is a complete listing rather than a delta
+         */
+        private boolean full;
+    }
+
+    public CompassSearchProvider(McpRouterProperties mcpRouterProperties, WebClient.Builder webClientBuilder) {
+        this.compass = mcpRouterProperties.getCompass();
+        this.webClient = webClientBuilder.baseUrl(compass.getApiBase()).build();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!compass.isEnabled()) {
+            log.debug("Compass search is disabled, not syncing");
+            return;
+        }
+        syncTask = Flux.interval(Duration.ZERO, Duration.ofMillis(compass.getSyncInterval()), Schedulers.boundedElastic())
+                .concatMap(tick -> sync())
+                .subscribe(null, e -> log.error("Compass sync task stopped", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (syncTask != null) {
+            syncTask.dispose();
+        }
+    }
 
     @Override
     public String getProviderName() {
@@ -31,24 +104,92 @@ public class CompassSearchProvider implements SearchProvider {
     }
 
     @Override
-    public Mono<List<McpServer>> search(SearchRequest request) {
-        log.info("Searching MCP servers using Compass with request: {}", request);
+    public long getCatalogVersion() {
+        return mirror.getVersion();
+    }
 
-        if (!compassEnabled) {
+    @Override
+    public Mono<List<McpServer>> search(SearchRequest request) {
+        if (!compass.isEnabled()) {
             log.debug("Compass search is disabled, returning empty results");
             return Mono.just(Collections.<McpServer>emptyList());
         }
+        return Mono.fromCallable(() -> McpServerSearchIndex.isListAll(request)
+                ? mirror.getAllServers()
+                : mirrorIndex.search(request));
+    }
 
-        if (compassEndpoint == null || compassEndpoint.trim().isEmpty()) {
-            log.warn("Compass endpoint not configured, returning empty results");
-            return Mono.just(Collections.<McpServer>emptyList());
-        }
-
-        // TODO: Implement actual Compass API integration
-        // This should call the real Compass service API
-        log.warn("Compass API integration not yet implemented - returning empty list");
-        return Mono.just(Collections.<McpServer>emptyList());
+    /**
+     * Fetch changes from Compass and apply them to the mirror
+     *
+     * @return true if the mirror changed; failures are logged and yield false
+     */
+    Mono<Boolean> sync() {
+        String sinceCursor = cursor;
+        RegistryRefreshEvent event = RegistryRefreshEvent.begin(getProviderName(), null);
+        return webClient.get()
+                .uri(builder -> {
+                    builder.path(compass.getServersPath());
+                    if (sinceCursor != null) {
+                        builder.queryParam("since", sinceCursor);
+                    }
+                    return builder.build();
+                })
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        log.debug("Compass registry not modified");
+                        return response.releaseBody().thenReturn(false);
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.createException().flatMap(Mono::error);
+                    }
+                    String responseEtag = response.headers().asHttpHeaders().getETag();
+                    return response.bodyToMono(SyncResponse.class)
+                            .map(body -> apply(body, sinceCursor == null, responseEtag));
+                })
+                .timeout(Duration.ofMillis(compass.getRequestTimeout()))
+                .onErrorResume(e -> {
+                    log.warn("Compass sync failed, keeping mirror at version {}: {}", mirror.getVersion(), e.getMessage());
+                    return Mono.just(false);
+                })
+                .doOnNext(changed -> RegistryRefreshEvent.commit(event, mirror.getServiceNames().size(),
+                        changed, mirror.getVersion()));
     }
 
+    private boolean apply(SyncResponse body, boolean requestedFull, String responseEtag) {
+        boolean full = requestedFull || body.isFull() || body.getCursor() == null;
+        boolean changed = false;
+
+        Set<String> present = new HashSet<>();
+        for (McpServer server : body.getServers()) {
+            if (server.getName() == null) {
+                continue;
+            }
+            present.add(server.getName());
+            McpServer mirrored = server.toBuilder().provider(getProviderName()).relevanceScore(1.0).build();
+            changed |= mirror.update(server.getName(), List.of(mirrored));
+        }
+        for (String name : body.getDeleted()) {
+            changed |= mirror.update(name, List.of());
+        }
+        if (full) {
+            for (String name : mirror.getServiceNames()) {
+                if (!present.contains(name)) {
+                    changed |= mirror.update(name, List.of());
+                }
+            }
+        }
 
-}
\ No newline at end of file
+        etag = responseEtag;
+        cursor = body.getCursor();
+        log.info("Compass sync applied {} ({} servers, {} deleted), mirror now has {} servers",
+                full ? "full listing" : "delta", body.getServers().size(), body.getDeleted().size(),
+                mirror.getServiceNames().size());
+        return changed;
+    }
+}
@@ -1,29 +1,47 @@
 package com.nacos.mcp.router.service.provider;
 
 import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.api.naming.listener.NamingEvent;
 import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.nacos.mcp.router.config.McpRouterProperties;
 import com.nacos.mcp.router.model.SearchRequest;
 import com.nacos.mcp.router.model.McpServer;
 import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.observability.AccessLog;
+import com.nacos.mcp.router.observability.jfr.RegistryRefreshEvent;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import com.nacos.mcp.router.service.search.McpServerSearchIndex;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.alibaba.nacos.api.exception.NacosException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
- * Nacos Search Provider - Simplified version using keyword-based search
+ * Nacos Search Provider
+ * Keeps {@link McpServerRegistry} in sync with the MCP server services registered
+ * in Nacos, through naming change events plus a periodic full refresh, and answers
+ * searches from the BM25 {@link McpServerSearchIndex} instead of querying Nacos
+ * on every request. The first full refresh runs in the background as soon as the
+ * provider starts; until it lands, searches see whatever the subscriptions have
+ * delivered so far.
  */
 @Slf4j
 @Component
@@ -32,34 +50,62 @@ public class NacosSearchProvider implements SearchProvider {
 
     private final NamingService namingService;
     private final ObjectMapper objectMapper;
+    private final McpServerRegistry mcpServerRegistry;
+    private final McpServerSearchIndex mcpServerSearchIndex;
+    private final McpRouterProperties mcpRouterProperties;
+    private final AccessLog accessLog;
+
+    private final Map<String, EventListener> subscriptions = new ConcurrentHashMap<>();
+    private Disposable refreshTask;
+
+    @PostConstruct
+    public void start() {
+        for (String serviceName : mcpRouterProperties.getDiscovery().getServiceNames()) {
+            EventListener listener = event -> {
+                if (event instanceof NamingEvent namingEvent) {
+                    updateService(serviceName, namingEvent.getInstances());
+                }
+            };
+            try {
+                namingService.subscribe(serviceName, listener);
+                subscriptions.put(serviceName, listener);
+            } catch (NacosException e) {
+                log.warn("Failed to subscribe to Nacos service '{}', relying on periodic refresh: {}",
+                        serviceName, e.getMessage());
+            }
+        }
+
+        Duration interval = Duration.ofMillis(mcpRouterProperties.getDiscovery().getRefreshInterval());
+        refreshTask = Flux.interval(Duration.ZERO, interval, Schedulers.boundedElastic())
+                .subscribe(tick -> refreshAll(), e -> log.error("Nacos refresh task stopped", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.dispose();
+        }
+        subscriptions.forEach((serviceName, listener) -> {
+            try {
+                namingService.unsubscribe(serviceName, listener);
+            } catch (NacosException e) {
+                log.debug("Failed to unsubscribe from Nacos service '{}': {}", serviceName, e.getMessage());
+            }
+        });
+        subscriptions.clear();
+    }
 
     @Override
     public Mono<List<McpServer>> search(SearchRequest request) {
         return Mono.<List<McpServer>>fromCallable(() -> {
             try {
-                // 动态发现所有mcp-server服务
-                List<String> mcpServiceNames = List.of("mcp-server-v1", "mcp-server-v2", "mcp-server-v3");
-                List<McpServer> allServers = new ArrayList<>();
-                
-                for (String serviceName : mcpServiceNames) {
-                    try {
-                        List<Instance> instances = namingService.selectInstances(serviceName, true);
-                        log.info("Querying Nacos for service: '{}', found {} instances.", serviceName, instances.size());
-                        
-                        List<McpServer> serviceServers = instances.stream()
-                                .map(this::toMcpServer)
-                                .filter(Objects::nonNull)
-                                .collect(Collectors.toList());
-                        
-                        allServers.addAll(serviceServers);
-                    } catch (NacosException e) {
-                        log.warn("Failed to query Nacos for service '{}': {}", serviceName, e.getMessage());
-                        // 继续处理其他服务，不因为一个服务失败而全部失败
-                    }
+                if (McpServerSearchIndex.isListAll(request)) {
+                    return mcpServerRegistry.getAllServers();
                 }
-                
-                log.info("Total discovered MCP servers: {}", allServers.size());
-                return allServers;
+                List<McpServer> results = mcpServerSearchIndex.search(request);
+                accessLog.log("nacos.search", "taskDescription", request.getTaskDescription(),
+                        "keywords", request.getKeywords(), "matches", results.size());
+                return results;
 
             } catch (Exception e) {
                 log.error("Unexpected error in NacosSearchProvider search execution: {}", e.getMessage(), e);
@@ -68,12 +114,49 @@ public class NacosSearchProvider implements SearchProvider {
         }).doOnError(e -> log.error("Error in NacosSearchProvider search execution", e));
     }
 
+    /**
+     * Re-query every configured service from Nacos
+     */
+    void refreshAll() {
+        for (String serviceName : mcpRouterProperties.getDiscovery().getServiceNames()) {
+            try {
+                List<Instance> instances = namingService.selectInstances(serviceName, true);
+                accessLog.log("nacos.query", "service", serviceName, "instances", instances.size());
+                updateService(serviceName, instances);
+            } catch (NacosException e) {
+                log.warn("Failed to query Nacos for service '{}': {}", serviceName, e.getMessage());
+                // 继续处理其他服务，不因为一个服务失败而全部失败
+            }
+        }
+    }
+
+    private void updateService(String serviceName, List<Instance> instances) {
+        RegistryRefreshEvent event = RegistryRefreshEvent.begin(getProviderName(), serviceName);
+        List<McpServer> servers = instances.stream()
+                .filter(instance -> instance.isHealthy() && instance.isEnabled())
+                .map(instance -> toMcpServer(serviceName, instance))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        boolean changed = mcpServerRegistry.update(serviceName, servers);
+        if (changed) {
+            accessLog.log("nacos.change", "service", serviceName, "healthyInstances", servers.size(),
+                    "version", mcpServerRegistry.getVersion());
+        }
+        RegistryRefreshEvent.commit(event, servers.size(), changed, mcpServerRegistry.getVersion());
+    }
+
     @Override
     public String getProviderName() {
         return "Nacos";
     }
 
-    private McpServer toMcpServer(Instance instance) {
+    @Override
+    public long getCatalogVersion() {
+        return mcpServerRegistry.getVersion();
+    }
+
+    // package-private for the instance conversion benchmarks
+    McpServer toMcpServer(String serviceName, Instance instance) {
         try {
             Map<String, String> metadata = instance.getMetadata();
             
@@ -83,10 +166,6 @@ public class NacosSearchProvider implements SearchProvider {
             }
             
             String contextPath = metadata.getOrDefault("context-path", "");
-            String serviceName = instance.getServiceName();
-            if (serviceName.contains("@@")) {
-                serviceName = serviceName.substring(serviceName.indexOf("@@") + 2);
-            }
             
             return McpServer.builder()
                     .name(serviceName)
@@ -95,6 +174,8 @@ public class NacosSearchProvider implements SearchProvider {
                     .provider("Nacos")
                     .transportType(metadata.getOrDefault("transportType", "stdio"))
                     .endpoint(String.format("http://%s:%d%s", instance.getIp(), instance.getPort(), contextPath))
+                    .ip(instance.getIp())
+                    .port(instance.getPort())
                     .installCommand(metadata.getOrDefault("installCommand", ""))
                     .status(instance.isEnabled() ? McpServer.ServerStatus.CONNECTED : McpServer.ServerStatus.DISCONNECTED)
                     .tools(parseTools(metadata.get("tools")))
@@ -113,7 +194,7 @@ public class NacosSearchProvider implements SearchProvider {
         }
     }
 
-    private List<McpTool> parseTools(String toolsJson) {
+    List<McpTool> parseTools(String toolsJson) {
         // This method is now effectively unused for Nacos provider due to initialization order issues.
         if (toolsJson == null || toolsJson.isEmpty()) {
             return Collections.emptyList();
@@ -127,52 +208,4 @@ public class NacosSearchProvider implements SearchProvider {
             return Collections.emptyList();
         }
     }
-
-    private List<McpServer> calculateKeywordBasedScores(List<McpServer> servers, SearchRequest request) {
-        if (servers.isEmpty()) {
-            return servers;
-        }
-
-        String searchQuery = request.getTaskDescription().toLowerCase();
-        List<String> keywords = request.getKeywords();
-        
-        for (McpServer server : servers) {
-            double score = calculateKeywordScore(server, searchQuery, keywords);
-            server.setRelevanceScore(score);
-        }
-
-        // Filter servers by minimum similarity and limit results
-        return servers.stream()
-                .filter(server -> server.getRelevanceScore() >= (request.getMinSimilarity() != null ? request.getMinSimilarity() : 0.0))
-                .sorted((a, b) -> Double.compare(b.getRelevanceScore(), a.getRelevanceScore()))
-                .limit(request.getLimit() != null ? request.getLimit() : 10)
-                .collect(Collectors.toList());
-    }
-
-    private double calculateKeywordScore(McpServer server, String searchQuery, List<String> keywords) {
-        double score = 0.0;
-        
-        String serverText = (server.getName() + " " + server.getDescription()).toLowerCase();
-        
-        // Check if search query appears in server name or description
-        if (serverText.contains(searchQuery)) {
-            score += 1.0;
-        }
-        
-        // Check for keyword matches
-        if (keywords != null) {
-            for (String keyword : keywords) {
-                if (serverText.contains(keyword.toLowerCase())) {
-                    score += 0.5;
-                }
-            }
-        }
-        
-        // Boost score for exact name matches
-        if (server.getName().toLowerCase().contains(searchQuery)) {
-            score += 0.5;
-        }
-        
-        return score;
-    }
-} 
\ No newline at end of file
+}
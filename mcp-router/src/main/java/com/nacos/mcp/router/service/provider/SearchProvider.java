@@ -25,4 +25,15 @@ public interface SearchProvider {
      * @return provider name
      */
     String getProviderName();
+
+    /**
+     * Version of the catalog this provider searches. It must change whenever the
+     * results for the same request could change, so that cached search responses
+     * can be reused until then.
+     *
+     * @return catalog version, or -1 if unknown (responses involving this provider are not cached)
+     */
+    default long getCatalogVersion() {
+        return -1;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,332 @@
+package com.nacos.mcp.router.service.registry;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.model.RegistryDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MCP Server Registry
+ * Local, versioned view of the MCP servers discovered by the search providers.
+ * Providers push the instances they see for a service; the version only moves
+ * when the content of a service actually changes. Every change is recorded in a
+ * bounded journal, so readers can fetch only what changed since a version.
+ * <p>
+ * An update costs the size of the changed service: the tool index is patched for
+ * that service only, and listeners are called after the registry lock is released,
+ * so a slow listener does not hold up readers or other updates.
+ */
+@Slf4j
+@Component
+public class McpServerRegistry {
+
+    static final int DEFAULT_JOURNAL_SIZE = 1024;
+
+    private static final Comparator<McpServer> BY_ENDPOINT =
+            Comparator.comparing(server -> server.getEndpoint() != null ? server.getEndpoint() : "");
+
+    private final Map<String, List<McpServer>> services = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong(0);
+    // lower-cased tool name to its providers, first registered first; lists are replaced, never mutated
+    private final Map<String, List<ToolEntry>> toolsByName = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final RegistryJournal journal;
+    // changes waiting for the listeners, queued under the registry lock so they stay in version order
+    private final Queue<RegistryJournal.Entry> pendingNotifications = new ConcurrentLinkedQueue<>();
+    private final Object notificationLock = new Object();
+
+    public McpServerRegistry() {
+        this(DEFAULT_JOURNAL_SIZE);
+    }
+
+    @Autowired
+    public McpServerRegistry(McpRouterProperties mcpRouterProperties) {
+        this(mcpRouterProperties.getDiscovery().getChangeJournalSize());
+    }
+
+    public McpServerRegistry(int journalSize) {
+        this.journal = new RegistryJournal(journalSize);
+    }
+
+    /**
+     * A tool and the service that provides it
+     */
+    private record ToolEntry(String serviceName, McpTool tool) {
+    }
+
+    /**
+     * Notified, in order, of every change to a service, outside the registry lock
+     */
+    public interface Listener {
+        /**
+         * @param serviceName changed service
+         * @param instances its current instances, empty if it is gone
+         */
+        void onServiceChanged(String serviceName, List<McpServer> instances);
+    }
+
+    /**
+     * Register a listener; it is first called for every service already known
+     */
+    public void addListener(Listener listener) {
+        synchronized (notificationLock) {
+            // changes queued before the snapshot go to the existing listeners only
+            List<RegistryJournal.Entry> earlier = new ArrayList<>();
+            Map<String, List<McpServer>> snapshot;
+            synchronized (this) {
+                for (RegistryJournal.Entry change; (change = pendingNotifications.poll()) != null; ) {
+                    earlier.add(change);
+                }
+                snapshot = new LinkedHashMap<>(services);
+            }
+            earlier.forEach(this::notifyListeners);
+            listeners.add(listener);
+            snapshot.forEach(listener::onServiceChanged);
+        }
+    }
+
+    /**
+     * Replace the known instances of a service
+     *
+     * @param serviceName service name
+     * @param instances current instances, empty if the service is gone
+     * @return true if the registry changed
+     */
+    public boolean update(String serviceName, List<McpServer> instances) {
+        List<McpServer> sorted = new ArrayList<>(instances);
+        sorted.sort(BY_ENDPOINT);
+
+        synchronized (this) {
+            List<McpServer> previous = services.get(serviceName);
+            if (previous == null ? sorted.isEmpty() : sameContent(previous, sorted)) {
+                return false;
+            }
+
+            List<McpServer> current = List.copyOf(sorted);
+            if (current.isEmpty()) {
+                services.remove(serviceName);
+            } else {
+                services.put(serviceName, current);
+            }
+            long newVersion = version.incrementAndGet();
+            RegistryJournal.Entry change = new RegistryJournal.Entry(newVersion, serviceName, current);
+            journal.append(change);
+            updateToolIndex(serviceName, previous != null ? previous : List.of(), current);
+            pendingNotifications.add(change);
+            log.debug("Registry updated to version {}: service '{}' now has {} instances",
+                    newVersion, serviceName, current.size());
+        }
+        drainNotifications();
+        return true;
+    }
+
+    /**
+     * Hand queued changes to the listeners; whichever thread gets here first delivers
+     * them all, in the order they were queued
+     */
+    private void drainNotifications() {
+        synchronized (notificationLock) {
+            for (RegistryJournal.Entry change; (change = pendingNotifications.poll()) != null; ) {
+                notifyListeners(change);
+            }
+        }
+    }
+
+    private void notifyListeners(RegistryJournal.Entry change) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onServiceChanged(change.serviceName(), change.instances());
+            } catch (Exception e) {
+                log.warn("Registry listener failed for service '{}': {}", change.serviceName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Current registry version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Changes since a version
+     *
+     * @param sinceVersion registry version the reader has
+     * @return the current instances of the services changed since then and the names of
+     *         those removed, or a full snapshot if the journal no longer reaches back to
+     *         sinceVersion or sinceVersion is ahead of the registry
+     */
+    public synchronized RegistryDelta changesSince(long sinceVersion) {
+        long current = version.get();
+        List<RegistryJournal.Entry> entries = sinceVersion <= current ? journal.since(sinceVersion, current) : null;
+        if (entries == null) {
+            return RegistryDelta.builder()
+                    .sinceVersion(sinceVersion)
+                    .version(current)
+                    .full(true)
+                    .servers(getAllServers())
+                    .removed(List.of())
+                    .build();
+        }
+
+        // only the last change of each service matters
+        Map<String, List<McpServer>> latest = new LinkedHashMap<>();
+        for (RegistryJournal.Entry entry : entries) {
+            latest.remove(entry.serviceName());
+            latest.put(entry.serviceName(), entry.instances());
+        }
+        List<McpServer> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        latest.forEach((serviceName, instances) -> {
+            if (instances.isEmpty()) {
+                removed.add(serviceName);
+            } else {
+                changed.addAll(instances);
+            }
+        });
+        return RegistryDelta.builder()
+                .sinceVersion(sinceVersion)
+                .version(current)
+                .full(false)
+                .servers(changed)
+                .removed(removed)
+                .build();
+    }
+
+    /**
+     * All known instances of all services
+     */
+    public List<McpServer> getAllServers() {
+        List<McpServer> all = new ArrayList<>();
+        services.values().forEach(all::addAll);
+        return all;
+    }
+
+    /**
+     * Names of all known services
+     */
+    public List<String> getServiceNames() {
+        return new ArrayList<>(services.keySet());
+    }
+
+    /**
+     * Known instances of one service
+     */
+    public List<McpServer> getServers(String serviceName) {
+        return services.getOrDefault(serviceName, List.of());
+    }
+
+    /**
+     * Look up a tool definition by name (case-insensitive)
+     */
+    public McpTool findTool(String toolName) {
+        ToolEntry entry = firstProvider(toolName);
+        return entry != null ? entry.tool() : null;
+    }
+
+    /**
+     * Name of a service providing the tool (case-insensitive), or null if no known service does
+     */
+    public String findServiceName(String toolName) {
+        ToolEntry entry = firstProvider(toolName);
+        return entry != null ? entry.serviceName() : null;
+    }
+
+    private ToolEntry firstProvider(String toolName) {
+        List<ToolEntry> providers = toolName != null ? toolsByName.get(toolName.toLowerCase()) : null;
+        return providers != null ? providers.get(0) : null;
+    }
+
+    /**
+     * Patch the tool index for one service; the caller holds the registry lock
+     */
+    private void updateToolIndex(String serviceName, List<McpServer> previous, List<McpServer> current) {
+        Map<String, McpTool> before = toolsOf(previous);
+        Map<String, McpTool> after = toolsOf(current);
+        for (String name : before.keySet()) {
+            if (!after.containsKey(name)) {
+                toolsByName.computeIfPresent(name, (key, providers) -> {
+                    List<ToolEntry> remaining = providers.stream()
+                            .filter(entry -> !entry.serviceName().equals(serviceName))
+                            .toList();
+                    return remaining.isEmpty() ? null : remaining;
+                });
+            }
+        }
+        after.forEach((name, tool) -> toolsByName.compute(name, (key, providers) -> {
+            ToolEntry entry = new ToolEntry(serviceName, tool);
+            if (providers == null) {
+                return List.of(entry);
+            }
+            List<ToolEntry> updated = new ArrayList<>(providers.size() + 1);
+            boolean replaced = false;
+            for (ToolEntry existing : providers) {
+                boolean same = existing.serviceName().equals(serviceName);
+                updated.add(same ? entry : existing);
+                replaced |= same;
+            }
+            if (!replaced) {
+                updated.add(entry);
+            }
+            return List.copyOf(updated);
+        }));
+    }
+
+    /**
+     * Tools of a service by lower-cased name, the first instance's definition winning
+     */
+    private static Map<String, McpTool> toolsOf(List<McpServer> instances) {
+        Map<String, McpTool> tools = new HashMap<>();
+        for (McpServer server : instances) {
+            if (server.getTools() == null) {
+                continue;
+            }
+            for (McpTool tool : server.getTools()) {
+                if (tool.getName() != null) {
+                    tools.putIfAbsent(tool.getName().toLowerCase(), tool);
+                }
+            }
+        }
+        return tools;
+    }
+
+    /**
+     * Compare the routing-relevant content of two instance lists, ignoring timestamps
+     */
+    private static boolean sameContent(List<McpServer> left, List<McpServer> right) {
+        if (left.size() != right.size()) {
+            return false;
+        }
+        for (int i = 0; i < left.size(); i++) {
+            McpServer a = left.get(i);
+            McpServer b = right.get(i);
+            if (!Objects.equals(a.getName(), b.getName())
+                    || !Objects.equals(a.getEndpoint(), b.getEndpoint())
+                    || !Objects.equals(a.getStatus(), b.getStatus())
+                    || !Objects.equals(a.getVersion(), b.getVersion())
+                    || !Objects.equals(a.getDescription(), b.getDescription())
+                    || !Objects.equals(a.getTools(), b.getTools())
+                    || !Objects.equals(a.getMetadata(), b.getMetadata())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,72 @@
+package com.nacos.mcp.router.service.registry;
+
+import com.nacos.mcp.router.model.McpServer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Registry Journal
+ * Bounded log of registry changes, one entry per version. When full, the oldest
+ * entries are compacted away; a reader asking for changes from before the oldest
+ * retained entry has to fall back to a full snapshot. Not thread-safe, the registry
+ * guards it with its own lock.
+ */
+class RegistryJournal {
+
+    /**
+     * A service as it was after the change that produced a version
+     *
+     * @param instances the service's instances, empty if the change removed it
+     */
+    record Entry(long version, String serviceName, List<McpServer> instances) {
+    }
+
+    private final int capacity;
+    private final Deque<Entry> entries;
+
+    RegistryJournal(int capacity) {
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    void append(Entry entry) {
+        if (entries.size() == capacity) {
+            entries.removeFirst();
+        }
+        entries.addLast(entry);
+    }
+
+    /**
+     * Entries after a version
+     *
+     * @param sinceVersion last version the reader has seen
+     * @param currentVersion current registry version
+     * @return the entries in version order, or null if some were compacted away
+     */
+    List<Entry> since(long sinceVersion, long currentVersion) {
+        if (sinceVersion == currentVersion) {
+            return List.of();
+        }
+        Entry oldest = entries.peekFirst();
+        if (oldest == null || oldest.version() > sinceVersion + 1) {
+            return null;
+        }
+        List<Entry> result = new ArrayList<>();
+        // newest first, stopping at the first entry the reader already has
+        Iterator<Entry> iterator = entries.descendingIterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.version() <= sinceVersion) {
+                break;
+            }
+            result.add(entry);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+}
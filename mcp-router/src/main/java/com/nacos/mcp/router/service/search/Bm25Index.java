@@ -0,0 +1,175 @@
+package com.nacos.mcp.router.service.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * BM25 Inverted Index
+ * In-memory inverted index over tokenized documents, scored with Okapi BM25.
+ * Documents are added, replaced and removed one at a time, so the index follows
+ * registry changes without being rebuilt.
+ * <p>
+ * Scores are normalized by the score of an average-length document containing each
+ * query term once, which is the sum of {@code idf} over the query terms known to the
+ * index, and capped at 1. A score therefore reads as the share of the query's
+ * weighted terms a document covers, and can be compared against a fixed similarity
+ * threshold. Ranking uses the uncapped score.
+ */
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<ScoredDocument> BY_SCORE =
+            Comparator.comparingDouble(ScoredDocument::score).thenComparing(ScoredDocument::id, Comparator.reverseOrder());
+
+    /**
+     * A search hit
+     *
+     * @param id document id
+     * @param score normalized relevance in (0, 1]
+     */
+    public record ScoredDocument(String id, double score) {
+    }
+
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<String, Integer> lengths = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    /**
+     * Add or replace a document
+     *
+     * @param id document id
+     * @param tokens document tokens; repeat a token to weight it
+     */
+    public void put(String id, Collection<String> tokens) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (termFrequencies.isEmpty()) {
+                return;
+            }
+            documents.put(id, termFrequencies);
+            lengths.put(id, tokens.size());
+            termFrequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top-k documents for a query
+     *
+     * @param queryTokens query tokens; duplicates are ignored
+     * @param k maximum number of hits
+     * @return hits with a positive score, best first
+     */
+    public List<ScoredDocument> search(Collection<String> queryTokens, int k) {
+        if (k <= 0 || queryTokens.isEmpty()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>(queryTokens);
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            Map<String, Double> scores = new HashMap<>();
+            double referenceScore = 0;
+            for (String term : terms) {
+                Map<String, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                referenceScore += idf;
+                for (Map.Entry<String, Integer> entry : posting.entrySet()) {
+                    int tf = entry.getValue();
+                    int length = lengths.get(entry.getKey());
+                    double norm = tf + K1 * (1 - B + B * length / averageLength);
+                    scores.merge(entry.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+            if (referenceScore == 0) {
+                return List.of();
+            }
+
+            // bounded min-heap: O(n log k) instead of sorting every match
+            PriorityQueue<ScoredDocument> heap = new PriorityQueue<>(k + 1, BY_SCORE);
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                heap.offer(new ScoredDocument(entry.getKey(), entry.getValue()));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+            List<ScoredDocument> ranked = new ArrayList<>(heap);
+            ranked.sort(BY_SCORE.reversed());
+            List<ScoredDocument> hits = new ArrayList<>(ranked.size());
+            for (ScoredDocument hit : ranked) {
+                hits.add(new ScoredDocument(hit.id(), Math.min(1.0, hit.score() / referenceScore)));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        Map<String, Integer> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= lengths.remove(id);
+        previous.keySet().forEach(term -> {
+            Map<String, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package com.nacos.mcp.router.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedding Index
+ * Stores unit-length vectors row by row in one contiguous {@code float[]}, so a
+ * query is a single linear pass of dot products that the JIT can vectorize.
+ * Each owner (a service) may have several rows (its description and each of its
+ * tools); an owner scores as its best-matching row, i.e. the cosine similarity
+ * of the query with the closest of its texts.
+ */
+public class EmbeddingIndex {
+
+    private static final Comparator<Bm25Index.ScoredDocument> BY_SCORE =
+            Comparator.comparingDouble(Bm25Index.ScoredDocument::score)
+                    .thenComparing(Bm25Index.ScoredDocument::id, Comparator.reverseOrder());
+
+    private final int dimensions;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private float[] vectors = new float[0];
+    private String[] owners = new String[0];
+    private int rows;
+
+    public EmbeddingIndex(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * Replace all rows of an owner
+     */
+    public void put(String owner, List<float[]> ownerVectors) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(owner);
+            ensureCapacity(rows + ownerVectors.size());
+            for (float[] vector : ownerVectors) {
+                if (vector.length != dimensions) {
+                    throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+                }
+                System.arraycopy(vector, 0, vectors, rows * dimensions, dimensions);
+                owners[rows++] = owner;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all rows of an owner
+     */
+    public void remove(String owner) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(owner);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top-k owners by cosine similarity
+     *
+     * @param query unit-length query vector
+     * @param k maximum number of hits
+     * @return owners with a positive similarity, best first
+     */
+    public List<Bm25Index.ScoredDocument> search(float[] query, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        Map<String, Double> best = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < rows; row++) {
+                double similarity = dot(query, vectors, row * dimensions);
+                if (similarity > 0) {
+                    best.merge(owners[row], similarity, Math::max);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<Bm25Index.ScoredDocument> heap = new PriorityQueue<>(k + 1, BY_SCORE);
+        best.forEach((owner, similarity) -> {
+            heap.offer(new Bm25Index.ScoredDocument(owner, Math.min(1.0, similarity)));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        });
+        List<Bm25Index.ScoredDocument> hits = new ArrayList<>(heap);
+        hits.sort(BY_SCORE.reversed());
+        return hits;
+    }
+
+    public int rowCount() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float dot(float[] query, float[] matrix, int offset) {
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += query[i] * matrix[offset + i];
+        }
+        return sum;
+    }
+
+    /**
+     * Compact the remaining rows in place, keeping the matrix contiguous
+     */
+    private void removeLocked(String owner) {
+        int kept = 0;
+        for (int row = 0; row < rows; row++) {
+            if (owner.equals(owners[row])) {
+                continue;
+            }
+            if (kept != row) {
+                System.arraycopy(vectors, row * dimensions, vectors, kept * dimensions, dimensions);
+                owners[kept] = owners[row];
+            }
+            kept++;
+        }
+        Arrays.fill(owners, kept, rows, null);
+        rows = kept;
+    }
+
+    private void ensureCapacity(int required) {
+        if (owners.length >= required) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(16, owners.length * 2));
+        vectors = Arrays.copyOf(vectors, capacity * dimensions);
+        owners = Arrays.copyOf(owners, capacity);
+    }
+}
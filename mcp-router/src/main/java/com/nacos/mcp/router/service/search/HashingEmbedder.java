@@ -0,0 +1,90 @@
+package com.nacos.mcp.router.service.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Hashing Embedder
+ * Local text embedding without a model: every token and every character trigram
+ * of {@code #token#} is hashed into a fixed-size vector with a random sign
+ * (feature hashing), and the vector is L2-normalized. Texts that share words or
+ * word fragments ("nationality" / "nationalities", "person" / "persons") end up
+ * with a high cosine similarity, which is the dot product of their vectors.
+ */
+public final class HashingEmbedder {
+
+    /**
+     * Number of dimensions of every embedding
+     */
+    public static final int DIMENSIONS = 256;
+
+    private static final float TOKEN_WEIGHT = 2.0f;
+    private static final float TRIGRAM_WEIGHT = 1.0f;
+
+    private HashingEmbedder() {
+    }
+
+    /**
+     * Embed a text
+     *
+     * @return unit-length vector, or all zeros if the text has no tokens
+     */
+    public static float[] embed(String text) {
+        return embed(Tokenizer.tokenize(text));
+    }
+
+    /**
+     * Embed already tokenized text
+     */
+    public static float[] embed(List<String> tokens) {
+        float[] vector = new float[DIMENSIONS];
+        for (String token : tokens) {
+            add(vector, token, TOKEN_WEIGHT);
+            String padded = "#" + token + "#";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                add(vector, padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+            }
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    private static void add(float[] vector, String feature, float weight) {
+        int hash = murmurMix(feature);
+        int index = (hash >>> 1) % DIMENSIONS;
+        vector[index] += (hash & 1) == 0 ? weight : -weight;
+    }
+
+    private static void normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        if (sum == 0) {
+            return;
+        }
+        float scale = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+    }
+
+    /**
+     * String.hashCode spreads short strings poorly over the low bits; mix the
+     * UTF-8 bytes with the murmur3 finalizer instead
+     */
+    private static int murmurMix(String feature) {
+        int h = 0x9747b28c;
+        for (byte b : feature.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x5bd1e995;
+            h ^= h >>> 15;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,160 @@
+package com.nacos.mcp.router.service.search;
+
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.model.SearchRequest;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * MCP Server Search Index
+ * BM25 index over the services in {@link McpServerRegistry}, one document per
+ * service built from its name, description and tool names and descriptions.
+ * Names are weighted above descriptions by repeating their tokens.
+ * <p>
+ * For semantic search every service also gets embeddings, one for its description
+ * and one per tool, computed locally by {@link HashingEmbedder} when the service
+ * registers. Both indexes are updated per service as the registry reports changes.
+ */
+@Slf4j
+@Component
+public class McpServerSearchIndex {
+
+    public static final String MODE_KEYWORD = "keyword";
+    public static final String MODE_SEMANTIC = "semantic";
+    public static final String MODE_HYBRID = "hybrid";
+
+    private static final int SERVER_NAME_WEIGHT = 3;
+    private static final int TOOL_NAME_WEIGHT = 2;
+
+    private final McpServerRegistry mcpServerRegistry;
+    private final Bm25Index index = new Bm25Index();
+    private final EmbeddingIndex embeddings = new EmbeddingIndex(HashingEmbedder.DIMENSIONS);
+
+    public McpServerSearchIndex(McpServerRegistry mcpServerRegistry) {
+        this.mcpServerRegistry = mcpServerRegistry;
+        mcpServerRegistry.addListener(this::onServiceChanged);
+    }
+
+    /**
+     * Search indexed services
+     *
+     * @param request search request; the task description and keywords form the query
+     * @return one server per matching service, best first; the relevance is the normalized
+     *         BM25 score, the cosine similarity, or the higher of the two depending on the mode
+     */
+    public List<McpServer> search(SearchRequest request) {
+        List<String> query = Tokenizer.tokenize(request.getTaskDescription());
+        if (request.getKeywords() != null) {
+            request.getKeywords().forEach(keyword -> query.addAll(Tokenizer.tokenize(keyword)));
+        }
+        int limit = request.getLimit() != null ? request.getLimit() : 10;
+        String mode = request.getMode() != null ? request.getMode().toLowerCase() : MODE_KEYWORD;
+
+        List<Bm25Index.ScoredDocument> hits = switch (mode) {
+            case MODE_SEMANTIC -> embeddings.search(HashingEmbedder.embed(query), limit);
+            case MODE_HYBRID -> best(index.search(query, limit), embeddings.search(HashingEmbedder.embed(query), limit), limit);
+            default -> index.search(query, limit);
+        };
+
+        List<McpServer> results = new ArrayList<>();
+        for (Bm25Index.ScoredDocument hit : hits) {
+            List<McpServer> instances = mcpServerRegistry.getServers(hit.id());
+            if (!instances.isEmpty()) {
+                results.add(instances.get(0).toBuilder().relevanceScore(hit.score()).build());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Whether a request asks for every server rather than a search: no request,
+     * or neither a task description (other than "all") nor keywords
+     */
+    public static boolean isListAll(SearchRequest request) {
+        if (request == null) {
+            return true;
+        }
+        String task = request.getTaskDescription();
+        boolean noTask = task == null || task.isBlank() || task.equalsIgnoreCase("all");
+        return noTask && (request.getKeywords() == null || request.getKeywords().isEmpty());
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void onServiceChanged(String serviceName, List<McpServer> instances) {
+        if (instances.isEmpty()) {
+            index.remove(serviceName);
+            embeddings.remove(serviceName);
+            log.debug("Removed service '{}' from search index", serviceName);
+            return;
+        }
+        index.put(serviceName, tokensOf(instances.get(0)));
+        embeddings.put(serviceName, embeddingsOf(instances.get(0)));
+        log.debug("Indexed service '{}'", serviceName);
+    }
+
+    /**
+     * Merge two ranked hit lists, keeping the higher score per service
+     */
+    private static List<Bm25Index.ScoredDocument> best(List<Bm25Index.ScoredDocument> first,
+                                                       List<Bm25Index.ScoredDocument> second, int limit) {
+        Map<String, Double> scores = new HashMap<>();
+        first.forEach(hit -> scores.merge(hit.id(), hit.score(), Math::max));
+        second.forEach(hit -> scores.merge(hit.id(), hit.score(), Math::max));
+        return scores.entrySet().stream()
+                .map(entry -> new Bm25Index.ScoredDocument(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(Bm25Index.ScoredDocument::score).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Embeddings of a server: its name with description, and each tool name with description
+     */
+    static List<float[]> embeddingsOf(McpServer server) {
+        List<float[]> vectors = new ArrayList<>();
+        vectors.add(HashingEmbedder.embed(Objects.toString(server.getName(), "") + " "
+                + Objects.toString(server.getDescription(), "")));
+        if (server.getTools() != null) {
+            for (McpTool tool : server.getTools()) {
+                vectors.add(HashingEmbedder.embed(Objects.toString(tool.getName(), "") + " "
+                        + Objects.toString(tool.getDescription(), "")));
+            }
+        }
+        return vectors;
+    }
+
+    /**
+     * Weighted tokens of a server document
+     */
+    public static List<String> tokensOf(McpServer server) {
+        List<String> tokens = new ArrayList<>();
+        List<String> nameTokens = Tokenizer.tokenize(server.getName());
+        for (int i = 0; i < SERVER_NAME_WEIGHT; i++) {
+            tokens.addAll(nameTokens);
+        }
+        tokens.addAll(Tokenizer.tokenize(server.getDescription()));
+        if (server.getTools() != null) {
+            for (McpTool tool : server.getTools()) {
+                List<String> toolNameTokens = Tokenizer.tokenize(tool.getName());
+                for (int i = 0; i < TOOL_NAME_WEIGHT; i++) {
+                    tokens.addAll(toolNameTokens);
+                }
+                tokens.addAll(Tokenizer.tokenize(tool.getDescription()));
+            }
+        }
+        return tokens;
+    }
+}
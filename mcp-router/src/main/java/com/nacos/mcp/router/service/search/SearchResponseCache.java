@@ -0,0 +1,121 @@
+package com.nacos.mcp.router.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.SearchRequest;
+import com.nacos.mcp.router.model.SearchResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Search Response Cache
+ * Caches complete search responses, including the generated instructions, keyed by
+ * the normalized request and the catalog versions of all search providers. A change
+ * of any catalog makes every existing entry unreachable, and the cache is cleared
+ * the first time the new version is seen; the TTL is only a safety bound.
+ */
+@Slf4j
+@Component
+public class SearchResponseCache {
+
+    private final McpRouterProperties.SearchCache settings;
+    private final Cache<Key, SearchResponse> cache;
+    private volatile List<Long> currentVersions = List.of();
+
+    /**
+     * Normalized search request plus the catalog versions it was answered from
+     */
+    public record Key(String taskDescription, TreeSet<String> keywords, Integer limit, Double minSimilarity,
+                      String mode, List<Long> catalogVersions) {
+    }
+
+    public SearchResponseCache(McpRouterProperties mcpRouterProperties, MeterRegistry meterRegistry) {
+        this.settings = mcpRouterProperties.getSearch().getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(settings.getTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "mcp.router.search.responses");
+    }
+
+    /**
+     * Cache key of a request
+     *
+     * @param request request with defaults applied
+     * @param catalogVersions versions of all providers, in provider order
+     * @return the key, or null if the response must not be cached
+     */
+    public Key keyOf(SearchRequest request, List<Long> catalogVersions) {
+        if (!settings.isEnabled() || catalogVersions.stream().anyMatch(version -> version < 0)) {
+            return null;
+        }
+        if (!catalogVersions.equals(currentVersions)) {
+            // a catalog changed: nothing cached so far can be served again
+            currentVersions = List.copyOf(catalogVersions);
+            cache.invalidateAll();
+            log.debug("Search catalogs changed to versions {}, cleared search cache", catalogVersions);
+        }
+
+        TreeSet<String> keywords = new TreeSet<>();
+        if (request.getKeywords() != null) {
+            request.getKeywords().stream()
+                    .map(SearchResponseCache::normalize)
+                    .filter(keyword -> !keyword.isEmpty())
+                    .forEach(keywords::add);
+        }
+        return new Key(normalize(request.getTaskDescription()), keywords, request.getLimit(),
+                request.getMinSimilarity(), Objects.toString(request.getMode(), "").toLowerCase(Locale.ROOT),
+                List.copyOf(catalogVersions));
+    }
+
+    /**
+     * Cached response, marked as cached, or null
+     */
+    public SearchResponse get(Key key) {
+        SearchResponse response = cache.getIfPresent(key);
+        if (response == null) {
+            return null;
+        }
+        SearchResponse.SearchMetadata metadata = response.getMetadata() != null
+                ? response.getMetadata().toBuilder().cached(true).build()
+                : SearchResponse.SearchMetadata.builder().cached(true).build();
+        return response.toBuilder().metadata(metadata).build();
+    }
+
+    public void put(Key key, SearchResponse response) {
+        cache.put(key, response);
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("enabled", settings.isEnabled());
+        result.put("size", cache.estimatedSize());
+        result.put("hitRatio", stats.hitRate());
+        result.put("catalogVersions", currentVersions);
+        return result;
+    }
+
+    /**
+     * Lower-case, trim and collapse whitespace
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,90 @@
+package com.nacos.mcp.router.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tokenizer for search text
+ * Splits on non-alphanumeric characters and on camelCase / snake_case / kebab-case
+ * boundaries ({@code getPersonsByNationality_v1} becomes {@code get persons nationality v1}),
+ * lower-cases, and drops English stopwords and single-letter tokens. CJK characters
+ * are emitted one per token.
+ */
+public final class Tokenizer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "can", "for", "from", "how", "i", "in",
+            "is", "it", "me", "my", "of", "on", "or", "that", "the", "this", "to", "was", "what",
+            "when", "where", "which", "who", "will", "with", "you", "all", "please", "want", "need");
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Tokenize a text
+     *
+     * @param text input, may be null
+     * @return tokens in order of appearance, possibly repeated
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder current = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < text.length(); ) {
+            int ch = text.codePointAt(i);
+            i += Character.charCount(ch);
+
+            if (isCjk(ch)) {
+                flush(current, tokens);
+                tokens.add(new String(Character.toChars(ch)));
+            } else if (Character.isLetterOrDigit(ch)) {
+                if (current.length() > 0 && isBoundary(previous, ch, text, i)) {
+                    flush(current, tokens);
+                }
+                current.appendCodePoint(ch);
+            } else {
+                flush(current, tokens);
+            }
+            previous = ch;
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    /**
+     * camelCase boundary: lower-to-upper ("personById") or the last upper of an
+     * acronym before a lower ("MCPServer")
+     */
+    private static boolean isBoundary(int previous, int ch, String text, int next) {
+        if ((Character.isLowerCase(previous) || Character.isDigit(previous)) && Character.isUpperCase(ch)) {
+            return true;
+        }
+        return Character.isUpperCase(previous) && Character.isUpperCase(ch) && next < text.length()
+                && Character.isLowerCase(text.codePointAt(next));
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() == 0) {
+            return;
+        }
+        String token = current.toString().toLowerCase(Locale.ROOT);
+        current.setLength(0);
+        if (token.length() > 1 && !STOPWORDS.contains(token) || Character.isDigit(token.charAt(0))) {
+            tokens.add(token);
+        }
+    }
+
+    private static boolean isCjk(int ch) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(ch);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
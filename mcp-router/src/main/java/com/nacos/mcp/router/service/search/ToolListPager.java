@@ -0,0 +1,146 @@
+package com.nacos.mcp.router.service.search;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.execution.ToolCallMeta;
+import com.nacos.mcp.router.service.paging.SnapshotPaginator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tool List Pager
+ * Answers tools/list with only the tools relevant to a task when the client sends a
+ * task hint in {@code _meta.task}: the tools are ranked by {@link ToolSearchIndex},
+ * the first {@code _meta.limit} are returned and {@code nextCursor} pages through the
+ * rest, relevant ones first. Without a hint the catalog is paged in catalog order.
+ * <p>
+ * Both listings are snapshots taken by {@link SnapshotPaginator}, so a follow-up
+ * request only needs {@code cursor}. Each ranked response records its size relative
+ * to the full listing in {@code mcp.router.tools.list.payload.reduction}.
+ */
+@Slf4j
+@Component
+public class ToolListPager {
+
+    /**
+     * {@code _meta} key of the task hint
+     */
+    public static final String TASK = "task";
+
+    /**
+     * {@code _meta} key of the page size
+     */
+    public static final String LIMIT = "limit";
+
+    private static final String KIND = "tools";
+    private static final String RELEVANT_TOOLS = "relevantTools";
+    private static final String FULL_BYTES = "fullBytes";
+
+    private final ToolSearchIndex toolSearchIndex;
+    private final SnapshotPaginator paginator;
+    private final McpRouterProperties.Listing settings;
+    private final DistributionSummary payloadReduction;
+    private final DistributionSummary payloadBytes;
+
+    public ToolListPager(ToolSearchIndex toolSearchIndex, SnapshotPaginator paginator,
+                         McpRouterProperties mcpRouterProperties, MeterRegistry meterRegistry) {
+        this.toolSearchIndex = toolSearchIndex;
+        this.paginator = paginator;
+        this.settings = mcpRouterProperties.getTools().getListing();
+        this.payloadReduction = DistributionSummary.builder("mcp.router.tools.list.payload.reduction")
+                .description("Fraction of the full tools/list payload saved by task-ranked pages")
+                .register(meterRegistry);
+        this.payloadBytes = DistributionSummary.builder("mcp.router.tools.list.payload")
+                .description("Size of the tools returned by task-ranked tools/list pages")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Result of tools/list
+     *
+     * @param source name of the tool catalog, e.g. the endpoint listing it; snapshots are per source
+     * @param tools all tools that could be listed, in catalog order
+     * @param catalogVersion version of the catalog the tools come from, -1 if unversioned
+     * @param params tools/list params, may be null
+     * @return the result object: {@code tools}, {@code nextCursor} unless on the last page,
+     *         and {@code _meta} for ranked listings
+     * @throws IllegalArgumentException if the cursor is malformed or expired
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> page(String source, List<McpTool> tools, long catalogVersion, Map<String, Object> params) {
+        Map<String, Object> meta = params != null && params.get("_meta") instanceof Map<?, ?> map
+                ? (Map<String, Object>) map : Map.of();
+        Object cursor = params != null ? params.get("cursor") : null;
+        Object task = meta.get(TASK);
+        Long limit = ToolCallMeta.getLong(meta, LIMIT);
+
+        SnapshotPaginator.Page<McpTool> page;
+        if (cursor instanceof String encoded && !encoded.isBlank()) {
+            page = paginator.next(KIND, encoded);
+        } else if (task instanceof String taskText && !taskText.isBlank()) {
+            int pageSize = limit != null ? (int) Math.min(limit, settings.getMaxLimit()) : settings.getDefaultLimit();
+            page = paginator.first(KIND, source + "&" + TASK + "=" + taskText, catalogVersion,
+                    attributes -> rank(taskText, tools, attributes), pageSize);
+        } else if (paginator.isEnabled()) {
+            page = paginator.first(KIND, source, catalogVersion, attributes -> tools, paginator.pageSize(limit));
+        } else {
+            Map<String, Object> result = new HashMap<>();
+            result.put(KIND, tools);
+            return result;
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put(KIND, page.items());
+        if (page.nextCursor() != null) {
+            result.put("nextCursor", page.nextCursor());
+        }
+        if (page.attributes().containsKey(TASK)) {
+            result.put("_meta", rankedMeta(page));
+        }
+        return result;
+    }
+
+    /**
+     * Rank tools by relevance to a task, keeping catalog order among tools without a match
+     */
+    private List<McpTool> rank(String task, List<McpTool> tools, Map<String, Object> attributes) {
+        Map<String, Double> scores = toolSearchIndex.scores(task);
+        Map<String, Integer> ranks = new HashMap<>();
+        for (String name : scores.keySet()) {
+            ranks.put(name, ranks.size());
+        }
+        List<McpTool> ranked = new ArrayList<>(tools);
+        // stable sort: tools without a match keep their catalog order after the matches
+        ranked.sort(Comparator.comparingInt(tool -> ranks.getOrDefault(tool.getName(), Integer.MAX_VALUE)));
+
+        attributes.put(TASK, task);
+        attributes.put(RELEVANT_TOOLS, ranked.stream().filter(tool -> ranks.containsKey(tool.getName())).count());
+        attributes.put(FULL_BYTES, ranked.stream().mapToLong(toolSearchIndex::payloadSize).sum());
+        return ranked;
+    }
+
+    private Map<String, Object> rankedMeta(SnapshotPaginator.Page<McpTool> page) {
+        long pageBytes = page.items().stream().mapToLong(toolSearchIndex::payloadSize).sum();
+        long fullBytes = (Long) page.attributes().get(FULL_BYTES);
+        double reduction = fullBytes > 0 ? 1.0 - (double) pageBytes / fullBytes : 0.0;
+        payloadReduction.record(reduction);
+        payloadBytes.record(pageBytes);
+        log.debug("tools/list for task '{}' returned tools {}..{} of {}, {} of {} bytes", page.attributes().get(TASK),
+                page.offset(), page.offset() + page.items().size(), page.total(), pageBytes, fullBytes);
+
+        return Map.of(
+                TASK, page.attributes().get(TASK),
+                "totalTools", page.total(),
+                RELEVANT_TOOLS, page.attributes().get(RELEVANT_TOOLS),
+                "payloadReduction", Math.round(reduction * 1000) / 1000.0);
+    }
+}
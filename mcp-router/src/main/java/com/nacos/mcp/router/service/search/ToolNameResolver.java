@@ -0,0 +1,104 @@
+package com.nacos.mcp.router.service.search;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Tool Name Resolver
+ * Keeps a trigram index of the tool names in the registry, patched with the names
+ * a service gained or lost when it changes, and matches unknown tool names against it. The matches are returned to
+ * the client as suggestions; with {@code auto-resolve} enabled a call is routed to
+ * the best match when it is both close enough and clearly ahead of the runner-up.
+ */
+@Slf4j
+@Component
+public class ToolNameResolver implements McpServerRegistry.Listener {
+
+    private final McpRouterProperties.NameResolution settings;
+    private final TrigramIndex index = new TrigramIndex();
+    // only touched by the registry's notifications, which are delivered one at a time
+    private final Map<String, Set<String>> toolNamesByService = new HashMap<>();
+    // number of services providing each indexed name
+    private final Map<String, Integer> providerCounts = new HashMap<>();
+
+    public ToolNameResolver(McpServerRegistry registry, McpRouterProperties mcpRouterProperties) {
+        this.settings = mcpRouterProperties.getTools().getNameResolution();
+        registry.addListener(this);
+    }
+
+    @Override
+    public void onServiceChanged(String serviceName, List<McpServer> instances) {
+        Set<String> names = new HashSet<>();
+        for (McpServer server : instances) {
+            if (server.getTools() == null) {
+                continue;
+            }
+            for (McpTool tool : server.getTools()) {
+                if (tool.getName() != null) {
+                    names.add(tool.getName());
+                }
+            }
+        }
+        Set<String> previous = names.isEmpty()
+                ? toolNamesByService.remove(serviceName)
+                : toolNamesByService.put(serviceName, names);
+        if (previous == null) {
+            previous = Set.of();
+        }
+
+        for (String name : previous) {
+            if (!names.contains(name) && providerCounts.merge(name, -1, Integer::sum) == 0) {
+                providerCounts.remove(name);
+                index.remove(name);
+            }
+        }
+        for (String name : names) {
+            if (!previous.contains(name) && providerCounts.merge(name, 1, Integer::sum) == 1) {
+                index.add(name);
+            }
+        }
+    }
+
+    /**
+     * Known tool names most similar to an unknown one
+     *
+     * @param toolName requested tool name
+     * @return matches, most similar first; empty if name resolution is disabled
+     */
+    public List<TrigramIndex.Match> suggest(String toolName) {
+        if (!settings.isEnabled() || toolName == null) {
+            return List.of();
+        }
+        return index.search(toolName, settings.getMaxSuggestions(), settings.getMinSimilarity());
+    }
+
+    /**
+     * Tool a call should be routed to, if auto-resolve is enabled and the best
+     * suggestion is unambiguous
+     *
+     * @param suggestions result of {@link #suggest(String)}
+     * @return the resolved tool name
+     */
+    public Optional<String> resolve(List<TrigramIndex.Match> suggestions) {
+        if (!settings.isAutoResolve() || suggestions.isEmpty()) {
+            return Optional.empty();
+        }
+        TrigramIndex.Match best = suggestions.get(0);
+        double runnerUp = suggestions.size() > 1 ? suggestions.get(1).score() : 0.0;
+        if (best.score() < settings.getThreshold() || best.score() - runnerUp < settings.getMargin()) {
+            return Optional.empty();
+        }
+        return Optional.of(best.name());
+    }
+}
@@ -0,0 +1,138 @@
+package com.nacos.mcp.router.service.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tool Search Index
+ * BM25 index with one document per tool name, built from the tool name, description
+ * and parameter names and descriptions, so that tools/list can return the tools most
+ * relevant to a task instead of the whole catalog. Tools come from the services in
+ * {@link McpServerRegistry}; the router's own tools are added with {@link #put}.
+ * The serialized size of every indexed tool is kept to measure payload savings.
+ */
+@Slf4j
+@Component
+public class ToolSearchIndex {
+
+    private static final int TOOL_NAME_WEIGHT = 2;
+
+    private final ObjectMapper objectMapper;
+    private final Bm25Index index = new Bm25Index();
+    private final Map<String, Set<String>> toolNamesByOwner = new HashMap<>();
+    private final Map<String, Integer> payloadSizes = new ConcurrentHashMap<>();
+
+    public ToolSearchIndex(McpServerRegistry mcpServerRegistry, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        mcpServerRegistry.addListener(this::onServiceChanged);
+    }
+
+    /**
+     * Replace the tools of an owner (a service, or the router itself)
+     */
+    public synchronized void put(String owner, List<McpTool> tools) {
+        Set<String> previous = toolNamesByOwner.getOrDefault(owner, Set.of());
+        Set<String> current = new HashSet<>();
+        for (McpTool tool : tools) {
+            if (tool.getName() == null) {
+                continue;
+            }
+            current.add(tool.getName());
+            index.put(tool.getName(), tokensOf(tool));
+            payloadSizes.put(tool.getName(), serializedSize(tool));
+        }
+        if (current.isEmpty()) {
+            toolNamesByOwner.remove(owner);
+        } else {
+            toolNamesByOwner.put(owner, current);
+        }
+        for (String name : previous) {
+            if (!current.contains(name) && toolNamesByOwner.values().stream().noneMatch(names -> names.contains(name))) {
+                index.remove(name);
+                payloadSizes.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Relevance of the indexed tools to a task
+     *
+     * @param task free-text task description
+     * @return normalized BM25 score by tool name, best first, only for tools sharing a term with the task
+     */
+    public Map<String, Double> scores(String task) {
+        List<String> query = Tokenizer.tokenize(task);
+        Map<String, Double> scores = new LinkedHashMap<>();
+        if (query.isEmpty()) {
+            return scores;
+        }
+        for (Bm25Index.ScoredDocument hit : index.search(query, index.size())) {
+            scores.put(hit.id(), hit.score());
+        }
+        return scores;
+    }
+
+    /**
+     * Size of a tool's JSON representation in bytes
+     */
+    public int payloadSize(McpTool tool) {
+        Integer size = tool.getName() != null ? payloadSizes.get(tool.getName()) : null;
+        return size != null ? size : serializedSize(tool);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void onServiceChanged(String serviceName, List<McpServer> instances) {
+        List<McpTool> tools = instances.isEmpty() || instances.get(0).getTools() == null
+                ? List.of()
+                : instances.get(0).getTools();
+        put(serviceName, tools);
+        log.debug("Indexed {} tools of service '{}'", tools.size(), serviceName);
+    }
+
+    private int serializedSize(McpTool tool) {
+        try {
+            return objectMapper.writeValueAsBytes(tool).length;
+        } catch (JsonProcessingException e) {
+            log.debug("Cannot serialize tool '{}': {}", tool.getName(), e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Weighted tokens of a tool document
+     */
+    static List<String> tokensOf(McpTool tool) {
+        List<String> tokens = new ArrayList<>();
+        List<String> nameTokens = Tokenizer.tokenize(tool.getName());
+        for (int i = 0; i < TOOL_NAME_WEIGHT; i++) {
+            tokens.addAll(nameTokens);
+        }
+        tokens.addAll(Tokenizer.tokenize(tool.getDescription()));
+        if (tool.getInputSchema() != null && tool.getInputSchema().getProperties() != null) {
+            tool.getInputSchema().getProperties().forEach((name, property) -> {
+                tokens.addAll(Tokenizer.tokenize(name));
+                if (property != null) {
+                    tokens.addAll(Tokenizer.tokenize(property.getDescription()));
+                }
+            });
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,138 @@
+package com.nacos.mcp.router.service.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram Index
+ * Index of names by their character trigrams for fuzzy lookup, updated one name
+ * at a time. Lookups may run concurrently with a single updating thread.
+ * Names are normalized first (lower case, letters and digits only), so
+ * {@code getPersonByID_v1}, {@code get_person_by_id_v1} and {@code getPersonById_v1}
+ * are the same name. Similarity is the Dice coefficient of the trigram sets,
+ * {@code 2 * |shared| / (|a| + |b|)}, which is 1.0 for equal normalized names.
+ */
+public class TrigramIndex {
+
+    /**
+     * A candidate name and its similarity to the query, in [0, 1]
+     */
+    public record Match(String name, double score) {
+    }
+
+    private final Map<String, Set<String>> namesByTrigram = new ConcurrentHashMap<>();
+    private final Map<String, Integer> trigramCounts = new ConcurrentHashMap<>();
+
+    public TrigramIndex() {
+    }
+
+    public TrigramIndex(Collection<String> names) {
+        names.forEach(this::add);
+    }
+
+    /**
+     * Add a name; adding a name already indexed has no effect
+     */
+    public void add(String name) {
+        Set<String> trigrams = trigrams(name);
+        if (trigramCounts.putIfAbsent(name, trigrams.size()) != null) {
+            return;
+        }
+        for (String trigram : trigrams) {
+            namesByTrigram.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(name);
+        }
+    }
+
+    /**
+     * Remove a name; removing a name not indexed has no effect
+     */
+    public void remove(String name) {
+        if (!trigramCounts.containsKey(name)) {
+            return;
+        }
+        for (String trigram : trigrams(name)) {
+            namesByTrigram.computeIfPresent(trigram, (t, names) -> {
+                names.remove(name);
+                return names.isEmpty() ? null : names;
+            });
+        }
+        trigramCounts.remove(name);
+    }
+
+    /**
+     * Most similar names
+     *
+     * @param query name to look up
+     * @param limit maximum number of matches
+     * @param minScore minimum similarity
+     * @return matches, most similar first
+     */
+    public List<Match> search(String query, int limit, double minScore) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (String name : namesByTrigram.getOrDefault(trigram, Set.of())) {
+                shared.merge(name, 1, Integer::sum);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        shared.forEach((name, count) -> {
+            Integer nameTrigrams = trigramCounts.get(name);
+            if (nameTrigrams == null) {
+                // removed while this lookup ran
+                return;
+            }
+            double score = 2.0 * count / (queryTrigrams.size() + nameTrigrams);
+            if (score >= minScore) {
+                matches.add(new Match(name, score));
+            }
+        });
+        matches.sort(Comparator.comparingDouble(Match::score).reversed().thenComparing(Match::name));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    public int size() {
+        return trigramCounts.size();
+    }
+
+    /**
+     * Lower-case letters and digits of a name
+     */
+    public static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        name.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+
+    /**
+     * Trigrams of the normalized name padded with boundary markers, so that short
+     * names and the first and last characters still produce trigrams
+     */
+    private static Set<String> trigrams(String name) {
+        String normalized = normalize(name);
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return trigrams;
+        }
+        String padded = "  " + normalized + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
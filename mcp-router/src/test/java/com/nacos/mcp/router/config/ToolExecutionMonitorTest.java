@@ -0,0 +1,73 @@
+package com.nacos.mcp.router.config;
+
+import com.nacos.mcp.router.config.SpringAiConfig.ToolExecutionMonitor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Per-tool execution statistics and their Micrometer export
+ */
+public class ToolExecutionMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ToolExecutionMonitor monitor =
+            new ToolExecutionMonitor(meterRegistry, new McpRouterProperties.ExecutionMetrics());
+
+    @Test
+    void recordsCountsExtremesAndTailPercentiles() {
+        IntStream.rangeClosed(1, 1000).parallel()
+                .forEach(i -> monitor.recordExecution("getWeather", i, i % 10 != 0, i % 100 == 0));
+
+        ToolExecutionMonitor.ToolMetrics metrics = monitor.getMetrics("getWeather");
+
+        assertThat(metrics.getExecutionCount()).isEqualTo(1000);
+        assertThat(metrics.getErrorCount()).isEqualTo(100);
+        assertThat(metrics.getTimeoutCount()).isEqualTo(10);
+        assertThat(metrics.getMinDuration()).isEqualTo(1);
+        assertThat(metrics.getMaxDuration()).isEqualTo(1000);
+        assertThat(metrics.getAverageDuration()).isEqualTo(500);
+        assertThat(metrics.getP50Duration()).isCloseTo(500, within(50.0));
+        assertThat(metrics.getP99Duration()).isCloseTo(990, within(50.0));
+        assertThat(metrics.getP999Duration()).isGreaterThanOrEqualTo(metrics.getP99Duration());
+        assertThat(monitor.getOverallStats()).containsEntry("totalExecutions", 1000L);
+    }
+
+    @Test
+    void exportsTimerAndCountersPerTool() {
+        monitor.recordExecution("getWeather", 20, true);
+        monitor.recordExecution("getWeather", 40, false, true);
+        monitor.recordExecution("searchRepositories", 5, true);
+
+        Timer timer = meterRegistry.get("mcp.router.tool.executions").tag("tool", "getWeather").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.max(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(meterRegistry.get("mcp.router.tool.executions.timeouts").tag("tool", "getWeather")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(monitor.getAllMetrics()).containsOnlyKeys("getWeather", "searchRepositories");
+    }
+
+    @Test
+    void toolsBeyondTheSeriesLimitAreReportedAsOther() {
+        McpRouterProperties.ExecutionMetrics settings = new McpRouterProperties.ExecutionMetrics();
+        settings.setMaxSeries(2);
+        ToolExecutionMonitor limited = new ToolExecutionMonitor(meterRegistry, settings);
+
+        limited.recordExecution("getWeather", 10, true);
+        limited.recordExecution("searchRepositories", 10, true);
+        limited.recordExecution("getWether", 10, false);
+        limited.recordExecution("get_weather", 10, false);
+        limited.recordExecution("getWeather", 10, true);
+
+        assertThat(limited.getAllMetrics()).containsOnlyKeys("getWeather", "searchRepositories", "other");
+        assertThat(limited.getMetrics("other").getExecutionCount()).isEqualTo(2);
+        assertThat(limited.getMetrics("getWeather").getExecutionCount()).isEqualTo(2);
+        assertThat(meterRegistry.find("mcp.router.tool.executions").tag("tool", "getWether").timer()).isNull();
+    }
+}
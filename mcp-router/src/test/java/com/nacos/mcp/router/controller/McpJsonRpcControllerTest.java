@@ -0,0 +1,99 @@
+package com.nacos.mcp.router.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpJsonRpcRequest;
+import com.nacos.mcp.router.model.McpJsonRpcResponse;
+import com.nacos.mcp.router.observability.AccessLog;
+import com.nacos.mcp.router.service.McpPromptService;
+import com.nacos.mcp.router.service.McpResourceService;
+import com.nacos.mcp.router.service.McpServerService;
+import com.nacos.mcp.router.service.execution.InFlightRequestRegistry;
+import com.nacos.mcp.router.service.execution.ToolCallContext;
+import com.nacos.mcp.router.service.execution.ToolCallExecutor;
+import com.nacos.mcp.router.service.execution.ToolCallTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * tools/call over the JSON-RPC endpoint, with the executor mocked
+ */
+class McpJsonRpcControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ToolCallExecutor toolCallExecutor = mock(ToolCallExecutor.class);
+    private AccessLog accessLog;
+    private McpJsonRpcController controller;
+
+    @BeforeEach
+    void setUp() {
+        McpRouterProperties properties = new McpRouterProperties();
+        properties.getAccessLog().setEnabled(false);
+        ObjectMapper objectMapper = new ObjectMapper();
+        accessLog = new AccessLog(properties, objectMapper, meterRegistry);
+        controller = new McpJsonRpcController(mock(McpServerService.class),
+                mock(McpResourceService.class),
+                mock(McpPromptService.class),
+                objectMapper,
+                toolCallExecutor,
+                new InFlightRequestRegistry(meterRegistry),
+                null,
+                null,
+                null,
+                accessLog);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        accessLog.stop();
+    }
+
+    private McpJsonRpcResponse call(String sessionId, String toolName) {
+        McpJsonRpcRequest request = new McpJsonRpcRequest();
+        request.setId(42);
+        request.setMethod("tools/call");
+        request.setParams(Map.of("name", toolName, "arguments", Map.of("city", "Hangzhou")));
+        return controller.handleJsonRpc(request, sessionId, null).block().getBody();
+    }
+
+    @Test
+    void timeoutIsReportedAsMcpTimeoutError() {
+        Map<String, Object> details = Map.of("timeoutMs", 50L);
+        when(toolCallExecutor.execute(any())).thenReturn(Mono.error(
+                new ToolCallTimeoutException("getWeather", 50, details, new TimeoutException())));
+
+        McpJsonRpcResponse response = call("s1", "getWeather");
+
+        assertThat(response.getId()).isEqualTo(42);
+        assertThat(response.getResult()).isNull();
+        assertThat(response.getError().getCode()).isEqualTo(-32005);
+        assertThat(response.getError().getMessage()).contains("getWeather").contains("50ms");
+        assertThat(response.getError().getData()).isEqualTo(details);
+    }
+
+    @Test
+    void callWithoutSessionHeaderHasNoSession() {
+        when(toolCallExecutor.execute(any())).thenReturn(Mono.just("sunny"));
+
+        McpJsonRpcResponse response = call(null, "getWeather");
+
+        ArgumentCaptor<ToolCallContext> context = ArgumentCaptor.forClass(ToolCallContext.class);
+        verify(toolCallExecutor).execute(context.capture());
+        assertThat(context.getValue().getSessionId()).isNull();
+        assertThat(context.getValue().getRequestId()).isEqualTo(42);
+        assertThat(response.getError()).isNull();
+    }
+}
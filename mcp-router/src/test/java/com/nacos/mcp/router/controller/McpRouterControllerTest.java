@@ -1,16 +1,21 @@
 package com.nacos.mcp.router.controller;
 
+import com.nacos.mcp.router.config.McpRouterProperties;
 import com.nacos.mcp.router.model.McpServer;
 import com.nacos.mcp.router.model.McpServerRegistrationRequest;
+import com.nacos.mcp.router.model.RegistryDelta;
 import com.nacos.mcp.router.model.SearchRequest;
 import com.nacos.mcp.router.model.SearchResponse;
+import com.nacos.mcp.router.observability.AccessLog;
 import com.nacos.mcp.router.service.McpServerService;
 import com.nacos.mcp.router.service.McpResourceService;
 import com.nacos.mcp.router.service.McpPromptService;
 import com.nacos.mcp.router.service.SearchService;
+import com.nacos.mcp.router.service.paging.SnapshotPaginator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
@@ -25,9 +30,12 @@ import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(McpRouterController.class)
+@EnableConfigurationProperties(McpRouterProperties.class)
 class McpRouterControllerTest {
 
     @Autowired
@@ -45,6 +53,12 @@ class McpRouterControllerTest {
     @MockBean
     private McpPromptService mcpPromptService;
 
+    @MockBean
+    private SnapshotPaginator snapshotPaginator;
+
+    @MockBean
+    private AccessLog accessLog;
+
     private McpServerRegistrationRequest validRequest;
     private McpServer sampleServer;
 
@@ -155,6 +169,83 @@ class McpRouterControllerTest {
                 .jsonPath("$.error").isEqualTo("Service error");
     }
 
+    @Test
+    void listAllMcpServers_MatchingETag_ReturnsNotModifiedWithoutListing() {
+        when(mcpServerService.getCatalogTag()).thenReturn("18f3a2c4d00-42");
+        when(mcpServerService.listAllMcpServers()).thenReturn(Mono.just(List.of(sampleServer)));
+
+        String etag = webTestClient.get()
+                .uri("/api/mcp/servers")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Cache-Control", "no-cache")
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri("/api/mcp/servers")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", etag);
+        verify(mcpServerService, times(1)).listAllMcpServers();
+
+        when(mcpServerService.getCatalogTag()).thenReturn("18f3a2c4d00-43");
+        webTestClient.get()
+                .uri("/api/mcp/servers")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void getMcpServer_MatchingETagForUnknownServer_ReturnsNotFound() {
+        when(mcpServerService.getCatalogTag()).thenReturn("18f3a2c4d00-42");
+        when(mcpServerService.getMcpServer("mcp-test-server")).thenReturn(Mono.just(sampleServer));
+        when(mcpServerService.getMcpServer("mcp-unknown-server")).thenReturn(Mono.empty());
+
+        String etag = webTestClient.get()
+                .uri("/api/mcp/servers/mcp-test-server")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri("/api/mcp/servers/mcp-test-server")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified();
+        webTestClient.get()
+                .uri("/api/mcp/servers/mcp-unknown-server")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().doesNotExist("ETag");
+    }
+
+    @Test
+    void listMcpServerChanges_SinceVersion_ReturnsDelta() {
+        RegistryDelta delta = RegistryDelta.builder()
+                .sinceVersion(3L)
+                .version(5L)
+                .full(false)
+                .servers(List.of(sampleServer))
+                .removed(List.of("mcp-old-server"))
+                .build();
+        when(mcpServerService.getServerChanges(3L)).thenReturn(Mono.just(delta));
+
+        webTestClient.get()
+                .uri("/api/mcp/servers?sinceVersion=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.version").isEqualTo(5)
+                .jsonPath("$.full").isEqualTo(false)
+                .jsonPath("$.servers[0].name").isEqualTo("mcp-test-server")
+                .jsonPath("$.removed[0]").isEqualTo("mcp-old-server");
+    }
+
     @Test
     void unregisterMcpServer_ValidServerId_ReturnsSuccess() {
         when(mcpServerService.unregisterMcpServer(anyString())).thenReturn(Mono.just(true));
@@ -0,0 +1,79 @@
+package com.nacos.mcp.router.observability;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sampling, truncation and asynchronous writing of access log entries
+ */
+public class AccessLogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private AccessLog accessLog;
+
+    private AccessLog create() {
+        accessLog = new AccessLog(properties, objectMapper, new SimpleMeterRegistry(), lines::add);
+        return accessLog;
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (accessLog != null) {
+            accessLog.stop();
+        }
+    }
+
+    @Test
+    void writesTimedEntriesAsJsonLines() throws Exception {
+        create().start("jsonrpc")
+                .field("method", "tools/call")
+                .field("id", 7)
+                .field("session", null)
+                .field("params", Map.of("name", "getWeather"))
+                .submit();
+
+        JsonNode line = objectMapper.readTree(lines.poll(5, TimeUnit.SECONDS));
+        assertThat(line.get("event").asText()).isEqualTo("jsonrpc");
+        assertThat(line.get("method").asText()).isEqualTo("tools/call");
+        assertThat(line.get("id").asInt()).isEqualTo(7);
+        assertThat(line.has("session")).isFalse();
+        assertThat(line.get("params").asText()).isEqualTo("{\"name\":\"getWeather\"}");
+        assertThat(line.get("durationMs").asDouble()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    void truncatesLongValues() throws Exception {
+        properties.getAccessLog().setMaxValueLength(16);
+        create().log("api.tools.use", "params", "x".repeat(100));
+
+        JsonNode line = objectMapper.readTree(lines.poll(5, TimeUnit.SECONDS));
+        assertThat(line.get("params").asText()).isEqualTo("x".repeat(16) + "...[100 chars]");
+        assertThat(line.has("durationMs")).isFalse();
+    }
+
+    @Test
+    void skipsUnsampledAndDisabledCalls() throws Exception {
+        properties.getAccessLog().setSampleRatio(0);
+        assertThat(create().start("jsonrpc")).isSameAs(AccessLog.Entry.NOOP);
+        accessLog.log("api.search", "request", "weather");
+
+        properties.getAccessLog().setSampleRatio(1.0);
+        properties.getAccessLog().setEnabled(false);
+        accessLog.log("api.search", "request", "weather");
+
+        assertThat(lines.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+}
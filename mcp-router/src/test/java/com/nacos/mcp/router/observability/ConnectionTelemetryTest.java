@@ -0,0 +1,66 @@
+package com.nacos.mcp.router.observability;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Per-connection SSE statistics and their aggregates
+ */
+public class ConnectionTelemetryTest {
+
+    private final ConnectionTelemetry telemetry = new ConnectionTelemetry();
+
+    @Test
+    void tracksQueueDepthBytesAndInFlightRequests() {
+        telemetry.open("client-a");
+        ServerSentEvent<String> event = ServerSentEvent.<String>builder().event("mcp-response").data("{\"é\":1}").build();
+
+        telemetry.onEnqueued("client-a");
+        telemetry.onEnqueued("client-a");
+        telemetry.onDequeued("client-a");
+        telemetry.onSent("client-a", event);
+        telemetry.onRequest("client-a");
+        telemetry.onRequest("client-a");
+        telemetry.onRequestDone("client-a", System.nanoTime() - 5_000_000, true);
+
+        ConnectionTelemetry.ConnectionSnapshot snapshot =
+                telemetry.list(ConnectionTelemetry.SortKey.AGE, true, 10).get(0);
+        assertThat(snapshot.queueDepth()).isEqualTo(1);
+        assertThat(snapshot.eventsSent()).isEqualTo(1);
+        // "event:mcp-response\n" + "data:{\"é\":1}\n" + "\n", with é taking two bytes
+        assertThat(snapshot.bytesSent()).isEqualTo(19 + 14 + 1);
+        assertThat(snapshot.inFlightRequests()).isEqualTo(1);
+        assertThat(snapshot.responsesSent()).isEqualTo(1);
+        assertThat(snapshot.averageResponseLatencyMs()).isGreaterThanOrEqualTo(5.0);
+    }
+
+    @Test
+    void sortsLimitsAndAggregates() {
+        telemetry.open("quiet");
+        telemetry.open("busy");
+        telemetry.open("medium");
+        ServerSentEvent<String> event = ServerSentEvent.<String>builder().data("x").build();
+        for (int i = 0; i < 3; i++) {
+            telemetry.onSent("busy", event);
+        }
+        telemetry.onSent("medium", event);
+
+        List<ConnectionTelemetry.ConnectionSnapshot> top =
+                telemetry.list(ConnectionTelemetry.SortKey.parse("eventsSent"), true, 2);
+        assertThat(top).extracting(ConnectionTelemetry.ConnectionSnapshot::connectionId).containsExactly("busy", "medium");
+
+        Map<String, Object> aggregate = telemetry.aggregate();
+        assertThat(aggregate).containsEntry("connections", 3).containsEntry("eventsSent", 4L);
+        assertThat((Map<String, Long>) aggregate.get("connectionAgeHistogram")).containsEntry("<=1m", 3L);
+
+        telemetry.close("busy");
+        assertThat(telemetry.getConnectionCount()).isEqualTo(2);
+        assertThatThrownBy(() -> ConnectionTelemetry.SortKey.parse("size")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
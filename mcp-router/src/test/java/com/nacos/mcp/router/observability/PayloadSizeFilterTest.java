@@ -0,0 +1,103 @@
+package com.nacos.mcp.router.observability;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpJsonRpcRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wire-level size accounting of request and response bodies
+ */
+public class PayloadSizeFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PayloadSizeFilter filter =
+            new PayloadSizeFilter(meterRegistry, new McpRouterProperties.ExecutionMetrics(), 2);
+
+    @Test
+    void countsMultiByteBodiesInBytesPerTool() {
+        // 4 bytes per character in UTF-8, so a character count would be off by 4x
+        String body = "😀".repeat(25);
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/mcp/jsonrpc").body(body));
+
+        filter.filter(exchange, handler("getWeather", 300)).block();
+
+        assertThat(summary(PayloadSizeFilter.REQUEST_SIZE, "getWeather").totalAmount()).isEqualTo(100);
+        assertThat(summary(PayloadSizeFilter.RESPONSE_SIZE, "getWeather").totalAmount()).isEqualTo(300);
+    }
+
+    @Test
+    void foldsToolNamesBeyondTheSeriesLimit() {
+        for (String tool : new String[]{"a", "b", "c", "d"}) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                    MockServerHttpRequest.post("/mcp/jsonrpc").body("{}"));
+            filter.filter(exchange, handler(tool, 10)).block();
+        }
+
+        assertThat(meterRegistry.find(PayloadSizeFilter.REQUEST_SIZE).summaries()).hasSize(3);
+        assertThat(summary(PayloadSizeFilter.REQUEST_SIZE, "other").count()).isEqualTo(2);
+    }
+
+    @Test
+    void streamedCallCountsTheSentResponseInsteadOfTheAck() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/mcp/jsonrpc/message").body("{}"));
+        WebFilterChain ack = posted -> DataBufferUtils.join(posted.getRequest().getBody())
+                .doOnNext(DataBufferUtils::release)
+                .then(Mono.defer(() -> {
+                    PayloadSizeFilter.tagStreamedRpcCall(posted, McpJsonRpcRequest.builder()
+                            .method("tools/call")
+                            .params(Map.of("name", "getWeather"))
+                            .build());
+                    // the response goes out on the SSE stream, the POST only acknowledges it
+                    filter.recordStreamedResponse(posted, 4096);
+                    return posted.getResponse().writeWith(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(
+                            "{\"status\":\"received\"}".getBytes(StandardCharsets.UTF_8))));
+                }));
+
+        filter.filter(exchange, ack).block();
+
+        assertThat(summary(PayloadSizeFilter.REQUEST_SIZE, "getWeather").totalAmount()).isEqualTo(2);
+        DistributionSummary response = summary(PayloadSizeFilter.RESPONSE_SIZE, "getWeather");
+        assertThat(response.count()).isEqualTo(1);
+        assertThat(response.totalAmount()).isEqualTo(4096);
+    }
+
+    private DistributionSummary summary(String name, String tool) {
+        return meterRegistry.get(name).tag("rpc.method", "tools/call").tag("tool", tool).summary();
+    }
+
+    /**
+     * A handler that reads the whole body, tags the call and writes a response of the given size
+     */
+    private WebFilterChain handler(String tool, int responseBytes) {
+        return exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(DataBufferUtils::release)
+                .then(Mono.defer(() -> {
+                    PayloadSizeFilter.tagRpcCall(exchange, McpJsonRpcRequest.builder()
+                            .method("tools/call")
+                            .params(Map.of("name", tool))
+                            .build());
+                    DataBuffer half = DefaultDataBufferFactory.sharedInstance.wrap(
+                            "x".repeat(responseBytes / 2).getBytes(StandardCharsets.UTF_8));
+                    DataBuffer rest = DefaultDataBufferFactory.sharedInstance.wrap(
+                            "y".repeat(responseBytes - responseBytes / 2).getBytes(StandardCharsets.UTF_8));
+                    return exchange.getResponse().writeWith(Flux.just(half, rest));
+                }));
+    }
+}
@@ -0,0 +1,98 @@
+package com.nacos.mcp.router.observability;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * traceparent continuation, sampling and span collection
+ */
+public class RouterTracerTest {
+
+    private static final String SAMPLED = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+    private static final String UNSAMPLED = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00";
+
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final SpanCollector collector;
+    private final RouterTracer tracer;
+
+    RouterTracerTest() {
+        properties.getTracing().setEnabled(true);
+        properties.getTracing().setMaxSpans(4);
+        collector = new SpanCollector(properties);
+        tracer = new RouterTracer(properties, collector);
+    }
+
+    @Test
+    void parsesOnlyWellFormedTraceparents() {
+        TraceContext context = TraceContext.parse(SAMPLED);
+        assertThat(context.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(context.getSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(context.isSampled()).isTrue();
+        assertThat(context.toTraceparent()).isEqualTo(SAMPLED);
+
+        assertThat(TraceContext.parse(null)).isNull();
+        assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull();
+    }
+
+    @Test
+    void continuesSampledTraceWithChildSpans() {
+        Span server = tracer.startServerSpan("HTTP POST", SAMPLED);
+        Span call = Mono.deferContextual(context -> Mono.just(tracer.startSpan("tools/call", context)))
+                .contextWrite(context -> RouterTracer.with(context, server))
+                .block();
+        Span downstream = tracer.startSpan("downstream", call);
+        downstream.end();
+        call.end();
+        server.end();
+
+        Map<String, Span.SpanData> spans = collector.getTrace("4bf92f3577b34da6a3ce929d0e0e4736").stream()
+                .collect(Collectors.toMap(Span.SpanData::name, span -> span));
+        assertThat(spans).containsOnlyKeys("HTTP POST", "tools/call", "downstream");
+        assertThat(spans.get("HTTP POST").parentSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(spans.get("tools/call").parentSpanId()).isEqualTo(spans.get("HTTP POST").spanId());
+        assertThat(spans.get("downstream").parentSpanId()).isEqualTo(spans.get("tools/call").spanId());
+        assertThat(TraceContext.parse(downstream.traceparent()).getSpanId()).isEqualTo(spans.get("downstream").spanId());
+    }
+
+    @Test
+    void propagatesUnsampledContextWithoutRecording() {
+        Span server = tracer.startServerSpan("HTTP POST", UNSAMPLED);
+        Span child = tracer.startSpan("downstream", server);
+        child.end();
+
+        assertThat(child).isSameAs(server);
+        assertThat(child.traceparent()).isEqualTo(UNSAMPLED);
+        assertThat(collector.getSpanCount()).isZero();
+    }
+
+    @Test
+    void createsNothingWhenDisabledOrNotSampled() {
+        properties.getTracing().setSampleRatio(0);
+        assertThat(tracer.startServerSpan("HTTP POST", null)).isSameAs(Span.NOOP);
+        assertThat(tracer.startSpan("tools/call", Context.empty())).isSameAs(Span.NOOP);
+
+        properties.getTracing().setEnabled(false);
+        assertThat(tracer.startServerSpan("HTTP POST", SAMPLED)).isSameAs(Span.NOOP);
+        assertThat(Span.NOOP.traceparent()).isNull();
+    }
+
+    @Test
+    void collectorKeepsTheNewestSpans() {
+        for (int i = 0; i < 6; i++) {
+            tracer.startServerSpan("span-" + i, null).end();
+        }
+
+        assertThat(collector.getSpanCount()).isEqualTo(6);
+        assertThat(collector.getRecent(10)).extracting(Span.SpanData::name)
+                .containsExactly("span-5", "span-4", "span-3", "span-2");
+    }
+}
@@ -0,0 +1,82 @@
+package com.nacos.mcp.router.observability;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Rolling windows, their percentiles and the SLO burn rate
+ */
+public class SloMonitorTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final SloMonitor monitor = new SloMonitor(properties, now::get);
+
+    @Test
+    void windowsForgetOldCalls() {
+        RollingWindow window = new RollingWindow(now::get);
+        IntStream.rangeClosed(1, 100).parallel().forEach(i -> window.record(i, i % 10 == 0, false));
+
+        now.addAndGet(120_000);
+        window.record(50, false, false);
+
+        RollingWindow.Stats oneMinute = window.snapshot(60_000);
+        assertThat(oneMinute.calls()).isEqualTo(1);
+        assertThat(oneMinute.failures()).isZero();
+
+        RollingWindow.Stats fiveMinutes = window.snapshot(300_000);
+        assertThat(fiveMinutes.calls()).isEqualTo(101);
+        assertThat(fiveMinutes.failures()).isEqualTo(10);
+        assertThat(fiveMinutes.p50Millis()).isCloseTo(50, within(50 * 0.25));
+        assertThat(fiveMinutes.p99Millis()).isCloseTo(99, within(99 * 0.25));
+
+        now.addAndGet(RollingWindow.MAX_WINDOW_MILLIS);
+        assertThat(window.snapshot(RollingWindow.MAX_WINDOW_MILLIS).calls()).isZero();
+        assertThat(window.isIdle()).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportsBurnRatePerToolAndInstance() {
+        properties.getSlo().setObjective(0.9);
+        properties.getSlo().setLatencyThreshold(100);
+        for (int i = 0; i < 80; i++) {
+            monitor.recordTool("getWeather", 10, true);
+        }
+        for (int i = 0; i < 10; i++) {
+            monitor.recordTool("getWeather", 500, true);
+            monitor.recordTool("getWeather", 10, false);
+        }
+        monitor.recordInstance("mcp-server-v2@10.0.0.5:8062", 10, true);
+
+        Map<String, Object> oneMinute = (Map<String, Object>) monitor.getToolReport("getWeather").get("1m");
+        assertThat(oneMinute).containsEntry("calls", 100L)
+                .containsEntry("errorRate", 0.1)
+                .containsEntry("slowCalls", 10L)
+                .containsEntry("badRatio", 0.2)
+                .containsEntry("burnRate", 2.0);
+
+        Map<String, Object> report = monitor.getReport();
+        assertThat((Map<String, Object>) report.get("instances")).containsOnlyKeys("mcp-server-v2@10.0.0.5:8062");
+        assertThat(monitor.getToolReport("unknown")).isNull();
+    }
+
+    @Test
+    void foldsToolsBeyondTheSeriesLimit() {
+        properties.getSlo().setMaxSeries(2);
+        monitor.recordTool("a", 1, true);
+        monitor.recordTool("b", 1, true);
+        monitor.recordTool("c", 1, true);
+        monitor.recordTool("d", 1, true);
+
+        assertThat(monitor.getToolReport("c")).isNull();
+        assertThat(monitor.getToolReport("other")).isNotNull();
+    }
+}
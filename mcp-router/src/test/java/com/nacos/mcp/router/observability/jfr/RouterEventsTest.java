@@ -0,0 +1,51 @@
+package com.nacos.mcp.router.observability.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The router's flight recorder events are off unless a recording enables them
+ */
+public class RouterEventsTest {
+
+    @Test
+    void createsNoEventsWithoutARecording() {
+        assertThat(ToolDispatchEvent.begin("getWeather", "weather-server", "session-1")).isNull();
+        assertThat(SearchQueryEvent.begin("weather", "keyword")).isNull();
+        // committing the absent event is a no-op
+        ToolDispatchEvent.commit(null, 10, "success");
+    }
+
+    @Test
+    void recordsToolDispatchWhenEnabled(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("router.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ToolDispatchEvent.class).withThreshold(java.time.Duration.ZERO);
+            recording.start();
+
+            ToolDispatchEvent event = ToolDispatchEvent.begin("getWeather", "weather-server", "session-1");
+            assertThat(ToolDispatchEvent.isRecorded(event)).isTrue();
+            ToolDispatchEvent.commit(event, 42, "success");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.nacos.mcp.router.ToolDispatch"))
+                .toList();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("tool")).isEqualTo("getWeather");
+        assertThat(events.get(0).getString("server")).isEqualTo("weather-server");
+        assertThat(events.get(0).getLong("argumentsSize")).isEqualTo(42);
+        assertThat(events.get(0).getString("outcome")).isEqualTo("success");
+    }
+}
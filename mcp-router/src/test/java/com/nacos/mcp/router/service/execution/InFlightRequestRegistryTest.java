@@ -0,0 +1,111 @@
+package com.nacos.mcp.router.service.execution;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InFlightRequestRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InFlightRequestRegistry registry = new InFlightRequestRegistry(meterRegistry);
+
+    private static ToolCallContext call(String sessionId, Object requestId) {
+        return ToolCallContext.builder()
+                .sessionId(sessionId)
+                .requestId(requestId)
+                .toolName("getWeather")
+                .build();
+    }
+
+    private static AtomicBoolean cancellationOf(InFlightRequestRegistry.InFlightRequest request) {
+        AtomicBoolean signalled = new AtomicBoolean();
+        request.cancellation().subscribe(null, null, () -> signalled.set(true));
+        return signalled;
+    }
+
+    @Test
+    void cancelByIdSignalsAndUnregistersTheCall() {
+        InFlightRequestRegistry.InFlightRequest request = registry.register(call("s1", 7));
+        AtomicBoolean signalled = cancellationOf(request);
+
+        assertThat(registry.getInFlightCount()).isEqualTo(1);
+        assertThat(registry.cancel("s1", 7, "user pressed stop")).isTrue();
+
+        assertThat(signalled.get()).isTrue();
+        assertThat(request.isCancelled()).isTrue();
+        assertThat(registry.getInFlightCount()).isZero();
+        assertThat(meterRegistry.get("mcp.router.tool.calls.cancelled")
+                .tag("reason", InFlightRequestRegistry.REASON_CLIENT_CANCELLED).counter().count()).isEqualTo(1);
+        // a second cancellation finds nothing
+        assertThat(registry.cancel("s1", 7, "again")).isFalse();
+    }
+
+    @Test
+    void cancelIsScopedToTheSession() {
+        InFlightRequestRegistry.InFlightRequest request = registry.register(call("s1", 7));
+
+        assertThat(registry.cancel("s2", 7, "not yours")).isFalse();
+        assertThat(request.isCancelled()).isFalse();
+    }
+
+    @Test
+    void completedCallCannotBeCancelled() {
+        InFlightRequestRegistry.InFlightRequest request = registry.register(call("s1", 7));
+        AtomicBoolean signalled = cancellationOf(request);
+
+        registry.complete(request);
+
+        assertThat(registry.getInFlightCount()).isZero();
+        assertThat(registry.cancel("s1", 7, "too late")).isFalse();
+        assertThat(registry.cancel(request, InFlightRequestRegistry.REASON_CLIENT_DISCONNECTED)).isFalse();
+        assertThat(signalled.get()).isFalse();
+    }
+
+    @Test
+    void duplicateIdReplacesTheEarlierCall() {
+        InFlightRequestRegistry.InFlightRequest first = registry.register(call("s1", 7));
+        InFlightRequestRegistry.InFlightRequest second = registry.register(call("s1", 7));
+
+        assertThat(registry.getInFlightCount()).isEqualTo(1);
+        assertThat(registry.cancel("s1", 7, "stop")).isTrue();
+        assertThat(second.isCancelled()).isTrue();
+        assertThat(first.isCancelled()).isFalse();
+
+        // completing the replaced call must not remove a newer registration
+        InFlightRequestRegistry.InFlightRequest third = registry.register(call("s1", 7));
+        registry.complete(first);
+        assertThat(registry.getInFlightCount()).isEqualTo(1);
+        assertThat(registry.cancel("s1", 7, "stop")).isTrue();
+        assertThat(third.isCancelled()).isTrue();
+    }
+
+    @Test
+    void callsWithoutSessionAreNotCancellableById() {
+        InFlightRequestRegistry.InFlightRequest request = registry.register(call(null, 7));
+
+        assertThat(registry.getInFlightCount()).isZero();
+        assertThat(registry.cancel(null, 7, "stop")).isFalse();
+        assertThat(request.isCancelled()).isFalse();
+
+        // a disconnect still cancels it through its handle
+        assertThat(registry.cancel(request, InFlightRequestRegistry.REASON_CLIENT_DISCONNECTED)).isTrue();
+        assertThat(request.isCancelled()).isTrue();
+    }
+
+    @Test
+    void cancelSessionCancelsOnlyThatSession() {
+        InFlightRequestRegistry.InFlightRequest a = registry.register(call("s1", 1));
+        InFlightRequestRegistry.InFlightRequest b = registry.register(call("s1", 2));
+        InFlightRequestRegistry.InFlightRequest other = registry.register(call("s2", 1));
+
+        assertThat(registry.cancelSession("s1")).isEqualTo(2);
+
+        assertThat(a.isCancelled()).isTrue();
+        assertThat(b.isCancelled()).isTrue();
+        assertThat(other.isCancelled()).isFalse();
+        assertThat(registry.getInFlightCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ToolCallCoalescerTest {
+
+    private ToolCallCoalescer coalescer;
+    private Sinks.One<Object> downstream;
+    private AtomicInteger subscriptions;
+    private AtomicBoolean downstreamCancelled;
+    private AtomicReference<LongSupplier> groupDeadline;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ToolCallCoalescer(new McpRouterProperties(), new McpServerRegistry(), new SimpleMeterRegistry());
+        downstream = Sinks.one();
+        subscriptions = new AtomicInteger();
+        downstreamCancelled = new AtomicBoolean();
+        groupDeadline = new AtomicReference<>();
+    }
+
+    private Mono<Object> call() {
+        return call(1000);
+    }
+
+    private Mono<Object> call(long deadline) {
+        return coalescer.execute("getPersonsByNationality_v1#abc", deadline,
+                groupDeadline -> downstream.asMono()
+                        .doOnSubscribe(s -> this.groupDeadline.set(groupDeadline))
+                        .doOnSubscribe(s -> subscriptions.incrementAndGet())
+                        .doOnCancel(() -> downstreamCancelled.set(true)));
+    }
+
+    private long abandoned() {
+        return (long) coalescer.getStats().get("abandoned");
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() {
+        AtomicReference<Object> first = new AtomicReference<>();
+        AtomicReference<Object> second = new AtomicReference<>();
+
+        call().subscribe(first::set);
+        call().subscribe(second::set);
+        downstream.tryEmitValue("result");
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(first.get()).isEqualTo("result");
+        assertThat(second.get()).isEqualTo("result");
+        assertThat(abandoned()).isZero();
+    }
+
+    @Test
+    void cancellingOneWaiterKeepsExecutionForOthers() {
+        AtomicReference<Object> remaining = new AtomicReference<>();
+
+        Disposable cancelled = call().subscribe();
+        call().subscribe(remaining::set);
+        cancelled.dispose();
+        downstream.tryEmitValue("result");
+
+        assertThat(downstreamCancelled.get()).isFalse();
+        assertThat(abandoned()).isZero();
+        assertThat(remaining.get()).isEqualTo("result");
+    }
+
+    @Test
+    void lastWaiterLeavingAbandonsExecution() {
+
+        Disposable first = call().subscribe();
+        Disposable second = call().subscribe();
+        first.dispose();
+        second.dispose();
+
+        assertThat(downstreamCancelled.get()).isTrue();
+        assertThat(abandoned()).isEqualTo(1);
+
+        // a new call after abandonment starts a fresh execution
+        call().subscribe();
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void groupRunsUntilTheLatestDeadlineOfItsWaiters() {
+        call(1000).subscribe();
+        call(5000).subscribe();
+        call(3000).subscribe();
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(groupDeadline.get().getAsLong()).isEqualTo(5000);
+    }
+
+    @Test
+    void finishedExecutionIsNotReused() {
+        call().subscribe();
+        downstream.tryEmitValue("result");
+
+        call().subscribe();
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,174 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.config.SpringAiConfig.McpErrorHandler;
+import com.nacos.mcp.router.config.SpringAiConfig.ToolExecutionMonitor;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.observability.RouterTracer;
+import com.nacos.mcp.router.observability.SloMonitor;
+import com.nacos.mcp.router.observability.SpanCollector;
+import com.nacos.mcp.router.service.McpServerService;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ToolCallExecutorTest {
+
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final McpServerService mcpServerService = mock(McpServerService.class);
+    private final McpServerRegistry registry = new McpServerRegistry(properties);
+    private InFlightRequestRegistry inFlightRequests;
+    private ToolExecutionMonitor monitor;
+    private ToolCallExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        properties.getTools().setMaxExecutionTime(60000);
+        properties.getTools().getTimeouts().put("getWeather", 1000L);
+        properties.getTools().getServerTimeouts().put("weather-server", 2000L);
+        registry.update("weather-server", List.of(McpServer.builder()
+                .name("weather-server")
+                .endpoint("http://10.0.0.1:8080")
+                .tools(List.of(
+                        McpTool.builder().name("getWeather").build(),
+                        McpTool.builder().name("getForecast").build()))
+                .build()));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        inFlightRequests = new InFlightRequestRegistry(meterRegistry);
+        monitor = new ToolExecutionMonitor(meterRegistry, properties.getTools().getMetrics());
+        executor = new ToolCallExecutor(mcpServerService,
+                registry,
+                inFlightRequests,
+                properties,
+                monitor,
+                new McpErrorHandler(),
+                new ToolResultCache(properties, registry, objectMapper, meterRegistry),
+                new ToolCallKeys(objectMapper),
+                new ToolCallCoalescer(properties, registry, meterRegistry),
+                new ToolCallScheduler(properties, meterRegistry),
+                new RouterTracer(properties, new SpanCollector(properties)),
+                new SloMonitor(properties));
+    }
+
+    private static ToolCallContext.ToolCallContextBuilder call(String toolName) {
+        return ToolCallContext.builder()
+                .sessionId("s1")
+                .requestId(1)
+                .toolName(toolName)
+                .arguments(Map.of("city", "Hangzhou"));
+    }
+
+    private long timeoutOf(ToolCallContext context) {
+        return executor.resolveTimeout(executor.route(context));
+    }
+
+    @Test
+    void budgetComesFromToolThenServerThenDefault() {
+        assertThat(timeoutOf(call("getWeather").build())).isEqualTo(1000);
+        // no budget for the tool, its server is found through the registry
+        assertThat(timeoutOf(call("getForecast").build())).isEqualTo(2000);
+        assertThat(timeoutOf(call("getForecast").serverName("other-server").build())).isEqualTo(60000);
+        assertThat(timeoutOf(call("unknownTool").build())).isEqualTo(60000);
+    }
+
+    @Test
+    void clientHintShortensButNeverExtendsTheBudget() {
+        assertThat(timeoutOf(call("getWeather").meta(Map.of(ToolCallMeta.TIMEOUT_MS, 300)).build())).isEqualTo(300);
+        assertThat(timeoutOf(call("getForecast").meta(Map.of(ToolCallMeta.TIMEOUT_MS, "500")).build())).isEqualTo(500);
+        assertThat(timeoutOf(call("getWeather").meta(Map.of(ToolCallMeta.TIMEOUT_MS, 120000)).build())).isEqualTo(1000);
+        // not a positive number, ignored
+        assertThat(timeoutOf(call("getWeather").meta(Map.of(ToolCallMeta.TIMEOUT_MS, -5)).build())).isEqualTo(1000);
+    }
+
+    @Test
+    void callsWithoutASessionAreScheduledPerClientAddress() {
+        assertThat(ToolCallExecutor.flowOf(call("getWeather").clientAddress("10.0.0.7").build())).isEqualTo("s1");
+        assertThat(ToolCallExecutor.flowOf(call("getWeather").sessionId(null).clientAddress("10.0.0.7").build()))
+                .isNotEqualTo(ToolCallExecutor.flowOf(call("getWeather").sessionId(null).clientAddress("10.0.0.8").build()));
+        assertThat(ToolCallExecutor.flowOf(call("getWeather").sessionId(null).build())).isNull();
+    }
+
+    @Test
+    void callByToolNameIsDispatchedToTheServerItsBudgetCameFrom() {
+        properties.getTools().getServerTimeouts().put("weather-server", 50L);
+        when(mcpServerService.useTool(eq("weather-server"), eq("getForecast"), any(), anyMap()))
+                .thenReturn(Mono.never());
+
+        assertThatThrownBy(() -> executor.execute(call("getForecast").build()).block())
+                .isInstanceOfSatisfying(ToolCallTimeoutException.class, timeout -> {
+                    assertThat(timeout.getToolName()).isEqualTo("getForecast");
+                    assertThat(timeout.getTimeoutMillis()).isEqualTo(50);
+                    assertThat(timeout.getDetails()).isNotEmpty();
+                });
+        verify(mcpServerService).useTool(eq("weather-server"), eq("getForecast"), any(), anyMap());
+        assertThat(inFlightRequests.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void cancelledCallCompletesEmptyAndDisposesDownstream() {
+        Sinks.One<Object> downstream = Sinks.one();
+        AtomicBoolean downstreamCancelled = new AtomicBoolean();
+        when(mcpServerService.useTool(eq("weather-server"), eq("getWeather"), any(), anyMap()))
+                .thenReturn(downstream.asMono().doOnCancel(() -> downstreamCancelled.set(true)));
+
+        AtomicReference<Object> value = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        executor.execute(call("getWeather").build())
+                .subscribe(value::set, error::set, () -> completed.set(true));
+
+        assertThat(inFlightRequests.cancel("s1", 1, "user pressed stop")).isTrue();
+
+        assertThat(completed.get()).isTrue();
+        assertThat(value.get()).isNull();
+        assertThat(error.get()).isNull();
+        assertThat(downstreamCancelled.get()).isTrue();
+        assertThat(inFlightRequests.getInFlightCount()).isZero();
+
+        // a result arriving after the cancellation goes nowhere
+        downstream.tryEmitValue("sunny");
+        assertThat(value.get()).isNull();
+    }
+
+    @Test
+    void unknownToolIsNotRecorded() {
+        when(mcpServerService.useTool(eq("getWether"), anyMap(), anyMap()))
+                .thenReturn(Mono.error(new ToolNotFoundException("getWether", List.of())));
+
+        assertThatThrownBy(() -> executor.execute(call("getWether").build()).block())
+                .isInstanceOf(ToolNotFoundException.class);
+
+        assertThat(meterRegistry.find("mcp.router.tool.executions").tag("tool", "getWether").timer()).isNull();
+        assertThat(monitor.getOverallStats()).containsEntry("totalExecutions", 0L);
+    }
+
+    @Test
+    void completedCallIsNoLongerCancellable() {
+        when(mcpServerService.useTool(eq("weather-server"), eq("getWeather"), any(), anyMap()))
+                .thenReturn(Mono.just("sunny"));
+
+        assertThat(executor.execute(call("getWeather").build()).block()).isEqualTo("sunny");
+        assertThat(inFlightRequests.cancel("s1", 1, "too late")).isFalse();
+    }
+}
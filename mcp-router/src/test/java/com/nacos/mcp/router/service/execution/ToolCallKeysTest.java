@@ -0,0 +1,57 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ToolCallKeysTest {
+
+    private final ToolCallKeys keys = new ToolCallKeys(new ObjectMapper());
+
+    private static Map<String, Object> ordered(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    @Test
+    void keyIsToolNameAndArgumentHash() {
+        assertThat(keys.keyOf("getWeather", Map.of("city", "Hangzhou"))).matches("getWeather#[0-9a-f]{64}");
+    }
+
+    @Test
+    void keyIgnoresMapOrderAtEveryLevel() {
+        Map<String, Object> first = ordered("city", "Hangzhou", "options", ordered("units", "metric", "days", 3));
+        Map<String, Object> second = ordered("options", ordered("days", 3, "units", "metric"), "city", "Hangzhou");
+
+        assertThat(keys.keyOf("getWeather", first)).isEqualTo(keys.keyOf("getWeather", second));
+    }
+
+    @Test
+    void keyDistinguishesToolsValuesAndListOrder() {
+        String key = keys.keyOf("getWeather", Map.of("city", "Hangzhou"));
+
+        assertThat(keys.keyOf("getForecast", Map.of("city", "Hangzhou"))).isNotEqualTo(key);
+        assertThat(keys.keyOf("getWeather", Map.of("city", "Beijing"))).isNotEqualTo(key);
+        assertThat(keys.keyOf("getWeather", Map.of("city", List.of("a", "b"))))
+                .isNotEqualTo(keys.keyOf("getWeather", Map.of("city", List.of("b", "a"))));
+    }
+
+    @Test
+    void missingArgumentsAreTheEmptyObject() {
+        assertThat(keys.keyOf("getWeather", null)).isEqualTo(keys.keyOf("getWeather", Map.of()));
+        assertThat(keys.sizeOf(null)).isEqualTo(2);
+    }
+
+    @Test
+    void sizeIsTheCanonicalJsonLength() {
+        assertThat(keys.sizeOf(ordered("b", 1, "a", "x"))).isEqualTo("{\"a\":\"x\",\"b\":1}".length());
+    }
+}
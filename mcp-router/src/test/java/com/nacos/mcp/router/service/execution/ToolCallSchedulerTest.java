@@ -0,0 +1,93 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ToolCallSchedulerTest {
+
+    private ToolCallScheduler scheduler;
+    private List<String> dispatched;
+    private Map<String, Sinks.One<Object>> results;
+
+    @BeforeEach
+    void setUp() {
+        McpRouterProperties properties = new McpRouterProperties();
+        properties.getTools().getScheduling().setMaxConcurrent(1);
+        scheduler = new ToolCallScheduler(properties, new SimpleMeterRegistry());
+        dispatched = new ArrayList<>();
+        results = new HashMap<>();
+    }
+
+    private void submit(String client, Long priority, String label) {
+        Sinks.One<Object> result = Sinks.one();
+        results.put(label, result);
+        scheduler.schedule(client, priority, () -> {
+            dispatched.add(label);
+            return result.asMono();
+        }).subscribe();
+    }
+
+    /**
+     * Complete the call holding the only slot, letting the scheduler pick the next one
+     */
+    private void completeRunning() {
+        results.get(dispatched.get(dispatched.size() - 1)).tryEmitValue("done");
+    }
+
+    @Test
+    void burstFromOneClientDoesNotStarveAnother() {
+        submit("blocker", null, "blocker");
+        for (int i = 0; i < 3; i++) {
+            submit("a", null, "a" + i);
+        }
+        submit("b", null, "b0");
+
+        completeRunning();
+        completeRunning();
+
+        assertThat(dispatched).containsExactly("blocker", "a0", "b0");
+    }
+
+    @Test
+    void higherPriorityGetsLargerShare() {
+        submit("blocker", null, "blocker");
+        for (int i = 0; i < 4; i++) {
+            submit("low", 1L, "low" + i);
+            submit("high", 4L, "high" + i);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            completeRunning();
+        }
+
+        long high = dispatched.subList(1, 6).stream().filter(label -> label.startsWith("high")).count();
+        assertThat(high).isEqualTo(4);
+    }
+
+    @Test
+    void cancelledWhileQueuedNeverRuns() {
+        submit("blocker", null, "blocker");
+        Disposable waiting = scheduler.schedule("a", null, () -> {
+            dispatched.add("cancelled");
+            return Mono.never();
+        }).subscribe();
+        waiting.dispose();
+        assertThat(scheduler.getQueuedCount()).isZero();
+
+        completeRunning();
+        assertThat(dispatched).containsExactly("blocker");
+        assertThat(scheduler.getRunningCount()).isZero();
+    }
+}
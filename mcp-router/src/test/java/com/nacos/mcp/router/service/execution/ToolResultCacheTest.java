@@ -0,0 +1,88 @@
+package com.nacos.mcp.router.service.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ToolResultCacheTest {
+
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final McpServerRegistry registry = new McpServerRegistry(properties);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        properties.getTools().getCaching().setEnabled(true);
+        registry.update("weather-server", List.of(McpServer.builder()
+                .name("weather-server")
+                .endpoint("http://10.0.0.1:8080")
+                .tools(List.of(
+                        McpTool.builder()
+                                .name("getWeather")
+                                .annotations(McpTool.ToolAnnotations.builder().readOnlyHint(true).build())
+                                .build(),
+                        McpTool.builder().name("setAlarm").build()))
+                .build()));
+    }
+
+    private ToolResultCache cache() {
+        return new ToolResultCache(properties, registry, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void onlyReadOnlyOrListedToolsAreCacheable() {
+        properties.getTools().getCaching().getTools().add("searchDocs");
+        ToolResultCache cache = cache();
+
+        assertThat(cache.isCacheable("getWeather")).isTrue();
+        assertThat(cache.isCacheable("GETWEATHER")).isTrue();
+        assertThat(cache.isCacheable("searchDocs")).isTrue();
+        assertThat(cache.isCacheable("setAlarm")).isFalse();
+        assertThat(cache.isCacheable("unknownTool")).isFalse();
+        assertThat(cache.isCacheable(null)).isFalse();
+    }
+
+    @Test
+    void nothingIsCacheableWhenDisabled() {
+        properties.getTools().getCaching().setEnabled(false);
+
+        assertThat(cache().isCacheable("getWeather")).isFalse();
+    }
+
+    @Test
+    void toolLosingItsReadOnlyHintStopsBeingCacheable() {
+        ToolResultCache cache = cache();
+        registry.update("weather-server", List.of(McpServer.builder()
+                .name("weather-server")
+                .endpoint("http://10.0.0.1:8080")
+                .tools(List.of(McpTool.builder().name("getWeather").build()))
+                .build()));
+
+        assertThat(cache.isCacheable("getWeather")).isFalse();
+    }
+
+    @Test
+    void storesAndServesResultsAndCountsHits() {
+        ToolResultCache cache = cache();
+
+        assertThat(cache.get("getWeather#abc")).isNull();
+        cache.put("getWeather#abc", Map.of("temperature", 21));
+        cache.put("getWeather#def", null);
+
+        assertThat(cache.get("getWeather#abc")).isEqualTo(Map.of("temperature", 21));
+        assertThat(cache.get("getWeather#def")).isNull();
+        assertThat(cache.getStats())
+                .containsEntry("hits", 1L)
+                .containsEntry("misses", 2L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.nacos.mcp.router.service.impl;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.SearchRequest;
+import com.nacos.mcp.router.observability.RouterTracer;
+import com.nacos.mcp.router.observability.SloMonitor;
+import com.nacos.mcp.router.observability.SpanCollector;
+import com.nacos.mcp.router.service.provider.SearchProvider;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import com.nacos.mcp.router.service.search.ToolNameResolver;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalog identity over stub providers
+ */
+public class McpServerServiceImplTest {
+
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final McpServerRegistry registry = new McpServerRegistry(properties);
+
+    /**
+     * Provider whose catalog version is set by the test
+     */
+    private static final class VersionedProvider implements SearchProvider {
+        private final String name;
+        private volatile long version;
+
+        VersionedProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Mono<List<McpServer>> search(SearchRequest request) {
+            return Mono.just(List.of());
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+
+        @Override
+        public long getCatalogVersion() {
+            return version;
+        }
+    }
+
+    private McpServerServiceImpl service(SearchProvider... providers) {
+        return new McpServerServiceImpl(List.of(providers), new ToolNameResolver(registry, properties), registry,
+                new RouterTracer(properties, new SpanCollector(properties)), new SloMonitor(properties));
+    }
+
+    @Test
+    void catalogTagTellsEveryVersionPairApart() {
+        VersionedProvider nacos = new VersionedProvider("Nacos");
+        VersionedProvider compass = new VersionedProvider("Compass");
+        McpServerServiceImpl service = service(nacos, compass);
+
+        nacos.version = 1;
+        compass.version = 62;
+        String tag = service.getCatalogTag();
+        assertThat(service.getCatalogTag()).isEqualTo(tag);
+
+        // the pair whose hash combination is the same
+        nacos.version = 2;
+        compass.version = 31;
+        assertThat(service.getCatalogTag()).isNotEqualTo(tag);
+
+        compass.version = -1;
+        assertThat(service.getCatalogTag()).isNull();
+    }
+}
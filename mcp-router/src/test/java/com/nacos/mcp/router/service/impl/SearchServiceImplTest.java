@@ -0,0 +1,165 @@
+package com.nacos.mcp.router.service.impl;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.SearchRequest;
+import com.nacos.mcp.router.model.SearchResponse;
+import com.nacos.mcp.router.service.provider.SearchProvider;
+import com.nacos.mcp.router.service.search.SearchResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fan-out over stub providers
+ */
+public class SearchServiceImplTest {
+
+    private final McpRouterProperties properties = new McpRouterProperties();
+
+    /**
+     * Provider answering every search from a supplier and counting the searches
+     */
+    private static final class StubProvider implements SearchProvider {
+        private final String name;
+        private final Supplier<Mono<List<McpServer>>> results;
+        private final AtomicInteger searches = new AtomicInteger();
+
+        StubProvider(String name, Supplier<Mono<List<McpServer>>> results) {
+            this.name = name;
+            this.results = results;
+        }
+
+        @Override
+        public Mono<List<McpServer>> search(SearchRequest request) {
+            searches.incrementAndGet();
+            return results.get();
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+
+        @Override
+        public long getCatalogVersion() {
+            return 1;
+        }
+    }
+
+    private static McpServer server(String name, double score) {
+        return McpServer.builder().name(name).relevanceScore(score).build();
+    }
+
+    private static SearchRequest request() {
+        return SearchRequest.builder().taskDescription("weather").build();
+    }
+
+    private SearchServiceImpl service(SearchProvider... providers) {
+        return new SearchServiceImpl(List.of(providers), properties,
+                new SearchResponseCache(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void completeResponseIsServedFromCacheUntilTheCatalogChanges() {
+        StubProvider nacos = new StubProvider("Nacos", () -> Mono.just(List.of(server("weather-server", 0.9))));
+        SearchServiceImpl service = service(nacos);
+
+        SearchResponse first = service.searchMcpServers(request()).block();
+        SearchResponse second = service.searchMcpServers(request()).block();
+
+        assertThat(nacos.searches.get()).isEqualTo(1);
+        assertThat(first.getMetadata().getCached()).isNull();
+        assertThat(second.getMetadata().getCached()).isTrue();
+        assertThat(second.getResults()).extracting(McpServer::getName).containsExactly("weather-server");
+    }
+
+    @Test
+    void partialResponseIsNotCached() {
+        StubProvider nacos = new StubProvider("Nacos", () -> Mono.just(List.of(server("weather-server", 0.9))));
+        StubProvider compass = new StubProvider("Compass", () -> Mono.error(new IllegalStateException("down")));
+        SearchServiceImpl service = service(nacos, compass);
+
+        SearchResponse first = service.searchMcpServers(request()).block();
+        SearchResponse second = service.searchMcpServers(request()).block();
+
+        assertThat(first.getResults()).extracting(McpServer::getName).containsExactly("weather-server");
+        assertThat(second.getMetadata().getCached()).isNull();
+        assertThat(nacos.searches.get()).isEqualTo(2);
+        assertThat(compass.searches.get()).isEqualTo(2);
+    }
+
+    @Test
+    void providerThatMissesItsOwnDeadlineIsLeftOut() {
+        properties.getSearch().setProviderTimeout(2000);
+        properties.getSearch().getProviderTimeouts().put("Compass", 50L);
+        StubProvider nacos = new StubProvider("Nacos", () -> Mono.just(List.of(server("weather-server", 0.9)))
+                .delayElement(Duration.ofMillis(200)));
+        StubProvider compass = new StubProvider("Compass", Mono::never);
+        SearchServiceImpl service = service(nacos, compass);
+
+        long start = System.nanoTime();
+        SearchResponse response = service.searchMcpServers(request()).block(Duration.ofSeconds(5));
+
+        // Nacos is slower than Compass's deadline but within its own
+        assertThat(response.getResults()).extracting(McpServer::getName).containsExactly("weather-server");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2000));
+    }
+
+    @Test
+    void providerWithoutItsOwnDeadlineGetsTheDefault() {
+        properties.getSearch().setProviderTimeout(50);
+        properties.getSearch().getProviderTimeouts().put("Nacos", 2000L);
+        StubProvider nacos = new StubProvider("Nacos", () -> Mono.just(List.of(server("weather-server", 0.9)))
+                .delayElement(Duration.ofMillis(200)));
+        StubProvider compass = new StubProvider("Compass", () -> Mono.just(List.of(server("file-server", 0.8)))
+                .delayElement(Duration.ofMillis(200)));
+        SearchServiceImpl service = service(nacos, compass);
+
+        SearchResponse response = service.searchMcpServers(request()).block(Duration.ofSeconds(5));
+
+        assertThat(response.getResults()).extracting(McpServer::getName).containsExactly("weather-server");
+        // the response was partial, so the next search asks the providers again
+        service.searchMcpServers(request()).block(Duration.ofSeconds(5));
+        assertThat(nacos.searches.get()).isEqualTo(2);
+    }
+
+    @Test
+    void streamEmitsEachServerOnceBestFirstWithinAWindow() {
+        properties.getSearch().setStreamWindow(500);
+        StubProvider nacos = new StubProvider("Nacos", () -> Mono.just(List.of(
+                server("weather-server", 0.7), server("file-server", 0.9), server("noise-server", 0.1))));
+        StubProvider compass = new StubProvider("Compass", () -> Mono.just(List.of(
+                server("weather-server", 0.95), server("git-server", 0.8))));
+        SearchServiceImpl service = service(nacos, compass);
+
+        List<McpServer> streamed = service.streamMcpServers(request()).collectList().block(Duration.ofSeconds(5));
+
+        assertThat(streamed).extracting(McpServer::getName)
+                .containsExactly("weather-server", "file-server", "git-server");
+        // the duplicate emitted is the better scored one
+        assertThat(streamed.get(0).getRelevanceScore()).isEqualTo(0.95);
+    }
+
+    @Test
+    void streamStopsAtTheLimitAndSurvivesAFailedProvider() {
+        StubProvider nacos = new StubProvider("Nacos", () -> Mono.just(List.of(
+                server("weather-server", 0.7), server("file-server", 0.9), server("git-server", 0.8))));
+        StubProvider compass = new StubProvider("Compass", () -> Mono.error(new IllegalStateException("down")));
+        SearchServiceImpl service = service(nacos, compass);
+        SearchRequest request = request();
+        request.setLimit(2);
+
+        List<McpServer> streamed = service.streamMcpServers(request).collectList().block(Duration.ofSeconds(5));
+
+        // a full buffer is emitted without waiting for the window
+        assertThat(streamed).extracting(McpServer::getName).containsExactly("file-server", "weather-server");
+    }
+}
@@ -0,0 +1,128 @@
+package com.nacos.mcp.router.service.naming;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.NamingEvent;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.selector.NoneSelector;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The in-memory registry through the Nacos client interface, with subscriptions and injected faults
+ */
+public class InMemoryNamingServiceTest {
+
+    private final McpRouterProperties.InMemoryNaming settings = new McpRouterProperties.InMemoryNaming();
+    private final InMemoryNamingService registry = new InMemoryNamingService(settings);
+    private final NamingService naming = new InMemoryNamingClient(registry);
+
+    @AfterEach
+    void tearDown() {
+        registry.shutDown();
+    }
+
+    @Test
+    void registersAndSelectsInstances() throws NacosException {
+        naming.registerInstance("weather", "10.0.0.1", 8080);
+        naming.registerInstance("weather", "DEFAULT_GROUP", "10.0.0.2", 8080);
+        naming.registerInstance("weather", "10.0.0.1", 8080);
+
+        assertThat(naming.getAllInstances("weather")).extracting(Instance::getIp)
+                .containsExactlyInAnyOrder("10.0.0.1", "10.0.0.2");
+        assertThat(naming.getAllInstances("weather", "OTHER_GROUP")).isEmpty();
+
+        Instance unhealthy = new Instance();
+        unhealthy.setIp("10.0.0.2");
+        unhealthy.setPort(8080);
+        unhealthy.setHealthy(false);
+        unhealthy.setClusterName("DEFAULT");
+        naming.registerInstance("weather", unhealthy);
+
+        assertThat(naming.selectInstances("weather", true)).extracting(Instance::getIp).containsExactly("10.0.0.1");
+        assertThat(naming.selectInstances("weather", false)).extracting(Instance::getIp).containsExactly("10.0.0.2");
+        assertThat(naming.selectOneHealthyInstance("weather").getIp()).isEqualTo("10.0.0.1");
+
+        naming.deregisterInstance("weather", "10.0.0.1", 8080);
+        assertThat(naming.selectInstances("weather", true)).isEmpty();
+        assertThat(naming.getServicesOfServer(1, 10).getData()).containsExactly("weather");
+    }
+
+    @Test
+    void subscribersGetCurrentInstancesAndChanges() throws Exception {
+        naming.registerInstance("issues", "10.0.0.1", 8080);
+        BlockingQueue<NamingEvent> events = new LinkedBlockingQueue<>();
+        naming.subscribe("issues", event -> events.add((NamingEvent) event));
+
+        assertThat(events.poll(5, TimeUnit.SECONDS).getInstances()).hasSize(1);
+
+        naming.registerInstance("issues", "10.0.0.2", 8080);
+        NamingEvent added = events.poll(5, TimeUnit.SECONDS);
+        assertThat(added.getServiceName()).isEqualTo("issues");
+        assertThat(added.getInstances()).hasSize(2);
+
+        naming.deregisterInstance("issues", "10.0.0.1", 8080);
+        assertThat(events.poll(5, TimeUnit.SECONDS).getInstances()).extracting(Instance::getIp)
+                .containsExactly("10.0.0.2");
+        assertThat(naming.getSubscribeServices()).hasSize(1);
+    }
+
+    @Test
+    void injectsFailuresAndDropsEvents() throws Exception {
+        settings.setFailureRate(1.0);
+        settings.setEventDropRate(1.0);
+
+        assertThatThrownBy(() -> naming.selectInstances("weather", true))
+                .isInstanceOf(NacosException.class)
+                .hasMessageContaining("Injected failure");
+        assertThat(registry.getInjectedFailures()).isEqualTo(1);
+
+        // the registry side is not faulty, only client calls and events are
+        registry.register(null, "weather", List.of(instance("10.0.0.1")));
+        assertThat(registry.selectInstances(null, "weather", List.of(), true)).hasSize(1);
+
+        settings.setFailureRate(0.0);
+        BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+        naming.subscribe("weather", events::add);
+        registry.register(null, "weather", List.of(instance("10.0.0.2")));
+        assertThat(events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(registry.getEventsDropped()).isEqualTo(2);
+    }
+
+    @Test
+    void addsLatencyToClientCalls() throws NacosException {
+        settings.setLatency(50);
+        long start = System.nanoTime();
+        naming.getAllInstances("weather");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void rejectsSelectorsAndReportsShutDown() throws NacosException {
+        assertThatThrownBy(() -> naming.getServicesOfServer(1, 10, "DEFAULT_GROUP", new NoneSelector()))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> naming.selectOneHealthyInstance("weather"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(naming.getServerStatus()).isEqualTo("UP");
+        naming.shutDown();
+        assertThat(naming.getServerStatus()).isEqualTo("DOWN");
+    }
+
+    private static Instance instance(String ip) {
+        Instance instance = new Instance();
+        instance.setIp(ip);
+        instance.setPort(8080);
+        instance.setClusterName("DEFAULT");
+        return instance;
+    }
+}
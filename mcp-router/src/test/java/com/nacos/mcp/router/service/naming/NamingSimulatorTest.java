@@ -0,0 +1,71 @@
+package com.nacos.mcp.router.service.naming;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Synthetic services and their churn
+ */
+public class NamingSimulatorTest {
+
+    private final McpRouterProperties.InMemoryNaming settings = new McpRouterProperties.InMemoryNaming();
+    private final InMemoryNamingService registry = new InMemoryNamingService(settings);
+
+    @AfterEach
+    void tearDown() {
+        registry.shutDown();
+    }
+
+    @Test
+    void registersTenThousandServicesWithTools() throws Exception {
+        settings.setServices(10000);
+        settings.setChurnInterval(0);
+        NamingSimulator simulator = new NamingSimulator(registry, settings, new ObjectMapper());
+        simulator.start();
+
+        assertThat(simulator.getServiceNames()).hasSize(10000).startsWith("sim-mcp-00000");
+        assertThat(registry.getServiceCount()).isEqualTo(10000);
+
+        Instance instance = registry.getInstances(null, "sim-mcp-00042", List.of()).get(0);
+        assertThat(instance.getMetadata()).containsEntry("transportType", "sse");
+        List<?> tools = new ObjectMapper().readValue(instance.getMetadata().get("tools"), List.class);
+        assertThat(tools).hasSize(settings.getToolsPerService());
+    }
+
+    @Test
+    void churnChangesInstancesRepeatably() {
+        settings.setServices(20);
+        settings.setChurnInterval(0);
+        assertThat(churned()).isEqualTo(churned());
+    }
+
+    private String churned() {
+        InMemoryNamingService churnedRegistry = new InMemoryNamingService(settings);
+        NamingSimulator simulator = new NamingSimulator(churnedRegistry, settings, new ObjectMapper());
+        simulator.start();
+        String before = describe(churnedRegistry, simulator);
+        simulator.churn(200);
+        String after = describe(churnedRegistry, simulator);
+        churnedRegistry.shutDown();
+        assertThat(after).isNotEqualTo(before);
+        return after;
+    }
+
+    private static String describe(InMemoryNamingService registry, NamingSimulator simulator) {
+        return simulator.getServiceNames().stream()
+                .map(name -> name + registry.getInstances(null, name, List.of()).stream()
+                        .map(instance -> instance.getPort() + ":" + instance.isHealthy() + ":"
+                                + instance.getMetadata().get("revision"))
+                        .sorted()
+                        .toList())
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,96 @@
+package com.nacos.mcp.router.service.paging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cursor pagination over versioned listing snapshots
+ */
+public class SnapshotPaginatorTest {
+
+    private SnapshotPaginator paginator;
+
+    @BeforeEach
+    void setUp() {
+        McpRouterProperties properties = new McpRouterProperties();
+        properties.getPagination().setPageSize(2);
+        paginator = new SnapshotPaginator(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void cursorsStayOnTheirSnapshotWhileTheCatalogChanges() {
+        List<String> catalog = new ArrayList<>(List.of("a", "b", "c", "d", "e"));
+        SnapshotPaginator.Page<String> first = paginator.first("tools", null, 1, attributes -> catalog, 2);
+
+        // the catalog moves on to version 2; the open listing keeps reading version 1
+        catalog.remove("c");
+        catalog.add(0, "z");
+        SnapshotPaginator.Page<String> second = paginator.next("tools", first.nextCursor());
+        SnapshotPaginator.Page<String> third = paginator.next("tools", second.nextCursor());
+
+        assertThat(first.items()).containsExactly("a", "b");
+        assertThat(second.items()).containsExactly("c", "d");
+        assertThat(third.items()).containsExactly("e");
+        assertThat(third.nextCursor()).isNull();
+        assertThat(third.version()).isEqualTo(1);
+
+        SnapshotPaginator.Page<String> restarted = paginator.first("tools", null, 2, attributes -> catalog, 2);
+        assertThat(restarted.items()).containsExactly("z", "a");
+    }
+
+    @Test
+    void sameVersionSharesOneSnapshot() {
+        paginator.first("tools", null, 7, attributes -> List.of("a", "b", "c"), 2);
+        SnapshotPaginator.Page<String> page = paginator.first("tools", null, 7,
+                attributes -> { throw new AssertionError("snapshot rebuilt"); }, 2);
+
+        assertThat(page.items()).containsExactly("a", "b");
+    }
+
+    @Test
+    void unversionedListingReusesTheSnapshotOfIdenticalItems() {
+        List<String> catalog = new ArrayList<>(List.of("a", "b", "c"));
+        SnapshotPaginator.Page<String> first = paginator.first("prompts", null, -1, attributes -> catalog, 2);
+        SnapshotPaginator.Page<String> again = paginator.first("prompts", null, -1, attributes -> catalog, 2);
+
+        assertThat(again.nextCursor()).isEqualTo(first.nextCursor());
+
+        // changed items get a snapshot of their own; the open cursor keeps its items
+        catalog.set(2, "z");
+        SnapshotPaginator.Page<String> changed = paginator.first("prompts", null, -1, attributes -> catalog, 2);
+
+        assertThat(changed.nextCursor()).isNotEqualTo(first.nextCursor());
+        assertThat(paginator.<String>next("prompts", first.nextCursor()).items()).containsExactly("c");
+        assertThat(paginator.<String>next("prompts", changed.nextCursor()).items()).containsExactly("z");
+    }
+
+    @Test
+    void listResultPagesWithConfiguredSize() {
+        Map<String, Object> first = paginator.list("prompts", -1, List.of("p1", "p2", "p3"), null);
+        Map<String, Object> second = paginator.list("prompts", -1, List.of(), Map.of("cursor", first.get("nextCursor")));
+
+        assertThat(first.get("prompts")).isEqualTo(List.of("p1", "p2"));
+        assertThat(second.get("prompts")).isEqualTo(List.of("p3"));
+        assertThat(second).doesNotContainKey("nextCursor");
+    }
+
+    @Test
+    void rejectsCursorsOfOtherListingsAndGarbage() {
+        SnapshotPaginator.Page<String> page = paginator.first("tools", null, 1, attributes -> List.of("a", "b", "c"), 2);
+
+        assertThatThrownBy(() -> paginator.next("prompts", page.nextCursor()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> paginator.next("tools", "garbage"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.nacos.mcp.router.service.provider;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.SearchRequest;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Syncs the Compass mirror against a local HTTP stand-in of the registry
+ */
+public class CompassSearchProviderTest {
+
+    private HttpServer server;
+    private final List<String> requests = new ArrayList<>();
+    private final List<String> ifNoneMatch = new ArrayList<>();
+    private volatile int status;
+    private volatile String etag;
+    private volatile String body;
+
+    private CompassSearchProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/servers", this::handle);
+        server.start();
+
+        McpRouterProperties properties = new McpRouterProperties();
+        properties.getCompass().setEnabled(true);
+        properties.getCompass().setApiBase("http://127.0.0.1:" + server.getAddress().getPort());
+        provider = new CompassSearchProvider(properties, WebClient.builder());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.add(exchange.getRequestURI().toString());
+        ifNoneMatch.add(exchange.getRequestHeaders().getFirst("If-None-Match"));
+        if (etag != null) {
+            exchange.getResponseHeaders().add("ETag", etag);
+        }
+        if (status == 304) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void respond(int status, String etag, String body) {
+        this.status = status;
+        this.etag = etag;
+        this.body = body;
+    }
+
+    private List<McpServer> search(String task) {
+        SearchRequest request = SearchRequest.builder().taskDescription(task).limit(10).build();
+        return provider.search(request).block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void mirrorsFullListingThenAppliesConditionalAndDeltaSyncs() {
+        respond(200, "\"v1\"", """
+                {"cursor": "c1", "full": true, "servers": [
+                  {"name": "weather-server", "description": "Weather forecasts for cities"},
+                  {"name": "github-server", "description": "Issues and pull requests on GitHub"}
+                ]}""");
+        assertThat(provider.sync().block()).isTrue();
+        long version = provider.getCatalogVersion();
+
+        assertThat(search("weather forecast")).extracting(McpServer::getName).containsExactly("weather-server");
+        assertThat(search("all")).hasSize(2);
+
+        // unchanged registry: conditional request answered with 304
+        respond(304, "\"v1\"", null);
+        assertThat(provider.sync().block()).isFalse();
+        assertThat(ifNoneMatch.get(1)).isEqualTo("\"v1\"");
+        assertThat(requests.get(1)).endsWith("since=c1");
+        assertThat(provider.getCatalogVersion()).isEqualTo(version);
+
+        // delta: one server deleted, one added
+        respond(200, "\"v2\"", """
+                {"cursor": "c2", "deleted": ["weather-server"], "servers": [
+                  {"name": "maps-server", "description": "Geocoding and routes"}
+                ]}""");
+        assertThat(provider.sync().block()).isTrue();
+
+        assertThat(search("weather forecast")).isEmpty();
+        assertThat(search("all")).extracting(McpServer::getName)
+                .containsExactlyInAnyOrder("github-server", "maps-server");
+        assertThat(search("all")).allMatch(server -> "Compass".equals(server.getProvider()));
+    }
+
+    @Test
+    void failedSyncKeepsMirror() {
+        respond(200, null, """
+                {"cursor": "c1", "servers": [{"name": "weather-server", "description": "Weather forecasts"}]}""");
+        provider.sync().block();
+
+        respond(500, null, "{}");
+        assertThat(provider.sync().block()).isFalse();
+        assertThat(search("all")).hasSize(1);
+    }
+}
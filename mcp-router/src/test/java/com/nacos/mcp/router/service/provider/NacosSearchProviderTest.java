@@ -0,0 +1,98 @@
+package com.nacos.mcp.router.service.provider;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.SearchRequest;
+import com.nacos.mcp.router.observability.AccessLog;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import com.nacos.mcp.router.service.search.McpServerSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Nacos provider against a mocked naming service
+ */
+public class NacosSearchProviderTest {
+
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final NamingService namingService = mock(NamingService.class);
+    private final McpServerRegistry registry = new McpServerRegistry(properties);
+    private AccessLog accessLog;
+    private NacosSearchProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        properties.getDiscovery().setServiceNames(List.of("weather-server"));
+        properties.getDiscovery().setRefreshInterval(60000);
+        properties.getAccessLog().setEnabled(false);
+        ObjectMapper objectMapper = new ObjectMapper();
+        accessLog = new AccessLog(properties, objectMapper, new SimpleMeterRegistry());
+        provider = new NacosSearchProvider(namingService, objectMapper, registry,
+                new McpServerSearchIndex(registry), properties, accessLog);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        provider.stop();
+        accessLog.stop();
+    }
+
+    private static Instance instance(String ip, int port) {
+        Instance instance = new Instance();
+        instance.setIp(ip);
+        instance.setPort(port);
+        instance.setMetadata(Map.of("description", "Weather forecasts"));
+        return instance;
+    }
+
+    private static SearchRequest listAll() {
+        SearchRequest request = new SearchRequest();
+        request.setTaskDescription("");
+        return request;
+    }
+
+    @Test
+    void searchIsServedFromTheRegistryWithoutQueryingNacos() throws NacosException {
+        List<McpServer> results = provider.search(listAll()).block();
+
+        assertThat(results).isEmpty();
+        verify(namingService, never()).selectInstances(anyString(), anyBoolean());
+    }
+
+    @Test
+    void startLoadsTheRegistryInTheBackground() throws Exception {
+        when(namingService.selectInstances("weather-server", true))
+                .thenReturn(List.of(instance("10.0.0.1", 8080)));
+        CountDownLatch loaded = new CountDownLatch(1);
+        registry.addListener((serviceName, instances) -> loaded.countDown());
+
+        provider.start();
+
+        assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.getServers("weather-server")).singleElement().satisfies(server -> {
+            assertThat(server.getIp()).isEqualTo("10.0.0.1");
+            assertThat(server.getPort()).isEqualTo(8080);
+        });
+        assertThat(provider.search(listAll()).block()).extracting(McpServer::getEndpoint)
+                .containsExactly("http://10.0.0.1:8080");
+    }
+}
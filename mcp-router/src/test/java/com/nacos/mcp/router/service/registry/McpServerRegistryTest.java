@@ -0,0 +1,115 @@
+package com.nacos.mcp.router.service.registry;
+
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.model.RegistryDelta;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Registry versions, the change journal behind delta queries, the tool index and listeners
+ */
+public class McpServerRegistryTest {
+
+    private static McpServer server(String name, String description) {
+        return McpServer.builder().name(name).description(description).endpoint("http://" + name).build();
+    }
+
+    @Test
+    void deltaContainsOnlyTheLatestStateOfChangedServices() {
+        McpServerRegistry registry = new McpServerRegistry(16);
+        registry.update("weather", List.of(server("weather", "v1")));
+        registry.update("github", List.of(server("github", "v1")));
+        long seen = registry.getVersion();
+
+        registry.update("weather", List.of(server("weather", "v2")));
+        registry.update("weather", List.of(server("weather", "v3")));
+        registry.update("github", List.of());
+        registry.update("maps", List.of(server("maps", "v1")));
+        // unchanged content does not produce a version
+        registry.update("maps", List.of(server("maps", "v1")));
+
+        RegistryDelta delta = registry.changesSince(seen);
+
+        assertThat(delta.getFull()).isFalse();
+        assertThat(delta.getVersion()).isEqualTo(registry.getVersion()).isEqualTo(seen + 4);
+        assertThat(delta.getServers()).extracting(McpServer::getName, McpServer::getDescription)
+                .containsExactly(
+                        tuple("weather", "v3"),
+                        tuple("maps", "v1"));
+        assertThat(delta.getRemoved()).containsExactly("github");
+
+        assertThat(registry.changesSince(registry.getVersion()).getServers()).isEmpty();
+    }
+
+    @Test
+    void compactedOrFutureVersionsGetAFullSnapshot() {
+        McpServerRegistry registry = new McpServerRegistry(2);
+        registry.update("a", List.of(server("a", "v1")));
+        registry.update("b", List.of(server("b", "v1")));
+        registry.update("c", List.of(server("c", "v1")));
+
+        RegistryDelta compacted = registry.changesSince(0);
+        assertThat(compacted.getFull()).isTrue();
+        assertThat(compacted.getServers()).hasSize(3);
+
+        RegistryDelta retained = registry.changesSince(1);
+        assertThat(retained.getFull()).isFalse();
+        assertThat(retained.getServers()).extracting(McpServer::getName).containsExactly("b", "c");
+
+        assertThat(registry.changesSince(99).getFull()).isTrue();
+    }
+
+    private static McpServer withTools(String name, String... tools) {
+        return McpServer.builder()
+                .name(name)
+                .endpoint("http://" + name)
+                .tools(Arrays.stream(tools).map(tool -> McpTool.builder().name(tool).build()).toList())
+                .build();
+    }
+
+    @Test
+    void toolIndexFollowsEachServiceChange() {
+        McpServerRegistry registry = new McpServerRegistry(16);
+        registry.update("weather", List.of(withTools("weather", "getWeather", "search")));
+        registry.update("docs", List.of(withTools("docs", "search", "readDoc")));
+
+        assertThat(registry.findServiceName("GetWeather")).isEqualTo("weather");
+        // the first service to provide a name keeps it while it has the tool
+        assertThat(registry.findServiceName("search")).isEqualTo("weather");
+        assertThat(registry.findTool("readDoc").getName()).isEqualTo("readDoc");
+
+        registry.update("weather", List.of(withTools("weather", "getWeather")));
+        assertThat(registry.findServiceName("search")).isEqualTo("docs");
+
+        registry.update("docs", List.of());
+        assertThat(registry.findServiceName("search")).isNull();
+        assertThat(registry.findTool("readDoc")).isNull();
+        assertThat(registry.findServiceName("getWeather")).isEqualTo("weather");
+    }
+
+    @Test
+    void listenersSeeChangesInOrderWithoutTheRegistryLock() {
+        McpServerRegistry registry = new McpServerRegistry(16);
+        registry.update("weather", List.of(server("weather", "v1")));
+        List<String> seen = new ArrayList<>();
+        List<Boolean> lockHeld = new ArrayList<>();
+
+        registry.addListener((serviceName, instances) -> {
+            lockHeld.add(Thread.holdsLock(registry));
+            seen.add(serviceName + ":" + (instances.isEmpty() ? "gone" : instances.get(0).getDescription()));
+        });
+        registry.update("weather", List.of(server("weather", "v2")));
+        registry.update("maps", List.of(server("maps", "v1")));
+        registry.update("weather", List.of());
+
+        assertThat(seen).containsExactly("weather:v1", "weather:v2", "maps:v1", "weather:gone");
+        assertThat(lockHeld).containsOnly(false);
+    }
+}
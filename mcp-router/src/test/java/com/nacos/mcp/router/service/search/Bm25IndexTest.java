@@ -0,0 +1,74 @@
+package com.nacos.mcp.router.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Bm25IndexTest {
+
+    @Test
+    void tokenizerSplitsIdentifiersAndDropsStopwords() {
+        assertThat(Tokenizer.tokenize("getPersonsByNationality_v1"))
+                .containsExactly("get", "persons", "nationality", "v1");
+        assertThat(Tokenizer.tokenize("Find the MCPServer for person-lookup"))
+                .containsExactly("find", "mcp", "server", "person", "lookup");
+    }
+
+    @Test
+    void ranksMatchingDocumentsWithNormalizedScores() {
+        Bm25Index index = new Bm25Index();
+        index.put("persons", Tokenizer.tokenize("person server getPersonById getPersonsByNationality"));
+        index.put("weather", Tokenizer.tokenize("weather server getForecast"));
+        index.put("files", Tokenizer.tokenize("file server readFile writeFile"));
+
+        List<Bm25Index.ScoredDocument> hits = index.search(Tokenizer.tokenize("find persons by nationality"), 10);
+
+        assertThat(hits).extracting(Bm25Index.ScoredDocument::id).containsExactly("persons");
+        assertThat(hits.get(0).score()).isGreaterThan(0.5).isLessThanOrEqualTo(1.0);
+    }
+
+    @Test
+    void returnsOnlyTopKBestFirst() {
+        Bm25Index index = new Bm25Index();
+        index.put("a", List.of("person"));
+        index.put("b", List.of("person", "person", "person"));
+        index.put("c", List.of("person", "weather", "weather", "weather"));
+
+        List<Bm25Index.ScoredDocument> hits = index.search(List.of("person"), 2);
+
+        assertThat(hits).extracting(Bm25Index.ScoredDocument::id).containsExactly("b", "a");
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        Bm25Index index = new Bm25Index();
+        index.put("svc", List.of("weather"));
+        index.put("svc", List.of("person"));
+
+        assertThat(index.search(List.of("weather"), 5)).isEmpty();
+        assertThat(index.search(List.of("person"), 5)).hasSize(1);
+
+        index.remove("svc");
+        assertThat(index.size()).isZero();
+        assertThat(index.search(List.of("person"), 5)).isEmpty();
+    }
+
+    @Test
+    void embeddingIndexRanksByCosineSimilarity() {
+        EmbeddingIndex index = new EmbeddingIndex(HashingEmbedder.DIMENSIONS);
+        index.put("persons", List.of(
+                HashingEmbedder.embed("getPersonsByNationality Get persons by nationality"),
+                HashingEmbedder.embed("getPersonById Get a person by id")));
+        index.put("weather", List.of(HashingEmbedder.embed("getForecast Weather forecast for a city")));
+
+        List<Bm25Index.ScoredDocument> hits = index.search(HashingEmbedder.embed("list people of a nationality"), 5);
+
+        assertThat(hits.get(0).id()).isEqualTo("persons");
+        assertThat(hits.get(0).score()).isLessThanOrEqualTo(1.0);
+
+        index.remove("persons");
+        assertThat(index.rowCount()).isEqualTo(1);
+    }
+}
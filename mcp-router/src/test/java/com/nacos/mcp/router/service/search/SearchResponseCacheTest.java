@@ -0,0 +1,98 @@
+package com.nacos.mcp.router.service.search;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.SearchRequest;
+import com.nacos.mcp.router.model.SearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchResponseCacheTest {
+
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final SearchResponseCache cache = new SearchResponseCache(properties, new SimpleMeterRegistry());
+
+    private static SearchRequest request(String taskDescription, String... keywords) {
+        return SearchRequest.builder()
+                .taskDescription(taskDescription)
+                .keywords(List.of(keywords))
+                .limit(10)
+                .minSimilarity(0.5)
+                .mode("keyword")
+                .build();
+    }
+
+    private static SearchResponse response() {
+        return SearchResponse.builder()
+                .results(List.of())
+                .totalResults(0)
+                .metadata(SearchResponse.SearchMetadata.builder().query("weather").build())
+                .build();
+    }
+
+    @Test
+    void keyIgnoresCaseWhitespaceAndKeywordOrder() {
+        SearchResponseCache.Key key = cache.keyOf(request("Weather  forecast", "Rain", "wind"), List.of(1L));
+
+        assertThat(cache.keyOf(request("  weather forecast ", " wind", "RAIN", ""), List.of(1L))).isEqualTo(key);
+        assertThat(cache.keyOf(SearchRequest.builder()
+                .taskDescription("weather forecast").keywords(List.of("rain", "wind"))
+                .limit(10).minSimilarity(0.5).mode("KEYWORD").build(), List.of(1L))).isEqualTo(key);
+    }
+
+    @Test
+    void keyKeepsEverythingThatChangesTheResults() {
+        SearchResponseCache.Key key = cache.keyOf(request("weather"), List.of(1L));
+
+        assertThat(cache.keyOf(request("weather", "rain"), List.of(1L))).isNotEqualTo(key);
+        SearchRequest limited = request("weather");
+        limited.setLimit(5);
+        assertThat(cache.keyOf(limited, List.of(1L))).isNotEqualTo(key);
+        SearchRequest semantic = request("weather");
+        semantic.setMode("semantic");
+        assertThat(cache.keyOf(semantic, List.of(1L))).isNotEqualTo(key);
+        SearchRequest stricter = request("weather");
+        stricter.setMinSimilarity(0.8);
+        assertThat(cache.keyOf(stricter, List.of(1L))).isNotEqualTo(key);
+    }
+
+    @Test
+    void noKeyWithoutAKnownCatalogVersionOrWhenDisabled() {
+        assertThat(cache.keyOf(request("weather"), List.of(1L, -1L))).isNull();
+
+        properties.getSearch().getCache().setEnabled(false);
+        assertThat(cache.keyOf(request("weather"), List.of(1L))).isNull();
+    }
+
+    @Test
+    void hitIsMarkedAsCached() {
+        SearchResponseCache.Key key = cache.keyOf(request("weather"), List.of(1L));
+        cache.put(key, response());
+
+        SearchResponse cached = cache.get(key);
+
+        assertThat(cached.getMetadata().getCached()).isTrue();
+        assertThat(cached.getMetadata().getQuery()).isEqualTo("weather");
+    }
+
+    @Test
+    void catalogChangeInvalidatesEveryEntry() {
+        SearchResponseCache.Key weather = cache.keyOf(request("weather"), List.of(1L, 7L));
+        cache.put(weather, response());
+        SearchResponseCache.Key files = cache.keyOf(request("files"), List.of(1L, 7L));
+        cache.put(files, response());
+
+        // one provider moved on
+        SearchResponseCache.Key newer = cache.keyOf(request("weather"), List.of(2L, 7L));
+
+        assertThat(newer).isNotEqualTo(weather);
+        assertThat(cache.get(newer)).isNull();
+        // entries of the old catalog are gone, not just unreachable
+        assertThat(cache.get(weather)).isNull();
+        assertThat(cache.get(files)).isNull();
+        assertThat(cache.getStats().get("catalogVersions")).isEqualTo(List.of(2L, 7L));
+    }
+}
@@ -0,0 +1,91 @@
+package com.nacos.mcp.router.service.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.paging.SnapshotPaginator;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Task-ranked, paged tools/list
+ */
+public class ToolListPagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<McpTool> tools = List.of(
+            tool("getAllPersons", "List all persons"),
+            tool("getWeather", "Weather forecast for a city"),
+            tool("addPerson", "Add a new person"),
+            tool("searchRepositories", "Search GitHub repositories"),
+            tool("getForecastAlerts", "Severe weather alerts"));
+
+    private ToolListPager pager;
+
+    @BeforeEach
+    void setUp() {
+        McpServerRegistry registry = new McpServerRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ToolSearchIndex index = new ToolSearchIndex(registry, objectMapper);
+        registry.update("mcp-server", List.of(McpServer.builder().name("mcp-server").tools(tools).build()));
+        McpRouterProperties properties = new McpRouterProperties();
+        SnapshotPaginator paginator = new SnapshotPaginator(properties, objectMapper, meterRegistry);
+        pager = new ToolListPager(index, paginator, properties, meterRegistry);
+    }
+
+    private static McpTool tool(String name, String description) {
+        return McpTool.builder().name(name).description(description).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> names(Map<String, Object> result) {
+        return ((List<McpTool>) result.get("tools")).stream().map(McpTool::getName).toList();
+    }
+
+    @Test
+    void withoutTaskHintListsEverything() {
+        Map<String, Object> result = pager.page("test", tools, 1, Map.of());
+
+        assertThat(names(result)).hasSize(5);
+        assertThat(result).doesNotContainKey("nextCursor");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void taskHintReturnsRelevantToolsFirstAndPagesThroughTheRest() {
+        Map<String, Object> first = pager.page("test", tools, 1, Map.of("_meta", Map.of("task", "weather forecast", "limit", 2)));
+
+        assertThat(names(first)).containsExactlyInAnyOrder("getWeather", "getForecastAlerts");
+        assertThat(first).containsKey("nextCursor");
+        assertThat((Map<String, Object>) first.get("_meta")).containsEntry("totalTools", 5);
+
+        Map<String, Object> second = pager.page("test", tools, 1, Map.of("cursor", first.get("nextCursor")));
+        Map<String, Object> third = pager.page("test", tools, 1, Map.of("cursor", second.get("nextCursor")));
+
+        assertThat(names(second)).hasSize(2);
+        assertThat(names(third)).hasSize(1);
+        assertThat(third).doesNotContainKey("nextCursor");
+        assertThat(List.of(names(first), names(second), names(third)).stream().flatMap(List::stream))
+                .containsExactlyInAnyOrderElementsOf(tools.stream().map(McpTool::getName).toList());
+
+        DistributionSummary reduction = meterRegistry.get("mcp.router.tools.list.payload.reduction").summary();
+        assertThat(reduction.count()).isEqualTo(3);
+        assertThat(reduction.mean()).isGreaterThan(0.5);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> pager.page("test", tools, 1, Map.of("cursor", "not-a-cursor")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.nacos.mcp.router.service.search;
+
+import com.nacos.mcp.router.config.McpRouterProperties;
+import com.nacos.mcp.router.model.McpServer;
+import com.nacos.mcp.router.model.McpTool;
+import com.nacos.mcp.router.service.registry.McpServerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Suggestions and auto-resolution of unknown tool names, following registry changes
+ */
+public class ToolNameResolverTest {
+
+    private final McpRouterProperties properties = new McpRouterProperties();
+    private final McpServerRegistry registry = new McpServerRegistry(properties);
+    private ToolNameResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        register("person-server", "getPersonById_v1", "getAllPersons_v1");
+        register("weather-server", "getWeather");
+        resolver = new ToolNameResolver(registry, properties);
+    }
+
+    private void register(String serviceName, String... toolNames) {
+        registry.update(serviceName, List.of(McpServer.builder()
+                .name(serviceName)
+                .endpoint("http://" + serviceName + ":8080")
+                .tools(Arrays.stream(toolNames).map(name -> McpTool.builder().name(name).build()).toList())
+                .build()));
+    }
+
+    private static List<String> names(List<TrigramIndex.Match> matches) {
+        return matches.stream().map(TrigramIndex.Match::name).toList();
+    }
+
+    @Test
+    void suggestsKnownNamesMostSimilarFirst() {
+        assertThat(names(resolver.suggest("getPersnById"))).first().isEqualTo("getPersonById_v1");
+        assertThat(resolver.suggest("deleteInvoice")).isEmpty();
+        assertThat(resolver.suggest(null)).isEmpty();
+
+        properties.getTools().getNameResolution().setEnabled(false);
+        assertThat(resolver.suggest("getPersnById")).isEmpty();
+    }
+
+    @Test
+    void suggestionsFollowServiceChanges() {
+        register("weather-server", "getWeather", "getForecast");
+        assertThat(names(resolver.suggest("get_forecast"))).contains("getForecast");
+
+        registry.update("weather-server", List.of());
+        assertThat(resolver.suggest("get_forecast")).isEmpty();
+        assertThat(resolver.suggest("getWether")).isEmpty();
+        assertThat(names(resolver.suggest("getPersonByID_v1"))).first().isEqualTo("getPersonById_v1");
+    }
+
+    @Test
+    void nameProvidedByTwoServicesStaysUntilBothDropIt() {
+        register("weather-mirror", "getWeather");
+
+        registry.update("weather-server", List.of());
+        assertThat(names(resolver.suggest("get_weather"))).containsExactly("getWeather");
+
+        registry.update("weather-mirror", List.of());
+        assertThat(resolver.suggest("get_weather")).isEmpty();
+    }
+
+    @Test
+    void resolvesOnlyWhenEnabledCloseEnoughAndClearlyAhead() {
+        McpRouterProperties.NameResolution settings = properties.getTools().getNameResolution();
+        List<TrigramIndex.Match> exact = resolver.suggest("GET_PERSON_BY_ID_V1");
+
+        assertThat(resolver.resolve(exact)).isEmpty();
+
+        settings.setAutoResolve(true);
+        assertThat(resolver.resolve(exact)).contains("getPersonById_v1");
+        assertThat(resolver.resolve(List.of())).isEmpty();
+
+        // below the threshold
+        assertThat(resolver.resolve(List.of(new TrigramIndex.Match("getWeather", 0.8)))).isEmpty();
+        // ahead of the runner-up by less than the margin
+        assertThat(resolver.resolve(List.of(
+                new TrigramIndex.Match("getPersonById_v1", 0.92),
+                new TrigramIndex.Match("getPersonById_v2", 0.86)))).isEmpty();
+        assertThat(resolver.resolve(List.of(
+                new TrigramIndex.Match("getPersonById_v1", 0.92),
+                new TrigramIndex.Match("getAllPersons_v1", 0.5)))).contains("getPersonById_v1");
+    }
+}
@@ -0,0 +1,48 @@
+package com.nacos.mcp.router.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fuzzy lookup of tool names by trigram similarity
+ */
+public class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex(List.of(
+            "getPersonById_v1", "getAllPersons_v1", "addPerson_v1", "getWeather", "searchRepositories"));
+
+    @Test
+    void caseAndSeparatorVariantsMatchExactly() {
+        for (String variant : List.of("getPersonByID_v1", "get_person_by_id_v1", "GET-PERSON-BY-ID-V1")) {
+            List<TrigramIndex.Match> matches = index.search(variant, 3, 0.4);
+            assertThat(matches.get(0).name()).isEqualTo("getPersonById_v1");
+            assertThat(matches.get(0).score()).isEqualTo(1.0);
+        }
+    }
+
+    @Test
+    void typosRankTheIntendedNameFirst() {
+        List<TrigramIndex.Match> matches = index.search("getPersnById", 3, 0.4);
+
+        assertThat(matches).isNotEmpty();
+        assertThat(matches.get(0).name()).isEqualTo("getPersonById_v1");
+        assertThat(matches.get(0).score()).isLessThan(1.0);
+    }
+
+    @Test
+    void unrelatedNamesAreNotSuggested() {
+        assertThat(index.search("deleteInvoice", 3, 0.4)).isEmpty();
+        assertThat(index.search("___", 3, 0.0)).isEmpty();
+    }
+
+    @Test
+    void limitsAndOrdersMatches() {
+        List<TrigramIndex.Match> matches = index.search("getPersons", 2, 0.0);
+
+        assertThat(matches).hasSize(2);
+        assertThat(matches.get(0).score()).isGreaterThanOrEqualTo(matches.get(1).score());
+    }
+}
@@ -0,0 +1,20 @@
+package com.nacos.mcp.server.common.trace;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 为响应式 MCP 服务端注册 {@link TraceContextWebFilter}
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class TraceContextAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TraceContextWebFilter traceContextWebFilter() {
+        return new TraceContextWebFilter();
+    }
+}
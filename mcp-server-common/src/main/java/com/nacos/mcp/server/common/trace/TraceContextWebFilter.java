@@ -0,0 +1,77 @@
+package com.nacos.mcp.server.common.trace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 接收路由器传来的 W3C traceparent 请求头
+ * 对已采样的请求创建服务端 span，以结构化日志输出到 mcp.trace，并在响应头中返回本跳的 traceparent。
+ * 未携带、格式非法或未采样的请求直接放行，不产生额外开销。
+ */
+public class TraceContextWebFilter implements WebFilter, Ordered {
+
+    private static final Logger traceLog = LoggerFactory.getLogger("mcp.trace");
+    private static final String TRACEPARENT = "traceparent";
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String traceparent = exchange.getRequest().getHeaders().getFirst(TRACEPARENT);
+        if (!isSampled(traceparent)) {
+            return chain.filter(exchange);
+        }
+        String traceId = traceparent.substring(3, 35);
+        String parentId = traceparent.substring(36, 52);
+        String spanId = String.format("%016x", ThreadLocalRandom.current().nextLong() | 1L);
+        exchange.getResponse().getHeaders().set(TRACEPARENT, "00-" + traceId + "-" + spanId + "-01");
+
+        long start = System.nanoTime();
+        String target = exchange.getRequest().getMethod().name() + " " + exchange.getRequest().getPath().value();
+        return chain.filter(exchange)
+                .doFinally(signal -> traceLog.info("span traceId={} spanId={} parentSpanId={} name=\"{}\" durationMicros={} status={}",
+                        traceId, spanId, parentId, target, (System.nanoTime() - start) / 1000,
+                        exchange.getResponse().getStatusCode()));
+    }
+
+    /**
+     * 是否为格式合法且采样标志位为 1 的 traceparent：00-<32位trace-id>-<16位parent-id>-<2位flags>，
+     * 均为小写十六进制，trace-id 与 parent-id 不能全为 0
+     */
+    static boolean isSampled(String traceparent) {
+        if (traceparent == null || traceparent.length() != 55 || !traceparent.startsWith("00-")
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return false;
+        }
+        String traceId = traceparent.substring(3, 35);
+        String parentId = traceparent.substring(36, 52);
+        String flags = traceparent.substring(53, 55);
+        if (!isHex(traceId) || !isHex(parentId) || !isHex(flags)
+                || INVALID_TRACE_ID.equals(traceId) || INVALID_SPAN_ID.equals(parentId)) {
+            return false;
+        }
+        return (Character.digit(flags.charAt(1), 16) & 1) == 1;
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nacos.mcp.server.common.trace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * traceparent 格式校验
+ */
+public class TraceContextWebFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+    @Test
+    void acceptsOnlySampledWellFormedHeaders() {
+        assertThat(TraceContextWebFilter.isSampled("00-" + TRACE_ID + "-" + PARENT_ID + "-01")).isTrue();
+        assertThat(TraceContextWebFilter.isSampled("00-" + TRACE_ID + "-" + PARENT_ID + "-03")).isTrue();
+        assertThat(TraceContextWebFilter.isSampled("00-" + TRACE_ID + "-" + PARENT_ID + "-00")).isFalse();
+        assertThat(TraceContextWebFilter.isSampled(null)).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        // 非十六进制的 flags 以前会被 Character.digit 的 -1 当作已采样
+        assertThat(TraceContextWebFilter.isSampled("00-" + TRACE_ID + "-" + PARENT_ID + "-0z")).isFalse();
+        assertThat(TraceContextWebFilter.isSampled("00-" + TRACE_ID + "-" + PARENT_ID + "x01")).isFalse();
+        assertThat(TraceContextWebFilter.isSampled("00-" + TRACE_ID.toUpperCase() + "-" + PARENT_ID + "-01")).isFalse();
+        assertThat(TraceContextWebFilter.isSampled("00-" + "g".repeat(32) + "-" + PARENT_ID + "-01")).isFalse();
+        assertThat(TraceContextWebFilter.isSampled("00-" + "0".repeat(32) + "-" + PARENT_ID + "-01")).isFalse();
+        assertThat(TraceContextWebFilter.isSampled("00-" + TRACE_ID + "-" + "0".repeat(16) + "-01")).isFalse();
+        assertThat(TraceContextWebFilter.isSampled("01-" + TRACE_ID + "-" + PARENT_ID + "-01")).isFalse();
+    }
+}
@@ -95,6 +95,8 @@ public class NacosRegistrationConfig implements ApplicationListener<ApplicationR
     }
 
     private void addToolDefinitions(List<Map<String, Object>> toolDefinitions) {
+        // Tools declared read-only may have their results cached by the router
+        List<String> readOnlyTools = Arrays.asList(environment.getProperty("mcp.server.read-only-tools", String[].class, new String[0]));
         String[] beanNames = applicationContext.getBeanDefinitionNames();
         for (String beanName : beanNames) {
             Object toolBean = applicationContext.getBean(beanName);
@@ -104,7 +106,8 @@ public class NacosRegistrationConfig implements ApplicationListener<ApplicationR
                     Tool toolAnnotation = method.getAnnotation(Tool.class);
                     toolDefinitions.add(Map.of(
                             "name", toolAnnotation.name(),
-                            "description", toolAnnotation.description()
+                            "description", toolAnnotation.description(),
+                            "annotations", Map.of("readOnlyHint", readOnlyTools.contains(toolAnnotation.name()))
                     ));
                 }
             }
@@ -16,6 +16,7 @@ import org.springframework.context.ApplicationContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.ai.tool.annotation.Tool;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -92,6 +93,8 @@ public class NacosRegistrationConfig implements ApplicationListener<ApplicationR
     }
 
     private void addToolDefinitions(List<Map<String, Object>> toolDefinitions) {
+        // Tools declared read-only may have their results cached by the router
+        List<String> readOnlyTools = Arrays.asList(environment.getProperty("mcp.server.read-only-tools", String[].class, new String[0]));
         String[] beanNames = applicationContext.getBeanDefinitionNames();
         for (String beanName : beanNames) {
             Object toolBean = applicationContext.getBean(beanName);
@@ -101,7 +104,8 @@ public class NacosRegistrationConfig implements ApplicationListener<ApplicationR
                     Tool toolAnnotation = method.getAnnotation(Tool.class);
                     toolDefinitions.add(Map.of(
                             "name", toolAnnotation.name(),
-                            "description", toolAnnotation.description()
+                            "description", toolAnnotation.description(),
+                            "annotations", Map.of("readOnlyHint", readOnlyTools.contains(toolAnnotation.name()))
                     ));
                 }
             }
@@ -100,7 +100,7 @@ fi
 
 # 启动 MCP Router
 echo -e "${BLUE}🔀 启动 MCP Router (端口 8050)...${NC}"
-nohup java -jar mcp-router/target/nacos-mcp-router-1.0.0.jar > logs/mcp-router-demo.log 2>&1 &
+nohup java -jar mcp-router/target/nacos-mcp-router-1.0.0-exec.jar > logs/mcp-router-demo.log 2>&1 &
 MCP_ROUTER_PID=$!
 wait_for_service 8050 "/actuator/health" "MCP Router"
 